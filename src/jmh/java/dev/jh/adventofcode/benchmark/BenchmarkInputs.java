@@ -0,0 +1,26 @@
+package dev.jh.adventofcode.benchmark;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.Resources;
+
+import java.io.IOException;
+
+/**
+ * Loads the bundled puzzle inputs for benchmarks.  Benchmarks run out of a shaded jar, so resources have to be read
+ * as URLs rather than files.
+ */
+final class BenchmarkInputs {
+
+  private BenchmarkInputs() {}
+
+  /**
+   * Returns the lines of the given classpath resource, like '/day5.txt'.
+   *
+   * @param resource Absolute resource name
+   * @return Lines in the resource
+   */
+  static ImmutableList<String> lines(String resource) throws IOException {
+    return ImmutableList.copyOf(Resources.readLines(Resources.getResource(BenchmarkInputs.class, resource), Charsets.UTF_8));
+  }
+}
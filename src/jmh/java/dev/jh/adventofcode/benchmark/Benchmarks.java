@@ -0,0 +1,32 @@
+package dev.jh.adventofcode.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the solver benchmarks with the GC profiler attached, so every result reports allocation rate
+ * (gc.alloc.rate.norm is bytes allocated per operation) next to throughput.  Results are written as JSON so runs
+ * can be compared over time.
+ *
+ * Usage: java -cp target/benchmarks.jar dev.jh.adventofcode.benchmark.Benchmarks [include regex] [result file]
+ */
+public class Benchmarks {
+
+  public static void main(String[] args) throws RunnerException {
+    String include = args.length > 0 ? args[0] : Benchmarks.class.getPackage().getName() + ".*";
+    String resultFile = args.length > 1 ? args[1] : "jmh-result.json";
+
+    Options options = new OptionsBuilder()
+        .include(include)
+        .addProfiler(GCProfiler.class)
+        .resultFormat(ResultFormatType.JSON)
+        .result(resultFile)
+        .build();
+
+    new Runner(options).run();
+  }
+}
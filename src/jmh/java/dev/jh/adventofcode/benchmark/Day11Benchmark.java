@@ -0,0 +1,38 @@
+package dev.jh.adventofcode.benchmark;
+
+import dev.jh.adventofcode.Day11;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Day11Benchmark {
+
+  /** Width and height of the square grid to search, cropped from the top left of the bundled 300x300 grid. */
+  @Param({"50", "150", "300"})
+  public int size;
+
+  private int[][] grid;
+
+  @Setup
+  public void setup() throws IOException {
+    int serialNumber = Integer.parseInt(BenchmarkInputs.lines("/day11.txt").get(0).trim());
+    int[][] fullGrid = Day11.grid(serialNumber);
+
+    grid = new int[size][size];
+    for (int y = 0; y < size; y ++) {
+      System.arraycopy(fullGrid[y], 0, grid[y], 0, size);
+    }
+  }
+
+  @Benchmark
+  public Day11.Point largestTotalPower() {
+    return Day11.largestTotalPower(grid);
+  }
+}
@@ -0,0 +1,37 @@
+package dev.jh.adventofcode.benchmark;
+
+import com.google.common.collect.ImmutableList;
+import dev.jh.adventofcode.Day12;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Day12Benchmark {
+
+  /** Generations to simulate - 20 is part 1, 50 billion is part 2 and relies on cycle detection. */
+  @Param({"20", "1000", "50000000000"})
+  public long generations;
+
+  private Day12.Plants plants;
+  private Day12.Rules rules;
+
+  @Setup
+  public void setup() throws IOException {
+    ImmutableList<String> lines = BenchmarkInputs.lines("/day12.txt");
+
+    plants = Day12.Plants.parse(lines.get(0));
+    rules = Day12.Rules.parse(lines.subList(2, lines.size()));
+  }
+
+  @Benchmark
+  public long count() {
+    return Day12.count(plants, rules, generations);
+  }
+}
@@ -0,0 +1,25 @@
+package dev.jh.adventofcode.benchmark;
+
+import dev.jh.adventofcode.Day14;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Day14Benchmark {
+
+  /** Score sequence to search for.  The examples are found within a few thousand recipes, the bundled input takes millions. */
+  @Param({"51589", "59414", "360781"})
+  public String sequence;
+
+  @Benchmark
+  public long recipesBefore() {
+    return Day14.recipesBefore(sequence);
+  }
+}
@@ -0,0 +1,74 @@
+package dev.jh.adventofcode.benchmark;
+
+import com.google.common.collect.ImmutableList;
+import dev.jh.adventofcode.Day15;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import java.util.Random;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Day15Benchmark {
+
+  /**
+   * Board to fight on.  'bundled' is the puzzle input, 'openN' is an NxN arena with no interior walls and randomly
+   * placed units.  The bundled map can't be tiled - walled off copies would leave combat that never ends.
+   */
+  @Param({"bundled", "open16", "open32"})
+  public String board;
+
+  private Day15.Board initial;
+
+  @Setup
+  public void setup() throws IOException {
+    if (board.equals("bundled")) {
+      initial = Day15.Board.parseLines(BenchmarkInputs.lines("/day15.txt"));
+    } else {
+      initial = Day15.Board.parseLines(openArena(Integer.parseInt(board.substring("open".length())), 1L));
+    }
+  }
+
+  @Benchmark
+  public int outcome() {
+    return Day15.outcome(initial);
+  }
+
+  /**
+   * Builds a size x size arena surrounded by walls where roughly 5% of the open squares hold units.  There's always
+   * at least one goblin and one elf, so the battle has an outcome.
+   */
+  private static ImmutableList<String> openArena(int size, long seed) {
+    Random random = new Random(seed);
+    char[][] squares = new char[size][size];
+
+    for (int y = 0; y < size; y ++) {
+      for (int x = 0; x < size; x ++) {
+        boolean wall = y == 0 || x == 0 || y == size - 1 || x == size - 1;
+        if (wall) {
+          squares[y][x] = '#';
+        } else if (random.nextInt(20) == 0) {
+          squares[y][x] = random.nextBoolean() ? 'G' : 'E';
+        } else {
+          squares[y][x] = '.';
+        }
+      }
+    }
+
+    squares[1][1] = 'G';
+    squares[size - 2][size - 2] = 'E';
+
+    ImmutableList.Builder<String> lines = ImmutableList.builder();
+    for (char[] line : squares) {
+      lines.add(new String(line));
+    }
+
+    return lines.build();
+  }
+}
@@ -0,0 +1,63 @@
+package dev.jh.adventofcode.benchmark;
+
+import com.google.common.collect.ImmutableList;
+import dev.jh.adventofcode.Day17;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Day17Benchmark {
+
+  /** Number of copies of the bundled scan stacked on top of each other - water falls through every copy. */
+  @Param({"1", "4", "16"})
+  public int scale;
+
+  private ImmutableList<String> lines;
+  private Day17.Grid grid;
+
+  @Setup
+  public void setup() throws IOException {
+    ImmutableList<String> bundled = BenchmarkInputs.lines("/day17.txt");
+
+    int height = bundled.stream()
+        .map(Day17.ClayVein::parseLine)
+        .mapToInt(vein -> vein.direction == Day17.VeinDirection.VERTICAL ? vein.lineEnd : vein.fixed)
+        .max()
+        .orElseThrow(() -> new IllegalStateException("No clay veins"));
+
+    ImmutableList.Builder<String> scaled = ImmutableList.builder();
+    for (int copy = 0; copy < scale; copy ++) {
+      for (String line : bundled) {
+        scaled.add(shiftDown(Day17.ClayVein.parseLine(line), copy * height));
+      }
+    }
+
+    lines = scaled.build();
+  }
+
+  /** Flow mutates the grid, so every invocation needs a freshly parsed one. */
+  @Setup(Level.Invocation)
+  public void parseGrid() {
+    grid = Day17.parseLines(lines);
+  }
+
+  @Benchmark
+  public Day17.Grid flow() {
+    return grid.flow();
+  }
+
+  private static String shiftDown(Day17.ClayVein vein, int dy) {
+    if (vein.direction == Day17.VeinDirection.VERTICAL) {
+      return "x=" + vein.fixed + ", y=" + (vein.lineStart + dy) + ".." + (vein.lineEnd + dy);
+    } else {
+      return "y=" + (vein.fixed + dy) + ", x=" + vein.lineStart + ".." + vein.lineEnd;
+    }
+  }
+}
@@ -0,0 +1,41 @@
+package dev.jh.adventofcode.benchmark;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import dev.jh.adventofcode.Day18;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Day18Benchmark {
+
+  /** The bundled yard is tiled scale x scale times. */
+  @Param({"1", "2", "4"})
+  public int scale;
+
+  private Day18.Yard yard;
+
+  @Setup
+  public void setup() throws IOException {
+    ImmutableList.Builder<String> lines = ImmutableList.builder();
+    for (int copy = 0; copy < scale; copy ++) {
+      for (String line : BenchmarkInputs.lines("/day18.txt")) {
+        lines.add(Strings.repeat(line, scale));
+      }
+    }
+
+    yard = Day18.Yard.parse(lines.build());
+  }
+
+  @Benchmark
+  public Day18.Yard tenMinutes() {
+    return Day18.tickMinutes(yard, 10);
+  }
+}
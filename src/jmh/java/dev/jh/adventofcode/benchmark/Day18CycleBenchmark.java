@@ -0,0 +1,41 @@
+package dev.jh.adventofcode.benchmark;
+
+import dev.jh.adventofcode.Day18;
+import dev.jh.adventofcode.cycle.CycleFinder;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Part 2 of day 18 runs until the yard repeats.  Tiled yards take too long to settle into a cycle to be useful, so
+ * this always uses the bundled yard rather than sharing Day18Benchmark's scale parameter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Day18CycleBenchmark {
+
+  /** Finds the cycle in constant memory, at the cost of more ticks than the hashed finder Day18 uses. */
+  private static final CycleFinder<Day18.Yard> BRENT = CycleFinder.of(Day18.Yard::tick, (a, b) -> a.acres.equals(b.acres));
+
+  private Day18.Yard yard;
+
+  @Setup
+  public void setup() throws IOException {
+    yard = Day18.Yard.parse(BenchmarkInputs.lines("/day18.txt"));
+  }
+
+  @Benchmark
+  public Day18.Yard billionMinutes() {
+    return Day18.tickMinutes(yard, 1000000000);
+  }
+
+  @Benchmark
+  public Day18.Yard billionMinutesBrent() {
+    return BRENT.advance(yard, 1000000000);
+  }
+}
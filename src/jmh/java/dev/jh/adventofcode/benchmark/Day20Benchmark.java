@@ -0,0 +1,44 @@
+package dev.jh.adventofcode.benchmark;
+
+import com.google.common.base.Strings;
+import dev.jh.adventofcode.Day20;
+import dev.jh.adventofcode.collect.LongIntHashMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Day20Benchmark {
+
+  /** Number of times the bundled route is walked in sequence, which builds a bigger facility. */
+  @Param({"1", "4", "16"})
+  public int scale;
+
+  private Day20.Instruction instruction;
+  private LongIntHashMap graph;
+
+  @Setup
+  public void setup() throws IOException {
+    String line = BenchmarkInputs.lines("/day20.txt").get(0);
+    String route = line.substring(1, line.length() - 1);
+
+    instruction = Day20.parse("^" + Strings.repeat(route, scale) + "$");
+    graph = Day20.buildGraph(instruction);
+  }
+
+  @Benchmark
+  public LongIntHashMap buildGraph() {
+    return Day20.buildGraph(instruction);
+  }
+
+  @Benchmark
+  public LongIntHashMap roomDistances() {
+    return Day20.roomDistances(graph);
+  }
+}
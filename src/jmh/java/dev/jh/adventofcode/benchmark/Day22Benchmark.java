@@ -0,0 +1,42 @@
+package dev.jh.adventofcode.benchmark;
+
+import com.google.common.collect.ImmutableList;
+import dev.jh.adventofcode.Day22;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Day22Benchmark {
+
+  /**
+   * Target to rescue, as 'XxY'.  10x10 is the example target and 8x701 is the bundled one - the rest shrink the
+   * bundled target so the path search can be compared as the cave grows.  The JMH command line splits parameter
+   * values on commas, so the puzzle's 'x,y' format can't be used here.
+   */
+  @Param({"10x10", "8x100", "8x300", "8x701"})
+  public String target;
+
+  private Day22.Cave cave;
+
+  @Setup
+  public void setup() throws IOException {
+    // depth: 5913
+    ImmutableList<String> lines = BenchmarkInputs.lines("/day22.txt");
+    int depth = Integer.parseInt(lines.get(0).substring("depth: ".length()).trim());
+
+    String[] xy = target.split("x");
+    cave = new Day22.Cave(new Day22.Point(Integer.parseInt(xy[0]), Integer.parseInt(xy[1])), depth);
+  }
+
+  @Benchmark
+  public int fastestMinutes() {
+    return cave.fastestMinutes();
+  }
+}
@@ -0,0 +1,57 @@
+package dev.jh.adventofcode.benchmark;
+
+import com.google.common.collect.ImmutableList;
+import dev.jh.adventofcode.Day23;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import java.util.Random;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Day23Benchmark {
+
+  /**
+   * Number of copies of the bundled nanobots.  Copies are jittered so they don't collapse onto the same bots -
+   * visibility between bots is quadratic, so this grows quickly.
+   */
+  @Param({"1", "2", "4"})
+  public int scale;
+
+  private ImmutableList<Day23.Nanobot> nanobots;
+
+  @Setup
+  public void setup() throws IOException {
+    ImmutableList<Day23.Nanobot> bundled = BenchmarkInputs.lines("/day23.txt").stream()
+        .map(Day23.Nanobot::parse)
+        .collect(ImmutableList.toImmutableList());
+
+    Random random = new Random(1L);
+    ImmutableList.Builder<Day23.Nanobot> scaled = ImmutableList.builder();
+    scaled.addAll(bundled);
+
+    for (int copy = 1; copy < scale; copy ++) {
+      for (Day23.Nanobot nanobot : bundled) {
+        scaled.add(new Day23.Nanobot(
+            new Day23.Position(
+                nanobot.position.x + random.nextInt(2001) - 1000,
+                nanobot.position.y + random.nextInt(2001) - 1000,
+                nanobot.position.z + random.nextInt(2001) - 1000),
+            nanobot.range));
+      }
+    }
+
+    nanobots = scaled.build();
+  }
+
+  @Benchmark
+  public long mostNanobotsDistance() {
+    return Day23.mostNanobotsDistance(nanobots);
+  }
+}
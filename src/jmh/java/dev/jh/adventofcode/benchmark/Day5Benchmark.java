@@ -0,0 +1,33 @@
+package dev.jh.adventofcode.benchmark;
+
+import com.google.common.base.Strings;
+import dev.jh.adventofcode.Day5;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Day5Benchmark {
+
+  /** Number of copies of the bundled polymer to react at once. */
+  @Param({"1", "4", "16"})
+  public int scale;
+
+  private String polymer;
+
+  @Setup
+  public void setup() throws IOException {
+    polymer = Strings.repeat(BenchmarkInputs.lines("/day5.txt").get(0), scale);
+  }
+
+  @Benchmark
+  public String react() {
+    return Day5.react(polymer);
+  }
+}
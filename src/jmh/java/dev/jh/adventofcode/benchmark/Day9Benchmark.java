@@ -0,0 +1,28 @@
+package dev.jh.adventofcode.benchmark;
+
+import dev.jh.adventofcode.Day9;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Day9Benchmark {
+
+  private static final int PLAYERS = 458;
+  private static final int LAST_MARBLE = 72019;
+
+  /** Multiplier on the bundled last marble - part 2 of the puzzle is 100x. */
+  @Param({"1", "10", "100"})
+  public int scale;
+
+  @Benchmark
+  public long highScore() {
+    return Day9.highScore(PLAYERS, LAST_MARBLE * scale);
+  }
+}
@@ -0,0 +1,108 @@
+package dev.jh.adventofcode.benchmark;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableList;
+import dev.jh.adventofcode.Day10;
+import dev.jh.adventofcode.Day17;
+import dev.jh.adventofcode.Day23;
+import dev.jh.adventofcode.Day3;
+import dev.jh.adventofcode.Day4;
+import dev.jh.adventofcode.input.Input;
+import dev.jh.adventofcode.input.LineCursor;
+import dev.jh.adventofcode.input.TokenCursor;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Compares the old regex record parsers against the token cursor parsers, over a string per record and straight out
+ * of the input bytes.  Every invocation parses {@link #RECORDS} records, so the score is records per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseBenchmark {
+  private static final int RECORDS = 1000;
+
+  @Param({"3", "4", "10", "17", "23"})
+  public int day;
+
+  private ImmutableList<String> records;
+  private byte[] bytes;
+  private Function<String, ?> regexParser;
+  private Function<String, ?> stringParser;
+  private Function<TokenCursor, ?> cursorParser;
+
+  @Setup
+  public void setup() throws IOException {
+    ImmutableList<String> bundled = BenchmarkInputs.lines("/day" + day + ".txt");
+    ImmutableList.Builder<String> builder = ImmutableList.builder();
+    for (int i = 0; i < RECORDS; i ++) {
+      builder.add(bundled.get(i % bundled.size()));
+    }
+    records = builder.build();
+    bytes = Joiner.on('\n').join(records).getBytes(Charsets.UTF_8);
+
+    switch (day) {
+      case 3:
+        regexParser = RegexParsers::claim;
+        stringParser = Day3.Claim::parse;
+        cursorParser = Day3.Claim::parse;
+        break;
+      case 4:
+        regexParser = RegexParsers::logEntry;
+        stringParser = Day4.LogEntry::parse;
+        cursorParser = Day4.LogEntry::parse;
+        break;
+      case 10:
+        regexParser = RegexParsers::star;
+        stringParser = Day10.Star::parse;
+        cursorParser = Day10.Star::parse;
+        break;
+      case 17:
+        regexParser = RegexParsers::clayVein;
+        stringParser = Day17.ClayVein::parseLine;
+        cursorParser = Day17.ClayVein::parse;
+        break;
+      case 23:
+        regexParser = RegexParsers::nanobot;
+        stringParser = Day23.Nanobot::parse;
+        cursorParser = Day23.Nanobot::parse;
+        break;
+      default:
+        throw new IllegalArgumentException("No record parser for day " + day);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORDS)
+  public void regex(Blackhole blackhole) {
+    for (String record : records) {
+      blackhole.consume(regexParser.apply(record));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORDS)
+  public void stringCursor(Blackhole blackhole) {
+    for (String record : records) {
+      blackhole.consume(stringParser.apply(record));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORDS)
+  public void lineCursor(Blackhole blackhole) {
+    LineCursor cursor = Input.ofBytes(bytes).lines();
+    while (cursor.next()) {
+      blackhole.consume(cursorParser.apply(cursor));
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package dev.jh.adventofcode.benchmark;
+
+import dev.jh.adventofcode.Day10;
+import dev.jh.adventofcode.Day17;
+import dev.jh.adventofcode.Day23;
+import dev.jh.adventofcode.Day3;
+import dev.jh.adventofcode.Day4;
+
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The regex record parsers the days used before they moved onto token cursors, kept as the baseline for
+ * {@link ParseBenchmark}.
+ */
+final class RegexParsers {
+  private static final Pattern CLAIM_PATTERN = Pattern.compile("(#\\d+) @ (\\d+),(\\d+): (\\d+)x(\\d+)");
+
+  private static final String DATE_PATTERN = "\\[(\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2})\\]";
+  private static final Pattern BEGIN_SHIFT_PATTERN = Pattern.compile(DATE_PATTERN + " Guard #(\\d+) begins shift");
+  private static final Pattern FALL_ASLEEP_PATTERN = Pattern.compile(DATE_PATTERN + " falls asleep");
+  private static final Pattern WAKE_UP_PATTERN = Pattern.compile(DATE_PATTERN + " wakes up");
+
+  private static final Pattern STAR_PATTERN = Pattern.compile("position=< *(-?\\d+), *(-?\\d+)> velocity=< *(-?\\d+), *(-?\\d+)>");
+
+  private static final Pattern CLAY_VEIN_PATTERN = Pattern.compile("^([xy])=(\\d+), [xy]=(\\d+)..(\\d+)$");
+
+  private static final Pattern NANOBOT_PATTERN = Pattern.compile("^pos=<(-?\\d+),(-?\\d+),(-?\\d+)>, r=(\\d+)$");
+
+  private RegexParsers() {}
+
+  static Day3.Claim claim(String claim) {
+    Matcher matcher = CLAIM_PATTERN.matcher(claim);
+    if (!matcher.matches()) {
+      throw new IllegalArgumentException(claim + " is not a valid claim.");
+    }
+
+    return new Day3.Claim(
+        matcher.group(1),
+        Integer.parseInt(matcher.group(2)),
+        Integer.parseInt(matcher.group(3)),
+        Integer.parseInt(matcher.group(4)),
+        Integer.parseInt(matcher.group(5))
+    );
+  }
+
+  static Day4.LogEntry logEntry(String string) {
+    Matcher beginShiftMatcher = BEGIN_SHIFT_PATTERN.matcher(string);
+    if (beginShiftMatcher.matches()) {
+      return new Day4.LogEntry(
+          Day4.parseDateTime(beginShiftMatcher.group(1)),
+          Optional.of(Integer.parseInt(beginShiftMatcher.group(2))),
+          Day4.LogEntryType.BEGIN_SHIFT
+      );
+    }
+
+    Matcher fallAsleepMatcher = FALL_ASLEEP_PATTERN.matcher(string);
+    if (fallAsleepMatcher.matches()) {
+      return new Day4.LogEntry(Day4.parseDateTime(fallAsleepMatcher.group(1)), Optional.empty(), Day4.LogEntryType.FALL_ASLEEP);
+    }
+
+    Matcher wakeUpMatcher = WAKE_UP_PATTERN.matcher(string);
+    if (wakeUpMatcher.matches()) {
+      return new Day4.LogEntry(Day4.parseDateTime(wakeUpMatcher.group(1)), Optional.empty(), Day4.LogEntryType.WAKE_UP);
+    }
+
+    throw new IllegalArgumentException("'" + string + "' is not a valid log entry");
+  }
+
+  static Day10.Star star(String line) {
+    Matcher matcher = STAR_PATTERN.matcher(line);
+    if (!matcher.matches()) {
+      throw new IllegalArgumentException(line + " is not a valid point.");
+    }
+
+    return new Day10.Star(
+        new Day10.Point(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))),
+        new Day10.Point(Integer.parseInt(matcher.group(3)), Integer.parseInt(matcher.group(4)))
+    );
+  }
+
+  static Day17.ClayVein clayVein(String line) {
+    Matcher matcher = CLAY_VEIN_PATTERN.matcher(line);
+    if (!matcher.matches()) {
+      throw new IllegalArgumentException(line + " is not a valid clay vein");
+    }
+
+    return new Day17.ClayVein(
+        "x".equals(matcher.group(1)) ? Day17.VeinDirection.VERTICAL : Day17.VeinDirection.HORIZONTAL,
+        Integer.parseInt(matcher.group(2)),
+        Integer.parseInt(matcher.group(3)),
+        Integer.parseInt(matcher.group(4))
+    );
+  }
+
+  static Day23.Nanobot nanobot(String line) {
+    Matcher matcher = NANOBOT_PATTERN.matcher(line);
+    if (!matcher.matches()) {
+      throw new IllegalArgumentException(line + " is not a valid nanobot");
+    }
+
+    return new Day23.Nanobot(
+        new Day23.Position(
+            Long.parseLong(matcher.group(1)),
+            Long.parseLong(matcher.group(2)),
+            Long.parseLong(matcher.group(3))
+        ),
+        Long.parseLong(matcher.group(4))
+    );
+  }
+}
@@ -0,0 +1,138 @@
+package dev.jh.adventofcode.benchmark;
+
+import dev.jh.adventofcode.Solver;
+import dev.jh.adventofcode.Solvers;
+import dev.jh.adventofcode.generate.Generators;
+import dev.jh.adventofcode.input.Input;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs solvers against generated inputs of increasing scale, to see how they grow.  Inputs are generated into a
+ * temporary file before each trial, and every run is a single shot because the big scales take seconds to minutes.
+ *
+ * The main method runs the benchmark and prints the growth curve - the time at each scale, and the exponent k of
+ * time ~ scale^k from the scale before.  The largest scales of the quadratic days run for a long time, so pick the
+ * days and scales to run.
+ *
+ * Usage: java -cp target/benchmarks.jar dev.jh.adventofcode.benchmark.ScalingBenchmark [days] [scales]
+ *   for example: ScalingBenchmark 3,20,23 1,10,100
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class ScalingBenchmark {
+  private static final long SEED = 1L;
+
+  @Param({"3", "6", "7", "13", "15", "17", "20", "22", "23"})
+  public int day;
+
+  @Param({"1", "10", "100", "1000"})
+  public int scale;
+
+  private Path path;
+  private Solver<Object> solver;
+  private Object input;
+
+  @Setup
+  @SuppressWarnings("unchecked")
+  public void setup() throws IOException {
+    path = Files.createTempFile("day" + day + "-" + scale + "x-", ".txt");
+    Generators.write(Generators.forDay(day), scale, SEED, path);
+
+    solver = (Solver<Object>) Solvers.forDay(day);
+    input = parse();
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(path);
+  }
+
+  @Benchmark
+  public Object parse() throws IOException {
+    try (Input in = Input.open(path)) {
+      return solver.parse(in);
+    }
+  }
+
+  @Benchmark
+  public String part1() {
+    return solver.part1(input);
+  }
+
+  @Benchmark
+  public String part2() {
+    return solver.part2(input);
+  }
+
+  /**
+   * Formats the results as a table with a row per day, step and scale, including the growth exponent from the
+   * previous scale of the same day and step.
+   *
+   * @param results Results of the benchmark
+   * @return Printable growth curve.
+   */
+  static String growthCurve(Collection<RunResult> results) {
+    List<RunResult> sorted = new ArrayList<>(results);
+    sorted.sort(Comparator
+        .comparingInt((RunResult result) -> Integer.parseInt(result.getParams().getParam("day")))
+        .thenComparing(result -> result.getParams().getBenchmark())
+        .thenComparingInt(result -> Integer.parseInt(result.getParams().getParam("scale"))));
+
+    StringBuilder bldr = new StringBuilder();
+    bldr.append(String.format("%3s  %-6s  %6s  %12s  %8s\n", "Day", "Step", "Scale", "ms", "Growth"));
+
+    RunResult previous = null;
+    for (RunResult result : sorted) {
+      String day = result.getParams().getParam("day");
+      String benchmark = result.getParams().getBenchmark();
+      int scale = Integer.parseInt(result.getParams().getParam("scale"));
+      double millis = result.getPrimaryResult().getScore();
+
+      String growth = "";
+      if (previous != null
+          && previous.getParams().getParam("day").equals(day)
+          && previous.getParams().getBenchmark().equals(benchmark)) {
+        int previousScale = Integer.parseInt(previous.getParams().getParam("scale"));
+        double previousMillis = previous.getPrimaryResult().getScore();
+        growth = String.format("%.2f", Math.log(millis / previousMillis) / Math.log((double) scale / previousScale));
+      }
+
+      bldr.append(String.format("%3s  %-6s  %5dx  %12.1f  %8s\n",
+          day, benchmark.substring(benchmark.lastIndexOf('.') + 1), scale, millis, growth));
+      previous = result;
+    }
+
+    return bldr.toString();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    OptionsBuilder options = new OptionsBuilder();
+    options.include(ScalingBenchmark.class.getName());
+    if (args.length > 0) {
+      options.param("day", args[0].split(","));
+    }
+    if (args.length > 1) {
+      options.param("scale", args[1].split(","));
+    }
+
+    Collection<RunResult> results = new Runner(options.build()).run();
+    System.out.print("\n" + growthCurve(results));
+  }
+}
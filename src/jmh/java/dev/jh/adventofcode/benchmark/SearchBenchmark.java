@@ -0,0 +1,92 @@
+package dev.jh.adventofcode.benchmark;
+
+import dev.jh.adventofcode.grid.GridLayout;
+import dev.jh.adventofcode.search.Graph;
+import dev.jh.adventofcode.search.Search;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the searches on a square grid where entering a cell costs 1 to 9, like the weighted grid puzzles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+
+  /** Width and height of the grid. */
+  @Param({"100", "500"})
+  public int size;
+
+  private GridLayout layout;
+  private Graph graph;
+  private int source;
+  private int target;
+  private final Search search = new Search();
+
+  @Setup
+  public void setup() {
+    layout = new GridLayout(size, size);
+
+    // Border cells are negative so they're never entered.
+    Random random = new Random(size);
+    int[] costs = new int[layout.size()];
+    for (int id = 0; id < costs.length; id ++) {
+      costs[id] = layout.contains(id) ? 1 + random.nextInt(9) : -1;
+    }
+
+    graph = new Graph() {
+      @Override
+      public int size() {
+        return layout.size();
+      }
+
+      @Override
+      public int maxDegree() {
+        return layout.orthogonal.length();
+      }
+
+      @Override
+      public int edges(int node, int[] targets, int[] weights) {
+        int count = 0;
+        for (int i = 0; i < layout.orthogonal.length(); i ++) {
+          int neighbor = node + layout.orthogonal.get(i);
+          if (costs[neighbor] > 0) {
+            targets[count] = neighbor;
+            weights[count ++] = costs[neighbor];
+          }
+        }
+
+        return count;
+      }
+    };
+
+    source = layout.id(0, 0);
+    target = layout.id(size - 1, size - 1);
+  }
+
+  @Benchmark
+  public int bfs() {
+    return search.bfs(graph, source)[target];
+  }
+
+  @Benchmark
+  public int dijkstra() {
+    return search.dijkstra(graph, source)[target];
+  }
+
+  @Benchmark
+  public int dial() {
+    return search.dial(graph, source, 9)[target];
+  }
+
+  @Benchmark
+  public int aStar() {
+    return search.aStar(graph, source, target, node -> (size - 1 - layout.x(node)) + (size - 1 - layout.y(node)));
+  }
+}
@@ -1,51 +1,423 @@
 package dev.jh.adventofcode;
 
-import com.google.common.base.Charsets;
-import com.google.common.io.Files;
+import com.google.common.collect.ImmutableList;
+import com.google.common.math.LongMath;
+import com.google.common.primitives.ImmutableIntArray;
+import dev.jh.adventofcode.collect.IntBitSet;
+import dev.jh.adventofcode.collect.LongHashSet;
+import dev.jh.adventofcode.input.Input;
+import dev.jh.adventofcode.input.LineCursor;
 
-import java.io.File;
-import java.util.HashSet;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
 
-public class Day1 {
+public class Day1 implements Solver<ImmutableIntArray> {
+  /**
+   * Widest range of frequencies that's tracked with a bitmap - 2^26 bits is 8MB, and growing can at most double it.
+   */
+  private static final long MAX_BITMAP_RANGE = 1L << 26;
+  /** Smallest part of the input worth summing on its own thread. */
+  private static final long MIN_PART_SIZE = 1 << 20;
 
   public static int parseFrequency(String str) {
     return Integer.parseInt(str);
   }
 
-  public static int frequencyAfter(List<String> lines) {
-    return lines.stream()
-        .mapToInt(Day1::parseFrequency)
+  /**
+   * Parses the frequency changes in the input, one signed number per line.
+   *
+   * @param input Input to parse
+   * @return Frequency changes in order.
+   */
+  public static ImmutableIntArray parseFrequencies(Input input) {
+    ImmutableIntArray.Builder changes = ImmutableIntArray.builder();
+    LineCursor cursor = input.lines();
+    while (cursor.next()) {
+      changes.add(cursor.nextInt());
+      cursor.expectEnd();
+    }
+
+    return changes.build();
+  }
+
+  public static long frequencyAfter(List<String> lines) {
+    return frequencyAfter(ImmutableIntArray.copyOf(lines.stream().mapToInt(Day1::parseFrequency)));
+  }
+
+  /**
+   * Sums the frequency changes as longs, so they don't wrap around however far outside the range of an int they add up
+   * to.
+   *
+   * @param changes Frequency changes
+   * @return Resulting frequency.
+   */
+  public static long frequencyAfter(ImmutableIntArray changes) {
+    return changes.stream().asLongStream().sum();
+  }
+
+  /**
+   * Sums the frequency changes straight out of the input without parsing them into a list first, so inputs of any size
+   * can be summed.  Big inputs are split into line-aligned parts that are summed in parallel.
+   *
+   * @param input Input with one signed number per line
+   * @return Resulting frequency, which can be well outside the range of an int.
+   */
+  public static long frequencyAfter(Input input) {
+    int parts = (int) Math.min(Runtime.getRuntime().availableProcessors() * 4L, input.size() / MIN_PART_SIZE);
+    return frequencyAfter(input, Math.max(parts, 1));
+  }
+
+  static long frequencyAfter(Input input, int parts) {
+    return input.split(parts).parallelStream()
+        .mapToLong(part -> {
+          ChangeSummer summer = new ChangeSummer(part.offset());
+          part.forEachWindow(summer);
+          return summer.finish();
+        })
         .sum();
   }
 
-  public static int firstFrequencyTwice(List<String> lines) {
-    Set<Integer> seen = new HashSet<>();
-    int current = 0;
+  public static long firstFrequencyTwice(List<String> lines) {
+    return firstFrequencyTwice(ImmutableIntArray.copyOf(lines.stream().mapToInt(Day1::parseFrequency)));
+  }
+
+  /**
+   * Returns the first frequency reached twice, looping through the changes as many times as it takes.
+   *
+   * @param changes Frequency changes
+   * @return First repeated frequency.
+   */
+  public static long firstFrequencyTwice(ImmutableIntArray changes) {
+    if (changes.isEmpty()) {
+      throw new IllegalArgumentException("No frequency changes");
+    }
+
+    int[] deltas = changes.toArray();
+
+    // Each pass reaches the first pass's frequencies shifted by the total, so the frequencies stay in the first pass's
+    // range stretched by the total once per pass.  For real inputs that's narrow, and a bitmap over it is smaller and
+    // faster than hashing every frequency.
+    long min = 0;
+    long max = 0;
+    long frequency = 0;
+    for (int delta : deltas) {
+      frequency += delta;
+      min = Math.min(min, frequency);
+      max = Math.max(max, frequency);
+    }
+
+    SeenFrequencies seen = new SeenFrequencies(min, max, deltas.length);
+    long current = 0;
+    seen.add(current);
 
     while (true) { // Input is crafted to guarantee a repeat - keep looping until we find one.
-      for (String line : lines) {
-        seen.add(current);
-        current += parseFrequency(line);
+      for (int delta : deltas) {
+        current += delta;
 
-        if (seen.contains(current)) {
+        if (!seen.add(current)) {
           return current;
         }
       }
     }
   }
 
-  public static void main(String[] args) throws Exception {
-    File file = new File(Day1.class.getResource("/day1.txt").getFile());
-    List<String> lines = Files.readLines(file, Charsets.UTF_8);
+  /**
+   * Frequencies reached so far.  They're kept in a bitmap while they all fit in {@link #MAX_BITMAP_RANGE}, and moved to
+   * a hash set as soon as one doesn't, so a total that drifts over many passes can't grow the bitmap without bound.
+   */
+  private static final class SeenFrequencies {
+    private IntBitSet bitmap;
+    private LongHashSet hashed;
+    private long min;
+    private long max;
+
+    SeenFrequencies(long min, long max, int expectedSize) {
+      if (fitsBitmap(min, max)) {
+        bitmap = new IntBitSet((int) min, (int) max);
+        this.min = min;
+        this.max = max;
+      } else {
+        hashed = new LongHashSet(expectedSize);
+      }
+    }
+
+    private static boolean fitsBitmap(long min, long max) {
+      return max - min < MAX_BITMAP_RANGE && min >= Integer.MIN_VALUE && max <= Integer.MAX_VALUE;
+    }
+
+    /**
+     * Adds the frequency.
+     *
+     * @return Whether it was added - false if it had been reached before.
+     */
+    boolean add(long frequency) {
+      if (bitmap != null) {
+        long newMin = Math.min(min, frequency);
+        long newMax = Math.max(max, frequency);
+        if (fitsBitmap(newMin, newMax)) {
+          min = newMin;
+          max = newMax;
+          return bitmap.add((int) frequency);
+        }
+
+        LongHashSet moved = new LongHashSet(bitmap.size() * 2);
+        bitmap.forEach(moved::add);
+        hashed = moved;
+        bitmap = null;
+      }
+
+      return hashed.add(frequency);
+    }
+  }
+
+  /**
+   * Returns the first frequency reached twice without simulating the passes, so it takes the same time however many
+   * passes a repeat needs, and finds out when there isn't one.
+   * <p>
+   * Pass k reaches the frequencies of the first pass shifted by k times the total.  So a frequency from the first pass
+   * comes round again exactly when a later one in the same residue class modulo the total is a whole number of totals
+   * ahead of it - and the nearest one ahead is the first to do it.  Sorting the first pass by residue, then by how many
+   * totals along it is, puts each frequency next to the one it'll reach first, and the repeat is whichever of those
+   * pairs happens earliest, by pass and then by index.
+   *
+   * @param changes Frequency changes
+   * @return First repeated frequency, or empty if no frequency is ever reached twice.
+   */
+  public static OptionalLong firstRepeatedFrequency(ImmutableIntArray changes) {
+    if (changes.isEmpty()) {
+      throw new IllegalArgumentException("No frequency changes");
+    }
+
+    int length = changes.length();
+    // Frequency before each change of the first pass.
+    long[] frequencies = new long[length];
+    long total = 0;
+    for (int i = 0; i < length; i ++) {
+      frequencies[i] = total;
+      total += changes.get(i);
+    }
+
+    // Every frequency is residue + totals * total.  Without a total, every pass is the same, so each frequency is its
+    // own class.
+    long[] residues = new long[length];
+    long[] totals = new long[length];
+    for (int i = 0; i < length; i ++) {
+      residues[i] = total == 0 ? frequencies[i] : Math.floorMod(frequencies[i], Math.abs(total));
+      totals[i] = total == 0 ? 0 : (frequencies[i] - residues[i]) / total;
+    }
+
+    int[] order = orderByResidue(residues, totals);
+
+    long bestPass = Long.MAX_VALUE;
+    int bestIndex = Integer.MAX_VALUE;
+    long repeated = 0;
+    for (int start = 0, end; start < length; start = end) {
+      int first = order[start];
+      end = start + 1;
+      while (end < length && residues[order[end]] == residues[first] && totals[order[end]] == totals[first]) {
+        end ++;
+      }
+
+      // The same frequency more than once in a pass repeats at its second index.
+      if (end - start > 1 && isEarlier(0, order[start + 1], bestPass, bestIndex)) {
+        bestPass = 0;
+        bestIndex = order[start + 1];
+        repeated = frequencies[first];
+      }
+
+      // Otherwise the earliest index reaches the next frequency along after the passes between them.
+      if (end < length && residues[order[end]] == residues[first]) {
+        long pass = totals[order[end]] - totals[first];
+        if (isEarlier(pass, first, bestPass, bestIndex)) {
+          bestPass = pass;
+          bestIndex = first;
+          repeated = frequencies[order[end]];
+        }
+      }
+    }
+
+    if (bestPass != Long.MAX_VALUE) {
+      return OptionalLong.of(repeated);
+    }
+
+    // With no total, the second pass starts back at 0.
+    return total == 0 ? OptionalLong.of(0) : OptionalLong.empty();
+  }
+
+  /**
+   * Returns the indexes of the frequencies sorted by residue, then totals, then index.  When all three fit in a long
+   * - which they do unless the input is huge and spread very wide - they're packed together and sorted as primitives,
+   * which is several times faster than sorting boxed indexes.
+   */
+  private static int[] orderByResidue(long[] residues, long[] totals) {
+    int length = residues.length;
+    long minResidue = Arrays.stream(residues).min().getAsLong();
+    long minTotals = Arrays.stream(totals).min().getAsLong();
+    long residueSpan = Arrays.stream(residues).max().getAsLong() - minResidue + 1;
+    long totalsSpan = Arrays.stream(totals).max().getAsLong() - minTotals + 1;
+
+    int[] order = new int[length];
+    if (LongMath.saturatedMultiply(LongMath.saturatedMultiply(residueSpan, totalsSpan), length) < Long.MAX_VALUE) {
+      long[] keys = new long[length];
+      for (int i = 0; i < length; i ++) {
+        keys[i] = ((residues[i] - minResidue) * totalsSpan + totals[i] - minTotals) * length + i;
+      }
+      Arrays.sort(keys);
+      for (int i = 0; i < length; i ++) {
+        order[i] = (int) (keys[i] % length);
+      }
+
+    } else {
+      Integer[] boxed = new Integer[length];
+      Arrays.setAll(boxed, i -> i);
+      Arrays.sort(boxed, (a, b) -> {
+        int compare = Long.compare(residues[a], residues[b]);
+        if (compare == 0) {
+          compare = Long.compare(totals[a], totals[b]);
+        }
+        return compare == 0 ? Integer.compare(a, b) : compare;
+      });
+      Arrays.setAll(order, i -> boxed[i]);
+    }
+
+    return order;
+  }
+
+  private static boolean isEarlier(long pass, int index, long bestPass, int bestIndex) {
+    return pass < bestPass || (pass == bestPass && index < bestIndex);
+  }
+
+  /**
+   * Sums signed numbers, one per line, a byte at a time.  The number being read is carried from one window to the next,
+   * so windows can end anywhere.  Problems are reported with their byte offset, since parts are read out of order and
+   * there's no line number to give.
+   */
+  private static class ChangeSummer implements Consumer<ByteBuffer> {
+    private long position;
+    private long total;
+
+    private long value;
+    private boolean negative;
+    private boolean signed;
+    private int digits;
+    private boolean carriageReturn;
+
+    ChangeSummer(long offset) {
+      this.position = offset;
+    }
+
+    @Override
+    public void accept(ByteBuffer window) {
+      // The hot loop works on locals, which the JIT keeps in registers, and only writes the state back at the end.
+      long total = this.total;
+      long value = this.value;
+      int digits = this.digits;
+      boolean negative = this.negative;
+      boolean signed = this.signed;
+      boolean carriageReturn = this.carriageReturn;
+
+      int start = window.position();
+      for (int i = start; i < window.limit(); i ++) {
+        byte b = window.get(i);
+        if (b >= '0' && b <= '9' && !carriageReturn) {
+          value = value * 10 + (b - '0');
+          digits ++;
+          if (value > -(long) Integer.MIN_VALUE) {
+            throw error("Number is out of range for an int", i - start);
+          }
+        } else if (b == '\n') {
+          if (digits == 0) {
+            throw error("Expected a number", i - start);
+          }
+          if (!negative && value > Integer.MAX_VALUE) {
+            throw error("Number is out of range for an int", i - start);
+          }
+
+          total += negative ? -value : value;
+          value = 0;
+          digits = 0;
+          negative = signed = carriageReturn = false;
+        } else if (b == '\r' && !carriageReturn) {
+          carriageReturn = true;
+        } else if ((b == '-' || b == '+') && !signed && digits == 0) {
+          negative = b == '-';
+          signed = true;
+        } else {
+          throw error("Unexpected character '" + (char) (b & 0xFF) + "'", i - start);
+        }
+      }
+
+      this.total = total;
+      this.value = value;
+      this.digits = digits;
+      this.negative = negative;
+      this.signed = signed;
+      this.carriageReturn = carriageReturn;
+      position += window.limit() - start;
+    }
+
+    long finish() {
+      // The last line doesn't need a terminator.
+      if (signed || digits > 0 || carriageReturn) {
+        if (digits == 0) {
+          throw error("Expected a number", 0);
+        }
+        if (!negative && value > Integer.MAX_VALUE) {
+          throw error("Number is out of range for an int", 0);
+        }
+
+        total += negative ? -value : value;
+      }
+
+      return total;
+    }
+
+    private IllegalArgumentException error(String message, int index) {
+      return new IllegalArgumentException(message + " at byte " + (position + index));
+    }
+  }
+
+  @Override
+  public int day() {
+    return 1;
+  }
+
+  @Override
+  public ImmutableIntArray parse(ImmutableList<String> lines) {
+    return parseFrequencies(Input.ofLines(lines));
+  }
 
-    // Starting with 0, figure out the frequency after summing the input
-    int part1 = frequencyAfter(lines);
-    // Starting with 0 and looping through the file as many times as required, find the frequency that repeats first.
-    int part2 = firstFrequencyTwice(lines);
+  @Override
+  public ImmutableIntArray parse(Input input) {
+    return parseFrequencies(input);
+  }
+
+  @Override
+  public String part1(ImmutableIntArray changes) {
+    return Long.toString(frequencyAfter(changes));
+  }
 
-    System.out.println("Part 1: " + part1);
-    System.out.println("Part 2: " + part2);
+  @Override
+  public String part2(ImmutableIntArray changes) {
+    return Long.toString(firstRepeatedFrequency(changes)
+        .orElseThrow(() -> new IllegalArgumentException("No frequency is ever reached twice")));
+  }
+
+  public static void main(String[] args) throws IOException {
+    try (Input input = Input.ofResource("/day1.txt")) {
+      ImmutableIntArray changes = parseFrequencies(input);
+
+      // Starting with 0, figure out the frequency after summing the input
+      long part1 = frequencyAfter(input);
+      // Starting with 0 and looping through the file as many times as required, find the frequency that repeats first.
+      long part2 = firstRepeatedFrequency(changes).getAsLong();
+
+      System.out.println("Part 1: " + part1);
+      System.out.println("Part 2: " + part2);
+    }
   }
-}
+}
\ No newline at end of file
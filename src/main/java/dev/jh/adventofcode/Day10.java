@@ -1,16 +1,13 @@
 package dev.jh.adventofcode;
 
-import com.google.common.base.Charsets;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Objects;
 import com.google.common.collect.ImmutableList;
-import com.google.common.io.Files;
+import dev.jh.adventofcode.input.Input;
+import dev.jh.adventofcode.input.StringCursor;
+import dev.jh.adventofcode.input.TokenCursor;
 
-import java.io.File;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
-public class Day10 {
+public class Day10 implements Solver<ImmutableList<Day10.Star>> {
 
   public static class Point {
     public final int x;
@@ -42,8 +39,6 @@ public class Day10 {
   }
 
   public static class Star {
-    private static final Pattern PATTERN = Pattern.compile("position=< *(-?\\d+), *(-?\\d+)> velocity=< *(-?\\d+), *(-?\\d+)>");
-
     public final Point position;
     public final Point velocity;
 
@@ -57,21 +52,28 @@ public class Day10 {
     }
 
     public static Star parse(String line) {
-      Matcher matcher = PATTERN.matcher(line);
-      if (!matcher.matches()) {
-        throw new IllegalArgumentException(line + " is not a valid point.");
-      }
+      return parse(new StringCursor(line));
+    }
 
-      return new Star(
-          new Point(
-              Integer.parseInt(matcher.group(1)),
-              Integer.parseInt(matcher.group(2))
-          ),
-          new Point(
-              Integer.parseInt(matcher.group(3)),
-              Integer.parseInt(matcher.group(4))
-          )
-      );
+    /**
+     * Parses a star like 'position=< 9,  1> velocity=< 0,  2>' from the cursor.
+     *
+     * @param cursor Cursor positioned at the start of the star
+     * @return Parsed star.
+     */
+    public static Star parse(TokenCursor cursor) {
+      cursor.expect("position=<");
+      int x = cursor.nextInt();
+      cursor.expect(',');
+      int y = cursor.nextInt();
+      cursor.expect("> velocity=<");
+      int velocityX = cursor.nextInt();
+      cursor.expect(',');
+      int velocityY = cursor.nextInt();
+      cursor.expect('>');
+      cursor.expectEnd();
+
+      return new Star(new Point(x, y), new Point(velocityX, velocityY));
     }
 
     @Override
@@ -176,6 +178,16 @@ public class Day10 {
     }
   }
 
+  /**
+   * Parses the stars in the input, one per line.
+   *
+   * @param input Input to parse
+   * @return Stars in order.
+   */
+  public static ImmutableList<Star> parseStars(Input input) {
+    return input.mapLines(Star::parse);
+  }
+
   /**
    * Advances the stars until the rectangle that contains them is at it's smallest.
    *
@@ -238,11 +250,36 @@ public class Day10 {
     return bldr.toString();
   }
 
+  @Override
+  public int day() {
+    return 10;
+  }
+
+  @Override
+  public ImmutableList<Star> parse(ImmutableList<String> lines) {
+    return lines.stream().map(Star::parse).collect(ImmutableList.toImmutableList());
+  }
+
+  @Override
+  public ImmutableList<Star> parse(Input input) {
+    return parseStars(input);
+  }
+
+  @Override
+  public String part1(ImmutableList<Star> stars) {
+    return renderMessage(alignStars(stars).stars);
+  }
+
+  @Override
+  public String part2(ImmutableList<Star> stars) {
+    return Integer.toString(alignStars(stars).seconds);
+  }
+
   public static void main(String[] args) throws Exception {
-    File file = new File(Day10.class.getResource("/day10.txt").getFile());
-    ImmutableList<Star> stars = Files.readLines(file, Charsets.UTF_8).stream()
-        .map(Star::parse)
-        .collect(ImmutableList.toImmutableList());
+    ImmutableList<Star> stars;
+    try (Input input = Input.ofResource("/day10.txt")) {
+      stars = parseStars(input);
+    }
 
     AlignmentInfo alignment = alignStars(stars);
 
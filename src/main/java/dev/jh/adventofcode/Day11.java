@@ -2,8 +2,9 @@ package dev.jh.adventofcode;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Objects;
+import com.google.common.collect.ImmutableList;
 
-public class Day11 {
+public class Day11 implements Solver<Integer> {
 
   public static class Point {
     public final int x;
@@ -125,6 +126,28 @@ public class Day11 {
     return maxPoint;
   }
 
+  @Override
+  public int day() {
+    return 11;
+  }
+
+  @Override
+  public Integer parse(ImmutableList<String> lines) {
+    return Integer.parseInt(lines.get(0).trim());
+  }
+
+  @Override
+  public String part1(Integer serialNumber) {
+    Point largestPower = largestPower(grid(serialNumber), 3);
+    return largestPower.x + "," + largestPower.y;
+  }
+
+  @Override
+  public String part2(Integer serialNumber) {
+    Point largestTotalPower = largestTotalPower(grid(serialNumber));
+    return largestTotalPower.x + "," + largestTotalPower.y + "," + largestTotalPower.size;
+  }
+
   public static void main(String[] args) {
     int serialNumber = 7403;
     int[][] grid = grid(serialNumber);
@@ -4,15 +4,19 @@ import com.google.common.base.Charsets;
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.ImmutableList;
 import com.google.common.io.Files;
+import dev.jh.adventofcode.cycle.CycleFinder;
+import dev.jh.adventofcode.execution.ExecutionContext;
+import dev.jh.adventofcode.metrics.Counter;
+import dev.jh.adventofcode.metrics.Metrics;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.BitSet;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
-public class Day12 {
+public class Day12 implements Solver<Day12.Garden> {
+  private static final Counter GENERATIONS = Metrics.counter("day12.generations");
+
 
   public static class Plants {
     public final byte[] plants;
@@ -204,13 +208,26 @@ public class Day12 {
     }
   }
 
-  private static class PlantOffsetGeneration {
-    public final long zeroOffset;
-    public final long generation;
+  /**
+   * Initial state of the pots along with the rules that govern them - the whole puzzle input.
+   */
+  public static class Garden {
+    public final Plants plants;
+    public final Rules rules;
 
-    public PlantOffsetGeneration(long zeroOffset, long generation) {
-      this.zeroOffset = zeroOffset;
-      this.generation = generation;
+    public Garden(Plants plants, Rules rules) {
+      this.plants = plants;
+      this.rules = rules;
+    }
+
+    /**
+     * Parses the initial state line, a blank line, and then the rules.
+     *
+     * @param lines Lines to parse
+     * @return Garden described by the lines.
+     */
+    public static Garden parse(ImmutableList<String> lines) {
+      return new Garden(Plants.parse(lines.get(0)), Rules.parse(lines.subList(2, lines.size())));
     }
   }
 
@@ -223,48 +240,59 @@ public class Day12 {
    * @return Sum of the positions of pots with plants after the generations
    */
   public static long count(Plants initialPlants, Rules rules, long generations) {
-    Plants plants = initialPlants;
-    long generation = 0;
-
-    PlantOffsetGeneration cycleStart = null;
-
-    // Map of plant positions to the generation where those positions happened.
-    Map<BitSet, PlantOffsetGeneration> previousGenerations = new HashMap<>();
-
-    // Find a cycle where the plants aligned.  The plants can shift together - zeroOffset doesn't have to match.
-    while (generation < generations && cycleStart == null) {
-      plants = plants.tick(rules);
-      generation ++;
-
-      BitSet plantsBitSet = BitSet.valueOf(plants.plants);
-
-      PlantOffsetGeneration currentGeneration = new PlantOffsetGeneration(plants.zeroOffset, generation);
-      PlantOffsetGeneration previousGeneration = previousGenerations.get(plantsBitSet);
+    return count(initialPlants, rules, generations, ExecutionContext.current());
+  }
 
-      if (previousGeneration == null) {
-        previousGenerations.put(plantsBitSet, currentGeneration);
-      } else {
-        cycleStart = previousGeneration;
-      }
+  /**
+   * Returns the sum of pots with plants after the given number of generations, ticking the given context once per
+   * generation that's simulated.
+   *
+   * @param initialPlants Starting position of the plants
+   * @param rules List of rules to apply to the plants
+   * @param generations Number of generations to simulate
+   * @param context Context the simulation runs under
+   * @return Sum of the positions of pots with plants after the generations
+   */
+  public static long count(Plants initialPlants, Rules rules, long generations, ExecutionContext context) {
+    // Most generations are skipped once the plants repeat, so there's no telling how many will be simulated.
+    context.begin("day12.generations", -1);
+
+    // Find a cycle where the plants aligned.  The plants can shift together - zeroOffset doesn't have to match, and
+    // keeps shifting by the same amount every cycle.
+    long[] simulated = new long[1];
+    CycleFinder<Plants> cycles = CycleFinder.<Plants>of(plants -> {
+      context.tick();
+      simulated[0] ++;
+      return plants.tick(rules);
+    }, (a, b) -> Arrays.equals(a.plants, b.plants))
+        .withFastForward((plants, nextCycle, numCycles) ->
+            new Plants(plants.plants, plants.zeroOffset + (nextCycle.zeroOffset - plants.zeroOffset) * numCycles));
+
+    try {
+      return cycles.advance(initialPlants, generations).count();
+    } finally {
+      GENERATIONS.add(simulated[0]);
     }
+  }
 
-    if (cycleStart != null) {
-      long cycleLength = generation - cycleStart.generation;
-      long numCycles = (generations - generation) / cycleLength;
-      long cycleZeroOffset = plants.zeroOffset - cycleStart.zeroOffset;
+  @Override
+  public int day() {
+    return 12;
+  }
 
-      // Plant positions stay the same, but the zero offset shifts by the number of cycles.
-      plants = new Plants(plants.plants, plants.zeroOffset + (cycleZeroOffset * numCycles));
+  @Override
+  public Garden parse(ImmutableList<String> lines) {
+    return Garden.parse(lines);
+  }
 
-      // Finish off the generations.
-      generation += cycleLength * numCycles;
-      while (generation < generations) {
-        plants = plants.tick(rules);
-        generation++;
-      }
-    }
+  @Override
+  public String part1(Garden garden) {
+    return Long.toString(count(garden.plants, garden.rules, 20));
+  }
 
-    return plants.count();
+  @Override
+  public String part2(Garden garden) {
+    return Long.toString(count(garden.plants, garden.rules, 50000000000L));
   }
 
   public static void main(String[] args) throws IOException {
@@ -7,6 +7,8 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.io.Files;
+import dev.jh.adventofcode.grid.ByteGrid;
+import dev.jh.adventofcode.grid.GridLayout;
 
 import java.io.File;
 import java.io.IOException;
@@ -14,7 +16,7 @@ import java.util.*;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
-public class Day13 {
+public class Day13 implements Solver<Day13.Track> {
 
   public static class Position {
     public final int x;
@@ -168,6 +170,8 @@ public class Day13 {
       .put(new CartTurnDirection(CartTurn.RIGHT, CartDirection.RIGHT), CartDirection.DOWN)
       .build();
 
+  private static final byte EMPTY_SEGMENT = (byte) TrackSegment.EMPTY.ordinal();
+
   private static final ImmutableMap<CartTurn, CartTurn> NEXT_TURN = ImmutableMap.of(
       CartTurn.LEFT, CartTurn.STRAIGHT,
       CartTurn.STRAIGHT, CartTurn.RIGHT,
@@ -229,21 +233,43 @@ public class Day13 {
     }
   }
 
+  private static final TrackSegment[] SEGMENTS = TrackSegment.values();
+
   public static class Track {
-    public final TrackSegment[][] track;
+    /** Track segments by ordinal, surrounded by empty space. */
+    public final ByteGrid track;
     public final ImmutableSet<Cart> carts;
 
-    public Track(TrackSegment[][] track, ImmutableSet<Cart> carts) {
+    public Track(ByteGrid track, ImmutableSet<Cart> carts) {
       this.track = track;
       this.carts = carts;
     }
 
+    public Track(TrackSegment[][] track, ImmutableSet<Cart> carts) {
+      this(gridOf(track), carts);
+    }
+
+    private static ByteGrid gridOf(TrackSegment[][] segments) {
+      ByteGrid grid = new ByteGrid(new GridLayout(segments[0].length, segments.length), EMPTY_SEGMENT, EMPTY_SEGMENT);
+      for (int y = 0; y < segments.length; y ++) {
+        for (int x = 0; x < segments[y].length; x ++) {
+          grid.set(x, y, (byte) segments[y][x].ordinal());
+        }
+      }
+
+      return grid;
+    }
+
+    public TrackSegment segment(int x, int y) {
+      return SEGMENTS[track.get(x, y)];
+    }
+
     @Override
     public boolean equals(Object o) {
       if (this == o) return true;
       if (o == null || getClass() != o.getClass()) return false;
       Track track1 = (Track) o;
-      return Arrays.deepEquals(track, track1.track) &&
+      return Objects.equal(track, track1.track) &&
           Objects.equal(carts, track1.carts);
     }
 
@@ -259,14 +285,14 @@ public class Day13 {
       Map<Position, List<Cart>> cartPositions = carts.stream()
           .collect(Collectors.groupingBy(cart -> cart.position));
 
-      for (int y = 0; y < track.length; y ++) {
-        for (int x = 0; x < track[y].length; x ++) {
+      for (int y = 0; y < track.layout.height; y ++) {
+        for (int x = 0; x < track.layout.width; x ++) {
           Position position = new Position(x, y);
 
           List<Cart> positionCarts = cartPositions.getOrDefault(position, ImmutableList.of());
 
           if (positionCarts.size() == 0) {
-            bldr.append(track[y][x].name);
+            bldr.append(segment(x, y).name);
           } else if (positionCarts.size() == 1) {
             bldr.append(positionCarts.iterator().next().direction.name);
           } else {
@@ -281,7 +307,7 @@ public class Day13 {
   }
 
   public static Track parseLines(ImmutableList<String> lines) {
-    TrackSegment[][] segments = new TrackSegment[lines.size()][lines.get(0).length()];
+    ByteGrid segments = new ByteGrid(new GridLayout(lines.get(0).length(), lines.size()), EMPTY_SEGMENT, EMPTY_SEGMENT);
     ImmutableSet.Builder<Cart> carts = ImmutableSet.builder();
 
     // Process each character in the lines into a grid of segments and a set of carts
@@ -292,7 +318,7 @@ public class Day13 {
         char c = line[x];
         Optional<TrackSegment> segment = TrackSegment.valueOf(c);
         if (segment.isPresent()) {
-          segments[y][x] = segment.get();
+          segments.set(x, y, (byte) segment.get().ordinal());
         } else {
           Optional<CartDirection> cartDirection = CartDirection.valueOf(c);
           if (cartDirection.isPresent()) {
@@ -300,9 +326,9 @@ public class Day13 {
             carts.add(new Cart(new Position(x, y), direction, CartTurn.LEFT));
 
             if (direction == CartDirection.LEFT || direction == CartDirection.RIGHT) {
-              segments[y][x] = TrackSegment.HORIZONTAL;
+              segments.set(x, y, (byte) TrackSegment.HORIZONTAL.ordinal());
             } else {
-              segments[y][x] = TrackSegment.VERTICAL;
+              segments.set(x, y, (byte) TrackSegment.VERTICAL.ordinal());
             }
 
           } else {
@@ -329,7 +355,7 @@ public class Day13 {
       while (!orderedCarts.isEmpty()) {
         Cart cart = orderedCarts.remove();
         Position newPosition = cart.direction.move.apply(cart.position);
-        CartTurnDirection newTurnDirection = track.track[newPosition.y][newPosition.x]
+        CartTurnDirection newTurnDirection = track.segment(newPosition.x, newPosition.y)
             .turn.apply(new CartTurnDirection(cart.nextTurn, cart.direction));
 
 
@@ -361,7 +387,7 @@ public class Day13 {
       while (!orderedCarts.isEmpty()) {
         Cart cart = orderedCarts.remove();
         Position newPosition = cart.direction.move.apply(cart.position);
-        CartTurnDirection newTurnDirection = track.track[newPosition.y][newPosition.x]
+        CartTurnDirection newTurnDirection = track.segment(newPosition.x, newPosition.y)
             .turn.apply(new CartTurnDirection(cart.nextTurn, cart.direction));
 
         ImmutableList<Cart> newCollisions = newCarts.stream()
@@ -395,6 +421,28 @@ public class Day13 {
     }
   }
 
+  @Override
+  public int day() {
+    return 13;
+  }
+
+  @Override
+  public Track parse(ImmutableList<String> lines) {
+    return parseLines(lines);
+  }
+
+  @Override
+  public String part1(Track track) {
+    Position firstCollision = firstCollision(track);
+    return firstCollision.x + "," + firstCollision.y;
+  }
+
+  @Override
+  public String part2(Track track) {
+    Position lastCart = lastCart(track);
+    return lastCart.x + "," + lastCart.y;
+  }
+
   public static void main(String[] args) throws IOException {
     File file = new File(Day13.class.getResource("/day13.txt").getFile());
     ImmutableList<String> lines = ImmutableList.copyOf(Files.readLines(file, Charsets.UTF_8));
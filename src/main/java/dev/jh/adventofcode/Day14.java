@@ -1,10 +1,13 @@
 package dev.jh.adventofcode;
 
+import com.google.common.collect.ImmutableList;
+import dev.jh.adventofcode.execution.ExecutionContext;
+
 import java.util.Arrays;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
-public class Day14 {
+public class Day14 implements Solver<String> {
 
   /**
    * Returns length scores starting at the given index as a String.
@@ -64,6 +67,20 @@ public class Day14 {
    * @return Number of recipes on the scoreboard to the left of the recipe.
    */
   public static long recipesBefore(String number) {
+    return recipesBefore(number, ExecutionContext.current());
+  }
+
+  /**
+   * Returns the number of recipes that appear before the given number, ticking the given context once per round of
+   * new recipes.
+   *
+   * @param number Number of the recipe to look up
+   * @param context Context to search under
+   * @return Number of recipes on the scoreboard to the left of the recipe.
+   */
+  public static long recipesBefore(String number, ExecutionContext context) {
+    context.begin("day14.rounds", -1);
+
     int[] scores = new int[10];
     scores[0] = 3;
     scores[1] = 7;
@@ -73,6 +90,8 @@ public class Day14 {
     int nextScoreIndex = 2;
 
     while (true) {
+      context.tick();
+
       // New score is the sum of the scores of the recipes that the elves are on, expanding the scores if necessary.
       int newScore = scores[aIndex] + scores[bIndex];
 
@@ -109,6 +128,26 @@ public class Day14 {
     }
   }
 
+  @Override
+  public int day() {
+    return 14;
+  }
+
+  @Override
+  public String parse(ImmutableList<String> lines) {
+    return lines.get(0).trim();
+  }
+
+  @Override
+  public String part1(String input) {
+    return scoreAfter(Integer.parseInt(input));
+  }
+
+  @Override
+  public String part2(String input) {
+    return Long.toString(recipesBefore(input));
+  }
+
   public static void main(String[] args) {
     int input = 360781;
 
@@ -7,16 +7,23 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 import com.google.common.io.Files;
+import dev.jh.adventofcode.execution.ExecutionContext;
+import dev.jh.adventofcode.grid.ByteGrid;
+import dev.jh.adventofcode.grid.GridLayout;
+import dev.jh.adventofcode.metrics.Counter;
+import dev.jh.adventofcode.metrics.Histogram;
+import dev.jh.adventofcode.metrics.Metrics;
+import dev.jh.adventofcode.search.Graph;
+import dev.jh.adventofcode.search.Search;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.*;
-import java.util.function.UnaryOperator;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
-public class Day15 {
+public class Day15 implements Solver<Day15.Board> {
 
   public enum Square {
     WALL('#'),
@@ -80,19 +87,17 @@ public class Day15 {
   }
 
   public enum Direction {
-    UP(position -> new Position(position.x, position.y - 1)),
-    DOWN(position -> new Position(position.x, position.y + 1)),
-    LEFT(position -> new Position(position.x - 1, position.y)),
-    RIGHT(position -> new Position(position.x + 1, position.y));
+    UP(0, -1),
+    DOWN(0, 1),
+    LEFT(-1, 0),
+    RIGHT(1, 0);
 
-    public final UnaryOperator<Position> move;
+    public final int dx;
+    public final int dy;
 
-    Direction(UnaryOperator<Position> move) {
-      this.move = move;
-    }
-
-    public static Stream<Direction> stream() {
-      return Arrays.stream(Direction.values());
+    Direction(int dx, int dy) {
+      this.dx = dx;
+      this.dy = dy;
     }
   }
 
@@ -120,10 +125,7 @@ public class Day15 {
      * @return Whether this unit is immediately above, below, left, or right of the given position.
      */
     public boolean isAdjacent(Position position) {
-      return new Position(position.x - 1, position.y).equals(this.position)
-          || new Position(position.x + 1, position.y).equals(this.position)
-          || new Position(position.x, position.y - 1).equals(this.position)
-          || new Position(position.x, position.y + 1).equals(this.position);
+      return Math.abs(position.x - this.position.x) + Math.abs(position.y - this.position.y) == 1;
     }
 
     /**
@@ -183,11 +185,64 @@ public class Day15 {
     }
   }
 
+  private static final Square[] SQUARES = Square.values();
+  private static final Direction[] DIRECTIONS = Direction.values();
+
+  private static final byte WALL = (byte) Square.WALL.ordinal();
+  private static final byte OPEN = (byte) Square.OPEN.ordinal();
+
+  private static final Counter ROUNDS = Metrics.counter("day15.rounds");
+  /** Squares expanded by the path searches in each round. */
+  private static final Histogram ROUND_EXPANSIONS = Metrics.histogram("day15.round.expansions");
+
+  /**
+   * Graph of the open squares on a board, where each square leads to the adjacent open squares.
+   */
+  private static class OpenSquares implements Graph {
+    private final ByteGrid squares;
+
+    OpenSquares(ByteGrid squares) {
+      this.squares = squares;
+    }
+
+    @Override
+    public int size() {
+      return squares.layout.size();
+    }
+
+    @Override
+    public int maxDegree() {
+      return squares.layout.orthogonal.length();
+    }
+
+    @Override
+    public int edges(int square, int[] targets, int[] weights) {
+      int count = 0;
+      for (int i = 0; i < squares.layout.orthogonal.length(); i ++) {
+        int neighbor = square + squares.layout.orthogonal.get(i);
+        if (squares.get(neighbor) == OPEN) {
+          targets[count] = neighbor;
+          weights[count ++] = 1;
+        }
+      }
+
+      return count;
+    }
+  }
+
+  /**
+   * Picks where a unit moves to on its turn.
+   */
+  private interface Mover {
+    Position nextPosition(ByteGrid newSquares, Unit unit, ImmutableSet<Unit> enemies);
+  }
+
   public static class Board {
-    public final Square[][] squares;
+    /** Squares by ordinal, surrounded by walls. */
+    public final ByteGrid squares;
     public final ImmutableSet<Unit> units;
 
-    public Board(Square[][] squares, ImmutableSet<Unit> units) {
+    public Board(ByteGrid squares, ImmutableSet<Unit> units) {
       this.squares = squares;
       this.units = units;
     }
@@ -196,12 +251,70 @@ public class Day15 {
      * Returns the position where the unit should move to be one square closer to the closest enemy,
      * or the unit's current position if it can't move or it's already next to an enemy.
      *
+     * @param search     Search to reuse for finding paths.
      * @param newSquares Board with the in-round position of all of the units.
      * @param unit       Unit moved along the board.
      * @param enemies    Set of enemy units.
      * @return Position where the unit should move on this turn.
      */
-    private Position nextPosition(Square[][] newSquares, Unit unit, ImmutableSet<Unit> enemies) {
+    private Position nextPosition(Search search, ByteGrid newSquares, Unit unit, ImmutableSet<Unit> enemies) {
+      // Bail if the unit is already adjacent to an enemy.
+      for (Unit enemy : enemies) {
+        if (enemy.isAdjacent(unit.position)) {
+          return unit.position;
+        }
+      }
+
+      GridLayout layout = newSquares.layout;
+      OpenSquares graph = new OpenSquares(newSquares);
+      int[] distances = search.bfs(graph, layout.id(unit.position.x, unit.position.y));
+
+      // Identify the open squares adjacent to enemies that can be reached in the fewest steps.
+      int[] closestToEnemies = new int[enemies.size() * layout.orthogonal.length()];
+      int closestCount = 0;
+      int closestDistance = Search.UNREACHED;
+      for (Unit enemy : enemies) {
+        int enemySquare = layout.id(enemy.position.x, enemy.position.y);
+        for (int i = 0; i < layout.orthogonal.length(); i ++) {
+          int square = enemySquare + layout.orthogonal.get(i);
+          int distance = distances[square];
+          if (newSquares.get(square) == OPEN && distance != Search.UNREACHED && distance <= closestDistance) {
+            if (distance < closestDistance) {
+              closestDistance = distance;
+              closestCount = 0;
+            }
+            closestToEnemies[closestCount ++] = square;
+          }
+        }
+      }
+
+      if (closestCount == 0) {
+        return unit.position;
+      }
+
+      // Determine where the unit can move this turn to get to one of the closest squares.  The adjacent squares are
+      // in reading order, so the first one wins ties.
+      distances = search.bfs(graph, closestToEnemies, closestCount);
+
+      int unitSquare = layout.id(unit.position.x, unit.position.y);
+      int move = -1;
+      int moveDistance = Search.UNREACHED;
+      for (int i = 0; i < layout.orthogonal.length(); i ++) {
+        int square = unitSquare + layout.orthogonal.get(i);
+        if (newSquares.get(square) == OPEN && distances[square] < moveDistance) {
+          move = square;
+          moveDistance = distances[square];
+        }
+      }
+
+      return move < 0 ? unit.position : new Position(layout.x(move), layout.y(move));
+    }
+
+    /**
+     * Finds the same move as {@link #nextPosition} with sets of positions rather than a search over the grid.  It's
+     * much slower, and only kept as a reference to check the search against.
+     */
+    private Position nextPositionWithSets(ByteGrid newSquares, Unit unit, ImmutableSet<Unit> enemies) {
       // Bail if the unit is already adjacent to an enemy.
       ImmutableSet<Position> enemyPositions = enemies.stream()
           .map(enemy -> enemy.position)
@@ -215,7 +328,7 @@ public class Day15 {
       // Identify squares adjacent to enemies
       ImmutableSet<Position> adjacentToEnemies = enemyPositions.stream()
           .flatMap(this::adjacent)
-          .filter(position -> newSquares[position.y][position.x] == Square.OPEN)
+          .filter(position -> newSquares.get(position.x, position.y) == OPEN)
           .collect(ImmutableSet.toImmutableSet());
 
       // Determine which squares can be reached in the fewest steps
@@ -227,7 +340,7 @@ public class Day15 {
 
       // Determine where the unit can move this turn to get to one of the closest squares.
       ImmutableSet<Position> adjacentToUnit = adjacent(unit.position)
-          .filter(position -> newSquares[position.y][position.x] == Square.OPEN)
+          .filter(position -> newSquares.get(position.x, position.y) == OPEN)
           .collect(ImmutableSet.toImmutableSet());
 
       ImmutableSet<Position> moves = closest(newSquares, closestToEnemies, adjacentToUnit);
@@ -245,7 +358,7 @@ public class Day15 {
      * @return Stream of adjacent positions.
      */
     private Stream<Position> adjacent(Position position) {
-      return Direction.stream().map(direction -> direction.move.apply(position));
+      return Arrays.stream(DIRECTIONS).map(direction -> new Position(position.x + direction.dx, position.y + direction.dy));
     }
 
     /**
@@ -256,7 +369,7 @@ public class Day15 {
      * @param end Positions to find the closest path to.
      * @return End positions filtered to the ones that can be reached in the fewest steps.
      */
-    private ImmutableSet<Position> closest(Square[][] newSquares, ImmutableSet<Position> start, ImmutableSet<Position> end) {
+    private ImmutableSet<Position> closest(ByteGrid newSquares, ImmutableSet<Position> start, ImmutableSet<Position> end) {
       Set<Position> visited = new HashSet<>();
       Set<Position> visitEdge = new HashSet<>();
       visitEdge.addAll(start);
@@ -265,7 +378,7 @@ public class Day15 {
         visited.addAll(visitEdge);
         visitEdge = visitEdge.stream()
             .flatMap(this::adjacent)
-            .filter(position -> newSquares[position.y][position.x] == Square.OPEN && !visited.contains(position))
+            .filter(position -> newSquares.get(position.x, position.y) == OPEN && !visited.contains(position))
             .collect(ImmutableSet.toImmutableSet());
       }
 
@@ -291,14 +404,27 @@ public class Day15 {
      * @return New board with the outcome of this round.
      */
     public Round round() {
-      Square[][] newSquares = new Square[squares.length][squares[0].length];
-      Set<Unit> newUnits = new HashSet<>();
+      Search search = new Search();
+      Round round = round((newSquares, unit, enemies) -> nextPosition(search, newSquares, unit, enemies));
 
-      for (int y = 0; y < newSquares.length; y ++) {
-        for (int x = 0; x < newSquares[y].length; x ++) {
-          newSquares[y][x] = squares[y][x];
-        }
-      }
+      ROUNDS.increment();
+      ROUND_EXPANSIONS.record(search.expanded());
+      return round;
+    }
+
+    /**
+     * Simulates a round of combat the way {@link #round()} does, but moving units with the reference set-based path
+     * finding.
+     *
+     * @return New board with the outcome of this round.
+     */
+    public Round roundWithSets() {
+      return round(this::nextPositionWithSets);
+    }
+
+    private Round round(Mover mover) {
+      ByteGrid newSquares = squares.copy();
+      Set<Unit> newUnits = new HashSet<>();
 
       PriorityQueue<Unit> turnOrder = new PriorityQueue<>(Comparator.comparing(unit -> unit.position));
       turnOrder.addAll(units);
@@ -309,12 +435,12 @@ public class Day15 {
         // Units move by considering squares in range, which of the squares it can reach in the fewest steps,
         // and moving a single step along the shortest path to the square.
         ImmutableSet<Unit> enemies = enemies(unit, newUnits, turnOrder).collect(ImmutableSet.toImmutableSet());
-        Position newPosition = nextPosition(newSquares, unit, enemies);
+        Position newPosition = mover.nextPosition(newSquares, unit, enemies);
 
         // Break when the first unit doesn't see any enemies, not when an entire round goes.
 
-        newSquares[unit.position.y][unit.position.x] = Square.OPEN;
-        newSquares[newPosition.y][newPosition.x] = unit.type;
+        newSquares.set(unit.position.x, unit.position.y, OPEN);
+        newSquares.set(newPosition.x, newPosition.y, (byte) unit.type.ordinal());
         newUnits.add(unit.withPosition(newPosition));
 
         // Units attack the unit immediately adjacent with the fewest hit points
@@ -337,7 +463,7 @@ public class Day15 {
 
           } else {
             // Attacked unit fainted - remove it from the board entirely.
-            newSquares[afterAttackUnit.position.y][afterAttackUnit.position.x] = Square.OPEN;
+            newSquares.set(afterAttackUnit.position.x, afterAttackUnit.position.y, OPEN);
             turnOrder.remove(attackUnit.get());
             newUnits.remove(attackUnit.get());
 
@@ -367,20 +493,43 @@ public class Day15 {
           .count() == 1;
     }
 
+    /**
+     * Returns a copy of this board where every unit of the given type has the given attack power.
+     *
+     * @param type Type of unit to change
+     * @param attack New attack power
+     * @return Board with the units changed.
+     */
+    public Board withAttack(Square type, int attack) {
+      return new Board(squares, units.stream()
+          .map(unit -> unit.type == type ? new Unit(unit.type, unit.position, unit.hp, attack) : unit)
+          .collect(ImmutableSet.toImmutableSet()));
+    }
+
+    /**
+     * Returns the number of units of the given type left on the board.
+     *
+     * @param type Type of unit
+     * @return Number of units.
+     */
+    public int count(Square type) {
+      return (int) units.stream().filter(unit -> unit.type == type).count();
+    }
+
     public static Board parseLines(ImmutableList<String> lines) {
-      Square[][] squares = new Square[lines.size()][lines.get(0).length()];
+      ByteGrid squares = new ByteGrid(new GridLayout(lines.get(0).length(), lines.size()), WALL, WALL);
       ImmutableSet.Builder<Unit> units = ImmutableSet.builder();
 
-      for (int y = 0; y < squares.length; y ++) {
+      for (int y = 0; y < squares.layout.height; y ++) {
         String line = lines.get(y);
         // Line is made up by squares, optionally followed by spaces and a comma-separated list of unit HPs.
         // Example: #...EG#   E(197), G(197)
 
         List<Unit> lineUnits = new ArrayList<>();
-        for (int x = 0; x < squares[y].length; x ++) {
+        for (int x = 0; x < squares.layout.width; x ++) {
           Square square = Square.valueOf(line.charAt(x));
 
-          squares[y][x] = square;
+          squares.set(x, y, (byte) square.ordinal());
 
           if (square == Square.GOBLIN || square == Square.ELF) {
             lineUnits.add(new Unit(square, new Position(x, y)));
@@ -405,9 +554,9 @@ public class Day15 {
     public String toString() {
       StringBuilder bldr = new StringBuilder();
 
-      for (Square[] line : squares) {
-        for (Square cell : line) {
-          bldr.append(cell.name);
+      for (int y = 0; y < squares.layout.height; y ++) {
+        for (int x = 0; x < squares.layout.width; x ++) {
+          bldr.append(SQUARES[squares.get(x, y)].name);
         }
         bldr.append('\n');
       }
@@ -437,18 +586,97 @@ public class Day15 {
    * @return
    */
   public static int outcome(Board board) {
+    return outcome(board, ExecutionContext.current());
+  }
+
+  /**
+   * Returns the outcome of the battle on the given board, checking the given context every round.
+   *
+   * @param board Board
+   * @param context Context the battle is fought under
+   * @return Number of complete rounds times the sum of HP of the remaining units.
+   */
+  public static int outcome(Board board, ExecutionContext context) {
+    return battle(board, context, false).getAsInt();
+  }
+
+  /**
+   * Returns the outcome of the battle once the elves have just enough attack power to win without a single elf dying.
+   * Attack power is tried upwards from one more than the goblins', since more power doesn't always mean fewer losses.
+   *
+   * @param board Board
+   * @param context Context the battles are fought under
+   * @return Number of complete rounds times the sum of HP of the remaining elves.
+   * @throws IllegalArgumentException if some elf dies however strong the elves are.
+   */
+  public static int outcomeWithoutElfLosses(Board board, ExecutionContext context) {
+    int goblinAttack = 0;
+    int goblinHP = 0;
+    for (Unit unit : board.units) {
+      if (unit.type == Square.GOBLIN) {
+        goblinAttack = Math.max(goblinAttack, unit.attack);
+        goblinHP = Math.max(goblinHP, unit.hp);
+      }
+    }
+
+    // Once every hit kills a goblin, more power can't change anything.
+    for (int attack = goblinAttack + 1; attack <= Math.max(goblinHP, goblinAttack + 1); attack ++) {
+      OptionalInt outcome = battle(board.withAttack(Square.ELF, attack), context, true);
+      if (outcome.isPresent()) {
+        return outcome.getAsInt();
+      }
+    }
+
+    throw new IllegalArgumentException("The elves can't win without losing an elf");
+  }
+
+  /**
+   * Fights the battle to the end, or only until the first elf dies if the elves have to survive.
+   *
+   * @return Outcome of the battle, or empty if an elf died when they had to survive.
+   */
+  private static OptionalInt battle(Board board, ExecutionContext context, boolean elvesMustSurvive) {
+    context.begin("day15.rounds", -1);
+    int elves = board.count(Square.ELF);
     int numRounds = 0;
 
     while (!board.isOver()) {
+      // Rounds take milliseconds, so the context is checked every round rather than every few thousand.
+      context.tick();
+      context.check();
+
       Round round = board.round();
       if (round.completed) {
         numRounds ++;
       }
 
       board = round.board;
+      if (elvesMustSurvive && board.count(Square.ELF) < elves) {
+        return OptionalInt.empty();
+      }
     }
 
-    return numRounds * board.units.stream().mapToInt(unit -> unit.hp).sum();
+    return OptionalInt.of(numRounds * board.units.stream().mapToInt(unit -> unit.hp).sum());
+  }
+
+  @Override
+  public int day() {
+    return 15;
+  }
+
+  @Override
+  public Board parse(ImmutableList<String> lines) {
+    return Board.parseLines(lines);
+  }
+
+  @Override
+  public String part1(Board board) {
+    return Integer.toString(outcome(board));
+  }
+
+  @Override
+  public String part2(Board board) {
+    return Integer.toString(outcomeWithoutElfLosses(board, ExecutionContext.current()));
   }
 
   public static void main(String[] args) throws IOException {
@@ -459,5 +687,7 @@ public class Day15 {
     // Part 1: what is the outcome (# of full rounds * sum of remaining units hit points) of the input?
     // TODO: 344375 is too low, 346750 is also incorrect (which is one more round).  Bug in the target selection logic?
     System.out.println("Part 1: " + outcome(board));
+    // Part 2: what is the outcome when the elves are just strong enough to win without losing anyone?
+    System.out.println("Part 2: " + outcomeWithoutElfLosses(board, ExecutionContext.current()));
   }
 }
@@ -1,22 +1,21 @@
 package dev.jh.adventofcode;
 
-import com.google.common.base.Charsets;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Objects;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
-import com.google.common.io.Files;
+import dev.jh.adventofcode.input.Input;
+import dev.jh.adventofcode.input.LineCursor;
+import dev.jh.adventofcode.input.StringCursor;
+import dev.jh.adventofcode.input.TokenCursor;
 
-import java.io.File;
 import java.io.IOException;
 import java.util.*;
 import java.util.function.BiFunction;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
-public class Day16 {
+public class Day16 implements Solver<Day16.Manual> {
 
   public enum Opcode {
     /** ADDR stores into register C the result of adding register A and register B */
@@ -233,19 +232,95 @@ public class Day16 {
     }
   }
 
-  private static final Pattern LINE_PATTERN = Pattern.compile("^[a-zA-Z: \\[]*(\\d+),? (\\d+),? (\\d+),? (\\d+)]?");
+  /**
+   * Samples and test program from the input.
+   */
+  public static class Manual {
+    public final ImmutableList<Sample> samples;
+    public final ImmutableList<NumericInstruction> instructions;
+
+    public Manual(ImmutableList<Sample> samples, ImmutableList<NumericInstruction> instructions) {
+      this.samples = samples;
+      this.instructions = instructions;
+    }
+
+    /**
+     * Parses the samples - 'Before:', instruction and 'After:' lines separated by blank lines - followed by the test
+     * program, one instruction per line.
+     *
+     * @param input Input to parse
+     * @return Samples and instructions in the input.
+     */
+    public static Manual parse(Input input) {
+      ImmutableList.Builder<Sample> samples = ImmutableList.builder();
+      ImmutableList.Builder<NumericInstruction> instructions = ImmutableList.builder();
+
+      LineCursor cursor = input.lines();
+      while (cursor.next()) {
+        if (cursor.consume("Before:")) {
+          Registers before = new Registers(readRegisters(cursor));
+          nextLine(cursor);
+          NumericInstruction instruction = new NumericInstruction(readInstruction(cursor));
+          nextLine(cursor);
+          cursor.expect("After:");
+          Registers after = new Registers(readRegisters(cursor));
+
+          samples.add(new Sample(before, instruction, after));
+        } else if (!cursor.isEmpty()) {
+          instructions.add(new NumericInstruction(readInstruction(cursor)));
+        }
+      }
+
+      return new Manual(samples.build(), instructions.build());
+    }
+
+    private static void nextLine(LineCursor cursor) {
+      if (!cursor.next()) {
+        throw cursor.error("Unexpected end of input in sample");
+      }
+    }
+  }
+
+  /**
+   * Reads registers like ' [3, 2, 1, 1]'.
+   */
+  private static int[] readRegisters(TokenCursor cursor) {
+    cursor.skipSpaces().expect('[');
+    int[] registers = new int[4];
+    for (int i = 0; i < registers.length; i ++) {
+      if (i > 0) {
+        cursor.expect(',');
+      }
+      registers[i] = cursor.nextInt();
+    }
+    cursor.expect(']').expectEnd();
+
+    return registers;
+  }
+
+  /**
+   * Reads an instruction like '9 2 1 2'.
+   */
+  private static int[] readInstruction(TokenCursor cursor) {
+    int[] instruction = new int[4];
+    for (int i = 0; i < instruction.length; i ++) {
+      instruction[i] = cursor.nextInt();
+    }
+    cursor.expectEnd();
+
+    return instruction;
+  }
+
+  /**
+   * Reads a 'Before:' or 'After:' line of a sample, or an instruction.
+   */
   private static int[] readLine(String line) {
-    Matcher matcher = LINE_PATTERN.matcher(line);
-    if (! matcher.matches()) {
-      throw new IllegalArgumentException("'" + line + "' is not a valid sample line");
+    StringCursor cursor = new StringCursor(line);
+    if (cursor.consume("Before:") || cursor.consume("After:")) {
+      return readRegisters(cursor);
     }
 
-    return new int[]{
-        Integer.parseInt(matcher.group(1)),
-        Integer.parseInt(matcher.group(2)),
-        Integer.parseInt(matcher.group(3)),
-        Integer.parseInt(matcher.group(4))
-    };
+    return readInstruction(cursor);
   }
 
   private static ImmutableList<Sample> parseSamples(ImmutableList<String> lines) {
@@ -337,10 +412,48 @@ public class Day16 {
     return opcodeMap.build();
   }
 
+  @Override
+  public int day() {
+    return 16;
+  }
+
+  @Override
+  public Manual parse(ImmutableList<String> lines) {
+    return new Manual(parseSamples(lines), parseInstructions(lines));
+  }
+
+  @Override
+  public Manual parse(Input input) {
+    return Manual.parse(input);
+  }
+
+  @Override
+  public String part1(Manual manual) {
+    long matching = manual.samples.stream()
+        .filter(sample -> sample.matchingOpcodes().size() >= 3)
+        .count();
+
+    return Long.toString(matching);
+  }
+
+  @Override
+  public String part2(Manual manual) {
+    ImmutableMap<Integer, Opcode> opcodeMap = mapOpcodes(manual.samples);
+
+    Registers registers = new Registers(new int[]{0, 0, 0, 0});
+    for (NumericInstruction instruction : manual.instructions) {
+      registers = opcodeMap.get(instruction.opcode).instruction.apply(instruction, registers);
+    }
+
+    return Integer.toString(registers.get(0));
+  }
+
   public static void main(String[] args) throws IOException {
-    File file = new File(Day16.class.getResource("/day16.txt").getFile());
-    ImmutableList<String> lines = ImmutableList.copyOf(Files.readLines(file, Charsets.UTF_8));
-    ImmutableList<Sample> samples = parseSamples(lines);
+    Manual manual;
+    try (Input input = Input.ofResource("/day16.txt")) {
+      manual = Manual.parse(input);
+    }
+    ImmutableList<Sample> samples = manual.samples;
 
     // Part 1: Ignoring the opcode numbers, how many samples in your puzzle input behave like 3 or more opcodes?
     long part1 = samples.stream()
@@ -350,7 +463,7 @@ public class Day16 {
     System.out.println("Part 1: " + part1);
 
     // Part 2: Work out the opcode numbers.  What is the value of register 0 after executing the test program?
-    ImmutableList<NumericInstruction> instructions = parseInstructions(lines);
+    ImmutableList<NumericInstruction> instructions = manual.instructions;
     ImmutableMap<Integer, Opcode> opcodeMap = mapOpcodes(samples);
 
     Registers registers = new Registers(new int[]{0, 0, 0, 0});
@@ -1,27 +1,25 @@
 package dev.jh.adventofcode;
 
-import com.google.common.base.Charsets;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Objects;
 import com.google.common.collect.ImmutableList;
-import com.google.common.io.Files;
+import dev.jh.adventofcode.grid.ByteGrid;
+import dev.jh.adventofcode.grid.CellQueue;
+import dev.jh.adventofcode.grid.GridLayout;
+import dev.jh.adventofcode.input.Input;
+import dev.jh.adventofcode.input.StringCursor;
+import dev.jh.adventofcode.input.TokenCursor;
+import dev.jh.adventofcode.metrics.Counter;
+import dev.jh.adventofcode.metrics.Metrics;
 
-import java.io.File;
 import java.io.IOException;
-import java.util.ArrayDeque;
-import java.util.Queue;
-import java.util.function.Function;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
-public class Day17 {
+public class Day17 implements Solver<Day17.Grid> {
   public enum VeinDirection {
     HORIZONTAL, VERTICAL
   }
 
   public static class ClayVein {
-    private static Pattern pattern = Pattern.compile("^([xy])=(\\d+), [xy]=(\\d+)..(\\d+)$");
-
     public final VeinDirection direction;
     public final int fixed;
     public final int lineStart;
@@ -35,17 +33,30 @@ public class Day17 {
     }
 
     public static ClayVein parseLine(String line) {
-      Matcher matcher = pattern.matcher(line);
-      if (!matcher.matches()) {
-        throw new IllegalArgumentException(line + " is not a valid clay vein");
+      return parse(new StringCursor(line));
+    }
+
+    /**
+     * Parses a vein like 'x=495, y=2..7' from the cursor.
+     *
+     * @param cursor Cursor positioned at the start of the vein
+     * @return Parsed clay vein.
+     */
+    public static ClayVein parse(TokenCursor cursor) {
+      char fixedAxis = cursor.peek();
+      if (fixedAxis != 'x' && fixedAxis != 'y') {
+        throw cursor.error("Expected 'x' or 'y'");
       }
 
-      return new ClayVein(
-          "x".equals(matcher.group(1)) ? VeinDirection.VERTICAL : VeinDirection.HORIZONTAL,
-          Integer.parseInt(matcher.group(2)),
-          Integer.parseInt(matcher.group(3)),
-          Integer.parseInt(matcher.group(4))
-      );
+      cursor.skip(1).expect('=');
+      int fixed = cursor.nextInt();
+      cursor.expect(", ").expect(fixedAxis == 'x' ? 'y' : 'x').expect('=');
+      int lineStart = cursor.nextInt();
+      cursor.expect("..");
+      int lineEnd = cursor.nextInt();
+      cursor.expectEnd();
+
+      return new ClayVein(fixedAxis == 'x' ? VeinDirection.VERTICAL : VeinDirection.HORIZONTAL, fixed, lineStart, lineEnd);
     }
 
     @Override
@@ -92,6 +103,17 @@ public class Day17 {
     }
   }
 
+  private static final Square[] SQUARES = Square.values();
+
+  private static final byte SAND = (byte) Square.SAND.ordinal();
+  private static final byte CLAY = (byte) Square.CLAY.ordinal();
+  private static final byte SPRING_WATER = (byte) Square.SPRING_WATER.ordinal();
+  private static final byte STILL_WATER = (byte) Square.STILL_WATER.ordinal();
+  /** Border around the grid, which doesn't match any square. */
+  private static final byte OUTSIDE = -1;
+
+  private static final Counter MASK_APPLICATIONS = Metrics.counter("day17.mask.applications");
+
   public static final ImmutableList<Mask> MASKS = ImmutableList.of(
       // -------------------------------------------------- Falling
       Mask.builder()
@@ -102,7 +124,7 @@ public class Day17 {
               "+",
               "|")
           .withRegistration(0, 0)
-          .withNextPoints(point -> ImmutableList.of(new Point(point.x, point.y + 1)))
+          .withNextPoint(0, 1)
           .build(),
 
       Mask.builder()
@@ -113,7 +135,7 @@ public class Day17 {
               "|",
               "|")
           .withRegistration(0, 0)
-          .withNextPoints(point -> ImmutableList.of(new Point(point.x, point.y + 1)))
+          .withNextPoint(0, 1)
           .build(),
 
       Mask.builder()
@@ -124,9 +146,8 @@ public class Day17 {
               "_",
               "~")
           .withRegistration(0, 0)
-          .withNextPoints(point -> ImmutableList.of(
-              new Point(point.x, point.y),
-              new Point(point.x, point.y)))
+          .withNextPoint(0, 0)
+          .withNextPoint(0, 0)
           .build(),
 
       Mask.builder()
@@ -137,9 +158,8 @@ public class Day17 {
               "_",
               "#")
           .withRegistration(0, 0)
-          .withNextPoints(point -> ImmutableList.of(
-              new Point(point.x, point.y),
-              new Point(point.x, point.y)))
+          .withNextPoint(0, 0)
+          .withNextPoint(0, 0)
           .build(),
 
       // -------------------------------------------------- Spreading
@@ -148,28 +168,24 @@ public class Day17 {
           .withPattern("|_")
           .withResult("|_")
           .withRegistration(1, 0)
-          .withNextPoints(point -> ImmutableList.of())
           .build(),
 
       Mask.builder()
           .withPattern("_|")
           .withResult("_|")
           .withRegistration(0, 0)
-          .withNextPoints(point -> ImmutableList.of())
           .build(),
 
       Mask.builder()
           .withPattern("-|")
           .withResult("-|")
           .withRegistration(0, 0)
-          .withNextPoints(point -> ImmutableList.of())
       .build(),
 
       Mask.builder()
           .withPattern("|-")
           .withResult("|-")
           .withRegistration(1, 0)
-          .withNextPoints(point -> ImmutableList.of())
       .build(),
 
 
@@ -181,35 +197,35 @@ public class Day17 {
               "|",
               "|")
           .withRegistration(0, 0)
-          .withNextPoints(point -> ImmutableList.of(new Point(point.x, point.y + 1)))
+          .withNextPoint(0, 1)
           .build(),
 
       Mask.builder()
           .withPattern("._")
           .withResult("__")
           .withRegistration(1, 0)
-          .withNextPoints(point -> ImmutableList.of(new Point(point.x - 1, point.y)))
+          .withNextPoint(-1, 0)
           .build(),
 
       Mask.builder()
           .withPattern("_.")
           .withResult("__")
           .withRegistration(0, 0)
-          .withNextPoints(point -> ImmutableList.of(new Point(point.x + 1, point.y)))
+          .withNextPoint(1, 0)
           .build(),
 
       Mask.builder()
           .withPattern("#_")
           .withResult("#-")
           .withRegistration(1, 0)
-          .withNextPoints(point -> ImmutableList.of(new Point(point.x, point.y)))
+          .withNextPoint(0, 0)
           .build(),
 
       Mask.builder()
           .withPattern("_#")
           .withResult("-#")
           .withRegistration(0, 0)
-          .withNextPoints(point -> ImmutableList.of(new Point(point.x, point.y)))
+          .withNextPoint(0, 0)
           .build(),
 
       // -------------------------------------------------- Pooling
@@ -217,30 +233,29 @@ public class Day17 {
           .withPattern("_-")
           .withResult("--")
           .withRegistration(1, 0)
-          .withNextPoints(point -> ImmutableList.of(new Point(point.x - 1, point.y)))
+          .withNextPoint(-1, 0)
           .build(),
 
       Mask.builder()
           .withPattern("-_")
           .withResult("--")
           .withRegistration(0, 0)
-          .withNextPoints(point -> ImmutableList.of(new Point(point.x + 1, point.y)))
+          .withNextPoint(1, 0)
           .build(),
 
       Mask.builder()
           .withPattern("#-#")
           .withResult("#~#")
           .withRegistration(1, 0)
-          .withNextPoints(point -> ImmutableList.of(new Point(point.x, point.y)))
+          .withNextPoint(0, 0)
           .build(),
 
       Mask.builder()
           .withPattern("--")
           .withResult("~~")
           .withRegistration(0, 0)
-          .withNextPoints(point -> ImmutableList.of(
-              new Point(point.x, point.y),
-              new Point(point.x + 1, point.y)))
+          .withNextPoint(0, 0)
+          .withNextPoint(1, 0)
           .build(),
 
       // -------------------------------------------------- Pooling
@@ -253,24 +268,23 @@ public class Day17 {
               "_",
               "~")
           .withRegistration(0, 1)
-          .withNextPoints(point -> ImmutableList.of(
-              new Point(point.x, point.y),
-              new Point(point.x, point.y - 1),
-              new Point(point.x, point.y - 1)))
+          .withNextPoint(0, 0)
+          .withNextPoint(0, -1)
+          .withNextPoint(0, -1)
           .build(),
 
       Mask.builder()
           .withPattern("~-")
           .withResult("~~")
           .withRegistration(0, 0)
-          .withNextPoints(point -> ImmutableList.of(new Point(point.x + 1, point.y)))
+          .withNextPoint(1, 0)
           .build(),
 
       Mask.builder()
           .withPattern("-~")
           .withResult("~~")
           .withRegistration(1, 0)
-          .withNextPoints(point -> ImmutableList.of(new Point(point.x - 1, point.y)))
+          .withNextPoint(-1, 0)
           .build()
 
 /*
@@ -278,29 +292,32 @@ public class Day17 {
           .withPattern("-~")
           .withResult("~~")
           .withRegistration(0, 0)
-          .withNextPoints(point -> ImmutableList.of(new Point(point.x - 1, point.y)))
+          .withNextPoint(-1, 0)
           .build(),
 
       Mask.builder()
           .withPattern("~-")
           .withResult("~~")
           .withRegistration(1, 0)
-          .withNextPoints(point -> ImmutableList.of(new Point(point.x + 1, point.y)))
+          .withNextPoint(1, 0)
           .build()
 */
   );
 
   public static class Mask {
     public final Point registration;
-    public final Square[][] pattern;
-    public final Square[][] result;
-    public final Function<Point, ImmutableList<Point>> nextPoints;
+    /** Squares the mask matches, by ordinal. */
+    public final byte[][] pattern;
+    /** Squares the mask writes when it matches, by ordinal. */
+    public final byte[][] result;
+    /** Points to visit after applying the mask, as offsets from the registration point. */
+    public final ImmutableList<Point> nextPoints;
 
     public Mask(
         Point registration,
-        Square[][] pattern,
-        Square[][] result,
-        Function<Point, ImmutableList<Point>> nextPoints
+        byte[][] pattern,
+        byte[][] result,
+        ImmutableList<Point> nextPoints
     ) {
       this.registration = registration;
       this.pattern = pattern;
@@ -309,20 +326,20 @@ public class Day17 {
     }
 
     /**
-     * Returns whether this mask matches the grid at the given point.
+     * Returns whether this mask matches the grid at the given cell.  The border of the grid never matches, so the
+     * mask can't match off the edge of the grid.
+     *
      * @param grid Grid of squares
-     * @param point Point in grid coordinates to align  this mask's registration point.
+     * @param id Cell to align this mask's registration point with
      */
-    public boolean canApply(Square[][] grid, Point point) {
-
-      int yExtent = point.y + pattern.length - registration.y;
-      if (yExtent > grid.length || point.x - registration.x < 0 || point.x + pattern[0].length - registration.x > grid[point.y].length) {
-        return false;
-      }
+    public boolean canApply(ByteGrid grid, int id) {
+      int stride = grid.layout.stride;
+      int origin = id - registration.y * stride - registration.x;
 
       for (int y = 0; y < pattern.length; y ++) {
+        int row = origin + y * stride;
         for (int x = 0; x < pattern[y].length; x ++) {
-          if (grid[y + point.y - registration.y][x + point.x - registration.x] != pattern[y][x]) {
+          if (grid.get(row + x) != pattern[y][x]) {
             return false;
           }
         }
@@ -332,16 +349,19 @@ public class Day17 {
     }
 
     /**
-     * Applies this mask result to the grid at the given point, returning the modified grid.
+     * Applies this mask result to the grid at the given cell, modifying the grid.
      *
      * @param grid Grid to apply this mask to
-     * @param point Point in grid coordinates where this mask will be applied
-     * @return The modified grid.
+     * @param id Cell to align this mask's registration point with
      */
-    public void apply(Square[][] grid, Point point) {
-      for (int y = 0; y < pattern.length; y ++) {
-        for (int x = 0; x < pattern[y].length; x ++) {
-          grid[y + point.y - registration.y][x + point.x - registration.x] = result[y][x];
+    public void apply(ByteGrid grid, int id) {
+      int stride = grid.layout.stride;
+      int origin = id - registration.y * stride - registration.x;
+
+      for (int y = 0; y < result.length; y ++) {
+        int row = origin + y * stride;
+        for (int x = 0; x < result[y].length; x ++) {
+          grid.set(row + x, result[y][x]);
         }
       }
     }
@@ -352,9 +372,9 @@ public class Day17 {
 
     public static class Builder {
       private Point registration;
-      private Square[][] pattern;
-      private Square[][] result;
-      private Function<Point, ImmutableList<Point>> nextPoints;
+      private byte[][] pattern;
+      private byte[][] result;
+      private final ImmutableList.Builder<Point> nextPoints = ImmutableList.builder();
 
       private Builder() {}
 
@@ -373,21 +393,28 @@ public class Day17 {
         return this;
       }
 
-      public Builder withNextPoints(Function<Point, ImmutableList<Point>> nextPoints) {
-        this.nextPoints = nextPoints;
+      /**
+       * Adds a point to visit after the mask is applied.  Points are visited in the order they're added, and can be
+       * added more than once.
+       *
+       * @param dx Offset from the registration point in x
+       * @param dy Offset from the registration point in y
+       */
+      public Builder withNextPoint(int dx, int dy) {
+        this.nextPoints.add(new Point(dx, dy));
         return this;
       }
 
       public Mask build() {
-        return new Mask(registration, pattern, result, nextPoints);
+        return new Mask(registration, pattern, result, nextPoints.build());
       }
 
-      private static Square[][] parseLines(String[] lines) {
-        Square[][] squares = new Square[lines.length][lines[0].length()];
+      private static byte[][] parseLines(String[] lines) {
+        byte[][] squares = new byte[lines.length][lines[0].length()];
 
         for (int y = 0; y < lines.length; y ++) {
           for (int x = 0; x < lines[y].length(); x ++) {
-            squares[y][x] = Square.valueOf(lines[y].charAt(x));
+            squares[y][x] = (byte) Square.valueOf(lines[y].charAt(x)).ordinal();
           }
         }
 
@@ -434,10 +461,22 @@ public class Day17 {
    * @return Grid
    */
   public static Grid parseLines(ImmutableList<String> lines) {
-    ImmutableList<ClayVein> clayVeins = lines.stream()
+    return gridOf(lines.stream()
         .map(ClayVein::parseLine)
-        .collect(ImmutableList.toImmutableList());
+        .collect(ImmutableList.toImmutableList()));
+  }
+
+  /**
+   * Parses the scan lines in the input into a grid.
+   *
+   * @param input Input with x and y extents of clay, one vein per line
+   * @return Grid
+   */
+  public static Grid parseGrid(Input input) {
+    return gridOf(input.mapLines(ClayVein::parse));
+  }
 
+  private static Grid gridOf(ImmutableList<ClayVein> clayVeins) {
     Point min = new Point(Integer.MAX_VALUE, Integer.MAX_VALUE);
     Point max = new Point(0, 0);
 
@@ -480,24 +519,18 @@ public class Day17 {
     Point offset = new Point(min.x - 1, min.y);
 
     // Spring starts at x=500, y=0.
-    Square[][] grid = new Square[max.y + 1][max.x - min.x + 3];
-
-    for (int y = 0; y < grid.length; y ++) {
-      for (int x = 0; x < grid[y].length; x ++) {
-        grid[y][x] = Square.SAND;
-      }
-    }
+    ByteGrid grid = new ByteGrid(new GridLayout(max.x - min.x + 3, max.y + 1), SAND, OUTSIDE);
 
-    grid[0][500 - offset.x] = Square.SPRING_WATER;
+    grid.set(500 - offset.x, 0, SPRING_WATER);
 
     for (ClayVein vein : clayVeins) {
       if (vein.direction == VeinDirection.HORIZONTAL) {
         for (int x = vein.lineStart - offset.x; x <= vein.lineEnd - offset.x; x ++) {
-          grid[vein.fixed][x] = Square.CLAY;
+          grid.set(x, vein.fixed, CLAY);
         }
       } else {
         for (int y = vein.lineStart; y <= vein.lineEnd; y ++) {
-          grid[y][vein.fixed - offset.x] = Square.CLAY;
+          grid.set(vein.fixed - offset.x, y, CLAY);
         }
       }
     }
@@ -506,38 +539,50 @@ public class Day17 {
   }
 
   public static class Grid {
-    public final Square[][] grid;
+    /** Squares by ordinal, surrounded by a border that no mask matches. */
+    public final ByteGrid grid;
     public final Point offset;
 
-    public Grid(Square[][] grid, Point offset) {
+    public Grid(ByteGrid grid, Point offset) {
       this.grid = grid;
       this.offset = offset;
     }
 
+    /**
+     * Returns a copy of this grid that can be flowed without modifying this one.
+     *
+     * @return Copy of this grid.
+     */
+    public Grid copy() {
+      return new Grid(grid.copy(), offset);
+    }
+
     /**
      * Flows water through this grid, modifying it in the process.
      *
      * @return This grid with water fully flowed.
      */
     public Grid flow() {
-      Queue<Point> points = new ArrayDeque<>();
-      points.add(new Point(500 - offset.x, 0));
+      int stride = grid.layout.stride;
+      CellQueue points = new CellQueue();
+      points.add(grid.layout.id(500 - offset.x, 0));
 
+      long applied = 0;
       while (!points.isEmpty()) {
-        Point point = points.remove();
+        int point = points.remove();
 
         for (Mask mask : MASKS) {
           if (mask.canApply(grid, point)) {
             mask.apply(grid, point);
-            points.addAll(mask.nextPoints.apply(point));
+            applied ++;
+            for (Point next : mask.nextPoints) {
+              points.add(point + next.y * stride + next.x);
+            }
             break;
           }
         }
-
-//        System.out.println(point);
-//        System.out.println("Points: " + points);
-//        System.out.println(this + "\n");
       }
+      MASK_APPLICATIONS.add(applied);
 
       return this;
     }
@@ -549,9 +594,9 @@ public class Day17 {
      */
     public int waterCount() {
       int count = 0;
-      for (int y = offset.y; y < grid.length; y ++) {
-        for (int x = 0; x < grid[y].length; x ++) {
-          if (grid[y][x].isWater) {
+      for (int y = offset.y; y < grid.layout.height; y ++) {
+        for (int x = 0; x < grid.layout.width; x ++) {
+          if (SQUARES[grid.get(x, y)].isWater) {
             count++;
           }
         }
@@ -567,9 +612,9 @@ public class Day17 {
      */
     public int stillCount() {
       int count = 0;
-      for (int y = offset.y; y < grid.length; y ++) {
-        for (int x = 0; x < grid[y].length; x ++) {
-          if (grid[y][x] == Square.STILL_WATER) {
+      for (int y = offset.y; y < grid.layout.height; y ++) {
+        for (int x = 0; x < grid.layout.width; x ++) {
+          if (grid.get(x, y) == STILL_WATER) {
             count ++;
           }
         }
@@ -582,9 +627,9 @@ public class Day17 {
     public String toString() {
       StringBuilder bldr = new StringBuilder();
 
-      for (int y = 0; y < grid.length; y ++) {
-        for (int x = 0; x < grid[y].length; x ++) {
-          bldr.append(grid[y][x].name);
+      for (int y = 0; y < grid.layout.height; y ++) {
+        for (int x = 0; x < grid.layout.width; x ++) {
+          bldr.append(SQUARES[grid.get(x, y)].name);
         }
         bldr.append('\n');
       }
@@ -596,10 +641,36 @@ public class Day17 {
     }
   }
 
+  @Override
+  public int day() {
+    return 17;
+  }
+
+  @Override
+  public Grid parse(ImmutableList<String> lines) {
+    return parseLines(lines);
+  }
+
+  @Override
+  public Grid parse(Input input) {
+    return parseGrid(input);
+  }
+
+  @Override
+  public String part1(Grid grid) {
+    return Integer.toString(grid.copy().flow().waterCount());
+  }
+
+  @Override
+  public String part2(Grid grid) {
+    return Integer.toString(grid.copy().flow().stillCount());
+  }
+
   public static void main(String[] args) throws IOException {
-    File file = new File(Day17.class.getResource("/day17.txt").getFile());
-    ImmutableList<String> lines = ImmutableList.copyOf(Files.readLines(file, Charsets.UTF_8));
-    Grid grid = parseLines(lines).flow();
+    Grid grid;
+    try (Input input = Input.ofResource("/day17.txt")) {
+      grid = parseGrid(input).flow();
+    }
 
     // Part 1: how many tiles can the water reach?
     System.out.println("Part 1: " + grid.waterCount());
@@ -2,16 +2,15 @@ package dev.jh.adventofcode;
 
 import com.google.common.base.Charsets;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableMap;
 import com.google.common.io.Files;
+import dev.jh.adventofcode.cycle.CycleFinder;
+import dev.jh.adventofcode.grid.ByteGrid;
+import dev.jh.adventofcode.grid.GridLayout;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.function.Function;
 
-public class Day18 {
+public class Day18 implements Solver<Day18.Yard> {
   public enum Acre {
     OPEN('.'),
     TREES('|'),
@@ -34,85 +33,74 @@ public class Day18 {
     }
   }
 
-  public static final ImmutableMap<Acre, Function<ImmutableList<Acre>, Acre>> NEXT_ACRES = ImmutableMap.<Acre, Function<ImmutableList<Acre>, Acre>>builder()
+  private static final Acre[] ACRES = Acre.values();
+
+  private static final byte OPEN = (byte) Acre.OPEN.ordinal();
+  private static final byte TREES = (byte) Acre.TREES.ordinal();
+  private static final byte LUMBERYARD = (byte) Acre.LUMBERYARD.ordinal();
+
+  /**
+   * Returns what an acre becomes after a minute, given how many of the adjacent acres have trees and lumberyards.
+   *
+   * @param acre Acre, as an ordinal
+   * @param trees Number of adjacent acres containing trees
+   * @param lumberyards Number of adjacent lumberyards
+   * @return Next state of the acre, as an ordinal.
+   */
+  private static byte nextAcre(byte acre, int trees, int lumberyards) {
+    if (acre == OPEN) {
       // Open becomes filled with trees if 3+ adjacent acres contain trees.  Otherwise, stays open.
-      .put(Acre.OPEN, adjacent -> adjacent.stream()
-          .filter(acre -> acre == Acre.TREES)
-          .count() >= 3
-          ? Acre.TREES
-          : Acre.OPEN)
-
+      return trees >= 3 ? TREES : OPEN;
+    } else if (acre == TREES) {
       // Trees becomes lumberyard if 3+ adjacent acres contain lumberyards.  Otherwise, stays trees.
-      .put(Acre.TREES, adjacent -> adjacent.stream()
-          .filter(acre -> acre == Acre.LUMBERYARD)
-          .count() >= 3
-          ? Acre.LUMBERYARD
-          : Acre.TREES)
-
+      return lumberyards >= 3 ? LUMBERYARD : TREES;
+    } else {
       // Lumberyard stays lumberyard if it's adjacent to at least one other lumberyard and at least
       // one acre containing trees.  Otherwise, becomes open.
-      .put(Acre.LUMBERYARD, adjacent -> adjacent.contains(Acre.LUMBERYARD) && adjacent.contains(Acre.TREES)
-          ? Acre.LUMBERYARD
-          : Acre.OPEN)
-
-      .build();
+      return lumberyards >= 1 && trees >= 1 ? LUMBERYARD : OPEN;
+    }
+  }
 
   public static class Yard {
-    public final Acre[][] acres;
+    /** Acres by ordinal.  The border is open, which never changes how a neighbouring acre grows. */
+    public final ByteGrid acres;
 
-    public Yard(Acre[][] acres) {
+    public Yard(ByteGrid acres) {
       this.acres = acres;
     }
 
     public Yard tick() {
-      Acre[][] newAcres = new Acre[acres.length][acres[0].length];
+      GridLayout layout = acres.layout;
+      ByteGrid newAcres = new ByteGrid(layout, OPEN, OPEN);
+
+      for (int y = 0; y < layout.height; y ++) {
+        for (int id = layout.id(0, y), end = id + layout.width; id < end; id ++) {
+          int trees = 0;
+          int lumberyards = 0;
+
+          for (int i = 0; i < layout.adjacent.length(); i ++) {
+            byte adjacent = acres.get(id + layout.adjacent.get(i));
+            if (adjacent == TREES) {
+              trees ++;
+            } else if (adjacent == LUMBERYARD) {
+              lumberyards ++;
+            }
+          }
 
-      for (int y = 0; y < acres.length; y ++) {
-        for (int x = 0; x < acres[y].length; x ++) {
-          newAcres[y][x] = NEXT_ACRES.get(acres[y][x]).apply(adjacent(x, y));
+          newAcres.set(id, nextAcre(acres.get(id), trees, lumberyards));
         }
       }
 
       return new Yard(newAcres);
     }
 
-    private ImmutableList<Acre> adjacent(int toX, int toY) {
-      ImmutableList.Builder<Acre> adjacent = ImmutableList.builder();
-
-      for (int y = toY - 1; y <= toY + 1; y ++) {
-        for (int x = toX - 1; x <= toX + 1; x++) {
-          if (y >= 0 && y < acres.length && x >= 0 && x < acres[y].length && (y != toY || x != toX)) {
-            adjacent.add(acres[y][x]);
-          }
-        }
-      }
-
-      return adjacent.build();
-    }
-
     /**
      * Returns the value of this yard, which is the number of wooded acres multiplied by the number of lumberyards.
      *
      * @return Total value of this yard.
      */
     public int value() {
-      int wooded = 0;
-      int lumberyards = 0;
-
-      for (int y = 0; y < acres.length; y ++) {
-        for (int x = 0; x < acres[y].length; x ++) {
-          switch (acres[y][x]) {
-            case TREES:
-              wooded ++;
-              break;
-            case LUMBERYARD:
-              lumberyards++;
-              break;
-          }
-        }
-      }
-
-      return wooded * lumberyards;
+      return acres.count(TREES) * acres.count(LUMBERYARD);
     }
 
     /**
@@ -122,11 +110,11 @@ public class Day18 {
      * @return Yard in the same state as the input.
      */
     public static Yard parse(ImmutableList<String> lines) {
-      Acre[][] acres = new Acre[lines.size()][lines.get(0).length()];
+      ByteGrid acres = new ByteGrid(new GridLayout(lines.get(0).length(), lines.size()), OPEN, OPEN);
 
-      for (int y = 0; y < acres.length; y ++) {
-        for (int x = 0; x < acres[y].length; x ++) {
-          acres[y][x] = Acre.valueOf(lines.get(y).charAt(x));
+      for (int y = 0; y < acres.layout.height; y ++) {
+        for (int x = 0; x < acres.layout.width; x ++) {
+          acres.set(x, y, (byte) Acre.valueOf(lines.get(y).charAt(x)).ordinal());
         }
       }
 
@@ -137,9 +125,9 @@ public class Day18 {
     public String toString() {
       StringBuilder bldr = new StringBuilder();
 
-      for (int y = 0; y < acres.length; y ++) {
-        for (int x = 0; x < acres[y].length; x++) {
-          bldr.append(acres[y][x].name);
+      for (int y = 0; y < acres.layout.height; y ++) {
+        for (int x = 0; x < acres.layout.width; x++) {
+          bldr.append(ACRES[acres.get(x, y)].name);
         }
         bldr.append('\n');
       }
@@ -148,30 +136,34 @@ public class Day18 {
     }
   }
 
-  public static Yard tickMinutes(Yard yard, int minutes) {
-    Map<String, Integer> yardToMinute = new HashMap<>();
+  /**
+   * Finds cycles in the yard by fingerprint, confirming a match by comparing acres.
+   */
+  public static final CycleFinder<Yard> CYCLES = CycleFinder.of(Yard::tick, (a, b) -> a.acres.equals(b.acres))
+      .withFingerprint(yard -> yard.acres.fingerprint());
 
-    int minute = 1;
-    while (minute <= minutes && !yardToMinute.containsKey(yard.toString())) {
-      yardToMinute.put(yard.toString(), minute);
-      yard = yard.tick();
-      minute ++;
-    }
+  public static Yard tickMinutes(Yard yard, int minutes) {
+    return CYCLES.advance(yard, minutes);
+  }
 
-    if (minute <= minutes) {
-      int cycleStart = yardToMinute.get(yard.toString());
-      int cycleLength = minute - cycleStart;
-      int numCycles = (minutes - minute) / cycleLength;
+  @Override
+  public int day() {
+    return 18;
+  }
 
-      minute += numCycles * cycleLength;
+  @Override
+  public Yard parse(ImmutableList<String> lines) {
+    return Yard.parse(lines);
+  }
 
-      while (minute <= minutes) {
-        yard = yard.tick();
-        minute++;
-      }
-    }
+  @Override
+  public String part1(Yard yard) {
+    return Integer.toString(tickMinutes(yard, 10).value());
+  }
 
-    return yard;
+  @Override
+  public String part2(Yard yard) {
+    return Integer.toString(tickMinutes(yard, 1000000000).value());
   }
 
   public static void main(String[] args) throws IOException {
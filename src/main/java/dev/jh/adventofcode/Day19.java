@@ -5,6 +5,9 @@ import com.google.common.base.MoreObjects;
 import com.google.common.base.Objects;
 import com.google.common.collect.ImmutableList;
 import com.google.common.io.Files;
+import dev.jh.adventofcode.execution.ExecutionContext;
+import dev.jh.adventofcode.metrics.Counter;
+import dev.jh.adventofcode.metrics.Metrics;
 
 import java.io.*;
 import java.util.Arrays;
@@ -12,7 +15,9 @@ import java.util.function.BiFunction;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-public class Day19 {
+public class Day19 implements Solver<Day19.Program> {
+  private static final Counter INSTRUCTIONS = Metrics.counter("day19.instructions");
+
   public enum Opcode {
     /** ADDR stores into register C the result of adding register A and register B */
     ADDR((i, r) -> r.set(i.c, r.get(i.a) + r.get(i.b))),
@@ -203,45 +208,68 @@ public class Day19 {
     }
 
     public State run(State state) {
+      return runUntil(state, -1, ExecutionContext.current());
+    }
+
+    public State runUntil(State state, int stopInstruction) {
+      return runUntil(state, stopInstruction, ExecutionContext.current());
+    }
+
+    /**
+     * Runs the program until the instruction pointer reaches the given instruction, or the program halts.
+     *
+     * @param state Initial state of the registers
+     * @param stopInstruction Instruction to stop at before executing it, or -1 to run until the program halts
+     * @param context Context to run under, ticked once per instruction
+     * @return State of the registers when the program stopped.
+     */
+    public State runUntil(State state, int stopInstruction, ExecutionContext context) {
       boolean running = true;
-      while (running && inBounds(state.get(instructionRegister))) {
-        State beforeState = state;
-        int beforeInstructionPointer = state.get(instructionRegister);
-        Instruction instruction = instructions.get(state.get(instructionRegister));
-
-        state = instruction.apply(state);
-
-        if (debugOut != null) {
-          debugOut.printf("ip=%d [%d, %d, %d, %d, %d, %d] %s %d %d %d [%d, %d, %d, %d, %d, %d]\n",
-              beforeInstructionPointer,
-              beforeState.get(0),
-              beforeState.get(1),
-              beforeState.get(2),
-              beforeState.get(3),
-              beforeState.get(4),
-              beforeState.get(5),
-              instruction.opcode.name,
-              instruction.a,
-              instruction.b,
-              instruction.c,
-              state.get(0),
-              state.get(1),
-              state.get(2),
-              state.get(3),
-              state.get(4),
-              state.get(5)
-          );
+      long retired = 0;
+      try {
+        while (running && inBounds(state.get(instructionRegister)) && state.get(instructionRegister) != stopInstruction) {
+          context.tick();
+          State beforeState = state;
+          int beforeInstructionPointer = state.get(instructionRegister);
+          Instruction instruction = instructions.get(state.get(instructionRegister));
+
+          state = instruction.apply(state);
+          retired ++;
+
+          if (debugOut != null) {
+            debugOut.printf("ip=%d [%d, %d, %d, %d, %d, %d] %s %d %d %d [%d, %d, %d, %d, %d, %d]\n",
+                beforeInstructionPointer,
+                beforeState.get(0),
+                beforeState.get(1),
+                beforeState.get(2),
+                beforeState.get(3),
+                beforeState.get(4),
+                beforeState.get(5),
+                instruction.opcode.name,
+                instruction.a,
+                instruction.b,
+                instruction.c,
+                state.get(0),
+                state.get(1),
+                state.get(2),
+                state.get(3),
+                state.get(4),
+                state.get(5)
+            );
+          }
+
+          int newInstructionPointer = state.get(instructionRegister) + 1;
+          if (inBounds(newInstructionPointer)) {
+            state = state.set(instructionRegister, newInstructionPointer);
+          } else {
+            running = false;
+          }
         }
 
-        int newInstructionPointer = state.get(instructionRegister) + 1;
-        if (inBounds(newInstructionPointer)) {
-          state = state.set(instructionRegister, newInstructionPointer);
-        } else {
-          running = false;
-        }
+        return state;
+      } finally {
+        INSTRUCTIONS.add(retired);
       }
-
-      return state;
     }
 
     private boolean inBounds(int instructionPointer) {
@@ -276,6 +304,60 @@ public class Day19 {
     }
   }
 
+  /**
+   * Returns the number that the program sums the divisors of.  The setup code at the end of the program computes the
+   * number into register 2 and then jumps back to instruction 1 - see the notes in main.
+   *
+   * @param program Program to run
+   * @param register0 Initial value of register 0
+   * @return Number left in register 2 when the setup code finishes.
+   */
+  public static int divisorTarget(Program program, int register0) {
+    ExecutionContext context = ExecutionContext.current().begin("day19.instructions", -1);
+    return program.runUntil(MutableState.initial().set(0, register0), 1, context).get(2);
+  }
+
+  /**
+   * Returns the sum of all divisors of the given number, including 1 and the number itself.
+   *
+   * @param number Number to sum the divisors of
+   * @return Sum of the divisors.
+   */
+  public static int sumOfDivisors(int number) {
+    int sum = 0;
+    for (int divisor = 1; (long) divisor * divisor <= number; divisor ++) {
+      if (number % divisor == 0) {
+        sum += divisor;
+
+        if (divisor != number / divisor) {
+          sum += number / divisor;
+        }
+      }
+    }
+
+    return sum;
+  }
+
+  @Override
+  public int day() {
+    return 19;
+  }
+
+  @Override
+  public Program parse(ImmutableList<String> lines) {
+    return Program.parse(lines);
+  }
+
+  @Override
+  public String part1(Program program) {
+    return Integer.toString(sumOfDivisors(divisorTarget(program, 0)));
+  }
+
+  @Override
+  public String part2(Program program) {
+    return Integer.toString(sumOfDivisors(divisorTarget(program, 1)));
+  }
+
   public static void main(String[] args) throws IOException {
     File file = new File(Day19.class.getResource("/day19.txt").getFile());
     ImmutableList<String> lines = ImmutableList.copyOf(Files.readLines(file, Charsets.UTF_8));
@@ -6,15 +6,27 @@ import com.google.common.base.Objects;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.Files;
+import dev.jh.adventofcode.collect.LongIntHashMap;
+import dev.jh.adventofcode.hamming.PackedLetters;
+import dev.jh.adventofcode.input.Input;
+import dev.jh.adventofcode.input.LineCursor;
+import dev.jh.adventofcode.input.TokenCursor;
 
 import java.io.File;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
-public class Day2 {
+public class Day2 implements Solver<ImmutableList<String>> {
+  private static final int LETTERS = 26;
+  /** Odd multiplier for the polynomial hashes of box ids. */
+  private static final long HASH_BASE = 0x9E3779B97F4A7C15L;
+  /** Smallest part of the input worth counting on its own thread. */
+  private static final long MIN_PART_SIZE = 1 << 20;
 
   public static class RepeatedLetters {
     public final int two;
@@ -108,18 +120,166 @@ public class Day2 {
         .orElse(0);
   }
 
+  /**
+   * Computes the checksum of the box ids - the number with a letter exactly twice times the number with a letter
+   * exactly three times - counting letters into a reused array rather than a map per id.  Ids are split between
+   * threads, each with its own counts.
+   *
+   * @param boxIds Box ids of lowercase letters
+   * @return Checksum, which can be well outside the range of an int for millions of ids.
+   */
+  public static long checksum(List<String> boxIds) {
+    return boxIds.parallelStream()
+        .collect(RepeatCounter::new, RepeatCounter::add, RepeatCounter::addAll)
+        .checksum();
+  }
+
+  /**
+   * Computes the checksum of the box ids in the input, one per line, without reading them into strings.  Big inputs
+   * are split into line-aligned parts that are counted in parallel.
+   *
+   * @param input Input with one box id per line
+   * @return Checksum of the ids.
+   */
+  public static long checksum(Input input) {
+    int parts = (int) Math.min(Runtime.getRuntime().availableProcessors() * 4L, input.size() / MIN_PART_SIZE);
+    return checksum(input, Math.max(parts, 1));
+  }
+
+  static long checksum(Input input, int parts) {
+    return input.split(parts).parallelStream()
+        .map(part -> {
+          RepeatCounter counter = new RepeatCounter();
+          LineCursor cursor = part.lines();
+          while (cursor.next()) {
+            counter.add(cursor);
+          }
+          return counter;
+        })
+        .reduce(RepeatCounter::addAll)
+        .map(RepeatCounter::checksum)
+        .orElse(0L);
+  }
+
+  /**
+   * Returns the first pair of box ids that differ in exactly one position.
+   *
+   * @param boxIds Box ids
+   * @return Close box ids, the earlier one in the list on the left.
+   */
   public static CloseBoxIds closeBoxIds(ImmutableList<String> boxIds) {
-    ImmutableList<String> sorted = boxIds.stream().sorted().collect(ImmutableList.toImmutableList());
+    ImmutableList<CloseBoxIds> close = allCloseBoxIds(boxIds);
+    if (close.isEmpty()) {
+      throw new IllegalArgumentException("None of the box ids were close");
+    }
+
+    return close.get(0);
+  }
+
+  /**
+   * Returns every pair of box ids that differ in exactly one position.  Ids that differ only at a position are the same
+   * once that position is masked out, so for each position the ids are grouped by a hash of themselves without it, and
+   * only ids in the same group are compared.  That's expected O(n * length) however the ids are spread, and positions
+   * are grouped in parallel.  Ids are packed into words up front, so comparing ids in a group is a few XORs rather than
+   * a walk along both strings, and only the pairs that are close are ever turned back into strings.
+   *
+   * Repeated ids are only indexed once, since copies of an id would all land in the same group at every position.  So
+   * two close ids are reported once however many times either of them is repeated, and an id is never close to a copy
+   * of itself.
+   *
+   * @param boxIds Box ids of lowercase letters
+   * @return Close box ids, in order of the position they differ at, with the id that comes first in the list on the
+   *     left.
+   */
+  public static ImmutableList<CloseBoxIds> allCloseBoxIds(List<String> boxIds) {
+    int maxLength = boxIds.stream().mapToInt(String::length).max().orElse(0);
+    long[] powers = new long[maxLength];
+    for (int i = 0; i < maxLength; i ++) {
+      powers[i] = i == 0 ? 1 : powers[i - 1] * HASH_BASE;
+    }
+
+    // Hash each id once - masking out a position just subtracts its letter's term.
+    long[] hashes = new long[boxIds.size()];
+    for (int i = 0; i < hashes.length; i ++) {
+      String boxId = boxIds.get(i);
+      long hash = boxId.length();
+      for (int position = 0; position < boxId.length(); position ++) {
+        hash = hash * HASH_BASE + boxId.charAt(position);
+      }
+      hashes[i] = hash;
+    }
 
-    for (int i = 0; i < sorted.size() - 1; i ++) {
-      CloseBoxIds closeBoxIds = new CloseBoxIds(sorted.get(i), sorted.get(i + 1));
+    int words = PackedLetters.words(maxLength);
+    long[] packed = PackedLetters.packAll(boxIds, words);
+    int[] distinct = distinctBoxIds(boxIds, hashes, packed, words);
+
+    return IntStream.range(0, maxLength).parallel()
+        .mapToObj(position -> closeBoxIdsAt(boxIds, distinct, hashes, powers, packed, words, position))
+        .flatMap(List::stream)
+        .collect(ImmutableList.toImmutableList());
+  }
+
+  /**
+   * Returns the indexes of the first copy of each box id, in order.  Ids with the same hash are chained together like
+   * in {@link #closeBoxIdsAt}, but only the first copy of an id is chained, so a chain only ever holds ids whose hashes
+   * collide.
+   */
+  private static int[] distinctBoxIds(List<String> boxIds, long[] hashes, long[] packed, int words) {
+    LongIntHashMap chains = new LongIntHashMap(boxIds.size());
+    int[] next = new int[boxIds.size()];
+    int[] distinct = new int[boxIds.size()];
+    int count = 0;
+
+    for (int i = 0; i < boxIds.size(); i ++) {
+      int head = chains.getOrDefault(hashes[i], -1);
+      boolean repeated = false;
+      for (int j = head; j >= 0 && !repeated; j = next[j]) {
+        repeated = boxIds.get(j).length() == boxIds.get(i).length()
+            && PackedLetters.mismatches(packed, j * words, packed, i * words, words) == 0;
+      }
+
+      if (!repeated) {
+        next[i] = head;
+        chains.put(hashes[i], i);
+        distinct[count ++] = i;
+      }
+    }
+
+    return Arrays.copyOf(distinct, count);
+  }
+
+  /**
+   * Returns the pairs of distinct box ids that differ only at the given position.  Ids with the same masked hash are
+   * chained together through an array of indexes, newest first, so the index holds nothing but ints.
+   */
+  private static ImmutableList<CloseBoxIds> closeBoxIdsAt(
+      List<String> boxIds, int[] distinct, long[] hashes, long[] powers, long[] packed, int words, int position) {
+    ImmutableList.Builder<CloseBoxIds> close = ImmutableList.builder();
+    LongIntHashMap chains = new LongIntHashMap(distinct.length);
+    int[] next = new int[boxIds.size()];
+
+    for (int i : distinct) {
+      String boxId = boxIds.get(i);
+      if (boxId.length() <= position) {
+        continue;
+      }
 
-      if (commonLetters(closeBoxIds).length() == closeBoxIds.left.length() - 1) {
-        return closeBoxIds;
+      long masked = hashes[i] - boxId.charAt(position) * powers[boxId.length() - 1 - position];
+      int head = chains.getOrDefault(masked, -1);
+      for (int j = head; j >= 0; j = next[j]) {
+        // Hashes can collide, so the match has to be checked - the ids have to differ at this position and nowhere else.
+        if (boxIds.get(j).length() == boxId.length()
+            && PackedLetters.letterAt(packed, j * words, position) != boxId.charAt(position)
+            && PackedLetters.mismatches(packed, j * words, packed, i * words, words) == 1) {
+          close.add(new CloseBoxIds(boxIds.get(j), boxId));
+        }
       }
+
+      next[i] = head;
+      chains.put(masked, i);
     }
 
-    throw new IllegalArgumentException("None of the box ids were close");
+    return close.build();
   }
 
   public static String commonLetters(CloseBoxIds closeBoxIds) {
@@ -137,6 +297,81 @@ public class Day2 {
     return bldr.toString();
   }
 
+  /**
+   * Counts the box ids with a letter exactly twice and with a letter exactly three times.  Letters are counted into
+   * one array that's reused for every id, and each id's counts are folded into a mask with a bit for every count seen,
+   * so the twice and three times checks are bit tests rather than branches.
+   */
+  static class RepeatCounter {
+    private final int[] counts = new int[LETTERS];
+    private long twos;
+    private long threes;
+
+    void add(String boxId) {
+      for (int i = 0; i < boxId.length(); i ++) {
+        count(boxId.charAt(i));
+      }
+      endId();
+    }
+
+    void add(TokenCursor boxId) {
+      while (boxId.hasRemaining()) {
+        count(boxId.nextChar());
+      }
+      endId();
+    }
+
+    private void count(char c) {
+      int letter = c - 'a';
+      if (letter < 0 || letter >= LETTERS) {
+        throw new IllegalArgumentException("Box ids can only have lowercase letters, not '" + c + "'");
+      }
+      counts[letter] ++;
+    }
+
+    private void endId() {
+      long seen = 0;
+      for (int letter = 0; letter < LETTERS; letter ++) {
+        // Counts of 63 and up share the top bit, which is never tested.
+        seen |= 1L << Math.min(counts[letter], 63);
+        counts[letter] = 0;
+      }
+
+      twos += (seen >>> 2) & 1;
+      threes += (seen >>> 3) & 1;
+    }
+
+    RepeatCounter addAll(RepeatCounter other) {
+      twos += other.twos;
+      threes += other.threes;
+      return this;
+    }
+
+    long checksum() {
+      return twos * threes;
+    }
+  }
+
+  @Override
+  public int day() {
+    return 2;
+  }
+
+  @Override
+  public ImmutableList<String> parse(ImmutableList<String> lines) {
+    return lines;
+  }
+
+  @Override
+  public String part1(ImmutableList<String> boxIds) {
+    return Long.toString(checksum(boxIds));
+  }
+
+  @Override
+  public String part2(ImmutableList<String> boxIds) {
+    return commonLetters(closeBoxIds(boxIds));
+  }
+
   public static void main(String[] args) throws Exception {
     File file = new File(Day1.class.getResource("/day2.txt").getFile());
     ImmutableList<String> lines = ImmutableList.copyOf(Files.readLines(file, Charsets.UTF_8));
@@ -1,19 +1,23 @@
 package dev.jh.adventofcode;
 
 import com.google.common.base.Charsets;
-import com.google.common.base.MoreObjects;
-import com.google.common.base.Objects;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.io.Files;
+import dev.jh.adventofcode.collect.LongHashSet;
+import dev.jh.adventofcode.collect.LongIntHashMap;
+import dev.jh.adventofcode.grid.Coordinates;
+import dev.jh.adventofcode.grid.GridLayout;
+import dev.jh.adventofcode.search.Graph;
+import dev.jh.adventofcode.search.Search;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.*;
-import java.util.function.UnaryOperator;
+import java.util.Stack;
 
-public class Day20 {
+public class Day20 implements Solver<Day20.Instruction> {
+  private static final long START = Coordinates.pack(0, 0);
+  private static final Direction[] DIRECTIONS = Direction.values();
 
   public interface Instruction {
   }
@@ -25,15 +29,28 @@ public class Day20 {
   }
 
   public enum Direction implements Instruction {
-    NORTH(point -> new Point(point.x, point.y - 1)),
-    SOUTH(point -> new Point(point.x, point.y + 1)),
-    EAST(point -> new Point(point.x + 1, point.y)),
-    WEST(point -> new Point(point.x - 1, point.y));
+    NORTH(0, -1),
+    SOUTH(0, 1),
+    EAST(1, 0),
+    WEST(-1, 0);
 
-    public final UnaryOperator<Point> nextPoint;
+    public final int dx;
+    public final int dy;
 
-    Direction(UnaryOperator<Point> nextPoint) {
-      this.nextPoint = nextPoint;
+    Direction(int dx, int dy) {
+      this.dx = dx;
+      this.dy = dy;
+    }
+
+    /**
+     * Returns the bit marking a door in this direction in a room's doors.
+     */
+    public int door() {
+      return 1 << ordinal();
+    }
+
+    public Direction opposite() {
+      return DIRECTIONS[ordinal() ^ 1];
     }
   }
 
@@ -83,58 +100,6 @@ public class Day20 {
     }
   }
 
-  public static class Point {
-    public final int x;
-    public final int y;
-
-    public Point(int x, int y) {
-      this.x = x;
-      this.y = y;
-    }
-
-    @Override
-    public boolean equals(Object o) {
-      if (this == o) return true;
-      if (o == null || getClass() != o.getClass()) return false;
-      Point point = (Point) o;
-      return x == point.x &&
-          y == point.y;
-    }
-
-    @Override
-    public int hashCode() {
-      return Objects.hashCode(x, y);
-    }
-
-    @Override
-    public String toString() {
-      return MoreObjects.toStringHelper(this)
-          .add("x", x)
-          .add("y", y)
-          .toString();
-    }
-  }
-
-  public static class Edge {
-    public final Point a;
-    public final Point b;
-
-    public Edge(Point a, Point b) {
-      this.a = a;
-      this.b = b;
-    }
-  }
-
-  public static class Node {
-    public final Point point;
-    public final ImmutableSet<Edge> connections;
-
-    public Node(Point point, ImmutableSet<Edge> connections) {
-      this.point = point;
-      this.connections = connections;
-    }
-  }
-
   public static Instruction parse(String line) {
     Stack<InstructionBuilder> nodes = new Stack<>();
 
@@ -191,104 +156,204 @@ public class Day20 {
     throw new IllegalArgumentException("Regex must end with '$'");
   }
 
-  public static ImmutableMap<Point, ImmutableSet<Point>> buildGraph(Instruction instruction) {
-    Map<Point, ImmutableSet.Builder<Point>> graph = new HashMap<>();
-    graph.put(new Point(0, 0), ImmutableSet.builder());
-
-    buildGraphNode(instruction, ImmutableSet.of(new Point(0, 0)), graph);
-
-    return graph.entrySet().stream()
-        .collect(ImmutableMap.toImmutableMap(
-            Map.Entry::getKey,
-            entry -> entry.getValue().build()
-        ));
+  /**
+   * Builds the map of the facility by following every route the instruction allows, starting from (0, 0).
+   *
+   * @param instruction Route regex
+   * @return Map from each room's packed coordinates to the {@link Direction#door()} bits of the doors out of it.
+   */
+  public static LongIntHashMap buildGraph(Instruction instruction) {
+    LongIntHashMap graph = new LongIntHashMap();
+    graph.put(START, 0);
+
+    LongHashSet start = new LongHashSet();
+    start.add(START);
+    buildGraphNode(instruction, start, graph);
+
+    return graph;
   }
 
-  private static ImmutableSet<Point> buildGraphNode(Instruction instruction, ImmutableSet<Point> currentPoints, Map<Point, ImmutableSet.Builder<Point>> graph) {
+  private static LongHashSet buildGraphNode(Instruction instruction, LongHashSet currentRooms, LongIntHashMap graph) {
     if (instruction instanceof Direction) {
-      ImmutableSet.Builder<Point> nextPoints = ImmutableSet.builder();
-      for (Point point : currentPoints) {
-        Point nextPoint = ((Direction) instruction).nextPoint.apply(point);
+      Direction direction = (Direction) instruction;
 
-        graph.get(point).add(nextPoint);
-        graph.computeIfAbsent(nextPoint, p -> ImmutableSet.builder());
-        graph.get(nextPoint).add(point);
+      LongHashSet nextRooms = new LongHashSet(currentRooms.size());
+      for (int slot = currentRooms.firstSlot(); slot >= 0; slot = currentRooms.nextSlot(slot)) {
+        long room = currentRooms.keyAt(slot);
+        long nextRoom = Coordinates.move(room, direction.dx, direction.dy);
 
-        nextPoints.add(nextPoint);
+        graph.put(room, graph.get(room) | direction.door());
+        graph.put(nextRoom, graph.getOrDefault(nextRoom, 0) | direction.opposite().door());
+
+        nextRooms.add(nextRoom);
       }
 
-      return nextPoints.build();
+      return nextRooms;
 
     } else if (instruction instanceof InstructionList) {
-      ImmutableSet<Point> nextPoints = currentPoints;
+      LongHashSet nextRooms = currentRooms;
       for (Instruction i : ((InstructionList) instruction).instructions) {
-        nextPoints = buildGraphNode(i, nextPoints, graph);
+        nextRooms = buildGraphNode(i, nextRooms, graph);
       }
 
-      return nextPoints;
+      return nextRooms;
 
     } else if (instruction instanceof OptionsInstruction) {
-      ImmutableSet.Builder<Point> nextPoints = ImmutableSet.builder();
+      LongHashSet nextRooms = new LongHashSet();
       for (Instruction option : ((OptionsInstruction) instruction).options) {
-        nextPoints.addAll(buildGraphNode(option, currentPoints, graph));
+        LongHashSet optionRooms = buildGraphNode(option, currentRooms, graph);
+        for (int slot = optionRooms.firstSlot(); slot >= 0; slot = optionRooms.nextSlot(slot)) {
+          nextRooms.add(optionRooms.keyAt(slot));
+        }
       }
 
-      return nextPoints.build();
+      return nextRooms;
 
     } else {
       throw new IllegalArgumentException("Unknown instruction type " + instruction.getClass());
     }
   }
 
-  public static ImmutableMap<Point, Integer> roomDistances(ImmutableMap<Point, ImmutableSet<Point>> graph) {
-    Map<Point, Integer> distances = new HashMap<>();
-    distances.put(new Point(0, 0), 0);
+  /**
+   * Rooms of the facility laid out on a grid just big enough to hold them, so they can be searched by id.
+   */
+  private static class RoomGraph implements Graph {
+    private final int minX;
+    private final int minY;
+    private final GridLayout layout;
+    /** {@link Direction#door()} bits by room id. */
+    private final byte[] doors;
+
+    RoomGraph(LongIntHashMap graph) {
+      int minX = Integer.MAX_VALUE;
+      int minY = Integer.MAX_VALUE;
+      int maxX = Integer.MIN_VALUE;
+      int maxY = Integer.MIN_VALUE;
+      for (int slot = graph.firstSlot(); slot >= 0; slot = graph.nextSlot(slot)) {
+        long room = graph.keyAt(slot);
+        minX = Math.min(minX, Coordinates.x(room));
+        minY = Math.min(minY, Coordinates.y(room));
+        maxX = Math.max(maxX, Coordinates.x(room));
+        maxY = Math.max(maxY, Coordinates.y(room));
+      }
+
+      this.minX = minX;
+      this.minY = minY;
+      this.layout = new GridLayout(maxX - minX + 1, maxY - minY + 1);
+      this.doors = new byte[layout.size()];
+
+      for (int slot = graph.firstSlot(); slot >= 0; slot = graph.nextSlot(slot)) {
+        doors[id(graph.keyAt(slot))] = (byte) graph.valueAt(slot);
+      }
+    }
 
-    Queue<Point> toVisit = new ArrayDeque<>();
-    toVisit.add(new Point(0, 0));
+    int id(long room) {
+      return layout.id(Coordinates.x(room) - minX, Coordinates.y(room) - minY);
+    }
 
-    while (!toVisit.isEmpty()) {
-      Point point = toVisit.remove();
-      int pointDistance = distances.get(point);
+    @Override
+    public int size() {
+      return layout.size();
+    }
 
-      for (Point next : graph.get(point)) {
-        if (!distances.containsKey(next)) {
-          distances.put(next, pointDistance + 1);
-          toVisit.add(next);
+    @Override
+    public int maxDegree() {
+      return DIRECTIONS.length;
+    }
+
+    @Override
+    public int edges(int room, int[] targets, int[] weights) {
+      int count = 0;
+      for (Direction direction : DIRECTIONS) {
+        if ((doors[room] & direction.door()) != 0) {
+          targets[count] = room + direction.dy * layout.stride + direction.dx;
+          weights[count ++] = 1;
         }
       }
+
+      return count;
+    }
+  }
+
+  /**
+   * Finds the fewest doors needed to reach each room, with a breadth first search from (0, 0).
+   *
+   * @param graph Map of the facility from {@link #buildGraph(Instruction)}
+   * @return Map from each room's packed coordinates to the number of doors to pass through to reach it.
+   */
+  public static LongIntHashMap roomDistances(LongIntHashMap graph) {
+    RoomGraph rooms = new RoomGraph(graph);
+    int[] distances = new Search().bfs(rooms, rooms.id(START));
+
+    // Every room was reached through a door from the start, so they all have a distance.
+    LongIntHashMap roomDistances = new LongIntHashMap(graph.size());
+    for (int slot = graph.firstSlot(); slot >= 0; slot = graph.nextSlot(slot)) {
+      roomDistances.put(graph.keyAt(slot), distances[rooms.id(graph.keyAt(slot))]);
     }
 
-    return ImmutableMap.copyOf(distances);
+    return roomDistances;
   }
 
-  public static int furthestRoom(ImmutableMap<Point, Integer> distances) {
+  public static int furthestRoom(LongIntHashMap distances) {
     int furthest = 0;
 
-    for (int distance : distances.values()) {
-      if (distance > furthest) {
-        furthest = distance;
-      }
+    for (int slot = distances.firstSlot(); slot >= 0; slot = distances.nextSlot(slot)) {
+      furthest = Math.max(furthest, distances.valueAt(slot));
     }
 
     return furthest;
   }
 
+  /**
+   * Counts the rooms that are at least the given number of doors away.
+   *
+   * @param distances Distances from {@link #roomDistances(LongIntHashMap)}
+   * @param doors Minimum number of doors
+   * @return Number of rooms that far away.
+   */
+  public static int roomsAtLeast(LongIntHashMap distances, int doors) {
+    int rooms = 0;
+
+    for (int slot = distances.firstSlot(); slot >= 0; slot = distances.nextSlot(slot)) {
+      if (distances.valueAt(slot) >= doors) {
+        rooms ++;
+      }
+    }
+
+    return rooms;
+  }
+
+  @Override
+  public int day() {
+    return 20;
+  }
+
+  @Override
+  public Instruction parse(ImmutableList<String> lines) {
+    return parse(lines.get(0));
+  }
+
+  @Override
+  public String part1(Instruction instruction) {
+    return Integer.toString(furthestRoom(roomDistances(buildGraph(instruction))));
+  }
+
+  @Override
+  public String part2(Instruction instruction) {
+    return Integer.toString(roomsAtLeast(roomDistances(buildGraph(instruction)), 1000));
+  }
+
   public static void main(String[] args) throws IOException {
     File file = new File(Day20.class.getResource("/day20.txt").getFile());
     String line = Files.asCharSource(file, Charsets.UTF_8).readFirstLine();
 
-    ImmutableMap<Point, ImmutableSet<Point>> graph = buildGraph(parse(line));
-    ImmutableMap<Point, Integer> distances = roomDistances(graph);
+    LongIntHashMap graph = buildGraph(parse(line));
+    LongIntHashMap distances = roomDistances(graph);
 
     // Part 1: what is the largest number of doors required to pass through to reach a room?
     System.out.println("Part 1: " + furthestRoom(distances));
 
     // Part 2: how many rooms have a shortest path that pass through at least 1000 doors?
-    long farRooms = distances.values().stream()
-        .filter(distance -> distance >= 1000)
-        .count();
-
-    System.out.println("Part 2: " + farRooms);
+    System.out.println("Part 2: " + roomsAtLeast(distances, 1000));
   }
 }
@@ -5,18 +5,24 @@ import com.google.common.base.MoreObjects;
 import com.google.common.base.Objects;
 import com.google.common.collect.ImmutableList;
 import com.google.common.io.Files;
+import dev.jh.adventofcode.cycle.Cycle;
+import dev.jh.adventofcode.cycle.CycleFinder;
+import dev.jh.adventofcode.execution.ExecutionContext;
+import dev.jh.adventofcode.metrics.Counter;
+import dev.jh.adventofcode.metrics.Metrics;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.UnaryOperator;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.IntStream;
 
-public class Day21 {
+public class Day21 implements Solver<Day21.Program> {
+  private static final Counter INSTRUCTIONS = Metrics.counter("day21.instructions");
 
   public enum Opcode {
     /** ADDR stores into register C the result of adding register A and register B */
@@ -160,23 +166,41 @@ public class Day21 {
     }
 
     public State run(State state) {
+      return run(state, ExecutionContext.current());
+    }
+
+    /**
+     * Runs the program until it halts, or the state-continue function says to stop.
+     *
+     * @param state Initial state of the registers
+     * @param context Context to run under, ticked once per instruction
+     * @return State of the registers when the program stopped.
+     */
+    public State run(State state, ExecutionContext context) {
       boolean running = true;
-      while (running && inBounds(state.get(instructionRegister))) {
-        if (stateContinue != null && !stateContinue.apply(state)) {
-          break;
+      long retired = 0;
+      try {
+        while (running && inBounds(state.get(instructionRegister))) {
+          context.tick();
+          if (stateContinue != null && !stateContinue.apply(state)) {
+            break;
+          }
+
+          state = instructions.get((int) state.get(instructionRegister)).apply(state);
+          retired ++;
+
+          long newInstructionPointer = state.get(instructionRegister) + 1;
+          if (inBounds(newInstructionPointer)) {
+            state = state.set(instructionRegister, newInstructionPointer);
+          } else {
+            running = false;
+          }
         }
 
-        state = instructions.get((int) state.get(instructionRegister)).apply(state);
-
-        long newInstructionPointer = state.get(instructionRegister) + 1;
-        if (inBounds(newInstructionPointer)) {
-          state = state.set(instructionRegister, newInstructionPointer);
-        } else {
-          running = false;
-        }
+        return state;
+      } finally {
+        INSTRUCTIONS.add(retired);
       }
-
-      return state;
     }
 
     private boolean inBounds(long instructionPointer) {
@@ -210,6 +234,73 @@ public class Day21 {
     }
   }
 
+  @Override
+  public int day() {
+    return 21;
+  }
+
+  @Override
+  public Program parse(ImmutableList<String> lines) {
+    return Program.parse(lines);
+  }
+
+  @Override
+  public String part1(Program program) {
+    ExecutionContext context = ExecutionContext.current().begin("day21.instructions", -1);
+    State result = program
+        .replaceInstruction(28, Instruction.parse("eqrr 2 2 4"))
+        .run(State.initial(), context);
+
+    return Long.toString(result.get(2));
+  }
+
+  @Override
+  public String part2(Program program) {
+    return Long.toString(lastNewHaltValue(program));
+  }
+
+  /**
+   * Returns whether the program is at the instruction that halts if register 2 matches register 0.
+   */
+  private static boolean atHaltCheck(State state) {
+    return state.get(5) == 28 && state.get(1) < 256;
+  }
+
+  /**
+   * Returns the register 2 value at the halt check just before the values start repeating.  Setting register 0 to it
+   * halts the program after the most instructions.
+   *
+   * @param program Program to run
+   * @return Last new register 2 value.
+   */
+  public static long lastNewHaltValue(Program program) {
+    return lastNewHaltValue(program, ExecutionContext.current());
+  }
+
+  /**
+   * Returns the register 2 value at the halt check just before the values start repeating, ticking the given context
+   * once per instruction.
+   *
+   * @param program Program to run
+   * @param context Context to run under
+   * @return Last new register 2 value.
+   */
+  public static long lastNewHaltValue(Program program, ExecutionContext context) {
+    context.begin("day21.instructions", -1);
+    UnaryOperator<State> nextHaltCheck = state -> program
+        .withStateContinue(s -> s == state || !atHaltCheck(s))
+        .run(state, context);
+
+    // Each pass of the outer loop only depends on register 2 - the rest are reset - so register 2 is an exact
+    // fingerprint of the state at the halt check.
+    Cycle<State> cycle = CycleFinder.of(nextHaltCheck, (a, b) -> a.get(2) == b.get(2))
+        .withExactFingerprint(state -> state.get(2))
+        .hashed(nextHaltCheck.apply(State.initial()), Long.MAX_VALUE)
+        .orElseThrow(() -> new IllegalStateException("Register 2 never repeats"));
+
+    return cycle.last.get(2);
+  }
+
   public static void main(String[] args) throws IOException {
     File file = new File(Day21.class.getResource("/day21.txt").getFile());
     ImmutableList<String> lines = ImmutableList.copyOf(Files.readLines(file, Charsets.UTF_8));
@@ -228,26 +319,7 @@ public class Day21 {
 
     // Look for a loop in the register 2 values - the answer to part 2 will be the value of register 2 before the loop.
     // Is looking for duplicate values for register 2 the way the loop will manifest?  Turns out yes.
-    AtomicLong previousRegister2 = new AtomicLong();
-    Set<Long> seenRegister2 = new HashSet<>();
-    program.withStateContinue(state -> {
-      if (state.get(5) == 28 && state.get(1) < 256) {
-        long register2 = state.get(2);
-
-        System.out.printf("%50s reg(2) = %32s\n", state, Long.toBinaryString(register2));
-
-        if (seenRegister2.contains(register2)) {
-          return false;
-        }
-
-        seenRegister2.add(register2);
-        previousRegister2.set(register2);
-      }
-
-      return true;
-    }).run(State.initial());
-
-    System.out.println("Part 2: " + previousRegister2);
+    System.out.println("Part 2: " + lastNewHaltValue(program));
 
     // Most of the work for this problem was analyzing what the program does.  Analysis:
     /*
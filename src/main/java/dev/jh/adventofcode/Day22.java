@@ -2,13 +2,18 @@ package dev.jh.adventofcode;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Objects;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import dev.jh.adventofcode.grid.ByteGrid;
+import dev.jh.adventofcode.grid.GridLayout;
+import dev.jh.adventofcode.grid.IntGrid;
+import dev.jh.adventofcode.metrics.Counter;
+import dev.jh.adventofcode.metrics.Metrics;
+import dev.jh.adventofcode.search.Graph;
+import dev.jh.adventofcode.search.Search;
 
-import java.util.*;
-import java.util.function.UnaryOperator;
-
-public class Day22 {
+public class Day22 implements Solver<Day22.Cave> {
 
   public static class Point {
     public final int x;
@@ -79,10 +84,33 @@ public class Day22 {
     }
   }
 
+  private static final Erosion[] EROSIONS = Erosion.values();
+  private static final Tool[] TOOLS = Tool.values();
+
+  /** Ordinal of the other tool allowed in a region, by erosion ordinal and then tool ordinal. */
+  private static final int[][] OTHER_TOOLS = new int[EROSIONS.length][TOOLS.length];
+  /** Whether a tool is allowed in a region, by erosion ordinal and then tool ordinal. */
+  private static final boolean[][] ALLOWED_TOOLS = new boolean[EROSIONS.length][TOOLS.length];
+
+  static {
+    for (Erosion erosion : EROSIONS) {
+      for (Tool tool : TOOLS) {
+        OTHER_TOOLS[erosion.ordinal()][tool.ordinal()] = tool.otherTool(erosion).ordinal();
+        ALLOWED_TOOLS[erosion.ordinal()][tool.ordinal()] = tool.allowed(erosion);
+      }
+    }
+  }
+
+  /** Border around the cave, which no tool is allowed in. */
+  private static final byte OUTSIDE = -1;
+
+  private static final Counter EXPANDED = Metrics.counter("day22.expanded");
+
   public static class Cave {
     public final Point target;
     public final int depth;
-    public final Erosion[][] erosion;
+    /** Erosion types by ordinal. */
+    public final ByteGrid erosion;
 
     public Cave(Point target, int depth) {
       this.target = target;
@@ -91,40 +119,44 @@ public class Day22 {
       this.erosion = calculateErosion(target, depth);
     }
 
-    private Erosion[][] calculateErosion(Point target, int depth) {
-      Erosion[][] erosion = new Erosion[target.y * 15][target.x * 15];
-      int[][] erosionLevels = new int[erosion.length][erosion[0].length];
-
-      for (int diagonalY = 0; diagonalY < erosion.length + erosion[0].length; diagonalY ++) {
-        for (int y = diagonalY >= erosion.length ? erosion.length - 1 : diagonalY; y >= 0; y --) {
-          int x = diagonalY - y;
-
-          if (x < erosion[y].length) {
-            int erosionLevel;
-            if ((x == 0 && y == 0) || x == target.x && y == target.y) {
-              erosionLevel = depth % 20183;
-            } else if (y == 0) {
-              erosionLevel = (x * 16807 + depth) % 20183;
-            } else if (x == 0) {
-              erosionLevel = (y * 48271 + depth) % 20183;
-            } else {
-              erosionLevel = (erosionLevels[y - 1][x] * erosionLevels[y][x - 1] + depth) % 20183;
-            }
-
-            erosionLevels[y][x] = erosionLevel;
-            erosion[y][x] = Erosion.fromErosionLevel(erosionLevel);
+    private ByteGrid calculateErosion(Point target, int depth) {
+      GridLayout layout = new GridLayout(target.x * 15, target.y * 15);
+      ByteGrid erosion = new ByteGrid(layout, OUTSIDE, OUTSIDE);
+      IntGrid erosionLevels = new IntGrid(layout, 0, 0);
+
+      // Each erosion level depends on the ones above and to the left, so filling in reading order always has them.
+      for (int y = 0; y < layout.height; y ++) {
+        for (int x = 0; x < layout.width; x ++) {
+          int id = layout.id(x, y);
+
+          int erosionLevel;
+          if ((x == 0 && y == 0) || x == target.x && y == target.y) {
+            erosionLevel = depth % 20183;
+          } else if (y == 0) {
+            erosionLevel = (x * 16807 + depth) % 20183;
+          } else if (x == 0) {
+            erosionLevel = (y * 48271 + depth) % 20183;
+          } else {
+            erosionLevel = (erosionLevels.get(id + layout.up) * erosionLevels.get(id + layout.left) + depth) % 20183;
           }
+
+          erosionLevels.set(id, erosionLevel);
+          erosion.set(id, (byte) Erosion.fromErosionLevel(erosionLevel).ordinal());
         }
       }
 
       return erosion;
     }
 
+    public Erosion erosion(int x, int y) {
+      return EROSIONS[erosion.get(x, y)];
+    }
+
     public int risk() {
       int risk = 0;
       for (int y = 0; y <= target.y; y ++) {
         for (int x = 0; x <= target.x; x ++) {
-          risk += erosion[y][x].risk;
+          risk += erosion(x, y).risk;
         }
       }
       return risk;
@@ -134,10 +166,10 @@ public class Day22 {
     public String toString() {
       StringBuilder bldr = new StringBuilder();
 
-      for (int y = 0; y < erosion.length; y ++) {
+      for (int y = 0; y < erosion.layout.height; y ++) {
         bldr.append('\n');
-        for (int x = 0; x < erosion[y].length; x ++) {
-          bldr.append(erosion[y][x].name);
+        for (int x = 0; x < erosion.layout.width; x ++) {
+          bldr.append(erosion(x, y).name);
         }
       }
 
@@ -151,94 +183,61 @@ public class Day22 {
 
     public int fastestMinutes() {
       // A*.  h(n) = manhattan distance from current point to goal, g(n) = actual cost including switching.
-      State start = new State(new Point(0, 0), Tool.TORCH);
-      State goal = new State(target, Tool.TORCH);
-
-      Map<State, State> cameFrom = new HashMap<>();
-      Map<State, Integer> gScores = new HashMap<>(); // Cost of getting from the start node to the key
-      Map<State, Integer> fScores = new HashMap<>(); // Total cost of getting from the start node to the goal by passing through a node
-
-      Set<State> visited = new HashSet<>();
-
-      Set<State> toVisit = new HashSet<>();
-      toVisit.add(start);
-      gScores.put(start, 0);
-      fScores.put(start, start.pointDistance(goal));
-
-      while (!toVisit.isEmpty()) {
-        State current = toVisit.stream()
-            .min(Comparator.comparingInt(fScores::get))
-            .get();
-
-        toVisit.remove(current);
-
-        if (current.equals(goal)) {
-          List<State> states = new ArrayList<>();
-
-          int time = 0;
-          for (State backTrack = current; cameFrom.containsKey(backTrack); backTrack = cameFrom.get(backTrack)) {
-            states.add(backTrack);
-            time += backTrack.timeDistance(cameFrom.get(backTrack));
-          }
-
-          return time;
-        }
-
-        visited.add(current);
-
-        for (State neighbor : neighbors(current)) {
-          if (!visited.contains(neighbor)) {
-            int gScore = gScores.get(current) + current.timeDistance(neighbor);
-
-            if (!toVisit.contains(neighbor)) {
-              toVisit.add(neighbor);
-            } else if (gScore >= gScores.get(neighbor)) {
-              continue;
-            }
-
-            cameFrom.put(neighbor, current);
-            gScores.put(neighbor, gScore);
-            fScores.put(neighbor, gScore + neighbor.pointDistance(goal));
-          }
-        }
+      GridLayout layout = erosion.layout;
+      int start = layout.id(0, 0) * TOOLS.length + Tool.TORCH.ordinal();
+      int goal = layout.id(target.x, target.y) * TOOLS.length + Tool.TORCH.ordinal();
+
+      Search search = new Search();
+      int minutes = search.aStar(new ToolGraph(), start, goal, state -> {
+        int square = state / TOOLS.length;
+        return Math.abs(layout.x(square) - target.x) + Math.abs(layout.y(square) - target.y);
+      });
+      EXPANDED.add(search.expanded());
+
+      if (minutes == Search.UNREACHED) {
+        throw new IllegalStateException("No path to target found - consider expanding the erosion grid.");
       }
 
-      throw new IllegalStateException("No path to target found - consider expanding the erosion grid.");
+      return minutes;
     }
 
-    private ImmutableSet<State> neighbors(State state) {
-      ImmutableSet.Builder<State> neighbors = ImmutableSet.builder();
-
-      // Can switch tools to the other one valid for the region
-      neighbors.add(new State(state.point, state.tool.otherTool(erosion[state.point.y][state.point.x])));
-
-      // Or can move one square adjacent as long as the current tool is allowed in that zone.
-      for (Direction direction : Direction.values()) {
-        Point directionPoint = direction.move.apply(state.point);
-        if (directionPoint.y >= 0
-            && directionPoint.x >= 0
-            && directionPoint.y < erosion.length
-            && directionPoint.x < erosion[0].length
-            && state.tool.allowed(erosion[directionPoint.y][directionPoint.x])
-        ) {
-          neighbors.add(new State(directionPoint, state.tool));
-        }
+    /**
+     * Graph of (square, tool) states, where a state's id is the square's id * 3 + the tool's ordinal.  Switching to
+     * the other tool allowed in a region takes seven minutes, and moving to an adjacent square where the current tool
+     * is allowed takes one.
+     */
+    private class ToolGraph implements Graph {
+      @Override
+      public int size() {
+        return erosion.layout.size() * TOOLS.length;
       }
 
-      return neighbors.build();
-    }
-  }
-
-  public enum Direction {
-    UP(point -> new Point(point.x, point.y - 1)),
-    DOWN(point -> new Point(point.x, point.y + 1)),
-    LEFT(point -> new Point(point.x - 1, point.y)),
-    RIGHT(point -> new Point(point.x + 1, point.y));
+      @Override
+      public int maxDegree() {
+        return 1 + erosion.layout.orthogonal.length();
+      }
 
-    public final UnaryOperator<Point> move;
+      @Override
+      public int edges(int state, int[] targets, int[] weights) {
+        GridLayout layout = erosion.layout;
+        int square = state / TOOLS.length;
+        int tool = state % TOOLS.length;
+
+        int count = 0;
+        targets[count] = square * TOOLS.length + OTHER_TOOLS[erosion.get(square)][tool];
+        weights[count ++] = 7;
+
+        for (int i = 0; i < layout.orthogonal.length(); i ++) {
+          int neighbor = square + layout.orthogonal.get(i);
+          byte neighborErosion = erosion.get(neighbor);
+          if (neighborErosion != OUTSIDE && ALLOWED_TOOLS[neighborErosion][tool]) {
+            targets[count] = neighbor * TOOLS.length + tool;
+            weights[count ++] = 1;
+          }
+        }
 
-    Direction(UnaryOperator<Point> move) {
-      this.move = move;
+        return count;
+      }
     }
   }
 
@@ -265,61 +264,31 @@ public class Day22 {
     }
   }
 
-  public static class State {
-    public final Point point;
-    public final Tool tool;
-
-    public State(Point point, Tool tool) {
-      this.point = point;
-      this.tool = tool;
-    }
-
-    public int pointDistance(State other) {
-      // Manhattan distance between this point and the other point.
-      return Math.abs(point.x - other.point.x) + Math.abs(point.y - other.point.y);
-    }
+  @Override
+  public int day() {
+    return 22;
+  }
 
-    public int timeDistance(State adjacent) {
-      int distance = pointDistance(adjacent);
-      if (distance == 0) {
-        if (tool == adjacent.tool) {
-          throw new IllegalArgumentException("Time distance can't be applied to the same state twice.");
-        } else {
-          return 7; // Tool change.
-        }
-      } else if (distance == 1) {
-        if (tool == adjacent.tool) {
-          return 1;
-        } else {
-          throw new IllegalArgumentException("Time distance can only be applied to a move if the tool doesn't change.");
-        }
-      } else {
-        throw new IllegalArgumentException("Time distance can only be applied to adjacent states.");
-      }
-    }
+  @Override
+  public Cave parse(ImmutableList<String> lines) {
+    // depth: 5913
+    // target: 8,701
+    int depth = Integer.parseInt(lines.get(0).substring("depth: ".length()).trim());
+    String[] target = lines.get(1).substring("target: ".length()).trim().split(",");
 
-    @Override
-    public boolean equals(Object o) {
-      if (this == o) return true;
-      if (o == null || getClass() != o.getClass()) return false;
-      State state = (State) o;
-      return Objects.equal(point, state.point) &&
-          tool == state.tool;
-    }
+    return new Cave(new Point(Integer.parseInt(target[0]), Integer.parseInt(target[1])), depth);
+  }
 
-    @Override
-    public int hashCode() {
-      return Objects.hashCode(point, tool);
-    }
+  @Override
+  public String part1(Cave cave) {
+    return Integer.toString(cave.risk());
+  }
 
-    @Override
-    public String toString() {
-      return MoreObjects.toStringHelper(this)
-          .add("point", point)
-          .add("tool", tool)
-          .toString();
-    }
+  @Override
+  public String part2(Cave cave) {
+    return Integer.toString(cave.fastestMinutes());
   }
+
   public static void main(String[] args) {
     Point target = new Point(8, 701);
     int caveDepth = 5913;
@@ -1,20 +1,18 @@
 package dev.jh.adventofcode;
 
-import com.google.common.base.Charsets;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Objects;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.io.Files;
+import dev.jh.adventofcode.input.Input;
+import dev.jh.adventofcode.input.StringCursor;
+import dev.jh.adventofcode.input.TokenCursor;
 
-import java.io.File;
 import java.io.IOException;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
-public class Day23 {
+public class Day23 implements Solver<ImmutableList<Day23.Nanobot>> {
 
   public static class Position {
     public static final Position ORIGIN = new Position(0, 0, 0);
@@ -71,21 +69,28 @@ public class Day23 {
       return position.distance(other.position) <= range;
     }
 
-    private static final Pattern NANOBOT_PATTERN = Pattern.compile("^pos=<(-?\\d+),(-?\\d+),(-?\\d+)>, r=(\\d+)$");
     public static Nanobot parse(String line) {
-      Matcher matcher = NANOBOT_PATTERN.matcher(line);
-      if (!matcher.matches()) {
-        throw new IllegalArgumentException(line + " is not a valid nanobot");
-      }
+      return parse(new StringCursor(line));
+    }
 
-      return new Nanobot(
-          new Position(
-              Long.parseLong(matcher.group(1)),
-              Long.parseLong(matcher.group(2)),
-              Long.parseLong(matcher.group(3))
-          ),
-          Long.parseLong(matcher.group(4))
-      );
+    /**
+     * Parses a nanobot like 'pos=<0,0,0>, r=4' from the cursor.
+     *
+     * @param cursor Cursor positioned at the start of the nanobot
+     * @return Parsed nanobot.
+     */
+    public static Nanobot parse(TokenCursor cursor) {
+      cursor.expect("pos=<");
+      long x = cursor.nextLong();
+      cursor.expect(',');
+      long y = cursor.nextLong();
+      cursor.expect(',');
+      long z = cursor.nextLong();
+      cursor.expect(">, r=");
+      long range = cursor.nextLong();
+      cursor.expectEnd();
+
+      return new Nanobot(new Position(x, y, z), range);
     }
 
     @Override
@@ -111,6 +116,16 @@ public class Day23 {
     }
   }
 
+  /**
+   * Parses the nanobots in the input, one per line.
+   *
+   * @param input Input to parse
+   * @return Nanobots in order.
+   */
+  public static ImmutableList<Nanobot> parseNanobots(Input input) {
+    return input.mapLines(Nanobot::parse);
+  }
+
   public static long mostBotsInRange(ImmutableList<Nanobot> nanobots) {
     Nanobot longestRange = nanobots.stream()
         .max(Comparator.comparing(nanobot -> nanobot.range))
@@ -164,11 +179,36 @@ public class Day23 {
         .orElseThrow(() -> new IllegalStateException("No nanobots in the maximal clique."));
   }
 
+  @Override
+  public int day() {
+    return 23;
+  }
+
+  @Override
+  public ImmutableList<Nanobot> parse(ImmutableList<String> lines) {
+    return lines.stream().map(Nanobot::parse).collect(ImmutableList.toImmutableList());
+  }
+
+  @Override
+  public ImmutableList<Nanobot> parse(Input input) {
+    return parseNanobots(input);
+  }
+
+  @Override
+  public String part1(ImmutableList<Nanobot> nanobots) {
+    return Long.toString(mostBotsInRange(nanobots));
+  }
+
+  @Override
+  public String part2(ImmutableList<Nanobot> nanobots) {
+    return Long.toString(mostNanobotsDistance(nanobots));
+  }
+
   public static void main(String[] args) throws IOException {
-    File file = new File(Day23.class.getResource("/day23.txt").getFile());
-    ImmutableList<Nanobot> nanobots = Files.readLines(file, Charsets.UTF_8).stream()
-        .map(Nanobot::parse)
-        .collect(ImmutableList.toImmutableList());
+    ImmutableList<Nanobot> nanobots;
+    try (Input input = Input.ofResource("/day23.txt")) {
+      nanobots = parseNanobots(input);
+    }
 
     // Part 1: how many nanobots are in range of the nanobot with the largest signal radius?
     System.out.println("Part 1: " + mostBotsInRange(nanobots));
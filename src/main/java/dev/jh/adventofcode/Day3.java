@@ -1,21 +1,23 @@
 package dev.jh.adventofcode;
 
-import com.google.common.base.Charsets;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Objects;
 import com.google.common.collect.ImmutableList;
-import com.google.common.io.Files;
+import com.google.common.math.LongMath;
+import dev.jh.adventofcode.input.Input;
+import dev.jh.adventofcode.input.StringCursor;
+import dev.jh.adventofcode.input.TokenCursor;
 
-import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.TreeMap;
 
-public class Day3 {
+public class Day3 implements Solver<ImmutableList<Day3.Claim>> {
 
   public static class Claim {
-    private static final Pattern CLAIM_PATTERN = Pattern.compile("(#\\d+) @ (\\d+),(\\d+): (\\d+)x(\\d+)");
-
     public final String id;
     public final int leftOffset;
     public final int topOffset;
@@ -31,18 +33,29 @@ public class Day3 {
     }
 
     public static Claim parse(String claim) {
-      Matcher matcher = CLAIM_PATTERN.matcher(claim);
-      if (!matcher.matches()) {
-        throw new IllegalArgumentException(claim + " is not a valid claim.");
-      }
+      return parse(new StringCursor(claim));
+    }
+
+    /**
+     * Parses a claim like '#123 @ 3,2: 5x4' from the cursor.
+     *
+     * @param cursor Cursor positioned at the start of the claim
+     * @return Parsed claim.
+     */
+    public static Claim parse(TokenCursor cursor) {
+      cursor.expect('#');
+      int id = cursor.nextInt();
+      cursor.expect(" @ ");
+      int leftOffset = cursor.nextInt();
+      cursor.expect(',');
+      int topOffset = cursor.nextInt();
+      cursor.expect(": ");
+      int width = cursor.nextInt();
+      cursor.expect('x');
+      int height = cursor.nextInt();
+      cursor.expectEnd();
 
-      return new Claim(
-          matcher.group(1),
-          Integer.parseInt(matcher.group(2)),
-          Integer.parseInt(matcher.group(3)),
-          Integer.parseInt(matcher.group(4)),
-          Integer.parseInt(matcher.group(5))
-      );
+      return new Claim("#" + id, leftOffset, topOffset, width, height);
     }
 
     @Override
@@ -74,67 +87,479 @@ public class Day3 {
     }
   }
 
-  private static int[][] layoutClaims(ImmutableList<Claim> claims) {
-    int[][] fabric = new int[1000][1000];
+  /**
+   * Parses the claims in the input, one per line.
+   *
+   * @param input Input to parse
+   * @return Claims in order.
+   */
+  public static ImmutableList<Claim> parseClaims(Input input) {
+    return input.mapLines(Claim::parse);
+  }
+
+  /** Largest table of corners that claims are laid out on - past this, claims are swept instead. */
+  private static final long MAX_LAYOUT_SIZE = 1 << 24;
+  /** Bits of a sweep edge that hold the claim's index. */
+  private static final int INDEX_BITS = 30;
+  private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
 
+  /**
+   * Returns the left, top, right and bottom edges of the smallest rectangle holding every claim.
+   */
+  private static long[] bounds(List<Claim> claims) {
+    long minX = Long.MAX_VALUE;
+    long minY = Long.MAX_VALUE;
+    long maxX = Long.MIN_VALUE;
+    long maxY = Long.MIN_VALUE;
     for (Claim claim : claims) {
-      for (int y = claim.topOffset; y < claim.topOffset + claim.height; y ++) {
-        for (int x = claim.leftOffset; x < claim.leftOffset + claim.width; x ++) {
-          fabric[y][x]++;
+      if (claim.width < 0 || claim.height < 0) {
+        throw new IllegalArgumentException("Claim " + claim.id + " has a negative size");
+      }
+      minX = Math.min(minX, claim.leftOffset);
+      minY = Math.min(minY, claim.topOffset);
+      maxX = Math.max(maxX, (long) claim.leftOffset + claim.width);
+      maxY = Math.max(maxY, (long) claim.topOffset + claim.height);
+    }
+
+    return new long[] {minX, minY, maxX, maxY};
+  }
+
+  /**
+   * Fabric with claims laid out on it, covering the smallest rectangle that holds every claim.  Claims are laid out
+   * with a 2D difference array - each claim only adds its four corners, and one prefix sum pass turns the corners into
+   * the number of claims on each square - so laying out takes O(claims + area) however big the claims are.  The same
+   * pass builds a summed-area table of the squares with more than one claim, which answers whether any square in a
+   * claim overlaps in O(1).
+   */
+  public static class Fabric {
+    /** Most squares the fabric can have, so the tables fit in arrays. */
+    private static final long MAX_AREA = Integer.MAX_VALUE - 8;
+
+    private final int left;
+    private final int top;
+    private final int width;
+    private final int height;
+    /** Overlapping squares above and to the left of each corner, in rows of width + 1. */
+    private final int[] overlapping;
+
+    private Fabric(int left, int top, int width, int height, int[] overlapping) {
+      this.left = left;
+      this.top = top;
+      this.width = width;
+      this.height = height;
+      this.overlapping = overlapping;
+    }
+
+    /**
+     * Lays out the claims on a piece of fabric just big enough for them.
+     *
+     * @param claims Claims to lay out
+     * @return Fabric with the claims on it.
+     */
+    public static Fabric layout(List<Claim> claims) {
+      if (claims.isEmpty()) {
+        return new Fabric(0, 0, 0, 0, new int[1]);
+      }
+
+      long[] bounds = bounds(claims);
+      long minX = bounds[0];
+      long minY = bounds[1];
+      long maxX = bounds[2];
+      long maxY = bounds[3];
+
+      long area = tableSize(bounds);
+      if (area > MAX_AREA) {
+        throw new IllegalArgumentException("Claims cover " + (maxX - minX) + "x" + (maxY - minY) + " of fabric, which is too big to lay out");
+      }
+
+      int left = (int) minX;
+      int top = (int) minY;
+      int width = (int) (maxX - minX);
+      int height = (int) (maxY - minY);
+      int stride = width + 1;
+
+      // Each claim adds one at its top left corner, and takes it away again past its right and bottom edges.
+      int[] claimed = new int[(int) area];
+      for (Claim claim : claims) {
+        int x1 = claim.leftOffset - left;
+        int y1 = claim.topOffset - top + 1;
+        int x2 = x1 + claim.width;
+        int y2 = y1 + claim.height;
+        claimed[y1 * stride + x1] ++;
+        claimed[y1 * stride + x2] --;
+        claimed[y2 * stride + x1] --;
+        claimed[y2 * stride + x2] ++;
+      }
+
+      // The claims on a square are the ones on the square above plus the corners to its left in its own row.  As each
+      // row is counted, the overlapping squares in it are added to the table below the row above.  Row and column 0 of
+      // the table are the zeros before the first square.
+      int[] overlapping = new int[(height + 1) * stride];
+      for (int y = 0; y < height; y ++) {
+        int row = (y + 1) * stride;
+        int corner = row + 1;
+        int corners = 0;
+        int overlappingInRow = 0;
+        for (int x = 0; x < width; x ++) {
+          corners += claimed[row + x];
+          int count = claimed[row - stride + x] + corners;
+          claimed[row + x] = count;
+          overlappingInRow += count > 1 ? 1 : 0;
+          overlapping[corner + x] = overlapping[corner - stride + x] + overlappingInRow;
         }
       }
+
+      return new Fabric(left, top, width, height, overlapping);
+    }
+
+    /**
+     * Returns the number of corners laying out the claims takes a table of, which is what laying them out costs.  Claims
+     * with no area still take up a row or column of corners.
+     *
+     * @param claims Claims to lay out
+     * @return Size of the table, or Long.MAX_VALUE if it doesn't even fit in a long.
+     */
+    public static long tableSize(List<Claim> claims) {
+      return claims.isEmpty() ? 1 : tableSize(bounds(claims));
+    }
+
+    private static long tableSize(long[] bounds) {
+      // Corners go up to and including the far edges, and the claims have a row of zeros above them.
+      return LongMath.saturatedMultiply(bounds[2] - bounds[0] + 1, bounds[3] - bounds[1] + 2);
     }
 
-    return fabric;
+    /**
+     * Returns the number of squares of fabric with more than one claim on them.
+     *
+     * @return Number of overlapping squares.
+     */
+    public int overlappingSquares() {
+      return overlapping[height * (width + 1) + width];
+    }
+
+    /**
+     * Returns whether any square of the claim overlaps with another claim.
+     *
+     * @param claim Claim laid out on this fabric
+     * @return Whether the claim overlaps.
+     */
+    public boolean overlaps(Claim claim) {
+      int stride = width + 1;
+      int x1 = claim.leftOffset - left;
+      int y1 = claim.topOffset - top;
+      int x2 = x1 + claim.width;
+      int y2 = y1 + claim.height;
+
+      return overlapping[y2 * stride + x2] - overlapping[y1 * stride + x2]
+          - overlapping[y2 * stride + x1] + overlapping[y1 * stride + x1] > 0;
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+          .add("left", left)
+          .add("top", top)
+          .add("width", width)
+          .add("height", height)
+          .toString();
+    }
   }
 
-  public static int numOverlappingSquares(ImmutableList<Claim> claims) {
-    int[][] fabric = layoutClaims(claims);
+  /**
+   * Claims swept from top to bottom, for fabric of any size.  Only the claims' edges matter: the sweep stops at each
+   * distinct top or bottom edge, and in between, the length covered by more than one claim is kept in a segment tree
+   * over the distinct left and right edges.  That's O(n log n) time and O(n) memory however big the fabric is.
+   * <p>
+   * The same sweep finds the claims that overlap.  A claim that starts where another is already active overlaps, which
+   * the tree answers.  The claims it overlaps are found among the active claims that haven't overlapped anything yet -
+   * those can't overlap each other, so they're disjoint ranges that can be looked up by left edge, and each one is only
+   * ever taken out once.
+   */
+  public static class Sweep {
+    private final long overlappingArea;
+    private final ImmutableList<Claim> nonOverlappingClaims;
+
+    private Sweep(long overlappingArea, ImmutableList<Claim> nonOverlappingClaims) {
+      this.overlappingArea = overlappingArea;
+      this.nonOverlappingClaims = nonOverlappingClaims;
+    }
 
-    int numOverlapping = 0;
-    for (int y = 0; y < fabric.length; y ++) {
-      for (int x = 0; x < fabric[y].length; x ++) {
-        if (fabric[y][x] > 1) {
-          numOverlapping++;
+    /**
+     * Sweeps the claims.
+     *
+     * @param claims Claims anywhere on the fabric
+     * @return Overlaps between the claims.
+     * @throws ArithmeticException if the overlapping area doesn't fit in a long, which takes claims billions of squares
+     *     across.
+     */
+    public static Sweep of(List<Claim> claims) {
+      if (claims.size() >= 1 << INDEX_BITS) {
+        throw new IllegalArgumentException("Too many claims to sweep: " + claims.size());
+      }
+      bounds(claims);
+
+      // Claims with no area can't overlap, so they're left out.  Edges are packed with the claim's index, so that
+      // sorting the longs sorts the edges - edges are at most 33 bits once they're offset to start from 0.
+      int count = 0;
+      long[] tops = new long[claims.size()];
+      long[] bottoms = new long[claims.size()];
+      long[] xs = new long[claims.size() * 2];
+      for (int i = 0; i < claims.size(); i ++) {
+        Claim claim = claims.get(i);
+        if (claim.width > 0 && claim.height > 0) {
+          tops[count] = ((long) claim.topOffset - Integer.MIN_VALUE) << INDEX_BITS | i;
+          bottoms[count] = ((long) claim.topOffset + claim.height - Integer.MIN_VALUE) << INDEX_BITS | i;
+          xs[count * 2] = claim.leftOffset;
+          xs[count * 2 + 1] = (long) claim.leftOffset + claim.width;
+          count ++;
         }
       }
+
+      Arrays.sort(tops, 0, count);
+      Arrays.sort(bottoms, 0, count);
+      Arrays.sort(xs, 0, count * 2);
+      int distinctXs = 0;
+      for (int i = 0; i < count * 2; i ++) {
+        if (i == 0 || xs[i] != xs[i - 1]) {
+          xs[distinctXs ++] = xs[i];
+        }
+      }
+      CoverageTree coverage = new CoverageTree(Arrays.copyOf(xs, distinctXs));
+
+      boolean[] overlapping = new boolean[claims.size()];
+      TreeMap<Long, Integer> alone = new TreeMap<>();
+      long area = 0;
+      long previousY = 0;
+      for (int top = 0, bottom = 0; bottom < count; ) {
+        long y = bottoms[bottom] >>> INDEX_BITS;
+        if (top < count) {
+          y = Math.min(y, tops[top] >>> INDEX_BITS);
+        }
+        area = Math.addExact(area, Math.multiplyExact(coverage.coveredTwice(), y - previousY));
+        previousY = y;
+
+        // Claims end before others start, since claims that only touch don't overlap.
+        for (; bottom < count && bottoms[bottom] >>> INDEX_BITS == y; bottom ++) {
+          int index = (int) (bottoms[bottom] & INDEX_MASK);
+          Claim claim = claims.get(index);
+          coverage.add(coverage.indexOf(claim.leftOffset), coverage.indexOf((long) claim.leftOffset + claim.width), -1);
+          alone.remove((long) claim.leftOffset, index);
+        }
+
+        for (; top < count && tops[top] >>> INDEX_BITS == y; top ++) {
+          int index = (int) (tops[top] & INDEX_MASK);
+          Claim claim = claims.get(index);
+          long left = claim.leftOffset;
+          long right = left + claim.width;
+          int from = coverage.indexOf(left);
+          int to = coverage.indexOf(right);
+
+          if (coverage.max(from, to) > 0) {
+            overlapping[index] = true;
+
+            List<Integer> overlapped = new ArrayList<>();
+            Map.Entry<Long, Integer> before = alone.lowerEntry(left);
+            if (before != null && before.getKey() + claims.get(before.getValue()).width > left) {
+              overlapped.add(before.getValue());
+            }
+            overlapped.addAll(alone.subMap(left, right).values());
+            for (int other : overlapped) {
+              overlapping[other] = true;
+              alone.remove((long) claims.get(other).leftOffset);
+            }
+          } else {
+            alone.put(left, index);
+          }
+
+          coverage.add(from, to, 1);
+        }
+      }
+
+      ImmutableList.Builder<Claim> nonOverlapping = ImmutableList.builder();
+      for (int i = 0; i < claims.size(); i ++) {
+        if (!overlapping[i]) {
+          nonOverlapping.add(claims.get(i));
+        }
+      }
+
+      return new Sweep(area, nonOverlapping.build());
+    }
+
+    /**
+     * Returns the number of squares of fabric with more than one claim on them.
+     *
+     * @return Overlapping area.
+     */
+    public long overlappingArea() {
+      return overlappingArea;
     }
 
-    return numOverlapping;
+    /**
+     * Returns the claims that don't overlap any other claim.
+     *
+     * @return Non-overlapping claims, in the order they were given.
+     */
+    public ImmutableList<Claim> nonOverlappingClaims() {
+      return nonOverlappingClaims;
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+          .add("overlappingArea", overlappingArea)
+          .add("nonOverlappingClaims", nonOverlappingClaims.size())
+          .toString();
+    }
   }
 
-  public static String nonOverlappingClaim(ImmutableList<Claim> claims) {
-    int[][] fabric = layoutClaims(claims);
+  /**
+   * Segment tree over the gaps between sorted x coordinates, counting the claims over each gap.  Counts for a range
+   * stay at the nodes that cover it rather than being pushed down, and each node keeps the length under it covered by
+   * at least one and at least two claims, and the most claims on any part of it.
+   */
+  private static class CoverageTree {
+    private final long[] xs;
+    private final int gaps;
+    /** Claims covering all of each node's range, not counted again by its children. */
+    private final int[] count;
+    private final int[] maxCount;
+    private final long[] coveredOnce;
+    private final long[] coveredTwice;
+
+    CoverageTree(long[] xs) {
+      this.xs = xs;
+      this.gaps = Math.max(xs.length - 1, 1);
+      this.count = new int[4 * gaps];
+      this.maxCount = new int[4 * gaps];
+      this.coveredOnce = new long[4 * gaps];
+      this.coveredTwice = new long[4 * gaps];
+    }
+
+    int indexOf(long x) {
+      return Arrays.binarySearch(xs, x);
+    }
+
+    long coveredTwice() {
+      return coveredTwice[1];
+    }
+
+    /**
+     * Adds to the number of claims covering the gaps from one x coordinate to another.
+     */
+    void add(int from, int to, int delta) {
+      add(1, 0, gaps, from, to, delta);
+    }
+
+    private void add(int node, int low, int high, int from, int to, int delta) {
+      if (to <= low || high <= from) {
+        return;
+      }
+
+      if (from <= low && high <= to) {
+        count[node] += delta;
+      } else {
+        int middle = (low + high) >>> 1;
+        add(2 * node, low, middle, from, to, delta);
+        add(2 * node + 1, middle, high, from, to, delta);
+      }
+
+      boolean leaf = high - low == 1;
+      long length = xs[high] - xs[low];
+      long childrenOnce = leaf ? 0 : coveredOnce[2 * node] + coveredOnce[2 * node + 1];
+      long childrenTwice = leaf ? 0 : coveredTwice[2 * node] + coveredTwice[2 * node + 1];
+      coveredOnce[node] = count[node] >= 1 ? length : childrenOnce;
+      coveredTwice[node] = count[node] >= 2 ? length : count[node] == 1 ? childrenOnce : childrenTwice;
+      maxCount[node] = count[node] + (leaf ? 0 : Math.max(maxCount[2 * node], maxCount[2 * node + 1]));
+    }
 
-    Optional<Claim> nonOverlappingClaim = claims.stream()
-        .filter(claim -> !claimOverlaps(fabric, claim))
-        .findFirst();
+    /**
+     * Returns the most claims covering any gap from one x coordinate to another.
+     */
+    int max(int from, int to) {
+      return max(1, 0, gaps, from, to);
+    }
+
+    private int max(int node, int low, int high, int from, int to) {
+      if (to <= low || high <= from) {
+        return 0;
+      }
+      if (from <= low && high <= to) {
+        return maxCount[node];
+      }
+
+      int middle = (low + high) >>> 1;
+      return count[node] + Math.max(max(2 * node, low, middle, from, to), max(2 * node + 1, middle, high, from, to));
+    }
+  }
+
+  public static int numOverlappingSquares(ImmutableList<Claim> claims) {
+    return Fabric.layout(claims).overlappingSquares();
+  }
+
+  /**
+   * Returns the number of squares of fabric with more than one claim on them.  Claims on a small enough piece of
+   * fabric are laid out, and anything bigger is swept.
+   *
+   * @param claims Claims anywhere on the fabric
+   * @return Overlapping area.
+   */
+  public static long overlappingArea(List<Claim> claims) {
+    if (Fabric.tableSize(claims) <= MAX_LAYOUT_SIZE) {
+      return Fabric.layout(claims).overlappingSquares();
+    }
+
+    return Sweep.of(claims).overlappingArea();
+  }
+
+  public static String nonOverlappingClaim(ImmutableList<Claim> claims) {
+    Optional<Claim> nonOverlappingClaim;
+    if (Fabric.tableSize(claims) <= MAX_LAYOUT_SIZE) {
+      Fabric fabric = Fabric.layout(claims);
+      nonOverlappingClaim = claims.stream()
+          .filter(claim -> !fabric.overlaps(claim))
+          .findFirst();
+    } else {
+      nonOverlappingClaim = Sweep.of(claims).nonOverlappingClaims().stream().findFirst();
+    }
 
     return nonOverlappingClaim
         .map(claim -> claim.id)
         .orElseThrow(() -> new IllegalArgumentException("All of the claims overlap"));
   }
 
-  private static boolean claimOverlaps(int[][] fabric, Claim claim) {
-    for (int y = claim.topOffset; y < claim.topOffset + claim.height; y ++) {
-      for (int x = claim.leftOffset; x < claim.leftOffset + claim.width; x++) {
-        if (fabric[y][x] > 1) {
-          return true;
-        }
-      }
-    }
+  @Override
+  public int day() {
+    return 3;
+  }
 
-    return false;
+  @Override
+  public ImmutableList<Claim> parse(ImmutableList<String> lines) {
+    return lines.stream().map(Claim::parse).collect(ImmutableList.toImmutableList());
   }
 
-  public static void main(String[] args) throws Exception {
-    File file = new File(Day1.class.getResource("/day3.txt").getFile());
-    ImmutableList<String> lines = ImmutableList.copyOf(Files.readLines(file, Charsets.UTF_8));
+  @Override
+  public ImmutableList<Claim> parse(Input input) {
+    return parseClaims(input);
+  }
+
+  @Override
+  public String part1(ImmutableList<Claim> claims) {
+    return Long.toString(overlappingArea(claims));
+  }
 
-    ImmutableList<Claim> claims = lines.stream().map(Day3.Claim::parse).collect(ImmutableList.toImmutableList());
+  @Override
+  public String part2(ImmutableList<Claim> claims) {
+    return nonOverlappingClaim(claims);
+  }
+
+  public static void main(String[] args) throws Exception {
+    ImmutableList<Claim> claims;
+    try (Input input = Input.ofResource("/day3.txt")) {
+      claims = parseClaims(input);
+    }
 
     // Part 1: Number of squares where one or more claims overlap
-    System.out.println("Part 1: " + numOverlappingSquares(claims));
+    System.out.println("Part 1: " + overlappingArea(claims));
     // Part 2: Claim # that doesn't overlap at all
     System.out.println("Part 2: " + nonOverlappingClaim(claims));
   }
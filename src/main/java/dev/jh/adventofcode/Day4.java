@@ -1,13 +1,13 @@
 package dev.jh.adventofcode;
 
-import com.google.common.base.Charsets;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Objects;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
-import com.google.common.io.Files;
+import dev.jh.adventofcode.input.Input;
+import dev.jh.adventofcode.input.StringCursor;
+import dev.jh.adventofcode.input.TokenCursor;
 
-import java.io.File;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -17,11 +17,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
-public class Day4 {
+public class Day4 implements Solver<ImmutableList<Day4.DateLog>> {
 
   public static DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
 
@@ -66,12 +64,6 @@ public class Day4 {
   }
 
   public static class LogEntry {
-    private static final String DATE_PATTERN = "\\[(\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2})\\]";
-
-    private static final Pattern BEGIN_SHIFT_PATTERN = Pattern.compile(DATE_PATTERN + " Guard #(\\d+) begins shift");
-    private static final Pattern FALL_ASLEEP_PATTERN = Pattern.compile(DATE_PATTERN + " falls asleep");
-    private static final Pattern WAKE_UP_PATTERN = Pattern.compile(DATE_PATTERN + " wakes up");
-
     public final LocalDateTime time;
     public final Optional<Integer> guardId;
     public final LogEntryType type;
@@ -99,26 +91,45 @@ public class Day4 {
     }
 
     public static LogEntry parse(String string) {
-      Matcher beginShiftMatcher = BEGIN_SHIFT_PATTERN.matcher(string);
-      if (beginShiftMatcher.matches()) {
-        return new LogEntry(
-            parseDateTime(beginShiftMatcher.group(1)),
-            Optional.of(Integer.parseInt(beginShiftMatcher.group(2))),
-            LogEntryType.BEGIN_SHIFT
-        );
-      }
-
-      Matcher fallAsleepMatcher = FALL_ASLEEP_PATTERN.matcher(string);
-      if (fallAsleepMatcher.matches()) {
-        return new LogEntry(parseDateTime(fallAsleepMatcher.group(1)), Optional.empty(), LogEntryType.FALL_ASLEEP);
-      }
+      return parse(new StringCursor(string));
+    }
 
-      Matcher wakeUpMatcher = WAKE_UP_PATTERN.matcher(string);
-      if (wakeUpMatcher.matches()) {
-        return new LogEntry(parseDateTime(wakeUpMatcher.group(1)), Optional.empty(), LogEntryType.WAKE_UP);
+    /**
+     * Parses an entry like '[1518-11-01 00:00] Guard #10 begins shift', '[1518-11-01 00:05] falls asleep' or
+     * '[1518-11-01 00:25] wakes up' from the cursor.
+     *
+     * @param cursor Cursor positioned at the start of the entry
+     * @return Parsed log entry.
+     */
+    public static LogEntry parse(TokenCursor cursor) {
+      cursor.expect('[');
+      int year = cursor.nextInt();
+      cursor.expect('-');
+      int month = cursor.nextInt();
+      cursor.expect('-');
+      int day = cursor.nextInt();
+      cursor.expect(' ');
+      int hour = cursor.nextInt();
+      cursor.expect(':');
+      int minute = cursor.nextInt();
+      cursor.expect("] ");
+      LocalDateTime time = LocalDateTime.of(year, month, day, hour, minute);
+
+      LogEntry entry;
+      if (cursor.consume("Guard #")) {
+        int guardId = cursor.nextInt();
+        cursor.expect(" begins shift");
+        entry = new LogEntry(time, Optional.of(guardId), LogEntryType.BEGIN_SHIFT);
+      } else if (cursor.consume("falls asleep")) {
+        entry = new LogEntry(time, Optional.empty(), LogEntryType.FALL_ASLEEP);
+      } else if (cursor.consume("wakes up")) {
+        entry = new LogEntry(time, Optional.empty(), LogEntryType.WAKE_UP);
+      } else {
+        throw cursor.error("Expected 'Guard #', 'falls asleep' or 'wakes up'");
       }
 
-      throw new IllegalArgumentException("'" + string + "' is not a valid log entry");
+      cursor.expectEnd();
+      return entry;
     }
 
     @Override
@@ -227,9 +238,25 @@ public class Day4 {
   }
 
   public static ImmutableList<DateLog> parseLines(ImmutableList<String> lines) {
-    Map<LocalDate, List<LogEntry>> byDate = lines.stream()
-        .sorted()
+    return groupEntries(lines.stream()
         .map(LogEntry::parse)
+        .collect(ImmutableList.toImmutableList()));
+  }
+
+  /**
+   * Parses the log entries in the input, which don't need to be in order.
+   *
+   * @param input Input to parse
+   * @return Log grouped by date.
+   */
+  public static ImmutableList<DateLog> parseLog(Input input) {
+    return groupEntries(input.mapLines(LogEntry::parse));
+  }
+
+  private static ImmutableList<DateLog> groupEntries(ImmutableList<LogEntry> entries) {
+    // Same order as sorting the lines - entries in the same minute are ordered by type.
+    Map<LocalDate, List<LogEntry>> byDate = entries.stream()
+        .sorted(Comparator.comparing((LogEntry entry) -> entry.time).thenComparing(entry -> entry.type))
         .collect(Collectors.groupingBy(LogEntry::entryDate));
 
     return byDate.entrySet().stream()
@@ -384,13 +411,37 @@ public class Day4 {
         .orElseThrow(() -> new IllegalArgumentException("No guards in the log"));
   }
 
+  @Override
+  public int day() {
+    return 4;
+  }
+
+  @Override
+  public ImmutableList<DateLog> parse(ImmutableList<String> lines) {
+    return parseLines(lines);
+  }
+
+  @Override
+  public ImmutableList<DateLog> parse(Input input) {
+    return parseLog(input);
+  }
+
+  @Override
+  public String part1(ImmutableList<DateLog> log) {
+    return Integer.toString(mostCumulativeMinutesAsleep(log).product());
+  }
+
+  @Override
+  public String part2(ImmutableList<DateLog> log) {
+    return Integer.toString(mostAsleepOnSameMinute(log).product());
+  }
+
   public static void main(String[] args) throws Exception {
-    File file = new File(Day4.class.getResource("/day4.txt").getFile());
-    ImmutableList<String> lines = ImmutableList.copyOf(Files.readLines(file, Charsets.UTF_8)).stream()
-        .sorted()
-        .collect(ImmutableList.toImmutableList());
+    ImmutableList<DateLog> log;
+    try (Input input = Input.ofResource("/day4.txt")) {
+      log = parseLog(input);
+    }
 
-    ImmutableList<DateLog> log = parseLines(lines);
     System.out.println(printableLog(log));
 
     System.out.println("\n\n\n------------------------------\n\n");
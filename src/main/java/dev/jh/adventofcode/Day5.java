@@ -11,7 +11,7 @@ import java.io.File;
 
 import static java.lang.Character.toLowerCase;
 
-public class Day5 {
+public class Day5 implements Solver<String> {
 
   /**
    * Result of reacting an original polymer with a single unit removed, with the unit that was removed.
@@ -89,6 +89,32 @@ public class Day5 {
    * @return Resulting polymer with all reacting units removed.
    */
   public static String react(String polymer) {
+    // Units that have survived so far.  Each new unit can only react with the last survivor, and if it does, the unit
+    // before that becomes the last survivor - so one pass reacts everything.
+    char[] remaining = new char[polymer.length()];
+    int size = 0;
+
+    for (int i = 0; i < polymer.length(); i ++) {
+      char unit = polymer.charAt(i);
+
+      if (size > 0 && toLowerCase(remaining[size - 1]) == toLowerCase(unit) && remaining[size - 1] != unit) {
+        size --;
+      } else {
+        remaining[size ++] = unit;
+      }
+    }
+
+    return new String(remaining, 0, size);
+  }
+
+  /**
+   * Reacts the given polymer a pass at a time, until a pass has no reactions.  This is the original implementation,
+   * kept as the reference that {@link #react} is checked against.
+   *
+   * @param polymer Polymer to react
+   * @return Resulting polymer with all reacting units removed.
+   */
+  public static String reactMultiPass(String polymer) {
     boolean reacted = true;
     String current = polymer;
 
@@ -143,6 +169,26 @@ public class Day5 {
     return shortest;
   }
 
+  @Override
+  public int day() {
+    return 5;
+  }
+
+  @Override
+  public String parse(ImmutableList<String> lines) {
+    return lines.get(0);
+  }
+
+  @Override
+  public String part1(String polymer) {
+    return Integer.toString(react(polymer).length());
+  }
+
+  @Override
+  public String part2(String polymer) {
+    return Integer.toString(shortestWithUnitRemoved(polymer).polymer.length());
+  }
+
   public static void main(String[] args) throws Exception {
     File file = new File(Day4.class.getResource("/day5.txt").getFile());
     String polymer = ImmutableList.copyOf(Files.readLines(file, Charsets.UTF_8)).get(0);
@@ -7,17 +7,24 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.io.Files;
+import dev.jh.adventofcode.grid.ByteGrid;
+import dev.jh.adventofcode.grid.CellQueue;
+import dev.jh.adventofcode.grid.GridLayout;
+import dev.jh.adventofcode.grid.IntGrid;
 
 import java.io.File;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
-public class Day6 {
+public class Day6 implements Solver<ImmutableList<Day6.Coordinate>> {
 
   public static final int INFINITE_AREA = -1;
 
+  private static final int UNCLAIMED = -1;
+  private static final int TIED = -2;
+  private static final int OUTSIDE = -3;
+
   public static class Point {
     public final int x;
     public final int y;
@@ -139,50 +146,57 @@ public class Day6 {
    * multiple coordinates are closest.
    *
    * @param coordinates List of coordinates
-   * @return Grid filled with the closest coordinate to each point.  Rotation is grid[y][x].
+   * @return Grid filled with the closest coordinate to each point.
    */
-  public static char[][] fillGrid(ImmutableList<Coordinate> coordinates) {
+  public static ByteGrid fillGrid(ImmutableList<Coordinate> coordinates) {
     Point extent = gridExtent(coordinates);
-    int width = extent.x;
-    int height = extent.y;
-
-    // Flood fill the grid.
-    // Untouched cells start at 0,
-    // coordinate names indicate that another coordinate was closest,
-    // '.' indicates that two coordinates have the same distance from a point.
-    char[][] grid = new char[height][width];
-
-    // pointsSet: # of values of the grid that are set.
-    // distance: width of the circle around each coordinate in this pass.
-    for (int pointsSet = 0, distance = 0; pointsSet < width * height; distance ++) {
-      // Given the distance circle around each point, plan the coordinates that will be set
-      List<Coordinate> passCoordinates = new ArrayList<>();
-      for (Coordinate coordinate : coordinates) {
-        for (Point point : distanceAway(coordinate, distance, width, height)) {
-          if (grid[point.y][point.x] == 0) {
-            passCoordinates.add(new Coordinate(coordinate.name, point.x, point.y));
-          }
-        }
+    GridLayout layout = new GridLayout(extent.x, extent.y);
+
+    // Flood fill the grid breadth first from every coordinate at once, a ring of distance at a time.  Manhattan paths
+    // inside the grid never have to leave it, so the closest coordinates to a cell are the closest coordinates of its
+    // neighbours in the previous ring - a cell reached from two different owners is a tie, and so is anything reached
+    // from a tie.
+    IntGrid owners = new IntGrid(layout, UNCLAIMED, OUTSIDE);
+    IntGrid distances = new IntGrid(layout, 0, 0);
+    CellQueue queue = new CellQueue(layout.size());
+
+    for (int i = 0; i < coordinates.size(); i ++) {
+      Coordinate coordinate = coordinates.get(i);
+      int id = layout.id(coordinate.x, coordinate.y);
+      if (owners.get(id) == UNCLAIMED) {
+        owners.set(id, i);
+        queue.add(id);
+      } else {
+        owners.set(id, TIED);
       }
+    }
 
-      // Resolve coordinate collisions
-      Map<Point, List<Coordinate>> distinctPoints = passCoordinates.stream()
-          .collect(Collectors.groupingBy(coordinate -> new Point(coordinate.x, coordinate.y)));
-
-      // Write the coordinates to the grid
-      for (Map.Entry<Point, List<Coordinate>> entry : distinctPoints.entrySet()) {
-        Point point = entry.getKey();
-        List<Coordinate> pointCoordinates = entry.getValue();
-
-        if (pointCoordinates.size() == 1) {
-          grid[point.y][point.x] = pointCoordinates.get(0).name;
-        } else {
-          grid[point.y][point.x] = '.';
+    while (!queue.isEmpty()) {
+      int id = queue.remove();
+      int owner = owners.get(id);
+      int distance = distances.get(id) + 1;
+
+      for (int i = 0; i < layout.orthogonal.length(); i ++) {
+        int neighbour = id + layout.orthogonal.get(i);
+        int neighbourOwner = owners.get(neighbour);
+
+        if (neighbourOwner == UNCLAIMED) {
+          owners.set(neighbour, owner);
+          distances.set(neighbour, distance);
+          queue.add(neighbour);
+        } else if (neighbourOwner != OUTSIDE && neighbourOwner != owner && distances.get(neighbour) == distance) {
+          owners.set(neighbour, TIED);
         }
-
-        pointsSet++;
       }
+    }
 
+    ByteGrid grid = new ByteGrid(layout, (byte) '.', (byte) '.');
+    for (int y = 0; y < layout.height; y ++) {
+      for (int id = layout.id(0, y), end = id + layout.width; id < end; id ++) {
+        if (owners.get(id) >= 0) {
+          grid.set(id, (byte) coordinates.get(owners.get(id)).name);
+        }
+      }
     }
 
     return grid;
@@ -220,15 +234,15 @@ public class Day6 {
    * @param grid Filled grid
    * @return Map of coordinate name to area
    */
-  public static ImmutableMap<Character, Integer> coordinateAreas(char[][] grid) {
-    int height = grid.length;
-    int width = grid[0].length;
+  public static ImmutableMap<Character, Integer> coordinateAreas(ByteGrid grid) {
+    int height = grid.layout.height;
+    int width = grid.layout.width;
 
     Map<Character, Integer> areas = new HashMap<>();
 
     for (int y = 0; y < height; y ++) {
       for (int x = 0; x < width; x ++) {
-        char name = grid[y][x];
+        char name = (char) grid.get(x, y);
         if (name == '.') {
           continue;
         }
@@ -259,7 +273,7 @@ public class Day6 {
    * @return Largest non-infinite area
    */
   public static int largestArea(ImmutableList<Coordinate> coordinates) {
-    char[][] grid = fillGrid(coordinates);
+    ByteGrid grid = fillGrid(coordinates);
 
     // Count the size of each coordinate's area.  Coordinates touching the side of the grid are infinite (-1 canary).
     ImmutableMap<Character, Integer> areas = coordinateAreas(grid);
@@ -308,6 +322,26 @@ public class Day6 {
   }
 
 
+  @Override
+  public int day() {
+    return 6;
+  }
+
+  @Override
+  public ImmutableList<Coordinate> parse(ImmutableList<String> lines) {
+    return parseLines(lines);
+  }
+
+  @Override
+  public String part1(ImmutableList<Coordinate> coordinates) {
+    return Integer.toString(largestArea(coordinates));
+  }
+
+  @Override
+  public String part2(ImmutableList<Coordinate> coordinates) {
+    return Integer.toString(totalDistanceRegionSize(coordinates, 10000));
+  }
+
   public static void main(String[] args) throws Exception {
     File file = new File(Day4.class.getResource("/day6.txt").getFile());
     ImmutableList<String> lines = ImmutableList.copyOf(Files.readLines(file, Charsets.UTF_8));
@@ -12,12 +12,12 @@ import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-public class Day7 {
+public class Day7 implements Solver<Day7.Steps> {
 
   /**
    * Maps containing restrictions on which steps must run before and after other steps.
    */
-  private static class Steps {
+  public static class Steps {
     public final ImmutableMap<Character, Set<Character>> stepToNextMap;
     public final ImmutableMap<Character, Set<Character>> stepToPreviousMap;
 
@@ -165,6 +165,26 @@ public class Day7 {
     return totalSeconds;
   }
 
+  @Override
+  public int day() {
+    return 7;
+  }
+
+  @Override
+  public Steps parse(ImmutableList<String> lines) {
+    return parseLines(lines);
+  }
+
+  @Override
+  public String part1(Steps steps) {
+    return order(steps);
+  }
+
+  @Override
+  public String part2(Steps steps) {
+    return Integer.toString(time(steps, 5));
+  }
+
   public static void main(String[] args) throws Exception {
     File file = new File(Day7.class.getResource("/day7.txt").getFile());
     ImmutableList<String> lines = ImmutableList.copyOf(Files.readLines(file, Charsets.UTF_8));
@@ -8,7 +8,7 @@ import com.google.common.io.Files;
 import java.io.File;
 import java.util.*;
 
-public class Day8 {
+public class Day8 implements Solver<Day8.Node> {
 
   public static class Node {
     public final ImmutableList<Node> children;
@@ -104,6 +104,26 @@ public class Day8 {
         .sum();
   }
 
+  @Override
+  public int day() {
+    return 8;
+  }
+
+  @Override
+  public Node parse(ImmutableList<String> lines) {
+    return parse(lines.get(0));
+  }
+
+  @Override
+  public String part1(Node root) {
+    return Integer.toString(sumMetadata(root));
+  }
+
+  @Override
+  public String part2(Node root) {
+    return Integer.toString(sumReference(root));
+  }
+
   public static void main(String[] args) throws Exception {
     File file = new File(Day8.class.getResource("/day8.txt").getFile());
     String line = Files.readLines(file, Charsets.UTF_8).get(0);
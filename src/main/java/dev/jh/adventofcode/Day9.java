@@ -1,8 +1,17 @@
 package dev.jh.adventofcode;
 
+import com.google.common.collect.ImmutableList;
+import dev.jh.adventofcode.execution.ExecutionContext;
+import dev.jh.adventofcode.metrics.Counter;
+import dev.jh.adventofcode.metrics.Metrics;
+
 import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class Day9 implements Solver<Day9.Game> {
+  private static final Counter MARBLES = Metrics.counter("day9.marbles");
 
-public class Day9 {
 
   private static class Marble {
     public final int num;
@@ -65,7 +74,99 @@ public class Day9 {
     }
   }
 
+  public static class Game {
+    private static final Pattern PATTERN = Pattern.compile("^(\\d+) players; last marble is worth (\\d+) points$");
+
+    public final int numPlayers;
+    public final int lastMarble;
+
+    public Game(int numPlayers, int lastMarble) {
+      this.numPlayers = numPlayers;
+      this.lastMarble = lastMarble;
+    }
+
+    /**
+     * Parses a game description, like '10 players; last marble is worth 1618 points'.
+     *
+     * @param line Line to parse
+     * @return Game described by the line.
+     */
+    public static Game parse(String line) {
+      Matcher matcher = PATTERN.matcher(line);
+      if (!matcher.matches()) {
+        throw new IllegalArgumentException("'" + line + "' is not a valid game");
+      }
+
+      return new Game(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+    }
+  }
+
   public static long highScore(int numPlayers, int lastMarble) {
+    return highScore(numPlayers, lastMarble, ExecutionContext.current());
+  }
+
+  /**
+   * Returns the winning score of the game, ticking the given context once per marble.
+   *
+   * @param numPlayers Number of players
+   * @param lastMarble Value of the last marble played
+   * @param context Context the game is played under
+   * @return Highest score of any player.
+   */
+  public static long highScore(int numPlayers, int lastMarble, ExecutionContext context) {
+    context.begin("day9.marbles", lastMarble);
+
+    // The ring is kept as links between marble numbers.  Every marble is placed once, so its number is its slot, and
+    // placing a marble doesn't allocate.
+    int[] next = new int[lastMarble + 1];
+    int[] previous = new int[lastMarble + 1];
+    long[] scores = new long[numPlayers];
+    int current = 0;
+
+    for (int marble = 1; marble <= lastMarble; marble ++) {
+      context.tick();
+
+      if (marble % 23 == 0) {
+        // Remove the marble 7 counter-clockwise from the current marble, and add the held marble's score and the
+        // removed marble's score to the player's score
+        for (int i = 0; i < 6; i ++) {
+          current = previous[current];
+        }
+
+        int removed = previous[current];
+        previous[current] = previous[removed];
+        next[previous[removed]] = current;
+
+        int player = (marble - 1) % numPlayers;
+        scores[player] += marble + removed;
+
+      } else {
+        // Insert a marble between 1 and 2 marbles clockwise of the current marble.
+        int before = next[current];
+        int after = next[before];
+        next[before] = marble;
+        previous[marble] = before;
+        next[marble] = after;
+        previous[after] = marble;
+        current = marble;
+      }
+    }
+    MARBLES.add(lastMarble);
+
+    return Arrays.stream(scores)
+        .max()
+        .orElseThrow(() -> new IllegalArgumentException("No players."));
+  }
+
+  /**
+   * Returns the winning score of the game by playing it with a ring of linked {@link Marble} objects.  This is the
+   * original implementation, kept as the reference that {@link #highScore} is checked against.
+   *
+   * @param numPlayers Number of players
+   * @param lastMarble Value of the last marble played
+   * @return Highest score of any player.
+   */
+  public static long highScoreWithMarbles(int numPlayers, int lastMarble) {
     // Scores: removed + held marbles, index per player
     long[] scores = new long[numPlayers];
     Marble current = Marble.initial();
@@ -94,6 +195,26 @@ public class Day9 {
         .orElseThrow(() -> new IllegalArgumentException("No players."));
   }
 
+  @Override
+  public int day() {
+    return 9;
+  }
+
+  @Override
+  public Game parse(ImmutableList<String> lines) {
+    return Game.parse(lines.get(0));
+  }
+
+  @Override
+  public String part1(Game game) {
+    return Long.toString(highScore(game.numPlayers, game.lastMarble));
+  }
+
+  @Override
+  public String part2(Game game) {
+    return Long.toString(highScore(game.numPlayers, game.lastMarble * 100));
+  }
+
   public static void main(String[] args) {
     // Part 1: what is the winning elf's score?
     System.out.println("Part 1: " + highScore(458, 72019));
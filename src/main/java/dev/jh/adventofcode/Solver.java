@@ -0,0 +1,64 @@
+package dev.jh.adventofcode;
+
+import com.google.common.collect.ImmutableList;
+import dev.jh.adventofcode.input.Input;
+
+/**
+ * Common entry point for a day's puzzle: parses the day's input once, then answers each part from the parsed input.
+ * Implementations are registered in {@code META-INF/services/dev.jh.adventofcode.Solver} and loaded by {@link Solvers}.
+ *
+ * @param <T> Type of the parsed puzzle input.
+ */
+public interface Solver<T> {
+  /**
+   * Returns the day of the puzzle this solves.  Input is read from the {@code /dayN.txt} resource.
+   *
+   * @return Day of the puzzle, starting with 1.
+   */
+  int day();
+
+  /**
+   * Returns the version of the solver, which answers are cached under along with the input.  Bump it whenever a change
+   * could change the answers, so answers cached by the old version aren't used.
+   *
+   * @return Version of the solver.
+   */
+  default int version() {
+    return 1;
+  }
+
+  /**
+   * Parses the lines of the puzzle input.  The result is shared between both parts, so it must not be modified by them.
+   *
+   * @param lines Lines of the puzzle input
+   * @return Parsed puzzle input.
+   */
+  T parse(ImmutableList<String> lines);
+
+  /**
+   * Parses the puzzle input.  By default the input is read into lines first - days with large inputs override this to
+   * parse straight from the input's bytes.
+   *
+   * @param input Puzzle input
+   * @return Parsed puzzle input.
+   */
+  default T parse(Input input) {
+    return parse(input.readLines());
+  }
+
+  /**
+   * Solves part 1 of the puzzle.
+   *
+   * @param input Parsed puzzle input
+   * @return Answer to part 1, as it would be submitted.
+   */
+  String part1(T input);
+
+  /**
+   * Solves part 2 of the puzzle.
+   *
+   * @param input Parsed puzzle input
+   * @return Answer to part 2, as it would be submitted.
+   */
+  String part2(T input);
+}
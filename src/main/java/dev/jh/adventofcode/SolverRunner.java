@@ -0,0 +1,469 @@
+package dev.jh.adventofcode;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Objects;
+import com.google.common.collect.ImmutableList;
+import dev.jh.adventofcode.cache.ResultCache;
+import dev.jh.adventofcode.execution.ExecutionContext;
+import dev.jh.adventofcode.input.Input;
+import dev.jh.adventofcode.metrics.Metrics;
+import dev.jh.adventofcode.metrics.Phase;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs a set of {@link Solver}s concurrently, one task per day, measuring the wall time, CPU time, and bytes allocated
+ * for parsing the input and for each part.  Parsing and both parts of a day run in order on the same thread, so the
+ * thread-based measurements only include that day's work.  Each step is also recorded as a {@link Phase}, so a Flight
+ * Recorder recording shows which day and step was running when.  With a {@link ResultCache}, parts whose answers are
+ * cached for the same input aren't solved again, and if both are cached the input isn't even parsed.  Each part runs
+ * with its own {@link ExecutionContext} bound, which solvers with long loops use for deadlines and progress.
+ */
+public class SolverRunner {
+  private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+  public enum Step {
+    PARSE("parse"),
+    PART1("part 1"),
+    PART2("part 2");
+
+    public final String name;
+
+    Step(String name) {
+      this.name = name;
+    }
+  }
+
+  /**
+   * Where a day's input comes from - opened once to hash it for the cache, and again to parse it.
+   */
+  @FunctionalInterface
+  public interface InputSource {
+    /**
+     * Opens the input.
+     *
+     * @return Input, which the caller must close.
+     * @throws IOException if the input can't be opened.
+     */
+    Input open() throws IOException;
+  }
+
+  /**
+   * Resources used by a single step.  CPU time and allocated bytes are -1 when the JVM can't measure them.
+   */
+  public static class Measurement {
+    public final long wallNanos;
+    public final long cpuNanos;
+    public final long allocatedBytes;
+
+    public Measurement(long wallNanos, long cpuNanos, long allocatedBytes) {
+      this.wallNanos = wallNanos;
+      this.cpuNanos = cpuNanos;
+      this.allocatedBytes = allocatedBytes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      Measurement that = (Measurement) o;
+      return wallNanos == that.wallNanos &&
+          cpuNanos == that.cpuNanos &&
+          allocatedBytes == that.allocatedBytes;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(wallNanos, cpuNanos, allocatedBytes);
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+          .add("wallNanos", wallNanos)
+          .add("cpuNanos", cpuNanos)
+          .add("allocatedBytes", allocatedBytes)
+          .toString();
+    }
+  }
+
+  /**
+   * Outcome of one step of a day.  Exactly one of answer and error is set, except for the parse step which never has
+   * an answer.  A cached answer was looked up rather than solved, and its measurement is of the lookup.
+   */
+  public static class StepResult {
+    public final int day;
+    public final Step step;
+    public final String answer;
+    public final Throwable error;
+    public final Measurement measurement;
+    public final boolean cached;
+
+    public StepResult(int day, Step step, String answer, Throwable error, Measurement measurement) {
+      this(day, step, answer, error, measurement, false);
+    }
+
+    public StepResult(int day, Step step, String answer, Throwable error, Measurement measurement, boolean cached) {
+      this.day = day;
+      this.step = step;
+      this.answer = answer;
+      this.error = error;
+      this.measurement = measurement;
+      this.cached = cached;
+    }
+
+    public boolean succeeded() {
+      return error == null;
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+          .add("day", day)
+          .add("step", step)
+          .add("answer", answer)
+          .add("error", error)
+          .add("measurement", measurement)
+          .add("cached", cached)
+          .toString();
+    }
+  }
+
+  private final ExecutorService executor;
+  private final ResultCache cache;
+  private final Supplier<ExecutionContext> contexts;
+
+  /**
+   * Creates a runner that runs each day as a task on the given executor.  The executor isn't shut down by the runner.
+   *
+   * @param executor Executor to run days on
+   */
+  public SolverRunner(ExecutorService executor) {
+    this(executor, null);
+  }
+
+  /**
+   * Creates a runner that runs each day as a task on the given executor, looking answers up in and adding them to the
+   * given cache.  Neither the executor nor the cache are closed by the runner.
+   *
+   * @param executor Executor to run days on
+   * @param cache Cache of answers, or null to always solve
+   */
+  public SolverRunner(ExecutorService executor, ResultCache cache) {
+    this(executor, cache, ExecutionContext::unbounded);
+  }
+
+  /**
+   * Creates a runner like {@link #SolverRunner(ExecutorService, ResultCache)} that solves each part under a new
+   * context from the given supplier.
+   *
+   * @param executor Executor to run days on
+   * @param cache Cache of answers, or null to always solve
+   * @param contexts Supplier of a context for each part
+   */
+  public SolverRunner(ExecutorService executor, ResultCache cache, Supplier<ExecutionContext> contexts) {
+    this.executor = executor;
+    this.cache = cache;
+    this.contexts = contexts;
+  }
+
+  /**
+   * Runs all of the given solvers concurrently against their bundled inputs and waits for them to finish.
+   *
+   * @param solvers Solvers to run
+   * @return Results of every step, in the same day order as the solvers.
+   * @throws InterruptedException if interrupted while waiting for the solvers.
+   */
+  public ImmutableList<StepResult> run(List<Solver<?>> solvers) throws InterruptedException {
+    List<Future<ImmutableList<StepResult>>> futures = new ArrayList<>();
+    for (Solver<?> solver : solvers) {
+      futures.add(executor.submit(() -> solve(solver, cache, contexts)));
+    }
+
+    ImmutableList.Builder<StepResult> results = ImmutableList.builder();
+    for (Future<ImmutableList<StepResult>> future : futures) {
+      try {
+        results.addAll(future.get());
+      } catch (ExecutionException e) {
+        // solve() captures failures in its results - anything else is a bug in the runner.
+        throw new IllegalStateException(e.getCause());
+      }
+    }
+
+    return results.build();
+  }
+
+  /**
+   * Opens the input for the given solver, parses it, and solves both parts on the calling thread.  If parsing fails,
+   * the parts aren't run.
+   *
+   * @param solver Solver to run
+   * @param <T> Type of the solver's parsed input
+   * @return Results of each step that ran.
+   */
+  public static <T> ImmutableList<StepResult> solve(Solver<T> solver) {
+    return solve(solver, null);
+  }
+
+  /**
+   * Solves both parts of the given solver like {@link #solve(Solver)}, except that parts with answers in the cache for
+   * the same input aren't solved, and new answers are added to it.  If both parts are cached, the input isn't parsed
+   * and there's no parse step in the results.
+   *
+   * @param solver Solver to run
+   * @param cache Cache of answers, or null to always solve
+   * @param <T> Type of the solver's parsed input
+   * @return Results of each step that ran.
+   */
+  public static <T> ImmutableList<StepResult> solve(Solver<T> solver, ResultCache cache) {
+    return solve(solver, cache, ExecutionContext::unbounded);
+  }
+
+  /**
+   * Solves both parts of the given solver like {@link #solve(Solver, ResultCache)}, binding a new context from the
+   * given supplier while each part is solved.  A part that runs out of time fails with a
+   * {@link java.util.concurrent.CancellationException}.
+   *
+   * @param solver Solver to run
+   * @param cache Cache of answers, or null to always solve
+   * @param contexts Supplier of a context for each part
+   * @param <T> Type of the solver's parsed input
+   * @return Results of each step that ran.
+   */
+  public static <T> ImmutableList<StepResult> solve(Solver<T> solver, ResultCache cache, Supplier<ExecutionContext> contexts) {
+    return solve(solver, () -> Solvers.openInput(solver), cache, contexts);
+  }
+
+  /**
+   * Solves both parts of the given solver like {@link #solve(Solver, ResultCache, Supplier)}, but against the given
+   * input rather than the day's bundled input.
+   *
+   * @param solver Solver to run
+   * @param source Input to solve
+   * @param cache Cache of answers, or null to always solve
+   * @param contexts Supplier of a context for each part
+   * @param <T> Type of the solver's parsed input
+   * @return Results of each step that ran.
+   */
+  public static <T> ImmutableList<StepResult> solve(
+      Solver<T> solver, InputSource source, ResultCache cache, Supplier<ExecutionContext> contexts) {
+    ImmutableList.Builder<StepResult> results = ImmutableList.builder();
+
+    byte[] inputHash = cache == null ? null : inputHash(source);
+    StepResult part1 = lookup(solver, Step.PART1, cache, inputHash);
+    StepResult part2 = lookup(solver, Step.PART2, cache, inputHash);
+    if (part1 != null && part2 != null) {
+      return ImmutableList.of(part1, part2);
+    }
+
+    Measured<T> input = measure(solver.day(), Step.PARSE, () -> {
+      try (Input in = source.open()) {
+        return solver.parse(in);
+      }
+    });
+    results.add(new StepResult(solver.day(), Step.PARSE, null, input.error, input.measurement));
+
+    if (input.error == null) {
+      results.add(part1 != null ? part1 : solvePart(solver, Step.PART1, solver::part1, input.value, cache, inputHash, contexts));
+      results.add(part2 != null ? part2 : solvePart(solver, Step.PART2, solver::part2, input.value, cache, inputHash, contexts));
+    }
+
+    return results.build();
+  }
+
+  /**
+   * Hashes the input for looking up answers, or returns null if the input can't be read - parsing will report the
+   * problem.
+   */
+  private static byte[] inputHash(InputSource source) {
+    try (Input in = source.open()) {
+      return in.sha256();
+    } catch (IOException | RuntimeException e) {
+      return null;
+    }
+  }
+
+  private static ResultCache.Key cacheKey(Solver<?> solver, Step step, byte[] inputHash) {
+    return new ResultCache.Key(solver.day(), step == Step.PART1 ? 1 : 2, solver.version(), inputHash);
+  }
+
+  /**
+   * Returns the cached result of the given part, or null if it isn't cached.
+   */
+  private static StepResult lookup(Solver<?> solver, Step step, ResultCache cache, byte[] inputHash) {
+    if (cache == null || inputHash == null) {
+      return null;
+    }
+
+    Measured<String> answer = measure(solver.day(), step, () -> cache.get(cacheKey(solver, step, inputHash)).orElse(null));
+    return answer.value == null ? null : new StepResult(solver.day(), step, answer.value, null, answer.measurement, true);
+  }
+
+  private static <T> StepResult solvePart(Solver<T> solver, Step step, Function<T, String> part, T input,
+                                          ResultCache cache, byte[] inputHash, Supplier<ExecutionContext> contexts) {
+    Measured<String> answer = measure(solver.day(), step, () -> contexts.get().call(() -> part.apply(input)));
+    if (cache != null && inputHash != null && answer.error == null && answer.value != null) {
+      cache.put(cacheKey(solver, step, inputHash), answer.value);
+    }
+
+    return new StepResult(solver.day(), step, answer.value, answer.error, answer.measurement);
+  }
+
+  private static class Measured<T> {
+    private final T value;
+    private final Throwable error;
+    private final Measurement measurement;
+
+    private Measured(T value, Throwable error, Measurement measurement) {
+      this.value = value;
+      this.error = error;
+      this.measurement = measurement;
+    }
+  }
+
+  private static <T> Measured<T> measure(int day, Step step, Callable<T> callable) {
+    long startAllocated = allocatedBytes();
+    long startCpu = cpuNanos();
+    long startWall = System.nanoTime();
+
+    T value = null;
+    Throwable error = null;
+    try (Phase phase = Phase.begin(day, step.name)) {
+      try {
+        value = callable.call();
+      } catch (Exception | Error e) {
+        error = e;
+        phase.failed();
+      }
+    }
+
+    long wall = System.nanoTime() - startWall;
+    long cpu = startCpu < 0 ? -1 : cpuNanos() - startCpu;
+    long allocated = startAllocated < 0 ? -1 : allocatedBytes() - startAllocated;
+
+    return new Measured<>(value, error, new Measurement(wall, cpu, allocated));
+  }
+
+  private static long cpuNanos() {
+    return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : -1;
+  }
+
+  private static long allocatedBytes() {
+    if (THREADS instanceof com.sun.management.ThreadMXBean) {
+      com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+      if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+      }
+    }
+
+    return -1;
+  }
+
+  /**
+   * Formats the results as a table with one row per step.  Multi-line answers are printed below their row.
+   *
+   * @param results Results to format
+   * @return Printable table of results.
+   */
+  public static String format(List<StepResult> results) {
+    StringBuilder bldr = new StringBuilder();
+    bldr.append(String.format("%3s  %-6s  %10s  %10s  %10s  %s\n", "Day", "Step", "Wall ms", "CPU ms", "Alloc MB", "Answer"));
+
+    for (StepResult result : results) {
+      String answer;
+      if (result.error != null) {
+        answer = "FAILED: " + result.error;
+      } else {
+        answer = MoreObjects.firstNonNull(result.answer, "");
+      }
+      if (result.cached) {
+        answer = answer.contains("\n") ? "(cached)\n" + answer : answer + " (cached)";
+      }
+
+      bldr.append(String.format("%3d  %-6s  %10.1f  %10.1f  %10.1f  %s\n",
+          result.day,
+          result.step.name,
+          result.measurement.wallNanos / 1e6,
+          result.measurement.cpuNanos / 1e6,
+          result.measurement.allocatedBytes / (1024.0 * 1024.0),
+          answer.contains("\n") ? "\n" + answer.trim() : answer));
+    }
+
+    return bldr.toString();
+  }
+
+  /**
+   * Runs the days given as arguments, or every day if there are none, using a thread per core.  When the JVM is started
+   * with {@code -Dadventofcode.metrics=true}, the solvers' metrics are printed after the results.
+   *
+   * Answers are cached in the file given by {@code -Dadventofcode.cache=<file>}, limited to
+   * {@code -Dadventofcode.cache.maxBytes} (1MB by default).  {@code -Dadventofcode.cache.bypass=true} solves every
+   * part again and refreshes the cache.
+   *
+   * Each part is stopped after {@code -Dadventofcode.timeoutMillis} if it's set, and
+   * {@code -Dadventofcode.progress=true} prints the progress of long loops to standard error every second.
+   *
+   * @param args Days to run
+   * @throws InterruptedException if interrupted while waiting for the solvers.
+   * @throws IOException if the cache can't be opened.
+   */
+  public static void main(String[] args) throws InterruptedException, IOException {
+    ImmutableList<Solver<?>> solvers;
+    if (args.length == 0) {
+      solvers = Solvers.all();
+    } else {
+      ImmutableList.Builder<Solver<?>> builder = ImmutableList.builder();
+      for (String arg : args) {
+        builder.add(Solvers.forDay(Integer.parseInt(arg)));
+      }
+      solvers = builder.build();
+    }
+
+    ResultCache cache = ResultCache.fromProperties();
+
+    long timeoutMillis = Long.getLong("adventofcode.timeoutMillis", 0);
+    boolean progress = Boolean.getBoolean("adventofcode.progress");
+    Supplier<ExecutionContext> contexts = () -> {
+      ExecutionContext context = timeoutMillis > 0
+          ? ExecutionContext.withTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+          : ExecutionContext.unbounded();
+      return progress ? context.reportingProgress(System.err::println, 1, TimeUnit.SECONDS) : context;
+    };
+
+    ForkJoinPool pool = new ForkJoinPool();
+    try {
+      long start = System.nanoTime();
+      ImmutableList<StepResult> results = new SolverRunner(pool, cache, contexts).run(solvers);
+      long wall = System.nanoTime() - start;
+
+      long cpu = results.stream()
+          .mapToLong(result -> Math.max(result.measurement.cpuNanos, 0))
+          .sum();
+
+      System.out.print(format(results));
+      System.out.printf("\nRan %d days on %d threads: %.1f ms wall, %.1f ms CPU\n",
+          solvers.size(), pool.getParallelism(), wall / 1e6, cpu / 1e6);
+
+      if (Metrics.ENABLED) {
+        System.out.print("\n" + Metrics.registry().summary());
+      }
+    } finally {
+      pool.shutdown();
+      if (cache != null) {
+        cache.close();
+      }
+    }
+  }
+}
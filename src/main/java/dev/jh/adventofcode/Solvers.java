@@ -0,0 +1,53 @@
+package dev.jh.adventofcode;
+
+import com.google.common.collect.ImmutableList;
+import dev.jh.adventofcode.input.Input;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.ServiceLoader;
+import java.util.stream.StreamSupport;
+
+/**
+ * Registry of all of the {@link Solver}s on the classpath, loaded with a {@link ServiceLoader}.
+ */
+public class Solvers {
+  private Solvers() {
+  }
+
+  /**
+   * Returns every registered solver, ordered by day.
+   *
+   * @return All solvers.
+   */
+  public static ImmutableList<Solver<?>> all() {
+    return StreamSupport.stream(ServiceLoader.load(Solver.class).spliterator(), false)
+        .map(solver -> (Solver<?>) solver)
+        .sorted(Comparator.comparingInt(Solver::day))
+        .collect(ImmutableList.toImmutableList());
+  }
+
+  /**
+   * Returns the registered solver for the given day.
+   *
+   * @param day Day of the puzzle
+   * @return Solver for that day.
+   */
+  public static Solver<?> forDay(int day) {
+    return all().stream()
+        .filter(solver -> solver.day() == day)
+        .findFirst()
+        .orElseThrow(() -> new IllegalArgumentException("No solver for day " + day));
+  }
+
+  /**
+   * Opens the bundled puzzle input for the given solver's day.
+   *
+   * @param solver Solver to open the input for
+   * @return Input for the day, which the caller must close.
+   * @throws IOException if the input can't be opened.
+   */
+  public static Input openInput(Solver<?> solver) throws IOException {
+    return Input.ofResource("/day" + solver.day() + ".txt");
+  }
+}
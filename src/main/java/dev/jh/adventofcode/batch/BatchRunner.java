@@ -0,0 +1,251 @@
+package dev.jh.adventofcode.batch;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import dev.jh.adventofcode.Solver;
+import dev.jh.adventofcode.SolverRunner;
+import dev.jh.adventofcode.Solvers;
+import dev.jh.adventofcode.cache.ResultCache;
+import dev.jh.adventofcode.execution.ExecutionContext;
+import dev.jh.adventofcode.input.Input;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Solves one day against many input files, one task per input on a work-stealing pool.  Every input is parsed and
+ * solved on its own with {@link SolverRunner#solve(Solver, SolverRunner.InputSource, ResultCache, Supplier)}, so an
+ * input that fails to parse, throws, or runs out of time only fails its own result.  Results are handed to a listener
+ * as each input finishes, so they can be written out while the rest are still running.
+ */
+public class BatchRunner {
+  /**
+   * Outcome of solving one input.
+   */
+  public static class InputResult {
+    public final Path input;
+    public final ImmutableList<SolverRunner.StepResult> steps;
+    public final long wallNanos;
+
+    public InputResult(Path input, ImmutableList<SolverRunner.StepResult> steps, long wallNanos) {
+      this.input = input;
+      this.steps = steps;
+      this.wallNanos = wallNanos;
+    }
+
+    public boolean succeeded() {
+      return steps.stream().allMatch(SolverRunner.StepResult::succeeded);
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+          .add("input", input)
+          .add("steps", steps)
+          .add("wallNanos", wallNanos)
+          .toString();
+    }
+  }
+
+  /**
+   * Totals for a batch.
+   */
+  public static class Summary {
+    public final int inputs;
+    public final int failed;
+    public final long wallNanos;
+
+    public Summary(int inputs, int failed, long wallNanos) {
+      this.inputs = inputs;
+      this.failed = failed;
+      this.wallNanos = wallNanos;
+    }
+
+    public double inputsPerSecond() {
+      return wallNanos <= 0 ? 0 : inputs * 1e9 / wallNanos;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("Solved %d inputs (%d failed) in %.1f ms: %.1f inputs/s",
+          inputs, failed, wallNanos / 1e6, inputsPerSecond());
+    }
+  }
+
+  private final ForkJoinPool pool;
+  private final ResultCache cache;
+  private final Supplier<ExecutionContext> contexts;
+
+  /**
+   * Creates a runner that solves inputs on the given pool.  Neither the pool nor the cache are closed by the runner.
+   *
+   * @param pool Pool to solve inputs on
+   * @param cache Cache of answers, or null to always solve
+   * @param contexts Supplier of a context for each part of each input
+   */
+  public BatchRunner(ForkJoinPool pool, ResultCache cache, Supplier<ExecutionContext> contexts) {
+    this.pool = pool;
+    this.cache = cache;
+    this.contexts = contexts;
+  }
+
+  /**
+   * Solves every input and waits for them all to finish.
+   *
+   * @param solver Solver for the inputs' day
+   * @param inputs Input files
+   * @param listener Called with each input's result as soon as it's solved, from the thread that solved it
+   * @return Totals for the batch.
+   * @throws InterruptedException if interrupted while waiting for the inputs.
+   */
+  public Summary run(Solver<?> solver, List<Path> inputs, Consumer<InputResult> listener) throws InterruptedException {
+    AtomicInteger failed = new AtomicInteger();
+    long start = System.nanoTime();
+
+    List<ForkJoinTask<?>> tasks = new ArrayList<>(inputs.size());
+    for (Path input : inputs) {
+      tasks.add(pool.submit(() -> {
+        InputResult result = solve(solver, input);
+        if (!result.succeeded()) {
+          failed.incrementAndGet();
+        }
+        listener.accept(result);
+      }));
+    }
+
+    for (ForkJoinTask<?> task : tasks) {
+      try {
+        task.get();
+      } catch (ExecutionException e) {
+        // Solving captures failures in the results, so this is the listener failing, like running out of disk.
+        tasks.forEach(t -> t.cancel(false));
+        throw new IllegalStateException("Failed to handle a result", e.getCause());
+      }
+    }
+
+    return new Summary(inputs.size(), failed.get(), System.nanoTime() - start);
+  }
+
+  private InputResult solve(Solver<?> solver, Path input) {
+    long start = System.nanoTime();
+    ImmutableList<SolverRunner.StepResult> steps = SolverRunner.solve(solver, () -> Input.open(input), cache, contexts);
+    return new InputResult(input, steps, System.nanoTime() - start);
+  }
+
+  /**
+   * Lists the inputs in a directory, or in a manifest file.  A directory's inputs are all of the regular files in it,
+   * in name order.  A manifest lists an input per line, relative to the manifest's directory, skipping blank lines and
+   * lines starting with '#'.
+   *
+   * @param directoryOrManifest Directory of inputs, or a manifest
+   * @return Paths of the inputs.
+   * @throws IOException if the directory or manifest can't be read.
+   */
+  public static ImmutableList<Path> inputs(Path directoryOrManifest) throws IOException {
+    if (Files.isDirectory(directoryOrManifest)) {
+      try (Stream<Path> files = Files.list(directoryOrManifest)) {
+        return files.filter(Files::isRegularFile)
+            .sorted()
+            .collect(ImmutableList.toImmutableList());
+      }
+    }
+
+    Path directory = directoryOrManifest.toAbsolutePath().getParent();
+    return Files.readAllLines(directoryOrManifest, StandardCharsets.UTF_8).stream()
+        .map(String::trim)
+        .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+        .map(directory::resolve)
+        .collect(ImmutableList.toImmutableList());
+  }
+
+  /**
+   * Formats a result as a tab separated line: the input, then each part's answer or failure, then the milliseconds it
+   * took.  Line breaks in answers are written as '\n', so every result is one line.
+   *
+   * @param result Result to format
+   * @return Line for the result, without a line terminator.
+   */
+  public static String format(InputResult result) {
+    String part1 = "";
+    String part2 = "";
+    for (SolverRunner.StepResult step : result.steps) {
+      String text = step.succeeded() ? MoreObjects.firstNonNull(step.answer, "") : "FAILED: " + step.error;
+      text = text.replace("\\", "\\\\").replace("\n", "\\n").replace("\t", "\\t");
+
+      switch (step.step) {
+        case PARSE:
+          if (!step.succeeded()) {
+            part1 = part2 = text;
+          }
+          break;
+        case PART1:
+          part1 = text;
+          break;
+        case PART2:
+          part2 = text;
+          break;
+      }
+    }
+
+    return String.format("%s\t%s\t%s\t%.1f", result.input, part1, part2, result.wallNanos / 1e6);
+  }
+
+  /**
+   * Solves a day against a directory or manifest of inputs, writing a line per input to the output file as each one
+   * finishes, and prints the totals.  Inputs are solved on a thread per core.  Each part is stopped after
+   * {@code -Dadventofcode.timeoutMillis} if it's set, and answers are cached like {@link SolverRunner#main}.
+   *
+   * @param args Day, directory or manifest of inputs, and output file
+   * @throws IOException if the inputs can't be listed or the output can't be written.
+   * @throws InterruptedException if interrupted while waiting for the inputs.
+   */
+  public static void main(String[] args) throws IOException, InterruptedException {
+    Preconditions.checkArgument(args.length == 3, "Usage: BatchRunner <day> <input directory or manifest> <output file>");
+
+    Solver<?> solver = Solvers.forDay(Integer.parseInt(args[0]));
+    ImmutableList<Path> inputs = inputs(Paths.get(args[1]));
+
+    long timeoutMillis = Long.getLong("adventofcode.timeoutMillis", 0);
+    Supplier<ExecutionContext> contexts = timeoutMillis > 0
+        ? () -> ExecutionContext.withTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+        : ExecutionContext::unbounded;
+
+    ForkJoinPool pool = new ForkJoinPool();
+    try (ResultCache cache = ResultCache.fromProperties();
+         BufferedWriter out = Files.newBufferedWriter(Paths.get(args[2]), StandardCharsets.UTF_8)) {
+      out.write("input\tpart 1\tpart 2\tms\n");
+
+      Summary summary = new BatchRunner(pool, cache, contexts).run(solver, inputs, result -> {
+        String line = format(result) + "\n";
+        synchronized (out) {
+          try {
+            out.write(line);
+            out.flush();
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        }
+      });
+
+      System.out.println(summary + " on " + pool.getParallelism() + " threads");
+    } finally {
+      pool.shutdown();
+    }
+  }
+}
@@ -0,0 +1,378 @@
+package dev.jh.adventofcode.cache;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.MoreObjects;
+import com.google.common.io.BaseEncoding;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+/**
+ * Answers cached on disk by day, part, solver version and the SHA-256 of the input, so unchanged inputs don't have to
+ * be parsed or solved again.  Answers are appended to a single file and indexed in memory, so a hit is a map lookup.
+ * When the answers add up to more than the size limit, the least recently used ones are evicted, and the file is
+ * rewritten without them once it's mostly dead records.  Recency only lives in memory - when the file is opened again,
+ * answers are ordered by when they were written.  Thread safe.
+ *
+ * The file starts with a magic number and a format version, then has one record per answer:
+ * <pre>
+ *   int    length of the payload
+ *   int    day
+ *   byte   part
+ *   int    solver version
+ *   byte[] SHA-256 of the input, 32 bytes
+ *   byte[] answer in UTF-8, the rest of the payload
+ *   int    CRC-32 of the payload
+ * </pre>
+ * A record that's cut short or doesn't match its CRC ends the file - it's what's left of a write that didn't finish,
+ * and is cut off when the file is opened.
+ */
+public class ResultCache implements Closeable {
+  private static final int MAGIC = 0x414F4352;
+  private static final int FORMAT = 1;
+  private static final int HEADER_BYTES = 8;
+  private static final int HASH_BYTES = 32;
+  /** Payload bytes before the answer. */
+  private static final int KEY_BYTES = 4 + 1 + 4 + HASH_BYTES;
+  /** Record bytes besides the payload - the length and the CRC. */
+  private static final int FRAMING_BYTES = 8;
+  /** Files smaller than this aren't worth compacting. */
+  private static final long MIN_COMPACT_BYTES = 64 * 1024;
+  private static final long DEFAULT_MAX_BYTES = 1024 * 1024;
+
+  /**
+   * What an answer is cached under.
+   */
+  public static final class Key {
+    public final int day;
+    public final int part;
+    public final int version;
+    private final byte[] inputHash;
+
+    /**
+     * Creates a key.
+     *
+     * @param day Day of the puzzle
+     * @param part Part of the puzzle, 1 or 2
+     * @param version Version of the day's solver
+     * @param inputHash SHA-256 of the input bytes
+     */
+    public Key(int day, int part, int version, byte[] inputHash) {
+      if (part != 1 && part != 2) {
+        throw new IllegalArgumentException("Part must be 1 or 2: " + part);
+      }
+      if (inputHash.length != HASH_BYTES) {
+        throw new IllegalArgumentException("Input hash must be " + HASH_BYTES + " bytes: " + inputHash.length);
+      }
+
+      this.day = day;
+      this.part = part;
+      this.version = version;
+      this.inputHash = inputHash.clone();
+    }
+
+    public byte[] inputHash() {
+      return inputHash.clone();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      Key key = (Key) o;
+      return day == key.day &&
+          part == key.part &&
+          version == key.version &&
+          Arrays.equals(inputHash, key.inputHash);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * (31 * (31 * day + part) + version) + Arrays.hashCode(inputHash);
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+          .add("day", day)
+          .add("part", part)
+          .add("version", version)
+          .add("inputHash", BaseEncoding.base16().lowerCase().encode(inputHash))
+          .toString();
+    }
+  }
+
+  private static class Entry {
+    private final String answer;
+    /** Bytes the answer's record takes in the file. */
+    private final int recordBytes;
+
+    private Entry(String answer, int recordBytes) {
+      this.answer = answer;
+      this.recordBytes = recordBytes;
+    }
+  }
+
+  private final Path path;
+  private final long maxBytes;
+  private final boolean bypass;
+  /** Answers in least to most recently used order. */
+  private final LinkedHashMap<Key, Entry> index = new LinkedHashMap<>(16, 0.75f, true);
+  private FileChannel channel;
+  private long fileBytes;
+  private long liveBytes;
+
+  private ResultCache(Path path, long maxBytes, boolean bypass) {
+    this.path = path;
+    this.maxBytes = maxBytes;
+    this.bypass = bypass;
+  }
+
+  /**
+   * Opens the cache in the given file, creating the file if it doesn't exist.
+   *
+   * @param path File to keep the cache in
+   * @param maxBytes Most bytes of answer records to keep
+   * @param bypass Whether to skip looking answers up, so everything is solved again.  Answers are still written, so a
+   *               bypassed run refreshes the cache.
+   * @return Open cache, which must be closed.
+   * @throws IOException if the file can't be read or created, or isn't a cache.
+   */
+  public static ResultCache open(Path path, long maxBytes, boolean bypass) throws IOException {
+    if (maxBytes <= 0) {
+      throw new IllegalArgumentException("Cache size must be positive: " + maxBytes);
+    }
+
+    ResultCache cache = new ResultCache(path, maxBytes, bypass);
+    cache.load();
+    return cache;
+  }
+
+  /**
+   * Opens the cache in the file given by {@code -Dadventofcode.cache=<file>}, limited to
+   * {@code -Dadventofcode.cache.maxBytes} (1MB by default).  {@code -Dadventofcode.cache.bypass=true} bypasses it.
+   *
+   * @return Open cache, or null if there's no cache file set.
+   * @throws IOException if the file can't be read or created, or isn't a cache.
+   */
+  public static ResultCache fromProperties() throws IOException {
+    String file = System.getProperty("adventofcode.cache");
+    if (file == null) {
+      return null;
+    }
+
+    return open(
+        Paths.get(file),
+        Long.getLong("adventofcode.cache.maxBytes", DEFAULT_MAX_BYTES),
+        Boolean.getBoolean("adventofcode.cache.bypass"));
+  }
+
+  private void load() throws IOException {
+    channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+    if (channel.size() == 0) {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(FORMAT);
+      header.flip();
+      writeFully(header, 0);
+      fileBytes = HEADER_BYTES;
+      return;
+    }
+
+    ByteBuffer file = ByteBuffer.allocate((int) channel.size());
+    while (file.hasRemaining() && channel.read(file, file.position()) >= 0) {
+      // Keep reading until the whole file is in.
+    }
+    file.flip();
+
+    if (file.remaining() < HEADER_BYTES || file.getInt() != MAGIC) {
+      channel.close();
+      throw new IOException(path + " isn't a result cache");
+    }
+    int format = file.getInt();
+    if (format != FORMAT) {
+      channel.close();
+      throw new IOException(path + " has unsupported result cache format " + format);
+    }
+
+    while (file.remaining() >= FRAMING_BYTES + KEY_BYTES) {
+      int start = file.position();
+      int length = file.getInt();
+      if (length < KEY_BYTES || length > file.remaining() - 4) {
+        file.position(start);
+        break;
+      }
+
+      CRC32 crc = new CRC32();
+      crc.update(file.array(), file.position(), length);
+      ByteBuffer payload = file.slice();
+      payload.limit(length);
+      file.position(file.position() + length);
+      if ((int) crc.getValue() != file.getInt()) {
+        file.position(start);
+        break;
+      }
+
+      int day = payload.getInt();
+      int part = payload.get();
+      int version = payload.getInt();
+      byte[] inputHash = new byte[HASH_BYTES];
+      payload.get(inputHash);
+      String answer = new String(payload.array(), payload.arrayOffset() + payload.position(), payload.remaining(), Charsets.UTF_8);
+
+      index(new Key(day, part, version, inputHash), new Entry(answer, FRAMING_BYTES + length));
+    }
+
+    // Anything after the last good record is a torn write.
+    fileBytes = file.position();
+    if (fileBytes < channel.size()) {
+      channel.truncate(fileBytes);
+    }
+  }
+
+  /**
+   * Looks up an answer.
+   *
+   * @param key What the answer was cached under
+   * @return Cached answer, or empty if there isn't one or the cache is being bypassed.
+   */
+  public synchronized Optional<String> get(Key key) {
+    if (bypass) {
+      return Optional.empty();
+    }
+
+    Entry entry = index.get(key);
+    return entry == null ? Optional.empty() : Optional.of(entry.answer);
+  }
+
+  /**
+   * Caches an answer, replacing any answer already cached under the key.
+   *
+   * @param key What to cache the answer under
+   * @param answer Answer to cache
+   * @throws UncheckedIOException if the answer can't be written.
+   */
+  public synchronized void put(Key key, String answer) {
+    byte[] answerBytes = answer.getBytes(Charsets.UTF_8);
+    int length = KEY_BYTES + answerBytes.length;
+
+    ByteBuffer record = ByteBuffer.allocate(FRAMING_BYTES + length);
+    record.putInt(length)
+        .putInt(key.day)
+        .put((byte) key.part)
+        .putInt(key.version)
+        .put(key.inputHash)
+        .put(answerBytes);
+    CRC32 crc = new CRC32();
+    crc.update(record.array(), 4, length);
+    record.putInt((int) crc.getValue());
+    record.flip();
+
+    try {
+      writeFully(record, fileBytes);
+      fileBytes += record.capacity();
+
+      index(key, new Entry(answer, record.capacity()));
+      if (fileBytes > MIN_COMPACT_BYTES && fileBytes - HEADER_BYTES > 2 * liveBytes) {
+        compact();
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void index(Key key, Entry entry) {
+    Entry replaced = index.put(key, entry);
+    if (replaced != null) {
+      liveBytes -= replaced.recordBytes;
+    }
+    liveBytes += entry.recordBytes;
+
+    Iterator<Map.Entry<Key, Entry>> eldest = index.entrySet().iterator();
+    while (liveBytes > maxBytes && eldest.hasNext()) {
+      liveBytes -= eldest.next().getValue().recordBytes;
+      eldest.remove();
+    }
+  }
+
+  /**
+   * Rewrites the file with only the cached answers, least recently used first so they're evicted in the same order
+   * after the file is opened again.
+   */
+  synchronized void compact() throws IOException {
+    Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+    Map<Key, Entry> live = new LinkedHashMap<>(index);
+
+    channel.close();
+    Files.deleteIfExists(compacted);
+    channel = FileChannel.open(compacted, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    index.clear();
+    liveBytes = 0;
+    fileBytes = 0;
+
+    ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(FORMAT);
+    header.flip();
+    writeFully(header, 0);
+    fileBytes = HEADER_BYTES;
+    for (Map.Entry<Key, Entry> entry : live.entrySet()) {
+      put(entry.getKey(), entry.getValue().answer);
+    }
+    channel.force(false);
+    channel.close();
+
+    Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+  }
+
+  private void writeFully(ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      position += channel.write(buffer, position);
+    }
+  }
+
+  /**
+   * Returns the number of cached answers.
+   *
+   * @return Number of answers.
+   */
+  public synchronized int size() {
+    return index.size();
+  }
+
+  /**
+   * Returns the bytes taken by the records of the cached answers, which is what's kept under the size limit.
+   *
+   * @return Bytes of live records.
+   */
+  public synchronized long liveBytes() {
+    return liveBytes;
+  }
+
+  /**
+   * Returns the size of the file, including records that have been replaced or evicted but not compacted away.
+   *
+   * @return Bytes in the file.
+   */
+  public synchronized long fileBytes() {
+    return fileBytes;
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    channel.force(false);
+    channel.close();
+  }
+}
@@ -0,0 +1,29 @@
+package dev.jh.adventofcode.collect;
+
+/**
+ * 64 bit fingerprints of whole states, for remembering states that have been seen without keeping them around.  Two
+ * equal states always have the same fingerprint, but different states can collide, so a matching fingerprint has to be
+ * confirmed before it's trusted.
+ */
+public final class Fingerprints {
+  private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long PRIME = 0x100000001b3L;
+
+  private Fingerprints() {}
+
+  /**
+   * Returns the fingerprint of the given bytes.
+   *
+   * @param bytes Bytes to fingerprint
+   * @return 64 bit fingerprint.
+   */
+  public static long of(byte[] bytes) {
+    // FNV-1a, with a final mix so that the low bits depend on every byte.
+    long hash = OFFSET_BASIS;
+    for (byte b : bytes) {
+      hash = (hash ^ (b & 0xFF)) * PRIME;
+    }
+
+    return Hashing.mix64(hash);
+  }
+}
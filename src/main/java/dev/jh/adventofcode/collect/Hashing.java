@@ -0,0 +1,57 @@
+package dev.jh.adventofcode.collect;
+
+/**
+ * Hashing and sizing shared by the primitive collections.  Tables are powers of two, probed linearly, and doubled
+ * whenever they'd be more than half full - so a table never has fewer than half of its slots free.
+ */
+final class Hashing {
+  static final int MIN_CAPACITY = 16;
+  static final int MAX_CAPACITY = 1 << 30;
+
+  private Hashing() {}
+
+  /**
+   * Spreads the bits of a key over the whole int, so keys that only differ in their high bits (like packed
+   * coordinates) don't collide.  This is the finalizer from MurmurHash3.  Int keys are widened to longs first.
+   */
+  static int mix(long key) {
+    return (int) mix64(key);
+  }
+
+  static long mix64(long key) {
+    key ^= key >>> 33;
+    key *= 0xff51afd7ed558ccdL;
+    key ^= key >>> 33;
+    key *= 0xc4ceb9fe1a85ec53L;
+    key ^= key >>> 33;
+    return key;
+  }
+
+  /**
+   * Returns the table capacity needed to hold the given number of keys without resizing.
+   */
+  static int capacityFor(int expectedSize) {
+    if (expectedSize < 0) {
+      throw new IllegalArgumentException("Expected size can't be negative: " + expectedSize);
+    }
+
+    long capacity = MIN_CAPACITY;
+    while (capacity < 2L * expectedSize) {
+      capacity <<= 1;
+    }
+
+    if (capacity > MAX_CAPACITY) {
+      throw new IllegalArgumentException("Too many keys: " + expectedSize);
+    }
+
+    return (int) capacity;
+  }
+
+  /**
+   * Returns whether the entry at slot, which would ideally be at home, can be moved back into the gap left by a
+   * removal.  It can as long as the gap is between its home and where it is now.
+   */
+  static boolean canShift(int home, int gap, int slot, int mask) {
+    return ((slot - home) & mask) >= ((slot - gap) & mask);
+  }
+}
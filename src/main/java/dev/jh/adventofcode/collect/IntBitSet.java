@@ -0,0 +1,124 @@
+package dev.jh.adventofcode.collect;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Set of primitive ints stored as one bit per value over the range of values it covers.  For values packed into a
+ * range, like running totals, it's much smaller and faster than a hash set - but the whole range is allocated, so it's
+ * no good for values spread far apart.  Adding a value outside the range grows it at that end, at least doubling it,
+ * so adding a drifting run of values takes amortized constant time.
+ */
+public final class IntBitSet {
+  private static final long MIN_VALUE = Integer.MIN_VALUE;
+  /** One past the largest value. */
+  private static final long END = (long) Integer.MAX_VALUE + 1;
+
+  private long[] words;
+  /** Value of the first bit, always a multiple of 64 away from the first value the range was created with. */
+  private long low;
+  private int size;
+
+  public IntBitSet() {
+    this(0, 0);
+  }
+
+  /**
+   * Creates a set that covers the given range of values without growing.
+   *
+   * @param min Smallest value expected
+   * @param max Largest value expected
+   */
+  public IntBitSet(int min, int max) {
+    if (min > max) {
+      throw new IllegalArgumentException("Min must not be more than max: " + min + " > " + max);
+    }
+
+    words = new long[wordsFor((long) max - min + 1)];
+    low = min;
+  }
+
+  private static int wordsFor(long bits) {
+    return (int) ((bits + 63) >>> 6);
+  }
+
+  /**
+   * Adds the value to the set.
+   *
+   * @param value Value to add
+   * @return Whether the value was added - false if it was already in the set.
+   */
+  public boolean add(int value) {
+    long index = value - low;
+    if (index < 0 || index >= (long) words.length << 6) {
+      grow(value);
+      index = value - low;
+    }
+
+    int word = (int) (index >>> 6);
+    long bit = 1L << index;
+    if ((words[word] & bit) != 0) {
+      return false;
+    }
+
+    words[word] |= bit;
+    size ++;
+    return true;
+  }
+
+  public boolean contains(int value) {
+    long index = value - low;
+    return index >= 0 && index < (long) words.length << 6 && (words[(int) (index >>> 6)] & (1L << index)) != 0;
+  }
+
+  /**
+   * Stretches the range to cover the value, by at least the current size of the range so growing is rare.  The low
+   * end moves by whole words, so the bits can be copied over a word at a time.
+   */
+  private void grow(int value) {
+    long span = (long) words.length << 6;
+    long newLow = low;
+    long newEnd = low + span;
+
+    if (value < low) {
+      long wanted = Math.max(MIN_VALUE, Math.min(value, low - span));
+      newLow = low - (((low - wanted) + 63) & ~63L);
+    } else {
+      newEnd = Math.min(END + 63, Math.max((long) value + 1, newEnd + span));
+    }
+
+    long[] newWords = new long[wordsFor(newEnd - newLow)];
+    System.arraycopy(words, 0, newWords, (int) ((low - newLow) >>> 6), words.length);
+    words = newWords;
+    low = newLow;
+  }
+
+  /**
+   * Passes every value in the set to the consumer, in increasing order.
+   *
+   * @param consumer Called with each value
+   */
+  public void forEach(IntConsumer consumer) {
+    for (int word = 0; word < words.length; word ++) {
+      for (long bits = words[word]; bits != 0; bits &= bits - 1) {
+        consumer.accept((int) (low + ((long) word << 6) + Long.numberOfTrailingZeros(bits)));
+      }
+    }
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns the number of values the set covers without growing.
+   *
+   * @return Size of the range, in bits.
+   */
+  public long capacity() {
+    return (long) words.length << 6;
+  }
+}
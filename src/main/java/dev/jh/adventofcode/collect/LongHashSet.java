@@ -0,0 +1,184 @@
+package dev.jh.adventofcode.collect;
+
+import java.util.Arrays;
+
+/**
+ * Set of primitive longs, stored in an open-addressed table with linear probing.  Nothing is boxed and there are no
+ * per-entry objects.
+ *
+ * Keys can be walked without allocating through their slots:
+ * <pre>
+ *   for (int slot = set.firstSlot(); slot >= 0; slot = set.nextSlot(slot)) {
+ *     long key = set.keyAt(slot);
+ *   }
+ * </pre>
+ * The set must not be modified while walking it.
+ */
+public final class LongHashSet {
+  private long[] keys;
+  private boolean[] used;
+  private int mask;
+  private int size;
+
+  public LongHashSet() {
+    this(0);
+  }
+
+  /**
+   * Creates a set that can hold the given number of keys without resizing.
+   *
+   * @param expectedSize Number of keys
+   */
+  public LongHashSet(int expectedSize) {
+    allocate(Hashing.capacityFor(expectedSize));
+  }
+
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    used = new boolean[capacity];
+    mask = capacity - 1;
+  }
+
+  /**
+   * Adds the key to the set.
+   *
+   * @param key Key to add
+   * @return Whether the key was added - false if it was already in the set.
+   */
+  public boolean add(long key) {
+    int slot = Hashing.mix(key) & mask;
+    while (used[slot]) {
+      if (keys[slot] == key) {
+        return false;
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    keys[slot] = key;
+    used[slot] = true;
+    size ++;
+
+    if (size > (mask + 1) / 2) {
+      grow();
+    }
+
+    return true;
+  }
+
+  public boolean contains(long key) {
+    return slotOf(key) >= 0;
+  }
+
+  /**
+   * Removes the key from the set.
+   *
+   * @param key Key to remove
+   * @return Whether the key was in the set.
+   */
+  public boolean remove(long key) {
+    int gap = slotOf(key);
+    if (gap < 0) {
+      return false;
+    }
+
+    // Shift the rest of the probe run back over the gap, so lookups never stop early at an empty slot.
+    for (int slot = (gap + 1) & mask; used[slot]; slot = (slot + 1) & mask) {
+      if (Hashing.canShift(Hashing.mix(keys[slot]) & mask, gap, slot, mask)) {
+        keys[gap] = keys[slot];
+        gap = slot;
+      }
+    }
+
+    used[gap] = false;
+    size --;
+    return true;
+  }
+
+  private int slotOf(long key) {
+    int slot = Hashing.mix(key) & mask;
+    while (used[slot]) {
+      if (keys[slot] == key) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    return -1;
+  }
+
+  private void grow() {
+    long[] oldKeys = keys;
+    boolean[] oldUsed = used;
+    allocate(Math.min(oldKeys.length * 2, Hashing.MAX_CAPACITY));
+
+    for (int i = 0; i < oldKeys.length; i ++) {
+      if (oldUsed[i]) {
+        int slot = Hashing.mix(oldKeys[i]) & mask;
+        while (used[slot]) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = oldKeys[i];
+        used[slot] = true;
+      }
+    }
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public void clear() {
+    Arrays.fill(used, false);
+    size = 0;
+  }
+
+  /**
+   * Returns the first slot holding a key, or -1 if the set is empty.
+   */
+  public int firstSlot() {
+    return nextSlot(-1);
+  }
+
+  /**
+   * Returns the next slot after the given one that holds a key, or -1 if there are no more.
+   */
+  public int nextSlot(int slot) {
+    for (int i = slot + 1; i < used.length; i ++) {
+      if (used[i]) {
+        return i;
+      }
+    }
+
+    return -1;
+  }
+
+  public long keyAt(int slot) {
+    return keys[slot];
+  }
+
+  /**
+   * Returns the keys in the set, in no particular order.
+   *
+   * @return New array of keys.
+   */
+  public long[] toArray() {
+    long[] array = new long[size];
+    int i = 0;
+    for (int slot = firstSlot(); slot >= 0; slot = nextSlot(slot)) {
+      array[i ++] = keys[slot];
+    }
+
+    return array;
+  }
+
+  @Override
+  public String toString() {
+    long[] array = toArray();
+    Arrays.sort(array);
+    return Arrays.toString(array);
+  }
+}
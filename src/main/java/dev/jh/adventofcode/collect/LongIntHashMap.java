@@ -0,0 +1,199 @@
+package dev.jh.adventofcode.collect;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Map from primitive long keys to int values, stored in an open-addressed table with linear probing.  Nothing is boxed
+ * and there are no per-entry objects.  Entries can be walked without allocating through their slots, the same way as
+ * {@link LongHashSet}.
+ */
+public final class LongIntHashMap {
+  private long[] keys;
+  private int[] values;
+  private boolean[] used;
+  private int mask;
+  private int size;
+
+  public LongIntHashMap() {
+    this(0);
+  }
+
+  /**
+   * Creates a map that can hold the given number of entries without resizing.
+   *
+   * @param expectedSize Number of entries
+   */
+  public LongIntHashMap(int expectedSize) {
+    allocate(Hashing.capacityFor(expectedSize));
+  }
+
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    values = new int[capacity];
+    used = new boolean[capacity];
+    mask = capacity - 1;
+  }
+
+  /**
+   * Maps the key to the value, replacing any value it already had.
+   *
+   * @param key Key
+   * @param value Value
+   */
+  public void put(long key, int value) {
+    int slot = Hashing.mix(key) & mask;
+    while (used[slot]) {
+      if (keys[slot] == key) {
+        values[slot] = value;
+        return;
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    keys[slot] = key;
+    values[slot] = value;
+    used[slot] = true;
+    size ++;
+
+    if (size > (mask + 1) / 2) {
+      grow();
+    }
+  }
+
+  /**
+   * Returns the value for the key.
+   *
+   * @param key Key
+   * @return Value of the key.
+   * @throws NoSuchElementException if the key isn't in the map.
+   */
+  public int get(long key) {
+    int slot = slotOf(key);
+    if (slot < 0) {
+      throw new NoSuchElementException("No value for " + key);
+    }
+
+    return values[slot];
+  }
+
+  public int getOrDefault(long key, int defaultValue) {
+    int slot = slotOf(key);
+    return slot < 0 ? defaultValue : values[slot];
+  }
+
+  public boolean containsKey(long key) {
+    return slotOf(key) >= 0;
+  }
+
+  /**
+   * Removes the key from the map.
+   *
+   * @param key Key to remove
+   * @return Whether the key was in the map.
+   */
+  public boolean remove(long key) {
+    int gap = slotOf(key);
+    if (gap < 0) {
+      return false;
+    }
+
+    // Shift the rest of the probe run back over the gap, so lookups never stop early at an empty slot.
+    for (int slot = (gap + 1) & mask; used[slot]; slot = (slot + 1) & mask) {
+      if (Hashing.canShift(Hashing.mix(keys[slot]) & mask, gap, slot, mask)) {
+        keys[gap] = keys[slot];
+        values[gap] = values[slot];
+        gap = slot;
+      }
+    }
+
+    used[gap] = false;
+    size --;
+    return true;
+  }
+
+  private int slotOf(long key) {
+    int slot = Hashing.mix(key) & mask;
+    while (used[slot]) {
+      if (keys[slot] == key) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    return -1;
+  }
+
+  private void grow() {
+    long[] oldKeys = keys;
+    int[] oldValues = values;
+    boolean[] oldUsed = used;
+    allocate(Math.min(oldKeys.length * 2, Hashing.MAX_CAPACITY));
+
+    for (int i = 0; i < oldKeys.length; i ++) {
+      if (oldUsed[i]) {
+        int slot = Hashing.mix(oldKeys[i]) & mask;
+        while (used[slot]) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+        used[slot] = true;
+      }
+    }
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public void clear() {
+    Arrays.fill(used, false);
+    size = 0;
+  }
+
+  /**
+   * Returns the first slot holding an entry, or -1 if the map is empty.
+   */
+  public int firstSlot() {
+    return nextSlot(-1);
+  }
+
+  /**
+   * Returns the next slot after the given one that holds an entry, or -1 if there are no more.
+   */
+  public int nextSlot(int slot) {
+    for (int i = slot + 1; i < used.length; i ++) {
+      if (used[i]) {
+        return i;
+      }
+    }
+
+    return -1;
+  }
+
+  public long keyAt(int slot) {
+    return keys[slot];
+  }
+
+  public int valueAt(int slot) {
+    return values[slot];
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder bldr = new StringBuilder("{");
+    for (int slot = firstSlot(); slot >= 0; slot = nextSlot(slot)) {
+      if (bldr.length() > 1) {
+        bldr.append(", ");
+      }
+      bldr.append(keys[slot]).append('=').append(values[slot]);
+    }
+
+    return bldr.append('}').toString();
+  }
+}
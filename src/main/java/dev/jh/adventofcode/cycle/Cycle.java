@@ -0,0 +1,45 @@
+package dev.jh.adventofcode.cycle;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * Cycle found in a sequence of states, where the state at index start + length is the same as the one at start.
+ *
+ * @param <S> Type of the states
+ */
+public class Cycle<S> {
+  /** Index of the first state that repeats. */
+  public final long start;
+  /** Number of steps before a state repeats. */
+  public final long length;
+  /** State at start + length, the first repeat of an earlier state. */
+  public final S repeat;
+  /** State at start + length - 1, the last state before the sequence repeats itself. */
+  public final S last;
+
+  public Cycle(long start, long length, S repeat, S last) {
+    this.start = start;
+    this.length = length;
+    this.repeat = repeat;
+    this.last = last;
+  }
+
+  /**
+   * Returns the index of the repeated state.
+   *
+   * @return Index of {@link #repeat}.
+   */
+  public long repeatIndex() {
+    return start + length;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("start", start)
+        .add("length", length)
+        .add("repeat", repeat)
+        .add("last", last)
+        .toString();
+  }
+}
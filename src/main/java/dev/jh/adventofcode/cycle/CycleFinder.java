@@ -0,0 +1,269 @@
+package dev.jh.adventofcode.cycle;
+
+import dev.jh.adventofcode.collect.LongIntHashMap;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BiPredicate;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Finds cycles in the sequence of states made by repeatedly applying a step function, so simulations can jump ahead
+ * billions of steps.  There are three ways to find a cycle:
+ * <ul>
+ *   <li>{@link #brent} and {@link #floyd} only ever hold a few states, so they use constant memory - but they step
+ *   further than the first repeat, and walk the sequence a second time to find where the cycle starts.</li>
+ *   <li>{@link #hashed} remembers a 64 bit fingerprint per state and stops at the first repeat.  A fingerprint match
+ *   is confirmed by replaying up to the earlier state and comparing it, unless the fingerprint is exact.  If the
+ *   states turn out to be different, it starts over with {@link #brent}.</li>
+ * </ul>
+ *
+ * @param <S> Type of the states
+ */
+public class CycleFinder<S> {
+  /** Most states {@link #hashed} remembers, since it indexes them with ints. */
+  static final long MAX_HASHED_STATES = Integer.MAX_VALUE;
+
+  private final UnaryOperator<S> step;
+  private final BiPredicate<S, S> same;
+  private final ToLongFunction<S> fingerprint;
+  private final boolean exactFingerprint;
+  private final FastForward<S> fastForward;
+
+  private CycleFinder(UnaryOperator<S> step, BiPredicate<S, S> same, ToLongFunction<S> fingerprint,
+                      boolean exactFingerprint, FastForward<S> fastForward) {
+    this.step = step;
+    this.same = same;
+    this.fingerprint = fingerprint;
+    this.exactFingerprint = exactFingerprint;
+    this.fastForward = fastForward;
+  }
+
+  /**
+   * Returns a finder for states that repeat when they're equal.
+   *
+   * @param step Step function, which must be deterministic
+   * @param <S> Type of the states
+   * @return Cycle finder.
+   */
+  public static <S> CycleFinder<S> of(UnaryOperator<S> step) {
+    return of(step, Objects::equals);
+  }
+
+  /**
+   * Returns a finder for states that repeat when they match the given comparison.
+   *
+   * @param step Step function, which must give states that are the same as each other for states that are the same
+   * @param same Whether two states are the same
+   * @param <S> Type of the states
+   * @return Cycle finder.
+   */
+  public static <S> CycleFinder<S> of(UnaryOperator<S> step, BiPredicate<S, S> same) {
+    return new CycleFinder<>(step, same, null, false, null);
+  }
+
+  /**
+   * Returns a copy of this finder that can use {@link #hashed}, confirming matching fingerprints by comparing states.
+   *
+   * @param fingerprint 64 bit fingerprint of a state, which must be the same for states that are the same
+   * @return New cycle finder.
+   */
+  public CycleFinder<S> withFingerprint(ToLongFunction<S> fingerprint) {
+    return new CycleFinder<>(step, same, fingerprint, false, fastForward);
+  }
+
+  /**
+   * Returns a copy of this finder that can use {@link #hashed}, where matching fingerprints are trusted without
+   * confirming them.  Only for fingerprints that can't collide, like a state that's a single number.
+   *
+   * @param fingerprint Fingerprint that's the same only for states that are the same
+   * @return New cycle finder.
+   */
+  public CycleFinder<S> withExactFingerprint(ToLongFunction<S> fingerprint) {
+    return new CycleFinder<>(step, same, fingerprint, true, fastForward);
+  }
+
+  /**
+   * Returns a copy of this finder that moves states through skipped cycles with the given hook.  Without one, a
+   * state is assumed to be exactly the same after any number of cycles.
+   *
+   * @param fastForward Hook that jumps a state forward by whole cycles
+   * @return New cycle finder.
+   */
+  public CycleFinder<S> withFastForward(FastForward<S> fastForward) {
+    return new CycleFinder<>(step, same, fingerprint, exactFingerprint, fastForward);
+  }
+
+  /**
+   * Finds a cycle with Brent's algorithm, which looks at up to about twice as many states as the first repeat.
+   *
+   * @param initial First state of the sequence
+   * @param maxSteps Number of steps to give up after
+   * @return Cycle, or empty if one wasn't found within maxSteps.
+   */
+  public Optional<Cycle<S>> brent(S initial, long maxSteps) {
+    S tortoise = initial;
+    S hare = step.apply(initial);
+    long steps = 1;
+    long power = 1;
+    long length = 1;
+
+    // The tortoise teleports to the hare at every power of two, so the gap between them is the cycle length when they meet.
+    while (!same.test(tortoise, hare)) {
+      if (steps >= maxSteps) {
+        return Optional.empty();
+      }
+
+      if (power == length) {
+        tortoise = hare;
+        power *= 2;
+        length = 0;
+      }
+
+      hare = step.apply(hare);
+      steps ++;
+      length ++;
+    }
+
+    return Optional.of(findStart(initial, length));
+  }
+
+  /**
+   * Finds a cycle with Floyd's algorithm, where the hare moves twice as fast as the tortoise.
+   *
+   * @param initial First state of the sequence
+   * @param maxSteps Number of steps for the hare to give up after
+   * @return Cycle, or empty if one wasn't found within maxSteps.
+   */
+  public Optional<Cycle<S>> floyd(S initial, long maxSteps) {
+    S tortoise = step.apply(initial);
+    S hare = step.apply(tortoise);
+    long steps = 2;
+
+    while (!same.test(tortoise, hare)) {
+      if (steps >= maxSteps) {
+        return Optional.empty();
+      }
+
+      tortoise = step.apply(tortoise);
+      hare = step.apply(step.apply(hare));
+      steps += 2;
+    }
+
+    // The tortoise is in the cycle now, so walk around it once to measure it.
+    long length = 1;
+    for (S next = step.apply(tortoise); !same.test(tortoise, next); next = step.apply(next)) {
+      length ++;
+    }
+
+    return Optional.of(findStart(initial, length));
+  }
+
+  /**
+   * Walks two states length steps apart from the start of the sequence until they're the same, which happens at the
+   * start of the cycle.
+   */
+  private Cycle<S> findStart(S initial, long length) {
+    S first = initial;
+    S repeat = initial;
+    S last = initial;
+    for (long i = 0; i < length; i ++) {
+      last = repeat;
+      repeat = step.apply(repeat);
+    }
+
+    long start = 0;
+    while (!same.test(first, repeat)) {
+      first = step.apply(first);
+      last = repeat;
+      repeat = step.apply(repeat);
+      start ++;
+    }
+
+    return new Cycle<>(start, length, repeat, last);
+  }
+
+  /**
+   * Finds the first repeated state by remembering the fingerprint of every state.  Gives up after
+   * {@value #MAX_HASHED_STATES} steps at most, however many steps are allowed.
+   *
+   * @param initial First state of the sequence
+   * @param maxSteps Number of steps to give up after
+   * @return Cycle, or empty if one wasn't found within maxSteps.
+   * @throws IllegalStateException if the finder doesn't have a fingerprint.
+   */
+  public Optional<Cycle<S>> hashed(S initial, long maxSteps) {
+    return hashed(initial, maxSteps, MAX_HASHED_STATES);
+  }
+
+  Optional<Cycle<S>> hashed(S initial, long maxSteps, long maxStates) {
+    if (fingerprint == null) {
+      throw new IllegalStateException("Hashed cycle finding needs a fingerprint");
+    }
+
+    LongIntHashMap seenAt = new LongIntHashMap();
+    S last = null;
+    S state = initial;
+    long limit = Math.min(maxSteps, maxStates);
+
+    for (long index = 0; index <= limit; index ++) {
+      long stateFingerprint = fingerprint.applyAsLong(state);
+      int seenIndex = seenAt.getOrDefault(stateFingerprint, -1);
+
+      if (seenIndex >= 0) {
+        if (exactFingerprint || same.test(stateAt(initial, seenIndex), state)) {
+          return Optional.of(new Cycle<>(seenIndex, index - seenIndex, state, last));
+        }
+
+        // Two different states share a fingerprint.  That's too rare to be worth handling cleverly, but fingerprints
+        // can't be trusted to find this cycle, so fall back on comparing states.
+        return brent(initial, maxSteps);
+      }
+
+      seenAt.put(stateFingerprint, (int) index);
+      last = state;
+      state = step.apply(state);
+    }
+
+    return Optional.empty();
+  }
+
+  private S stateAt(S initial, long index) {
+    S state = initial;
+    for (long i = 0; i < index; i ++) {
+      state = step.apply(state);
+    }
+
+    return state;
+  }
+
+  /**
+   * Returns the state the given number of steps after the initial one, skipping over whole cycles.  Uses
+   * {@link #hashed} if the finder has a fingerprint, and {@link #brent} otherwise.
+   *
+   * @param initial First state of the sequence
+   * @param steps Number of steps to take
+   * @return State after the steps.
+   */
+  public S advance(S initial, long steps) {
+    Optional<Cycle<S>> found = fingerprint != null ? hashed(initial, steps) : brent(initial, steps);
+    if (!found.isPresent() || found.get().repeatIndex() > steps) {
+      return stateAt(initial, steps);
+    }
+
+    Cycle<S> cycle = found.get();
+    long cycles = (steps - cycle.repeatIndex()) / cycle.length;
+
+    S state = cycle.repeat;
+    if (fastForward != null && cycles > 0) {
+      state = fastForward.apply(state, stateAt(state, cycle.length), cycles);
+    }
+
+    for (long index = cycle.repeatIndex() + cycles * cycle.length; index < steps; index ++) {
+      state = step.apply(state);
+    }
+
+    return state;
+  }
+}
@@ -0,0 +1,20 @@
+package dev.jh.adventofcode.cycle;
+
+/**
+ * Jumps a state forward by a whole number of cycles.  States in a cycle only have to be the same as far as the cycle
+ * finder's comparison goes - anything else, like an offset that grows every cycle, is carried forward here.
+ *
+ * @param <S> Type of the states
+ */
+@FunctionalInterface
+public interface FastForward<S> {
+  /**
+   * Returns the state the given number of cycles after a state in the cycle.
+   *
+   * @param state State in the cycle
+   * @param nextCycle The state one cycle after it
+   * @param cycles Number of cycles to jump
+   * @return State cycles cycles after state.
+   */
+  S apply(S state, S nextCycle, long cycles);
+}
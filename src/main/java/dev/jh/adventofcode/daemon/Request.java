@@ -0,0 +1,177 @@
+package dev.jh.adventofcode.daemon;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.MoreObjects;
+import dev.jh.adventofcode.input.Input;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Request to solve one part of a day, with the input either sent inline or read by the daemon from a file under its
+ * input root.
+ *
+ * On the wire a request is:
+ * <pre>
+ *   int    day
+ *   byte   part
+ *   long   timeout in milliseconds, 0 for the daemon's default
+ *   byte   0 if the input is a file, 1 if it's inline
+ *   ...    the file's path as modified UTF-8, or an int length and then the input's bytes
+ * </pre>
+ */
+public final class Request {
+  /** Largest input that can be sent inline - bigger inputs have to be sent as a path. */
+  static final int MAX_INLINE_BYTES = 64 * 1024 * 1024;
+
+  private static final byte PATH = 0;
+  private static final byte INLINE = 1;
+
+  public final int day;
+  public final int part;
+  public final long timeoutMillis;
+  private final String path;
+  private final byte[] bytes;
+
+  private Request(int day, int part, long timeoutMillis, String path, byte[] bytes) {
+    if (part != 1 && part != 2) {
+      throw new IllegalArgumentException("Part must be 1 or 2: " + part);
+    }
+    if (timeoutMillis < 0) {
+      throw new IllegalArgumentException("Timeout can't be negative: " + timeoutMillis);
+    }
+    if (bytes != null && bytes.length > MAX_INLINE_BYTES) {
+      throw new IllegalArgumentException("Inline input is over " + MAX_INLINE_BYTES + " bytes: " + bytes.length);
+    }
+
+    this.day = day;
+    this.part = part;
+    this.timeoutMillis = timeoutMillis;
+    this.path = path;
+    this.bytes = bytes;
+  }
+
+  /**
+   * Creates a request for an input file, which the daemon opens itself.  The daemon only reads files under its input
+   * root, so this is for inputs too big to send inline.
+   *
+   * @param day Day of the puzzle
+   * @param part Part of the puzzle, 1 or 2
+   * @param path Path of the input, as the daemon sees it - relative paths are resolved against the input root
+   * @param timeoutMillis Most time to spend solving, or 0 for the daemon's default
+   * @return Request.
+   */
+  public static Request ofPath(int day, int part, String path, long timeoutMillis) {
+    return new Request(day, part, timeoutMillis, path, null);
+  }
+
+  /**
+   * Creates a request that sends the input along with it.
+   *
+   * @param day Day of the puzzle
+   * @param part Part of the puzzle, 1 or 2
+   * @param bytes Puzzle input
+   * @param timeoutMillis Most time to spend solving, or 0 for the daemon's default
+   * @return Request.
+   */
+  public static Request ofBytes(int day, int part, byte[] bytes, long timeoutMillis) {
+    return new Request(day, part, timeoutMillis, null, bytes);
+  }
+
+  /**
+   * Opens the request's input.  Input files have to be under the given root once links are followed.
+   *
+   * @param inputRoot Real path of the directory input files can be read from, or null if files can't be read
+   * @return Input, which the caller must close.
+   * @throws RefusedInputException if the input is a file outside the root.
+   * @throws IOException if the input file can't be opened.
+   */
+  Input open(Path inputRoot) throws IOException {
+    if (bytes != null) {
+      return Input.ofBytes(bytes);
+    }
+    if (inputRoot == null) {
+      throw new RefusedInputException("The daemon doesn't read input files - send the input inline");
+    }
+
+    Path file = inputRoot.resolve(path).normalize();
+    if (!file.startsWith(inputRoot) || !file.toRealPath().startsWith(inputRoot)) {
+      throw new RefusedInputException("Input files have to be under the daemon's input root");
+    }
+
+    return Input.open(file);
+  }
+
+  /**
+   * Thrown when a request asks for an input file the daemon won't read.  Its message is safe to send back to the
+   * client.
+   */
+  static class RefusedInputException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    RefusedInputException(String message) {
+      super(message);
+    }
+  }
+
+  void write(DataOutput out) throws IOException {
+    out.writeInt(day);
+    out.writeByte(part);
+    out.writeLong(timeoutMillis);
+    if (bytes != null) {
+      out.writeByte(INLINE);
+      out.writeInt(bytes.length);
+      out.write(bytes);
+    } else {
+      out.writeByte(PATH);
+      out.writeUTF(path);
+    }
+  }
+
+  /**
+   * Reads a request written by {@link #write(DataOutput)}.
+   *
+   * @throws java.io.EOFException if the stream ends before the request starts.
+   * @throws IOException if the request is malformed or can't be read.
+   */
+  static Request read(DataInput in) throws IOException {
+    int day = in.readInt();
+    int part = in.readByte();
+    long timeoutMillis = in.readLong();
+    byte source = in.readByte();
+
+    try {
+      switch (source) {
+        case PATH:
+          return new Request(day, part, timeoutMillis, in.readUTF(), null);
+
+        case INLINE:
+          int length = in.readInt();
+          if (length < 0 || length > MAX_INLINE_BYTES) {
+            throw new IOException("Invalid inline input length: " + length);
+          }
+          byte[] bytes = new byte[length];
+          in.readFully(bytes);
+          return new Request(day, part, timeoutMillis, null, bytes);
+
+        default:
+          throw new IOException("Invalid input source: " + source);
+      }
+    } catch (IllegalArgumentException e) {
+      throw new IOException("Invalid request: " + e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("day", day)
+        .add("part", part)
+        .add("timeoutMillis", timeoutMillis)
+        .add("path", path)
+        .add("bytes", bytes == null ? null : new String(bytes, 0, Math.min(bytes.length, 32), Charsets.UTF_8))
+        .toString();
+  }
+}
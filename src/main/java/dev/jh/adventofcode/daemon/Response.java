@@ -0,0 +1,80 @@
+package dev.jh.adventofcode.daemon;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.MoreObjects;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Outcome of a {@link Request}.  The message is the answer when the request succeeded, and otherwise says what went
+ * wrong.
+ *
+ * On the wire a response is:
+ * <pre>
+ *   byte   status, as its ordinal
+ *   long   nanoseconds the daemon spent on the request, from reading it to answering it
+ *   int    length of the message
+ *   byte[] message in UTF-8
+ * </pre>
+ */
+public final class Response {
+  public enum Status {
+    /** Solved - the message is the answer. */
+    OK,
+    /** The input couldn't be read or solved. */
+    FAILED,
+    /** Solving took longer than the request's timeout. */
+    TIMED_OUT,
+    /** The daemon was too busy to take the request. */
+    REJECTED
+  }
+
+  public final Status status;
+  public final String message;
+  public final long nanos;
+
+  Response(Status status, String message, long nanos) {
+    this.status = status;
+    this.message = message;
+    this.nanos = nanos;
+  }
+
+  public boolean succeeded() {
+    return status == Status.OK;
+  }
+
+  void write(DataOutput out) throws IOException {
+    byte[] message = this.message.getBytes(Charsets.UTF_8);
+    out.writeByte(status.ordinal());
+    out.writeLong(nanos);
+    out.writeInt(message.length);
+    out.write(message);
+  }
+
+  static Response read(DataInput in) throws IOException {
+    int status = in.readByte();
+    if (status < 0 || status >= Status.values().length) {
+      throw new IOException("Invalid response status: " + status);
+    }
+    long nanos = in.readLong();
+    int length = in.readInt();
+    if (length < 0) {
+      throw new IOException("Invalid response length: " + length);
+    }
+    byte[] message = new byte[length];
+    in.readFully(message);
+
+    return new Response(Status.values()[status], new String(message, Charsets.UTF_8), nanos);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("status", status)
+        .add("message", message)
+        .add("nanos", nanos)
+        .toString();
+  }
+}
@@ -0,0 +1,101 @@
+package dev.jh.adventofcode.daemon;
+
+import com.google.common.io.ByteStreams;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Connection to a {@link SolverDaemon}.  Requests are sent one at a time, so a client shouldn't be shared between
+ * threads - open a client per thread instead.
+ */
+public class SolverClient implements Closeable {
+  private final Socket socket;
+  private final DataInputStream in;
+  private final DataOutputStream out;
+
+  private SolverClient(Socket socket) throws IOException {
+    this.socket = socket;
+    this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+    this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+  }
+
+  /**
+   * Connects to a daemon on the loopback address.
+   *
+   * @param port Port the daemon is listening on
+   * @return Connected client, which must be closed.
+   * @throws IOException if the daemon can't be connected to.
+   */
+  public static SolverClient connect(int port) throws IOException {
+    Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+    socket.setTcpNoDelay(true);
+    return new SolverClient(socket);
+  }
+
+  /**
+   * Sends a request and waits for the daemon to answer it.
+   *
+   * @param request Request to send
+   * @return Daemon's response.
+   * @throws IOException if the connection fails.
+   */
+  public Response solve(Request request) throws IOException {
+    request.write(out);
+    out.flush();
+    return Response.read(in);
+  }
+
+  @Override
+  public void close() throws IOException {
+    socket.close();
+  }
+
+  /**
+   * Solves a part of a day on the daemon listening on {@code -Dadventofcode.daemon.port} and prints the answer.  The
+   * input is a file, or standard input if it's '-', and is sent to the daemon inline.  Only files too big to send are
+   * sent as a path, which the daemon reads if it's under its input root.  Exits with 1 if the request didn't succeed.
+   *
+   * @param args Day, part and input
+   * @throws IOException if the daemon can't be reached or the input can't be read.
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length != 3) {
+      System.err.println("Usage: SolverClient <day> <part> <input file, or - for standard input>");
+      System.exit(2);
+    }
+
+    int day = Integer.parseInt(args[0]);
+    int part = Integer.parseInt(args[1]);
+    Request request;
+    if ("-".equals(args[2])) {
+      request = Request.ofBytes(day, part, ByteStreams.toByteArray(System.in), 0);
+    } else {
+      Path path = Paths.get(args[2]).toAbsolutePath();
+      request = Files.size(path) > Request.MAX_INLINE_BYTES
+          ? Request.ofPath(day, part, path.toString(), 0)
+          : Request.ofBytes(day, part, Files.readAllBytes(path), 0);
+    }
+
+    Response response;
+    try (SolverClient client = connect(Integer.getInteger("adventofcode.daemon.port", SolverDaemon.DEFAULT_PORT))) {
+      response = client.solve(request);
+    }
+
+    if (response.succeeded()) {
+      System.out.println(response.message);
+    } else {
+      System.err.println(response.status + ": " + response.message);
+      System.exit(1);
+    }
+  }
+}
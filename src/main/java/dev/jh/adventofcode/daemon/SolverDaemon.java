@@ -0,0 +1,290 @@
+package dev.jh.adventofcode.daemon;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import dev.jh.adventofcode.Solver;
+import dev.jh.adventofcode.SolverRunner;
+import dev.jh.adventofcode.Solvers;
+import dev.jh.adventofcode.execution.ExecutionContext;
+import dev.jh.adventofcode.input.Input;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Long-running server that keeps the solvers loaded, so solving an input costs the solve rather than JVM startup, class
+ * loading and JIT warm-up.  Clients connect over a loopback socket and send {@link Request}s one at a time, each
+ * answered with a {@link Response} - see {@link SolverClient}.  Only loopback connections are accepted, but any local
+ * user can connect, so the daemon gives away as little as it can.  Inputs are normally sent inline, and input files are
+ * only read from under the input root the daemon was started with - without one, it doesn't read files at all.  When
+ * solving fails, the response only says what kind of exception was thrown, since exception messages can quote the
+ * input.
+ *
+ * Requests are solved on a fixed pool of threads with a bounded queue, and are rejected when the queue is full.  A
+ * request that runs past its timeout is answered as timed out and its {@link ExecutionContext} is cancelled.  Solvers
+ * with long loops stop soon after, but the rest keep their thread busy until they finish.
+ */
+public class SolverDaemon implements Closeable {
+  static final int DEFAULT_PORT = 5318;
+  private static final long DEFAULT_TIMEOUT_MILLIS = 60_000;
+  private static final int DEFAULT_QUEUE_SIZE = 64;
+
+  private final ImmutableMap<Integer, Solver<?>> solvers;
+  private final long defaultTimeoutMillis;
+  /** Real path of the directory input files are read from, or null if they aren't read at all. */
+  private final Path inputRoot;
+  private final ServerSocket server;
+  private final ThreadPoolExecutor workers;
+  private final ExecutorService connections;
+  private final Set<Socket> sockets = ConcurrentHashMap.newKeySet();
+  private final CountDownLatch closed = new CountDownLatch(1);
+
+  private SolverDaemon(List<Solver<?>> solvers, ServerSocket server, int threads, int queueSize, long defaultTimeoutMillis,
+      Path inputRoot) {
+    this.solvers = solvers.stream().collect(ImmutableMap.toImmutableMap(Solver::day, Function.identity()));
+    this.server = server;
+    this.defaultTimeoutMillis = defaultTimeoutMillis;
+    this.inputRoot = inputRoot;
+    this.workers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueSize),
+        new ThreadFactoryBuilder().setNameFormat("solver-daemon-worker-%d").setDaemon(true).build());
+    this.connections = Executors.newCachedThreadPool(
+        new ThreadFactoryBuilder().setNameFormat("solver-daemon-connection-%d").setDaemon(true).build());
+  }
+
+  /**
+   * Starts a daemon listening on the loopback address.
+   *
+   * @param solvers Solvers to answer requests with, at most one per day
+   * @param port Port to listen on, or 0 for any free port
+   * @param threads Number of requests to solve at once
+   * @param queueSize Number of requests that can wait for a thread before requests are rejected
+   * @param defaultTimeoutMillis Timeout for requests that don't have their own
+   * @param inputRoot Directory that input files can be read from, or null to only accept inline inputs
+   * @return Running daemon, which must be closed.
+   * @throws IOException if the port can't be listened on, or the input root doesn't exist.
+   */
+  public static SolverDaemon start(List<Solver<?>> solvers, int port, int threads, int queueSize, long defaultTimeoutMillis,
+      Path inputRoot) throws IOException {
+    if (threads < 1 || queueSize < 1 || defaultTimeoutMillis < 1) {
+      throw new IllegalArgumentException("Threads, queue size and timeout must be positive: "
+          + threads + ", " + queueSize + ", " + defaultTimeoutMillis);
+    }
+    Path root = inputRoot == null ? null : inputRoot.toRealPath();
+
+    ServerSocket server = new ServerSocket();
+    server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+
+    SolverDaemon daemon = new SolverDaemon(solvers, server, threads, queueSize, defaultTimeoutMillis, root);
+    daemon.connections.execute(daemon::accept);
+    return daemon;
+  }
+
+  /**
+   * Returns the port the daemon is listening on.
+   *
+   * @return Port.
+   */
+  public int port() {
+    return server.getLocalPort();
+  }
+
+  private void accept() {
+    while (!server.isClosed()) {
+      try {
+        Socket socket = server.accept();
+        sockets.add(socket);
+        connections.execute(() -> serve(socket));
+      } catch (IOException | RejectedExecutionException e) {
+        // Closed.
+        return;
+      }
+    }
+  }
+
+  /**
+   * Answers requests on a connection until the client closes it.
+   */
+  private void serve(Socket socket) {
+    try (Socket s = socket) {
+      s.setTcpNoDelay(true);
+      DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream()));
+      DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()));
+
+      while (true) {
+        Request request;
+        try {
+          request = Request.read(in);
+        } catch (EOFException e) {
+          return;
+        }
+
+        handle(request).write(out);
+        out.flush();
+      }
+    } catch (SocketException e) {
+      // The client went away or the daemon is closing.
+    } catch (IOException e) {
+      // Malformed request - there's no way to get back in step with the client, so drop the connection.
+    } finally {
+      sockets.remove(socket);
+    }
+  }
+
+  Response handle(Request request) {
+    long start = System.nanoTime();
+
+    Solver<?> solver = solvers.get(request.day);
+    if (solver == null) {
+      return new Response(Response.Status.FAILED, "No solver for day " + request.day, System.nanoTime() - start);
+    }
+
+    long timeoutMillis = request.timeoutMillis > 0 ? request.timeoutMillis : defaultTimeoutMillis;
+    ExecutionContext context = ExecutionContext.withTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+
+    Future<String> answer;
+    try {
+      answer = workers.submit(() -> context.call(() -> solve(solver, request, inputRoot)));
+    } catch (RejectedExecutionException e) {
+      return new Response(Response.Status.REJECTED, "Too many requests waiting", System.nanoTime() - start);
+    }
+
+    try {
+      return new Response(Response.Status.OK, answer.get(timeoutMillis, TimeUnit.MILLISECONDS), System.nanoTime() - start);
+    } catch (TimeoutException e) {
+      context.cancel();
+      answer.cancel(true);
+      return new Response(Response.Status.TIMED_OUT, "No answer after " + timeoutMillis + " ms", System.nanoTime() - start);
+    } catch (ExecutionException e) {
+      return new Response(Response.Status.FAILED, failure(request, e.getCause()), System.nanoTime() - start);
+    } catch (InterruptedException e) {
+      context.cancel();
+      answer.cancel(true);
+      Thread.currentThread().interrupt();
+      return new Response(Response.Status.FAILED, "Interrupted", System.nanoTime() - start);
+    }
+  }
+
+  private static <T> String solve(Solver<T> solver, Request request, Path inputRoot) throws IOException {
+    T input;
+    try (Input in = request.open(inputRoot)) {
+      input = solver.parse(in);
+    }
+
+    return request.part == 1 ? solver.part1(input) : solver.part2(input);
+  }
+
+  /**
+   * Describes why a request failed without the exception's message, which can quote the input or name files the
+   * client isn't allowed to see.
+   */
+  private static String failure(Request request, Throwable cause) {
+    if (cause instanceof Request.RefusedInputException) {
+      return cause.getMessage();
+    }
+
+    return "Day " + request.day + " part " + request.part + " failed with " + cause.getClass().getSimpleName();
+  }
+
+  /**
+   * Returns the number of requests waiting for a thread.
+   */
+  int queued() {
+    return workers.getQueue().size();
+  }
+
+  /**
+   * Stops listening, drops every connection, and interrupts any requests being solved.
+   */
+  @Override
+  public void close() throws IOException {
+    server.close();
+    for (Socket socket : sockets) {
+      socket.close();
+    }
+    connections.shutdownNow();
+    workers.shutdownNow();
+    closed.countDown();
+  }
+
+  /**
+   * Waits until the daemon is closed.
+   *
+   * @throws InterruptedException if interrupted while waiting.
+   */
+  public void awaitClose() throws InterruptedException {
+    closed.await();
+  }
+
+  /**
+   * Starts a daemon and runs until the JVM is stopped.  The days given as arguments are solved against their bundled
+   * inputs first, so their code is already compiled when the first request comes in.
+   *
+   * The port is {@code -Dadventofcode.daemon.port} (5318 by default), the number of requests solved at once is
+   * {@code -Dadventofcode.daemon.threads} (one per core by default), and the default timeout is
+   * {@code -Dadventofcode.daemon.timeoutMillis} (a minute).  Input files are only read from under
+   * {@code -Dadventofcode.daemon.inputRoot}, and without it every input has to be sent inline.
+   *
+   * @param args Days to warm up
+   * @throws IOException if the port can't be listened on.
+   * @throws InterruptedException if interrupted while running.
+   */
+  public static void main(String[] args) throws IOException, InterruptedException {
+    ImmutableList<Solver<?>> solvers = Solvers.all();
+    String inputRoot = System.getProperty("adventofcode.daemon.inputRoot");
+
+    long start = System.nanoTime();
+    for (String arg : args) {
+      SolverRunner.solve(Solvers.forDay(Integer.parseInt(arg)));
+    }
+    if (args.length > 0) {
+      System.out.printf("Warmed up %d days in %.1f ms\n", args.length, (System.nanoTime() - start) / 1e6);
+    }
+
+    SolverDaemon daemon = start(
+        solvers,
+        Integer.getInteger("adventofcode.daemon.port", DEFAULT_PORT),
+        Integer.getInteger("adventofcode.daemon.threads", Runtime.getRuntime().availableProcessors()),
+        DEFAULT_QUEUE_SIZE,
+        Long.getLong("adventofcode.daemon.timeoutMillis", DEFAULT_TIMEOUT_MILLIS),
+        inputRoot == null ? null : Paths.get(inputRoot));
+    System.out.println("Solving " + solvers.size() + " days on " + InetAddress.getLoopbackAddress().getHostAddress()
+        + ":" + daemon.port());
+
+    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+      try {
+        daemon.close();
+      } catch (IOException e) {
+        // Exiting anyway.
+      }
+    }));
+    daemon.awaitClose();
+  }
+}
@@ -0,0 +1,110 @@
+package dev.jh.adventofcode.differential;
+
+import com.google.common.collect.ImmutableList;
+import dev.jh.adventofcode.Day15;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Checks the grid search that moves units in {@link Day15.Board#round()} against the original search over sets of
+ * positions in {@link Day15.Board#roundWithSets()}, by fighting whole battles with each.  Boards are open caves with
+ * scattered walls, so units have plenty of ties to break between equally close squares.  The size is the number of
+ * squares on the board.
+ */
+public class Day15ClosestCase implements DifferentialCase<ImmutableList<String>, String> {
+  /** Battles that stall, with units walled off from each other, are cut off after this many rounds. */
+  private static final int MAX_ROUNDS = 300;
+  private static final int MAX_SIDE = 40;
+  private static final double WALLS = 0.15;
+
+  @Override
+  public String name() {
+    return "day15.closest";
+  }
+
+  @Override
+  public ImmutableList<String> generate(Random random, int size) {
+    int side = Math.min(Math.max((int) Math.sqrt(size), 3), MAX_SIDE) + 2;
+    int units = 2 + size / 50;
+
+    char[][] squares = new char[side][side];
+    for (int y = 0; y < side; y ++) {
+      for (int x = 0; x < side; x ++) {
+        boolean edge = x == 0 || y == 0 || x == side - 1 || y == side - 1;
+        squares[y][x] = edge || random.nextDouble() < WALLS ? '#' : '.';
+      }
+    }
+    for (int i = 0; i < units; i ++) {
+      int x = 1 + random.nextInt(side - 2);
+      int y = 1 + random.nextInt(side - 2);
+      squares[y][x] = random.nextBoolean() ? 'E' : 'G';
+    }
+
+    return Stream.of(squares).map(String::new).collect(ImmutableList.toImmutableList());
+  }
+
+  @Override
+  public String reference(ImmutableList<String> lines) {
+    return fight(Day15.Board.parseLines(lines), Day15.Board::roundWithSets);
+  }
+
+  @Override
+  public String candidate(ImmutableList<String> lines) {
+    return fight(Day15.Board.parseLines(lines), Day15.Board::round);
+  }
+
+  /**
+   * Fights the battle, describing where it ended up - the number of complete rounds, each unit's hit points in
+   * reading order, and the board.
+   */
+  private static String fight(Day15.Board board, Function<Day15.Board, Day15.Round> round) {
+    int rounds = 0;
+    for (int i = 0; i < MAX_ROUNDS && !board.isOver(); i ++) {
+      Day15.Round next = round.apply(board);
+      if (next.completed) {
+        rounds ++;
+      }
+      board = next.board;
+    }
+
+    return rounds + " rounds: " + board.units.stream()
+        .sorted(Comparator.comparing(unit -> unit.position))
+        .map(unit -> unit.type.name + "(" + unit.hp + ")")
+        .collect(Collectors.joining(", ")) + "\n" + board;
+  }
+
+  /**
+   * Takes units off the board one at a time.
+   */
+  @Override
+  public Stream<ImmutableList<String>> shrink(ImmutableList<String> lines) {
+    int width = lines.get(0).length();
+    return IntStream.range(0, lines.size() * width)
+        .filter(square -> isUnit(lines.get(square / width).charAt(square % width)))
+        .mapToObj(square -> {
+          ImmutableList.Builder<String> smaller = ImmutableList.builder();
+          for (int y = 0; y < lines.size(); y ++) {
+            StringBuilder line = new StringBuilder(lines.get(y));
+            if (y == square / width) {
+              line.setCharAt(square % width, '.');
+            }
+            smaller.add(line.toString());
+          }
+          return smaller.build();
+        });
+  }
+
+  private static boolean isUnit(char square) {
+    return square == 'E' || square == 'G';
+  }
+
+  @Override
+  public String describe(ImmutableList<String> lines) {
+    return String.join("\n", lines);
+  }
+}
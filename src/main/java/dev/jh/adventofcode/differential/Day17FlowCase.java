@@ -0,0 +1,159 @@
+package dev.jh.adventofcode.differential;
+
+import com.google.common.collect.ImmutableList;
+import dev.jh.adventofcode.Day17;
+import dev.jh.adventofcode.grid.ByteGrid;
+import dev.jh.adventofcode.grid.GridLayout;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Checks the mask flow on the flat padded grid in {@link Day17.Grid#flow()} against the original flow over an array of
+ * squares, which checks every mask against the grid's bounds and queues points as objects.  Both apply the same
+ * {@link Day17#MASKS}, so this checks the grid port rather than the masks.  Scans are a mix of buckets and loose veins
+ * around the spring, so water falls, spreads, overflows and pools.  The size is the number of veins.
+ */
+public class Day17FlowCase implements DifferentialCase<ImmutableList<String>, String> {
+  private static final Day17.Square[] SQUARES = Day17.Square.values();
+  private static final int MAX_VEIN_LENGTH = 8;
+
+  @Override
+  public String name() {
+    return "day17.flow";
+  }
+
+  @Override
+  public ImmutableList<String> generate(Random random, int size) {
+    int halfWidth = 8 + size / 2;
+    int depth = 10 + size;
+
+    ImmutableList.Builder<String> veins = ImmutableList.builder();
+    // Veins at both sides keep the spring over the scan.
+    veins.add("x=" + (500 - halfWidth) + ", y=" + depth + ".." + depth);
+    veins.add("x=" + (500 + halfWidth) + ", y=" + depth + ".." + depth);
+
+    for (int i = 0; i < size; i ++) {
+      // Most veins are near the spring, where the water falls.
+      int x = (int) Math.max(500 - halfWidth, Math.min(500 + halfWidth - 1, 500 + random.nextGaussian() * halfWidth / 3));
+      int y = 1 + random.nextInt(depth);
+      int length = 1 + random.nextInt(MAX_VEIN_LENGTH);
+
+      if (random.nextBoolean()) {
+        // Bucket, with its walls up from the ends of its floor.
+        int height = 1 + random.nextInt(MAX_VEIN_LENGTH);
+        veins.add("y=" + (y + height) + ", x=" + x + ".." + (x + length));
+        veins.add("x=" + x + ", y=" + y + ".." + (y + height));
+        veins.add("x=" + (x + length) + ", y=" + y + ".." + (y + height));
+      } else if (random.nextBoolean()) {
+        veins.add("y=" + y + ", x=" + x + ".." + (x + length));
+      } else {
+        veins.add("x=" + x + ", y=" + y + ".." + (y + length));
+      }
+    }
+
+    return veins.build();
+  }
+
+  @Override
+  public String reference(ImmutableList<String> veins) {
+    Day17.Grid parsed = Day17.parseLines(veins);
+    GridLayout layout = parsed.grid.layout;
+    Day17.Square[][] grid = new Day17.Square[layout.height][layout.width];
+    for (int y = 0; y < layout.height; y ++) {
+      for (int x = 0; x < layout.width; x ++) {
+        grid[y][x] = SQUARES[parsed.grid.get(x, y)];
+      }
+    }
+
+    Queue<Day17.Point> points = new ArrayDeque<>();
+    points.add(new Day17.Point(500 - parsed.offset.x, 0));
+
+    while (!points.isEmpty()) {
+      Day17.Point point = points.remove();
+
+      for (Day17.Mask mask : Day17.MASKS) {
+        if (canApply(mask, grid, point)) {
+          apply(mask, grid, point);
+          for (Day17.Point next : mask.nextPoints) {
+            points.add(new Day17.Point(point.x + next.x, point.y + next.y));
+          }
+          break;
+        }
+      }
+    }
+
+    StringBuilder squares = new StringBuilder();
+    for (Day17.Square[] row : grid) {
+      for (Day17.Square square : row) {
+        squares.append(square.name);
+      }
+      squares.append('\n');
+    }
+
+    return squares.toString();
+  }
+
+  private static boolean canApply(Day17.Mask mask, Day17.Square[][] grid, Day17.Point point) {
+    int top = point.y - mask.registration.y;
+    int left = point.x - mask.registration.x;
+    if (top < 0 || left < 0 || top + mask.pattern.length > grid.length || left + mask.pattern[0].length > grid[0].length) {
+      return false;
+    }
+
+    for (int y = 0; y < mask.pattern.length; y ++) {
+      for (int x = 0; x < mask.pattern[y].length; x ++) {
+        if (grid[top + y][left + x].ordinal() != mask.pattern[y][x]) {
+          return false;
+        }
+      }
+    }
+
+    return true;
+  }
+
+  private static void apply(Day17.Mask mask, Day17.Square[][] grid, Day17.Point point) {
+    int top = point.y - mask.registration.y;
+    int left = point.x - mask.registration.x;
+    for (int y = 0; y < mask.result.length; y ++) {
+      for (int x = 0; x < mask.result[y].length; x ++) {
+        grid[top + y][left + x] = SQUARES[mask.result[y][x]];
+      }
+    }
+  }
+
+  @Override
+  public String candidate(ImmutableList<String> veins) {
+    ByteGrid grid = Day17.parseLines(veins).flow().grid;
+
+    StringBuilder squares = new StringBuilder();
+    for (int y = 0; y < grid.layout.height; y ++) {
+      for (int x = 0; x < grid.layout.width; x ++) {
+        squares.append(SQUARES[grid.get(x, y)].name);
+      }
+      squares.append('\n');
+    }
+
+    return squares.toString();
+  }
+
+  /**
+   * Takes veins out of the scan one at a time, keeping the two that hold the spring over it.
+   */
+  @Override
+  public Stream<ImmutableList<String>> shrink(ImmutableList<String> veins) {
+    return IntStream.range(2, veins.size())
+        .mapToObj(i -> ImmutableList.<String>builder()
+            .addAll(veins.subList(0, i))
+            .addAll(veins.subList(i + 1, veins.size()))
+            .build());
+  }
+
+  @Override
+  public String describe(ImmutableList<String> veins) {
+    return String.join("\n", veins);
+  }
+}
@@ -0,0 +1,99 @@
+package dev.jh.adventofcode.differential;
+
+import com.google.common.primitives.ImmutableIntArray;
+import dev.jh.adventofcode.Day1;
+
+import java.util.HashSet;
+import java.util.OptionalLong;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Checks {@link Day1#firstRepeatedFrequency}, which works the repeat out from the first pass, against simulating the
+ * passes.  Inputs drift by only a little each pass, or not at all, so repeats tend to take many passes, and some inputs
+ * never repeat.  The size is the number of changes.
+ */
+public class Day1FirstRepeatCase implements DifferentialCase<ImmutableIntArray, OptionalLong> {
+  private static final int MAX_DRIFT = 3;
+
+  @Override
+  public String name() {
+    return "day1.firstRepeatedFrequency";
+  }
+
+  @Override
+  public ImmutableIntArray generate(Random random, int size) {
+    int[] changes = new int[Math.max(size, 1)];
+    int total = 0;
+    for (int i = 0; i < changes.length - 1; i ++) {
+      changes[i] = random.nextInt(2 * size + 1) - size;
+      total += changes[i];
+    }
+
+    changes[changes.length - 1] = random.nextInt(2 * MAX_DRIFT + 1) - MAX_DRIFT - total;
+    return ImmutableIntArray.copyOf(changes);
+  }
+
+  /**
+   * Simulates passes until a frequency repeats.  Every pass covers the first pass's range shifted by the total, so once
+   * the passes have drifted across that whole range nothing new can line up, and there's no repeat.
+   */
+  @Override
+  public OptionalLong reference(ImmutableIntArray changes) {
+    long min = 0;
+    long max = 0;
+    long total = 0;
+    for (int i = 0; i < changes.length(); i ++) {
+      total += changes.get(i);
+      min = Math.min(min, total);
+      max = Math.max(max, total);
+    }
+
+    long passes = total == 0 ? 2 : (max - min) / Math.abs(total) + 2;
+    Set<Long> seen = new HashSet<>();
+    long frequency = 0;
+    seen.add(frequency);
+    for (long pass = 0; pass < passes; pass ++) {
+      for (int i = 0; i < changes.length(); i ++) {
+        frequency += changes.get(i);
+        if (!seen.add(frequency)) {
+          return OptionalLong.of(frequency);
+        }
+      }
+    }
+
+    return OptionalLong.empty();
+  }
+
+  @Override
+  public OptionalLong candidate(ImmutableIntArray changes) {
+    return Day1.firstRepeatedFrequency(changes);
+  }
+
+  /**
+   * Removes runs of changes - first each half, then each quarter, down to each single change.
+   */
+  @Override
+  public Stream<ImmutableIntArray> shrink(ImmutableIntArray changes) {
+    int length = changes.length();
+    return IntStream.iterate(length / 2, chunk -> chunk / 2)
+        .limit(32)
+        .filter(chunk -> chunk > 0)
+        .distinct()
+        .boxed()
+        .flatMap(chunk -> IntStream.iterate(0, start -> start + chunk)
+            .limit((length + chunk - 1) / chunk)
+            .mapToObj(start -> ImmutableIntArray.builder(length)
+                .addAll(changes.subArray(0, start))
+                .addAll(changes.subArray(Math.min(start + chunk, length), length))
+                .build()))
+        .filter(smaller -> !smaller.isEmpty());
+  }
+
+  @Override
+  public String describe(ImmutableIntArray changes) {
+    return changes.toString();
+  }
+}
@@ -0,0 +1,85 @@
+package dev.jh.adventofcode.differential;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMultiset;
+import com.google.common.collect.ImmutableSet;
+import dev.jh.adventofcode.Day2;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Checks the masked hash index in {@link Day2#allCloseBoxIds} against comparing every pair of distinct ids.  Ids are
+ * short and use only a few letters, so there are plenty of close pairs, repeated ids, and ids that share a masked hash.
+ * The size is the number of ids.
+ */
+public class Day2CloseBoxIdsCase implements DifferentialCase<ImmutableList<String>, ImmutableMultiset<Day2.CloseBoxIds>> {
+  private static final int LENGTH = 6;
+  private static final int LETTERS = 3;
+
+  @Override
+  public String name() {
+    return "day2.allCloseBoxIds";
+  }
+
+  @Override
+  public ImmutableList<String> generate(Random random, int size) {
+    ImmutableList.Builder<String> boxIds = ImmutableList.builder();
+    for (int i = 0; i < size; i ++) {
+      char[] boxId = new char[LENGTH];
+      for (int position = 0; position < LENGTH; position ++) {
+        boxId[position] = (char) ('a' + random.nextInt(LETTERS));
+      }
+      boxIds.add(new String(boxId));
+    }
+
+    return boxIds.build();
+  }
+
+  @Override
+  public ImmutableMultiset<Day2.CloseBoxIds> reference(ImmutableList<String> boxIds) {
+    // Repeated ids are only reported from their first copy.
+    ImmutableList<String> distinct = ImmutableSet.copyOf(boxIds).asList();
+    ImmutableMultiset.Builder<Day2.CloseBoxIds> close = ImmutableMultiset.builder();
+    for (int i = 0; i < distinct.size(); i ++) {
+      for (int j = i + 1; j < distinct.size(); j ++) {
+        Day2.CloseBoxIds pair = new Day2.CloseBoxIds(distinct.get(i), distinct.get(j));
+        if (Day2.commonLetters(pair).length() == pair.left.length() - 1) {
+          close.add(pair);
+        }
+      }
+    }
+
+    return close.build();
+  }
+
+  @Override
+  public ImmutableMultiset<Day2.CloseBoxIds> candidate(ImmutableList<String> boxIds) {
+    return ImmutableMultiset.copyOf(Day2.allCloseBoxIds(boxIds));
+  }
+
+  /**
+   * Removes runs of ids - first each half, then each quarter, down to each single id.
+   */
+  @Override
+  public Stream<ImmutableList<String>> shrink(ImmutableList<String> boxIds) {
+    int size = boxIds.size();
+    return IntStream.iterate(size / 2, chunk -> chunk / 2)
+        .limit(32)
+        .filter(chunk -> chunk > 0)
+        .distinct()
+        .boxed()
+        .flatMap(chunk -> IntStream.iterate(0, start -> start + chunk)
+            .limit((size + chunk - 1) / chunk)
+            .mapToObj(start -> ImmutableList.<String>builder()
+                .addAll(boxIds.subList(0, start))
+                .addAll(boxIds.subList(Math.min(start + chunk, size), size))
+                .build()));
+  }
+
+  @Override
+  public String describe(ImmutableList<String> boxIds) {
+    return boxIds.toString();
+  }
+}
@@ -0,0 +1,76 @@
+package dev.jh.adventofcode.differential;
+
+import com.google.common.collect.ImmutableList;
+import dev.jh.adventofcode.Day3;
+
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Checks {@link Day3.Sweep} against laying the claims out on a {@link Day3.Fabric}.  Claims are small and crowded onto
+ * a small piece of fabric, so plenty of them overlap, share or touch edges, or have no area at all.  The size is the
+ * number of claims.
+ */
+public class Day3SweepCase implements DifferentialCase<ImmutableList<Day3.Claim>, String> {
+  private static final int SIDE = 64;
+  private static final int MAX_CLAIM_SIDE = 12;
+
+  @Override
+  public String name() {
+    return "day3.sweep";
+  }
+
+  @Override
+  public ImmutableList<Day3.Claim> generate(Random random, int size) {
+    ImmutableList.Builder<Day3.Claim> claims = ImmutableList.builder();
+    for (int i = 0; i < size; i ++) {
+      claims.add(new Day3.Claim("#" + (i + 1), random.nextInt(SIDE) - SIDE / 2, random.nextInt(SIDE) - SIDE / 2,
+          random.nextInt(MAX_CLAIM_SIDE), random.nextInt(MAX_CLAIM_SIDE)));
+    }
+
+    return claims.build();
+  }
+
+  @Override
+  public String reference(ImmutableList<Day3.Claim> claims) {
+    Day3.Fabric fabric = Day3.Fabric.layout(claims);
+    return fabric.overlappingSquares() + " " + claims.stream()
+        .filter(claim -> !fabric.overlaps(claim))
+        .map(claim -> claim.id)
+        .collect(Collectors.joining(", ", "[", "]"));
+  }
+
+  @Override
+  public String candidate(ImmutableList<Day3.Claim> claims) {
+    Day3.Sweep sweep = Day3.Sweep.of(claims);
+    return sweep.overlappingArea() + " " + sweep.nonOverlappingClaims().stream()
+        .map(claim -> claim.id)
+        .collect(Collectors.joining(", ", "[", "]"));
+  }
+
+  /**
+   * Removes runs of claims - first each half, then each quarter, down to each single claim.
+   */
+  @Override
+  public Stream<ImmutableList<Day3.Claim>> shrink(ImmutableList<Day3.Claim> claims) {
+    int size = claims.size();
+    return IntStream.iterate(size / 2, chunk -> chunk / 2)
+        .limit(32)
+        .filter(chunk -> chunk > 0)
+        .distinct()
+        .boxed()
+        .flatMap(chunk -> IntStream.iterate(0, start -> start + chunk)
+            .limit((size + chunk - 1) / chunk)
+            .mapToObj(start -> ImmutableList.<Day3.Claim>builder()
+                .addAll(claims.subList(0, start))
+                .addAll(claims.subList(Math.min(start + chunk, size), size))
+                .build()));
+  }
+
+  @Override
+  public String describe(ImmutableList<Day3.Claim> claims) {
+    return claims.toString();
+  }
+}
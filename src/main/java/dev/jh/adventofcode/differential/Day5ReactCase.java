@@ -0,0 +1,61 @@
+package dev.jh.adventofcode.differential;
+
+import dev.jh.adventofcode.Day5;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Checks the single pass {@link Day5#react} against the original {@link Day5#reactMultiPass}.  Polymers only use a
+ * few unit types, so most units react, often in long chains.
+ */
+public class Day5ReactCase implements DifferentialCase<String, String> {
+  private static final int UNIT_TYPES = 4;
+
+  @Override
+  public String name() {
+    return "day5.react";
+  }
+
+  @Override
+  public String generate(Random random, int size) {
+    char[] polymer = new char[size];
+    for (int i = 0; i < size; i ++) {
+      char unit = (char) ('a' + random.nextInt(UNIT_TYPES));
+      polymer[i] = random.nextBoolean() ? Character.toUpperCase(unit) : unit;
+    }
+
+    return new String(polymer);
+  }
+
+  @Override
+  public String reference(String polymer) {
+    return Day5.reactMultiPass(polymer);
+  }
+
+  @Override
+  public String candidate(String polymer) {
+    return Day5.react(polymer);
+  }
+
+  /**
+   * Removes runs of units - first each half, then each quarter, down to each single unit.
+   */
+  @Override
+  public Stream<String> shrink(String polymer) {
+    return IntStream.iterate(polymer.length() / 2, chunk -> chunk / 2)
+        .limit(32)
+        .filter(chunk -> chunk > 0)
+        .distinct()
+        .boxed()
+        .flatMap(chunk -> IntStream.iterate(0, start -> start + chunk)
+            .limit((polymer.length() + chunk - 1) / chunk)
+            .mapToObj(start -> polymer.substring(0, start) + polymer.substring(Math.min(start + chunk, polymer.length()))));
+  }
+
+  @Override
+  public String describe(String polymer) {
+    return "\"" + polymer + "\"";
+  }
+}
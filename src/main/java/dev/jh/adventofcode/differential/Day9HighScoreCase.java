@@ -0,0 +1,51 @@
+package dev.jh.adventofcode.differential;
+
+import dev.jh.adventofcode.Day9;
+import dev.jh.adventofcode.execution.ExecutionContext;
+
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Checks the array ring in {@link Day9#highScore} against the original ring of marble objects in
+ * {@link Day9#highScoreWithMarbles}.  The size is the last marble.
+ */
+public class Day9HighScoreCase implements DifferentialCase<Day9.Game, Long> {
+  private static final int MAX_PLAYERS = 500;
+
+  @Override
+  public String name() {
+    return "day9.highScore";
+  }
+
+  @Override
+  public Day9.Game generate(Random random, int size) {
+    return new Day9.Game(1 + random.nextInt(MAX_PLAYERS), size);
+  }
+
+  @Override
+  public Long reference(Day9.Game game) {
+    return Day9.highScoreWithMarbles(game.numPlayers, game.lastMarble);
+  }
+
+  @Override
+  public Long candidate(Day9.Game game) {
+    return Day9.highScore(game.numPlayers, game.lastMarble, ExecutionContext.unbounded());
+  }
+
+  @Override
+  public Stream<Day9.Game> shrink(Day9.Game game) {
+    return Stream.of(
+        new Day9.Game(game.numPlayers, game.lastMarble / 2),
+        new Day9.Game(Math.max(game.numPlayers / 2, 1), game.lastMarble),
+        new Day9.Game(game.numPlayers, game.lastMarble - 1),
+        new Day9.Game(game.numPlayers - 1, game.lastMarble))
+        .filter(smaller -> smaller.numPlayers >= 1 && smaller.lastMarble >= 0)
+        .filter(smaller -> smaller.numPlayers != game.numPlayers || smaller.lastMarble != game.lastMarble);
+  }
+
+  @Override
+  public String describe(Day9.Game game) {
+    return game.numPlayers + " players; last marble is worth " + game.lastMarble + " points";
+  }
+}
@@ -0,0 +1,68 @@
+package dev.jh.adventofcode.differential;
+
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Pair of implementations of the same function - a straightforward reference that's trusted to be right, and a
+ * faster candidate that's checked against it on random inputs by {@link DifferentialHarness}.  Cases are registered in
+ * {@code META-INF/services/dev.jh.adventofcode.differential.DifferentialCase}.
+ *
+ * @param <I> Type of the inputs
+ * @param <O> Type of the outputs, which are compared with equals
+ */
+public interface DifferentialCase<I, O> {
+  /**
+   * Returns the name of the case, like 'day5.react'.
+   *
+   * @return Name of the case.
+   */
+  String name();
+
+  /**
+   * Generates a random input of roughly the given size.  The input must only depend on the random numbers, so it can
+   * be generated again from the seed.
+   *
+   * @param random Source of randomness
+   * @param size Size of the input, in whatever unit makes sense for the case
+   * @return Random input.
+   */
+  I generate(Random random, int size);
+
+  /**
+   * Runs the reference implementation.
+   *
+   * @param input Input to run on
+   * @return Expected output.
+   */
+  O reference(I input);
+
+  /**
+   * Runs the implementation being checked.
+   *
+   * @param input Input to run on
+   * @return Output, which should equal the reference's.
+   */
+  O candidate(I input);
+
+  /**
+   * Returns inputs that are a little smaller than the given input, for narrowing a mismatch down to a small
+   * reproducer.  The smallest changes should come last, since the first input that still mismatches is taken.
+   *
+   * @param input Input to shrink
+   * @return Smaller inputs, or nothing if the input can't be shrunk.
+   */
+  default Stream<I> shrink(I input) {
+    return Stream.empty();
+  }
+
+  /**
+   * Describes an input well enough to reproduce it, for reporting mismatches.
+   *
+   * @param input Input to describe
+   * @return Description of the input.
+   */
+  default String describe(I input) {
+    return String.valueOf(input);
+  }
+}
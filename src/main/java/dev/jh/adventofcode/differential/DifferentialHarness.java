@@ -0,0 +1,291 @@
+package dev.jh.adventofcode.differential;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Random;
+import java.util.ServiceLoader;
+import java.util.stream.StreamSupport;
+
+/**
+ * Runs the reference and candidate of a {@link DifferentialCase} side by side on random inputs of increasing size.
+ * When the outputs differ, the input is shrunk to the smallest one that still differs, so the report has a small
+ * reproducer.  The time each implementation took is recorded per size, so the speedup can be seen growing with the
+ * input.  The times are rough - each call is timed once after a short warm-up - so use JMH for real numbers.
+ */
+public class DifferentialHarness {
+  /** Most inputs to try when shrinking a mismatch. */
+  private static final int MAX_SHRINK_ATTEMPTS = 10_000;
+  private static final int WARMUP_TRIALS = 20;
+
+  /**
+   * Times for one size.
+   */
+  public static class SizeResult {
+    public final int size;
+    public final int trials;
+    public final long referenceNanos;
+    public final long candidateNanos;
+
+    public SizeResult(int size, int trials, long referenceNanos, long candidateNanos) {
+      this.size = size;
+      this.trials = trials;
+      this.referenceNanos = referenceNanos;
+      this.candidateNanos = candidateNanos;
+    }
+
+    /**
+     * Returns how many times faster the candidate was than the reference.
+     *
+     * @return Reference time over candidate time.
+     */
+    public double speedup() {
+      return candidateNanos == 0 ? Double.POSITIVE_INFINITY : (double) referenceNanos / candidateNanos;
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+          .add("size", size)
+          .add("trials", trials)
+          .add("referenceNanos", referenceNanos)
+          .add("candidateNanos", candidateNanos)
+          .toString();
+    }
+  }
+
+  /**
+   * Input that the implementations disagree on.
+   */
+  public static class Mismatch {
+    public final int size;
+    /** Seed that generates the original input at this size. */
+    public final long seed;
+    public final String original;
+    public final String minimized;
+    public final String expected;
+    public final String actual;
+
+    public Mismatch(int size, long seed, String original, String minimized, String expected, String actual) {
+      this.size = size;
+      this.seed = seed;
+      this.original = original;
+      this.minimized = minimized;
+      this.expected = expected;
+      this.actual = actual;
+    }
+
+    @Override
+    public String toString() {
+      return "Mismatch at size " + size + " with seed " + seed + "\n"
+          + "  reproducer: " + minimized + "\n"
+          + "  expected:   " + expected + "\n"
+          + "  actual:     " + actual;
+    }
+  }
+
+  /**
+   * Outcome of running a case - the times for each size that was run, and the first mismatch if there was one.  Sizes
+   * after a mismatch aren't run.
+   */
+  public static class Report {
+    public final String name;
+    public final ImmutableList<SizeResult> sizes;
+    public final Optional<Mismatch> mismatch;
+
+    public Report(String name, ImmutableList<SizeResult> sizes, Optional<Mismatch> mismatch) {
+      this.name = name;
+      this.sizes = sizes;
+      this.mismatch = mismatch;
+    }
+
+    public boolean passed() {
+      return !mismatch.isPresent();
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder bldr = new StringBuilder();
+      for (SizeResult size : sizes) {
+        bldr.append(String.format("%-20s  %8d  %6d  %12.3f  %12.3f  %8.2fx\n",
+            name, size.size, size.trials, size.referenceNanos / 1e6, size.candidateNanos / 1e6, size.speedup()));
+      }
+      mismatch.ifPresent(m -> bldr.append(name).append(": ").append(m).append('\n'));
+      return bldr.toString();
+    }
+  }
+
+  private DifferentialHarness() {
+  }
+
+  /**
+   * Returns every registered case.
+   *
+   * @return All cases.
+   */
+  public static ImmutableList<DifferentialCase<?, ?>> cases() {
+    return StreamSupport.stream(ServiceLoader.load(DifferentialCase.class).spliterator(), false)
+        .map(c -> (DifferentialCase<?, ?>) c)
+        .collect(ImmutableList.toImmutableList());
+  }
+
+  /**
+   * Runs a case on random inputs of each size, stopping at the first mismatch.
+   *
+   * @param differentialCase Case to run
+   * @param sizes Input sizes, in increasing order
+   * @param trials Number of inputs to try at each size
+   * @param seed Seed for the inputs
+   * @param <I> Type of the inputs
+   * @param <O> Type of the outputs
+   * @return Report of the times and any mismatch.
+   */
+  public static <I, O> Report run(DifferentialCase<I, O> differentialCase, int[] sizes, int trials, long seed) {
+    Random seeds = new Random(seed);
+
+    // Give the JIT a chance to compile both implementations before anything is timed.
+    if (sizes.length > 0) {
+      for (int i = 0; i < WARMUP_TRIALS; i ++) {
+        I input = differentialCase.generate(new Random(seeds.nextLong()), sizes[0]);
+        differentialCase.reference(input);
+        differentialCase.candidate(input);
+      }
+    }
+
+    ImmutableList.Builder<SizeResult> results = ImmutableList.builder();
+    for (int size : sizes) {
+      long referenceNanos = 0;
+      long candidateNanos = 0;
+
+      for (int trial = 0; trial < trials; trial ++) {
+        long trialSeed = seeds.nextLong();
+        I input = differentialCase.generate(new Random(trialSeed), size);
+
+        long start = System.nanoTime();
+        Outcome expected = Outcome.of(() -> differentialCase.reference(input));
+        long middle = System.nanoTime();
+        Outcome actual = Outcome.of(() -> differentialCase.candidate(input));
+        long end = System.nanoTime();
+
+        referenceNanos += middle - start;
+        candidateNanos += end - middle;
+
+        if (!expected.equals(actual)) {
+          results.add(new SizeResult(size, trial + 1, referenceNanos, candidateNanos));
+          return new Report(differentialCase.name(), results.build(),
+              Optional.of(mismatch(differentialCase, size, trialSeed, input)));
+        }
+      }
+
+      results.add(new SizeResult(size, trials, referenceNanos, candidateNanos));
+    }
+
+    return new Report(differentialCase.name(), results.build(), Optional.empty());
+  }
+
+  /**
+   * Shrinks a mismatching input by repeatedly taking the first smaller input that still mismatches.
+   */
+  private static <I, O> Mismatch mismatch(DifferentialCase<I, O> differentialCase, int size, long seed, I input) {
+    I minimized = input;
+    int attempts = 0;
+
+    boolean shrunk = true;
+    while (shrunk && attempts < MAX_SHRINK_ATTEMPTS) {
+      shrunk = false;
+
+      Iterator<I> smaller = differentialCase.shrink(minimized).iterator();
+      while (smaller.hasNext() && attempts < MAX_SHRINK_ATTEMPTS) {
+        I candidate = smaller.next();
+        attempts ++;
+
+        if (!mismatches(differentialCase, candidate)) {
+          continue;
+        }
+
+        minimized = candidate;
+        shrunk = true;
+        break;
+      }
+    }
+
+    I reproducer = minimized;
+    return new Mismatch(size, seed, differentialCase.describe(input), differentialCase.describe(reproducer),
+        Outcome.of(() -> differentialCase.reference(reproducer)).toString(),
+        Outcome.of(() -> differentialCase.candidate(reproducer)).toString());
+  }
+
+  private static <I, O> boolean mismatches(DifferentialCase<I, O> differentialCase, I input) {
+    return !Outcome.of(() -> differentialCase.reference(input)).equals(Outcome.of(() -> differentialCase.candidate(input)));
+  }
+
+  /**
+   * Output of an implementation, or the type of exception it threw - implementations agree if they throw the same type
+   * of exception.
+   */
+  private static class Outcome {
+    private final Object value;
+    private final Class<?> thrown;
+
+    private Outcome(Object value, Class<?> thrown) {
+      this.value = value;
+      this.thrown = thrown;
+    }
+
+    private interface Call {
+      Object call();
+    }
+
+    static Outcome of(Call call) {
+      try {
+        return new Outcome(call.call(), null);
+      } catch (RuntimeException | StackOverflowError e) {
+        return new Outcome(null, e.getClass());
+      }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      Outcome outcome = (Outcome) o;
+      return Objects.equals(value, outcome.value) &&
+          Objects.equals(thrown, outcome.thrown);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(value, thrown);
+    }
+
+    @Override
+    public String toString() {
+      return thrown != null ? "threw " + thrown.getName() : String.valueOf(value);
+    }
+  }
+
+  /**
+   * Runs every registered case at sizes from 10 to 100,000 and prints the times, speedups and any mismatches.
+   *
+   * @param args Seed, which defaults to 1
+   */
+  public static void main(String[] args) {
+    long seed = args.length > 0 ? Long.parseLong(args[0]) : 1;
+    int[] sizes = {10, 100, 1_000, 10_000, 100_000};
+
+    System.out.printf("%-20s  %8s  %6s  %12s  %12s  %9s\n", "Case", "Size", "Trials", "Reference ms", "Candidate ms", "Speedup");
+    boolean passed = true;
+    for (DifferentialCase<?, ?> differentialCase : cases()) {
+      Report report = run(differentialCase, sizes, 10, seed);
+      System.out.print(report);
+      passed &= report.passed();
+    }
+
+    if (!passed) {
+      System.exit(1);
+    }
+  }
+}
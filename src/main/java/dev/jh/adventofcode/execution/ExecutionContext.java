@@ -0,0 +1,196 @@
+package dev.jh.adventofcode.execution;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Budget and progress for a long-running loop.  The loop calls {@link #tick()} once per iteration, which only counts
+ * the iteration - every {@value #CHECK_INTERVAL} iterations it checks whether the context has been cancelled or is past
+ * its deadline, and throws a {@link CancellationException} if it has, and reports progress when it's due.  Loops with
+ * slow iterations call {@link #check()} to check straight away.
+ *
+ * A context is ticked by one thread at a time, but can be cancelled from any thread.  Solvers can't take a context
+ * as an argument, so they use the one bound to the current thread with {@link #call} or {@link #run}, which is an
+ * unbounded context unless something else was bound.
+ */
+public class ExecutionContext {
+  /** Number of ticks between checks - a power of two. */
+  static final int CHECK_INTERVAL = 1024;
+
+  private static final long NO_DEADLINE = Long.MAX_VALUE;
+  private static final ThreadLocal<ExecutionContext> CURRENT = ThreadLocal.withInitial(ExecutionContext::unbounded);
+
+  private final long deadlineNanos;
+  private volatile boolean cancelled;
+
+  private Consumer<Progress> progressListener;
+  private long progressIntervalNanos;
+  private long nextProgressNanos;
+
+  private String task = "";
+  private long total = -1;
+  private long iterations;
+  private long taskStartNanos;
+
+  private ExecutionContext(long deadlineNanos) {
+    this.deadlineNanos = deadlineNanos;
+    this.taskStartNanos = System.nanoTime();
+  }
+
+  /**
+   * Returns a context without a deadline, which only stops if it's cancelled.
+   *
+   * @return New context.
+   */
+  public static ExecutionContext unbounded() {
+    return new ExecutionContext(NO_DEADLINE);
+  }
+
+  /**
+   * Returns a context that stops once the given time has passed, starting now.
+   *
+   * @param timeout Time until the deadline
+   * @param unit Unit of the timeout
+   * @return New context.
+   */
+  public static ExecutionContext withTimeout(long timeout, TimeUnit unit) {
+    if (timeout <= 0) {
+      throw new IllegalArgumentException("Timeout must be positive: " + timeout);
+    }
+
+    return new ExecutionContext(System.nanoTime() + unit.toNanos(timeout));
+  }
+
+  /**
+   * Reports progress to the given listener at most once per interval, from the thread running the loop.  Progress is
+   * only reported when the context is checked, so the listener isn't called at all by quick loops.
+   *
+   * @param listener Listener to report progress to
+   * @param interval Least time between reports
+   * @param unit Unit of the interval
+   * @return This context.
+   */
+  public ExecutionContext reportingProgress(Consumer<Progress> listener, long interval, TimeUnit unit) {
+    this.progressListener = listener;
+    this.progressIntervalNanos = unit.toNanos(interval);
+    this.nextProgressNanos = System.nanoTime() + progressIntervalNanos;
+    return this;
+  }
+
+  /**
+   * Returns the context bound to the current thread.
+   *
+   * @return Current context.
+   */
+  public static ExecutionContext current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * Does the given work with this context bound to the current thread, then restores the context that was bound
+   * before.
+   *
+   * @param work Work to do under this context
+   * @param <T> Type of the result
+   * @return Result of the work.
+   * @throws Exception if the work throws one.
+   */
+  public <T> T call(Callable<T> work) throws Exception {
+    ExecutionContext previous = CURRENT.get();
+    CURRENT.set(this);
+    try {
+      return work.call();
+    } finally {
+      CURRENT.set(previous);
+    }
+  }
+
+  /**
+   * Does the given work with this context bound to the current thread, then restores the context that was bound
+   * before.
+   *
+   * @param work Work to do under this context
+   */
+  public void run(Runnable work) {
+    ExecutionContext previous = CURRENT.get();
+    CURRENT.set(this);
+    try {
+      work.run();
+    } finally {
+      CURRENT.set(previous);
+    }
+  }
+
+  /**
+   * Cancels the context, so the loop using it stops at its next check.  Safe to call from any thread.
+   */
+  public void cancel() {
+    cancelled = true;
+  }
+
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+  /**
+   * Starts counting iterations of a new task, which is what progress is reported for.
+   *
+   * @param task Name of the task, like 'day9.marbles'
+   * @param total Number of iterations the task will take, or -1 if it isn't known
+   * @return This context.
+   */
+  public ExecutionContext begin(String task, long total) {
+    this.task = task;
+    this.total = total;
+    this.iterations = 0;
+    this.taskStartNanos = System.nanoTime();
+    return this;
+  }
+
+  /**
+   * Counts an iteration of the current task, checking the context every {@value #CHECK_INTERVAL} iterations.
+   *
+   * @throws CancellationException if the context was checked, and it was cancelled or is past its deadline.
+   */
+  public void tick() {
+    if ((++ iterations & (CHECK_INTERVAL - 1)) == 0) {
+      check();
+    }
+  }
+
+  /**
+   * Checks the context now, reporting progress if it's due.
+   *
+   * @throws CancellationException if the context was cancelled or is past its deadline.
+   */
+  public void check() {
+    if (cancelled) {
+      throw new CancellationException("Cancelled after " + iterations + " iterations of " + task);
+    }
+
+    if (deadlineNanos == NO_DEADLINE && progressListener == null) {
+      return;
+    }
+
+    long now = System.nanoTime();
+    if (deadlineNanos != NO_DEADLINE && now - deadlineNanos > 0) {
+      throw new CancellationException("Deadline passed after " + iterations + " iterations of " + task);
+    }
+
+    if (progressListener != null && now - nextProgressNanos >= 0) {
+      nextProgressNanos = now + progressIntervalNanos;
+      progressListener.accept(progress());
+    }
+  }
+
+  /**
+   * Returns the progress of the current task.
+   *
+   * @return Progress so far.
+   */
+  public Progress progress() {
+    return new Progress(task, iterations, total, System.nanoTime() - taskStartNanos);
+  }
+}
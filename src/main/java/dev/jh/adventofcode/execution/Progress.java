@@ -0,0 +1,59 @@
+package dev.jh.adventofcode.execution;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshot of how far a task has got, as reported by an {@link ExecutionContext}.
+ */
+public class Progress {
+  public final String task;
+  public final long iterations;
+  /** Number of iterations the task will take, or -1 if it isn't known. */
+  public final long total;
+  public final long elapsedNanos;
+
+  public Progress(String task, long iterations, long total, long elapsedNanos) {
+    this.task = task;
+    this.iterations = iterations;
+    this.total = total;
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  /**
+   * Returns the average number of iterations per second so far.
+   *
+   * @return Iterations per second, or 0 if no time has passed.
+   */
+  public double iterationsPerSecond() {
+    return elapsedNanos <= 0 ? 0 : iterations * 1e9 / elapsedNanos;
+  }
+
+  /**
+   * Estimates the time left, assuming the rest of the iterations go at the average rate so far.
+   *
+   * @return Estimated nanoseconds left, or -1 if the total isn't known or there's no rate yet.
+   */
+  public long remainingNanos() {
+    if (total < 0 || iterations == 0) {
+      return -1;
+    }
+
+    return (long) (Math.max(total - iterations, 0) * ((double) elapsedNanos / iterations));
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder bldr = new StringBuilder(task).append(": ").append(iterations);
+    if (total >= 0) {
+      bldr.append('/').append(total);
+    }
+    bldr.append(String.format(" in %.1f s, %.0f/s", elapsedNanos / 1e9, iterationsPerSecond()));
+
+    long remaining = remainingNanos();
+    if (remaining >= 0) {
+      bldr.append(String.format(", %.1f s left", remaining / (double) TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    return bldr.toString();
+  }
+}
@@ -0,0 +1,135 @@
+package dev.jh.adventofcode.generate;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Tracks of overlapping rectangular loops with carts on them.  Loops only touch each other where one crosses another
+ * at an intersection, and every loop after the first crosses one that's already there, so the whole track is
+ * connected.  There's always an odd number of carts, so part 2 can end with one left.
+ */
+public class Day13Generator implements InputGenerator {
+  private static final int SIDE = 150;
+  private static final int CARTS = 17;
+  private static final int LOOP_ATTEMPTS = 60;
+  private static final int MIN_LOOP_SIDE = 8;
+  private static final int MAX_LOOP_SIDE = 60;
+
+  @Override
+  public int day() {
+    return 13;
+  }
+
+  @Override
+  public void write(int scale, Random random, Writer out) throws IOException {
+    int side = Generators.side(SIDE, scale);
+    char[][] track = new char[side][side];
+    for (char[] row : track) {
+      Arrays.fill(row, ' ');
+    }
+
+    boolean first = true;
+    for (int attempt = 0; attempt < LOOP_ATTEMPTS * scale; attempt ++) {
+      int width = Generators.between(random, MIN_LOOP_SIDE, Math.min(MAX_LOOP_SIDE, side));
+      int height = Generators.between(random, MIN_LOOP_SIDE, Math.min(MAX_LOOP_SIDE, side));
+      int left = random.nextInt(side - width + 1);
+      int top = random.nextInt(side - height + 1);
+
+      int crossings = crossings(track, left, top, width, height);
+      if (crossings > 0 || (first && crossings == 0)) {
+        drawLoop(track, left, top, width, height);
+        first = false;
+      }
+    }
+
+    placeCarts(track, (CARTS * scale) | 1, random);
+
+    for (char[] row : track) {
+      out.write(row);
+      out.write('\n');
+    }
+  }
+
+  /**
+   * Returns the number of existing tracks that a loop would cross, or -1 if it can't be drawn because it would run
+   * along or through a corner of another loop.
+   */
+  private static int crossings(char[][] track, int left, int top, int width, int height) {
+    int crossings = 0;
+    int right = left + width - 1;
+    int bottom = top + height - 1;
+
+    for (int y = top; y <= bottom; y ++) {
+      for (int x = left; x <= right; x += (y == top || y == bottom) ? 1 : width - 1) {
+        char loop = loopSegment(x, y, left, top, right, bottom);
+        char existing = track[y][x];
+        if (existing == ' ') {
+          continue;
+        }
+
+        if ((loop == '-' && existing == '|') || (loop == '|' && existing == '-')) {
+          crossings ++;
+        } else {
+          return -1;
+        }
+      }
+    }
+
+    return crossings;
+  }
+
+  private static void drawLoop(char[][] track, int left, int top, int width, int height) {
+    int right = left + width - 1;
+    int bottom = top + height - 1;
+
+    for (int y = top; y <= bottom; y ++) {
+      for (int x = left; x <= right; x += (y == top || y == bottom) ? 1 : width - 1) {
+        track[y][x] = track[y][x] == ' ' ? loopSegment(x, y, left, top, right, bottom) : '+';
+      }
+    }
+  }
+
+  private static char loopSegment(int x, int y, int left, int top, int right, int bottom) {
+    boolean horizontal = y == top || y == bottom;
+    boolean vertical = x == left || x == right;
+    if (horizontal && vertical) {
+      return (x == left) == (y == top) ? '/' : '\\';
+    }
+
+    return horizontal ? '-' : '|';
+  }
+
+  /**
+   * Replaces randomly chosen straight segments with carts heading along them.
+   */
+  private static void placeCarts(char[][] track, int count, Random random) {
+    int side = track.length;
+    long straights = 0;
+    for (char[] row : track) {
+      for (char c : row) {
+        if (c == '-' || c == '|') {
+          straights ++;
+        }
+      }
+    }
+
+    if (straights < count) {
+      throw new IllegalArgumentException("Only " + straights + " straight segments for " + count + " carts");
+    }
+
+    int placed = 0;
+    while (placed < count) {
+      int x = random.nextInt(side);
+      int y = random.nextInt(side);
+      if (track[y][x] == '-') {
+        track[y][x] = random.nextBoolean() ? '<' : '>';
+        placed ++;
+      } else if (track[y][x] == '|') {
+        track[y][x] = random.nextBoolean() ? '^' : 'v';
+        placed ++;
+      }
+    }
+  }
+}
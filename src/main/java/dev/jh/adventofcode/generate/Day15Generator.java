@@ -0,0 +1,55 @@
+package dev.jh.adventofcode.generate;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+/**
+ * Caves with elves and goblins in them.  Walls are only ever pillars at even coordinates inside the border, so every
+ * open square is connected and combat always ends.
+ */
+public class Day15Generator implements InputGenerator {
+  private static final int SIDE = 32;
+  private static final int UNITS = 30;
+  private static final double PILLARS = 0.35;
+
+  @Override
+  public int day() {
+    return 15;
+  }
+
+  @Override
+  public void write(int scale, Random random, Writer out) throws IOException {
+    int side = Generators.side(SIDE, scale);
+    char[][] cave = new char[side][side];
+
+    int open = 0;
+    for (int y = 0; y < side; y ++) {
+      for (int x = 0; x < side; x ++) {
+        boolean border = x == 0 || y == 0 || x == side - 1 || y == side - 1;
+        boolean pillar = x % 2 == 0 && y % 2 == 0 && random.nextDouble() < PILLARS;
+        cave[y][x] = border || pillar ? '#' : '.';
+        if (cave[y][x] == '.') {
+          open ++;
+        }
+      }
+    }
+
+    // Half of the units are elves and half goblins, so both sides are there.
+    int units = Math.min(UNITS * scale, open);
+    int placed = 0;
+    while (placed < units) {
+      int x = random.nextInt(side);
+      int y = random.nextInt(side);
+      if (cave[y][x] == '.') {
+        cave[y][x] = placed % 2 == 0 ? 'E' : 'G';
+        placed ++;
+      }
+    }
+
+    for (char[] row : cave) {
+      out.write(row);
+      out.write('\n');
+    }
+  }
+}
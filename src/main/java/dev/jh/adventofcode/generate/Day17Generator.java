@@ -0,0 +1,49 @@
+package dev.jh.adventofcode.generate;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+/**
+ * Clay veins under the spring at x=500, mostly as open topped buckets that fill with water, plus some single shelves.
+ * The scan is ten times taller than it is wide like the real inputs, until the scan would be more than 900 wide - then
+ * only the height scales, so the scan stays well away from x=0.
+ */
+public class Day17Generator implements InputGenerator {
+  private static final int SPRING_X = 500;
+  private static final int WIDTH = 200;
+  private static final int MAX_WIDTH = 900;
+  private static final int HEIGHT = 2000;
+  private static final int VEINS = 1650;
+  private static final double SHELVES = 0.2;
+
+  @Override
+  public int day() {
+    return 17;
+  }
+
+  @Override
+  public void write(int scale, Random random, Writer out) throws IOException {
+    int width = Math.min(Generators.side(WIDTH, scale), MAX_WIDTH);
+    int height = (int) ((long) WIDTH * HEIGHT * scale / width);
+    int left = SPRING_X - width / 2;
+
+    long veins = (long) VEINS * scale;
+    while (veins > 0) {
+      int x = left + random.nextInt(width - 20);
+      int y = 1 + random.nextInt(height - 20);
+
+      if (random.nextDouble() < SHELVES) {
+        out.write("y=" + y + ", x=" + x + ".." + (x + Generators.between(random, 1, 19)) + "\n");
+        veins --;
+      } else {
+        int bucketWidth = Generators.between(random, 2, 19);
+        int bottom = y + Generators.between(random, 2, 19);
+        out.write("x=" + x + ", y=" + y + ".." + bottom + "\n");
+        out.write("x=" + (x + bucketWidth) + ", y=" + y + ".." + bottom + "\n");
+        out.write("y=" + bottom + ", x=" + x + ".." + (x + bucketWidth) + "\n");
+        veins -= 3;
+      }
+    }
+  }
+}
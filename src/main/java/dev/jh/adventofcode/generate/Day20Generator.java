@@ -0,0 +1,191 @@
+package dev.jh.adventofcode.generate;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Route regexes for a random maze of rooms, which like the real inputs is a tree - every room is reached by exactly
+ * one route.  The maze fills a square of rooms, carved from the middle by a depth first search, which gives the long
+ * winding corridors of the real inputs.  Wherever the route splits, the options go in a group, so groups nest deeper as
+ * the scale grows.  Past a depth limit, which keeps Day 20's recursive parts well inside the
+ * stack, splits are written as walks that go down each side corridor and back instead.
+ */
+public class Day20Generator implements InputGenerator {
+  private static final int SIDE = 100;
+  private static final int MAX_DEPTH = 256;
+
+  private static final char[] DIRECTIONS = {'N', 'E', 'S', 'W'};
+  private static final int[] DX = {0, 1, 0, -1};
+  private static final int[] DY = {-1, 0, 1, 0};
+
+  /** Writes the rest of the route from a room, which takes the room and the group depth. */
+  private static final int VISIT = 0;
+  /** Writes a walk through every room after a room that comes back to it, which takes the room. */
+  private static final int TOUR = 1;
+  /** Writes a single character. */
+  private static final int WRITE = 2;
+
+  @Override
+  public int day() {
+    return 20;
+  }
+
+  @Override
+  public void write(int scale, Random random, Writer out) throws IOException {
+    int side = Generators.side(SIDE, scale);
+    byte[] doors = maze(side, random);
+
+    out.write('^');
+    writeRoute(out, side, doors, (side / 2) * side + side / 2);
+    out.write("$\n");
+  }
+
+  /**
+   * Carves a maze over a square of rooms, returning the directions from each room to the rooms after it as bits.
+   */
+  private static byte[] maze(int side, Random random) {
+    int rooms = side * side;
+    byte[] doors = new byte[rooms];
+    boolean[] visited = new boolean[rooms];
+    int[] path = new int[rooms];
+    int pathLength = 0;
+
+    int start = (side / 2) * side + side / 2;
+    visited[start] = true;
+    path[pathLength ++] = start;
+
+    int[] candidates = new int[DIRECTIONS.length];
+    while (pathLength > 0) {
+      int room = path[pathLength - 1];
+      int x = room % side;
+      int y = room / side;
+
+      int candidateCount = 0;
+      for (int direction = 0; direction < DIRECTIONS.length; direction ++) {
+        int nextX = x + DX[direction];
+        int nextY = y + DY[direction];
+        if (nextX >= 0 && nextX < side && nextY >= 0 && nextY < side && !visited[nextY * side + nextX]) {
+          candidates[candidateCount ++] = direction;
+        }
+      }
+
+      if (candidateCount == 0) {
+        pathLength --;
+        continue;
+      }
+
+      int direction = candidates[random.nextInt(candidateCount)];
+      int next = room + DY[direction] * side + DX[direction];
+      doors[room] |= 1 << direction;
+      visited[next] = true;
+      path[pathLength ++] = next;
+    }
+
+    return doors;
+  }
+
+  /**
+   * Writes the route through the maze from the start.  Corridors can be as long as the maze is big, so the route is
+   * written from a stack of tasks rather than by recursing.
+   */
+  private static void writeRoute(Writer out, int side, byte[] doors, int start) throws IOException {
+    Tasks tasks = new Tasks();
+    tasks.push(VISIT, start, 0);
+
+    while (!tasks.isEmpty()) {
+      long task = tasks.pop();
+      int type = Tasks.type(task);
+      int value = Tasks.value(task);
+      int depth = Tasks.depth(task);
+
+      if (type == WRITE) {
+        out.write(value);
+        continue;
+      }
+
+      int doorCount = Integer.bitCount(doors[value]);
+      // Tasks come off the stack in the opposite order they go on, so everything is pushed in reverse.
+      if (type == TOUR) {
+        for (int direction = DIRECTIONS.length - 1; direction >= 0; direction --) {
+          if ((doors[value] & (1 << direction)) != 0) {
+            tasks.push(WRITE, DIRECTIONS[(direction + 2) % DIRECTIONS.length], 0);
+            tasks.push(TOUR, next(side, value, direction), 0);
+            tasks.push(WRITE, DIRECTIONS[direction], 0);
+          }
+        }
+
+      } else if (doorCount == 1 || (doorCount > 1 && depth >= MAX_DEPTH)) {
+        // Go down every corridor but the last and back again, then carry on down the last.
+        boolean last = true;
+        for (int direction = DIRECTIONS.length - 1; direction >= 0; direction --) {
+          if ((doors[value] & (1 << direction)) != 0) {
+            if (last) {
+              tasks.push(VISIT, next(side, value, direction), depth);
+              last = false;
+            } else {
+              tasks.push(WRITE, DIRECTIONS[(direction + 2) % DIRECTIONS.length], 0);
+              tasks.push(TOUR, next(side, value, direction), 0);
+            }
+            tasks.push(WRITE, DIRECTIONS[direction], 0);
+          }
+        }
+
+      } else if (doorCount > 1) {
+        tasks.push(WRITE, ')', 0);
+        boolean last = true;
+        for (int direction = DIRECTIONS.length - 1; direction >= 0; direction --) {
+          if ((doors[value] & (1 << direction)) != 0) {
+            if (!last) {
+              tasks.push(WRITE, '|', 0);
+            }
+            tasks.push(VISIT, next(side, value, direction), depth + 1);
+            tasks.push(WRITE, DIRECTIONS[direction], 0);
+            last = false;
+          }
+        }
+        tasks.push(WRITE, '(', 0);
+      }
+    }
+  }
+
+  private static int next(int side, int room, int direction) {
+    return room + DY[direction] * side + DX[direction];
+  }
+
+  /**
+   * Stack of tasks packed into longs - the type in the top bits, then the group depth, then the room or character.
+   */
+  private static class Tasks {
+    private long[] tasks = new long[1024];
+    private int size;
+
+    void push(int type, int value, int depth) {
+      if (size == tasks.length) {
+        tasks = Arrays.copyOf(tasks, size * 2);
+      }
+      tasks[size ++] = ((long) type << 48) | ((long) depth << 32) | (value & 0xFFFFFFFFL);
+    }
+
+    long pop() {
+      return tasks[-- size];
+    }
+
+    boolean isEmpty() {
+      return size == 0;
+    }
+
+    static int type(long task) {
+      return (int) (task >>> 48);
+    }
+
+    static int depth(long task) {
+      return (int) ((task >>> 32) & 0xFFFF);
+    }
+
+    static int value(long task) {
+      return (int) task;
+    }
+  }
+}
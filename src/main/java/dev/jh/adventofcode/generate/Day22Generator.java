@@ -0,0 +1,34 @@
+package dev.jh.adventofcode.generate;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+/**
+ * Cave depth and target.  The target is a tall, narrow rectangle away from the mouth like the real inputs, and its area
+ * scales.  Day 22 works out erosion for 15 times the target in each direction, and the geologic index along x=0
+ * overflows an int past y=44488, so the target's y stops growing at {@link #MAX_HEIGHT} and its x grows instead.  The
+ * depth is always a multiple of 3, which makes the mouth and the target rocky so the torch is allowed at both ends.
+ */
+public class Day22Generator implements InputGenerator {
+  private static final int WIDTH = 10;
+  private static final int HEIGHT = 700;
+  private static final int MAX_HEIGHT = 2900;
+
+  @Override
+  public int day() {
+    return 22;
+  }
+
+  @Override
+  public void write(int scale, Random random, Writer out) throws IOException {
+    int height = Math.min(Generators.side(HEIGHT, scale), MAX_HEIGHT);
+    int width = (int) ((long) WIDTH * HEIGHT * scale / height);
+
+    int x = Generators.between(random, width / 2, width);
+    int y = Generators.between(random, height * 9 / 10, height);
+
+    out.write("depth: " + 3 * Generators.between(random, 1000, 4000) + "\n");
+    out.write("target: " + x + "," + y + "\n");
+  }
+}
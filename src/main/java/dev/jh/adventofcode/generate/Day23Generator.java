@@ -0,0 +1,30 @@
+package dev.jh.adventofcode.generate;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+/**
+ * Nanobots, with positions and ranges drawn from the same spread as the real inputs.
+ */
+public class Day23Generator implements InputGenerator {
+  private static final int NANOBOTS = 1000;
+  private static final int SPREAD = 200_000_000;
+  private static final int MIN_RANGE = 50_000_000;
+  private static final int MAX_RANGE = 100_000_000;
+
+  @Override
+  public int day() {
+    return 23;
+  }
+
+  @Override
+  public void write(int scale, Random random, Writer out) throws IOException {
+    for (long i = 0; i < (long) NANOBOTS * scale; i ++) {
+      out.write("pos=<" + Generators.between(random, -SPREAD, SPREAD)
+          + "," + Generators.between(random, -SPREAD, SPREAD)
+          + "," + Generators.between(random, -SPREAD, SPREAD)
+          + ">, r=" + Generators.between(random, MIN_RANGE, MAX_RANGE) + "\n");
+    }
+  }
+}
@@ -0,0 +1,71 @@
+package dev.jh.adventofcode.generate;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+/**
+ * N claims over an MxM fabric.  Both scale together - the number of claims and the area of the fabric grow with the
+ * scale, so the fabric stays as crowded as the puzzle's 1000x1000 one and the generated inputs stress the size of the
+ * fabric as well as the number of claims.  One claim is kept clear of every other claim so part 2 always has an answer.
+ */
+public class Day3Generator implements InputGenerator {
+  private static final int FABRIC = 1000;
+  private static final int CLAIMS = 1250;
+  private static final int MIN_SIDE = 10;
+  private static final int MAX_SIDE = 29;
+
+  private final int fabric;
+
+  public Day3Generator() {
+    this(FABRIC);
+  }
+
+  /**
+   * @param fabric Side of the fabric at scale 1, which has {@value #CLAIMS} claims on it
+   */
+  public Day3Generator(int fabric) {
+    if (fabric < MAX_SIDE) {
+      throw new IllegalArgumentException("The fabric has to fit the largest claim: " + fabric);
+    }
+
+    this.fabric = fabric;
+  }
+
+  @Override
+  public int day() {
+    return 3;
+  }
+
+  @Override
+  public void write(int scale, Random random, Writer out) throws IOException {
+    int count = CLAIMS * scale;
+    int side = Generators.side(fabric, scale);
+    int intact = random.nextInt(count);
+    int[] intactClaim = randomClaim(random, side);
+
+    for (int i = 0; i < count; i ++) {
+      int[] claim = intactClaim;
+      if (i != intact) {
+        do {
+          claim = randomClaim(random, side);
+        } while (overlaps(claim, intactClaim));
+      }
+
+      out.write("#" + (i + 1) + " @ " + claim[0] + "," + claim[1] + ": " + claim[2] + "x" + claim[3] + "\n");
+    }
+  }
+
+  /**
+   * Returns a random claim on a fabric with the given side as {left, top, width, height}.
+   */
+  private static int[] randomClaim(Random random, int side) {
+    int width = Generators.between(random, MIN_SIDE, MAX_SIDE);
+    int height = Generators.between(random, MIN_SIDE, MAX_SIDE);
+    return new int[] {random.nextInt(side - width + 1), random.nextInt(side - height + 1), width, height};
+  }
+
+  private static boolean overlaps(int[] a, int[] b) {
+    return a[0] < b[0] + b[2] && b[0] < a[0] + a[2] && a[1] < b[1] + b[3] && b[1] < a[1] + a[3];
+  }
+}
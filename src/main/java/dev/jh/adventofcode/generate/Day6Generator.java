@@ -0,0 +1,37 @@
+package dev.jh.adventofcode.generate;
+
+import dev.jh.adventofcode.collect.LongHashSet;
+import dev.jh.adventofcode.grid.Coordinates;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+/**
+ * Coordinates to find the areas around.  Day 6 names coordinates with single letters, which only go up to 52, so the
+ * number of coordinates stays the same and the area they're spread over scales instead.
+ */
+public class Day6Generator implements InputGenerator {
+  private static final int COORDINATES = 50;
+  private static final int SIDE = 360;
+
+  @Override
+  public int day() {
+    return 6;
+  }
+
+  @Override
+  public void write(int scale, Random random, Writer out) throws IOException {
+    int side = Generators.side(SIDE, scale);
+
+    LongHashSet used = new LongHashSet();
+    while (used.size() < COORDINATES) {
+      int x = random.nextInt(side);
+      int y = random.nextInt(side);
+      if (!used.contains(Coordinates.pack(x, y))) {
+        used.add(Coordinates.pack(x, y));
+        out.write(x + ", " + y + "\n");
+      }
+    }
+  }
+}
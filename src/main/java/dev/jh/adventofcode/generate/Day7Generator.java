@@ -0,0 +1,46 @@
+package dev.jh.adventofcode.generate;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Restrictions between steps, which always form a DAG.  Day 7 names steps with single letters, so the most it can have
+ * is the 325 restrictions between every pair of the 26 steps - scales past 3 all produce that complete DAG, in a random
+ * order.
+ */
+public class Day7Generator implements InputGenerator {
+  private static final int STEPS = 26;
+  private static final int RESTRICTIONS = 100;
+
+  @Override
+  public int day() {
+    return 7;
+  }
+
+  @Override
+  public void write(int scale, Random random, Writer out) throws IOException {
+    // Restrictions always go from earlier to later in a random order of the steps, so there are no cycles.
+    List<Character> order = new ArrayList<>();
+    for (char step = 'A'; step < 'A' + STEPS; step ++) {
+      order.add(step);
+    }
+    Collections.shuffle(order, random);
+
+    List<int[]> pairs = new ArrayList<>();
+    for (int before = 0; before < STEPS; before ++) {
+      for (int after = before + 1; after < STEPS; after ++) {
+        pairs.add(new int[] {before, after});
+      }
+    }
+    Collections.shuffle(pairs, random);
+
+    int count = (int) Math.min((long) RESTRICTIONS * scale, pairs.size());
+    for (int[] pair : pairs.subList(0, count)) {
+      out.write("Step " + order.get(pair[0]) + " must be finished before step " + order.get(pair[1]) + " can begin.\n");
+    }
+  }
+}
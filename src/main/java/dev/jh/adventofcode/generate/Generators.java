@@ -0,0 +1,109 @@
+package dev.jh.adventofcode.generate;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.ServiceLoader;
+import java.util.stream.StreamSupport;
+
+/**
+ * Registry of all of the {@link InputGenerator}s on the classpath, loaded with a {@link ServiceLoader}.
+ */
+public class Generators {
+  private Generators() {
+  }
+
+  /**
+   * Returns every registered generator, ordered by day.
+   *
+   * @return All generators.
+   */
+  public static ImmutableList<InputGenerator> all() {
+    return StreamSupport.stream(ServiceLoader.load(InputGenerator.class).spliterator(), false)
+        .sorted(Comparator.comparingInt(InputGenerator::day))
+        .collect(ImmutableList.toImmutableList());
+  }
+
+  /**
+   * Returns the registered generator for the given day.
+   *
+   * @param day Day of the puzzle
+   * @return Generator for that day.
+   */
+  public static InputGenerator forDay(int day) {
+    return all().stream()
+        .filter(generator -> generator.day() == day)
+        .findFirst()
+        .orElseThrow(() -> new IllegalArgumentException("No generator for day " + day));
+  }
+
+  /**
+   * Generates an input straight into the given file, replacing anything already there.
+   *
+   * @param generator Generator to run
+   * @param scale Size of the input relative to the bundled input, at least 1
+   * @param seed Seed for the generator's randomness
+   * @param path File to write
+   * @throws IOException if the file can't be written.
+   */
+  public static void write(InputGenerator generator, int scale, long seed, Path path) throws IOException {
+    if (scale < 1) {
+      throw new IllegalArgumentException("Scale must be at least 1: " + scale);
+    }
+
+    try (Writer out = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(path), Charsets.US_ASCII), 1 << 16)) {
+      generator.write(scale, new Random(seed), out);
+    }
+  }
+
+  /**
+   * Returns the side of a square that has the given scale times the area of a square with the given side.
+   *
+   * @param side Side at scale 1
+   * @param scale Scale of the area
+   * @return Scaled side.
+   */
+  static int side(int side, int scale) {
+    return (int) Math.round(side * Math.sqrt(scale));
+  }
+
+  /**
+   * Returns a random integer between the bounds.
+   *
+   * @param random Source of randomness
+   * @param min Smallest integer to return
+   * @param max Largest integer to return
+   * @return Random integer in [min, max].
+   */
+  static int between(Random random, int min, int max) {
+    return min + random.nextInt(max - min + 1);
+  }
+
+  /**
+   * Writes an input to a file.
+   *
+   * Usage: Generators day scale seed file
+   *
+   * @param args Day, scale, seed and file to write
+   * @throws IOException if the file can't be written.
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length != 4) {
+      System.err.println("Usage: Generators day scale seed file");
+      System.exit(1);
+    }
+
+    Path path = Paths.get(args[3]);
+    write(forDay(Integer.parseInt(args[0])), Integer.parseInt(args[1]), Long.parseLong(args[2]), path);
+    System.out.printf("Wrote %d bytes to %s\n", Files.size(path), path);
+  }
+}
@@ -0,0 +1,31 @@
+package dev.jh.adventofcode.generate;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+/**
+ * Writes synthetic puzzle input for a day, for seeing how its solver scales past the single bundled input.  At scale 1
+ * the input is roughly the size of the bundled one, and the amount of work in the input - claims, carts, nanobots -
+ * grows linearly with the scale.  Inputs are written as they're generated, so large ones never have to fit in memory
+ * as text.  Implementations are registered in {@code META-INF/services/dev.jh.adventofcode.generate.InputGenerator}
+ * and loaded by {@link Generators}.
+ */
+public interface InputGenerator {
+  /**
+   * Returns the day of the puzzle this generates input for.
+   *
+   * @return Day of the puzzle, starting with 1.
+   */
+  int day();
+
+  /**
+   * Writes a valid input for the day.  The same scale and random seed always produce the same input.
+   *
+   * @param scale Size of the input relative to the bundled input, at least 1
+   * @param random Source of randomness
+   * @param out Writer to write the input to
+   * @throws IOException if the input can't be written.
+   */
+  void write(int scale, Random random, Writer out) throws IOException;
+}
@@ -0,0 +1,114 @@
+package dev.jh.adventofcode.grid;
+
+import com.google.common.base.MoreObjects;
+import dev.jh.adventofcode.collect.Fingerprints;
+
+import java.util.Arrays;
+
+/**
+ * Grid of byte cells stored in a single flat array laid out by a {@link GridLayout}.  Meant for grids of small enums,
+ * stored by ordinal - a cell read is one array access rather than a chase through a row array to an enum constant.
+ * The padding holds a border value that simulations can treat as a wall, so they never need bounds checks.
+ */
+public final class ByteGrid {
+  public final GridLayout layout;
+  private final byte[] cells;
+
+  /**
+   * Creates a grid with every interior cell set to fill and every padding cell set to border.
+   *
+   * @param layout Layout of the grid
+   * @param fill Initial value of the interior cells
+   * @param border Value of the padding cells
+   */
+  public ByteGrid(GridLayout layout, byte fill, byte border) {
+    this(layout, new byte[layout.size()]);
+
+    Arrays.fill(cells, border);
+    if (fill != border) {
+      for (int y = 0; y < layout.height; y ++) {
+        int start = layout.id(0, y);
+        Arrays.fill(cells, start, start + layout.width, fill);
+      }
+    }
+  }
+
+  private ByteGrid(GridLayout layout, byte[] cells) {
+    this.layout = layout;
+    this.cells = cells;
+  }
+
+  public byte get(int id) {
+    return cells[id];
+  }
+
+  public void set(int id, byte value) {
+    cells[id] = value;
+  }
+
+  public byte get(int x, int y) {
+    return cells[layout.id(x, y)];
+  }
+
+  public void set(int x, int y, byte value) {
+    cells[layout.id(x, y)] = value;
+  }
+
+  /**
+   * Returns the number of interior cells with the given value.
+   *
+   * @param value Value to count
+   * @return Number of cells with the value, not counting the padding.
+   */
+  public int count(byte value) {
+    int count = 0;
+    for (int y = 0; y < layout.height; y ++) {
+      for (int id = layout.id(0, y), end = id + layout.width; id < end; id ++) {
+        if (cells[id] == value) {
+          count ++;
+        }
+      }
+    }
+
+    return count;
+  }
+
+  /**
+   * Returns a copy of this grid, including its padding, that can be modified independently.
+   *
+   * @return Copy of this grid.
+   */
+  public ByteGrid copy() {
+    return new ByteGrid(layout, cells.clone());
+  }
+
+  /**
+   * Returns a 64 bit fingerprint of the cells, for remembering grids without keeping them around.
+   *
+   * @return Fingerprint of the grid.
+   */
+  public long fingerprint() {
+    return Fingerprints.of(cells);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    ByteGrid byteGrid = (ByteGrid) o;
+    return layout.equals(byteGrid.layout) &&
+        Arrays.equals(cells, byteGrid.cells);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * layout.hashCode() + Arrays.hashCode(cells);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("layout", layout)
+        .toString();
+  }
+}
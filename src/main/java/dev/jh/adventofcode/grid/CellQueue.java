@@ -0,0 +1,68 @@
+package dev.jh.adventofcode.grid;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * First-in first-out queue of cell ids backed by a growable ring buffer, so walking a grid doesn't box every cell.
+ */
+public final class CellQueue {
+  private int[] cells;
+  private int head;
+  private int size;
+
+  public CellQueue() {
+    this(16);
+  }
+
+  public CellQueue(int capacity) {
+    this.cells = new int[Math.max(capacity, 1)];
+  }
+
+  public void add(int cell) {
+    if (size == cells.length) {
+      grow();
+    }
+
+    cells[(head + size) % cells.length] = cell;
+    size ++;
+  }
+
+  /**
+   * Removes and returns the cell at the head of the queue.
+   *
+   * @return Oldest cell in the queue.
+   * @throws NoSuchElementException if the queue is empty.
+   */
+  public int remove() {
+    if (size == 0) {
+      throw new NoSuchElementException("Queue is empty");
+    }
+
+    int cell = cells[head];
+    head = (head + 1) % cells.length;
+    size --;
+    return cell;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public void clear() {
+    head = 0;
+    size = 0;
+  }
+
+  private void grow() {
+    // Elements from head to the end stay where they are, and the ones that wrapped around to the start are moved to
+    // follow them.
+    int[] grown = Arrays.copyOf(cells, cells.length * 2);
+    System.arraycopy(cells, 0, grown, cells.length, head);
+    cells = grown;
+  }
+}
@@ -0,0 +1,34 @@
+package dev.jh.adventofcode.grid;
+
+/**
+ * Packs coordinates into a single primitive long, so they can be stored in primitive collections and compared without
+ * allocating a point object per step.  Coordinates keep the full int range of x and y - x in the high 32 bits and y in
+ * the low 32 bits.
+ */
+public final class Coordinates {
+  private Coordinates() {}
+
+  public static long pack(int x, int y) {
+    return ((long) x << 32) | (y & 0xFFFFFFFFL);
+  }
+
+  public static int x(long coordinate) {
+    return (int) (coordinate >> 32);
+  }
+
+  public static int y(long coordinate) {
+    return (int) coordinate;
+  }
+
+  /**
+   * Returns the coordinate offset from the given one.
+   *
+   * @param coordinate Packed coordinate
+   * @param dx Offset in x
+   * @param dy Offset in y
+   * @return Packed coordinate of (x + dx, y + dy).
+   */
+  public static long move(long coordinate, int dx, int dy) {
+    return pack(x(coordinate) + dx, y(coordinate) + dy);
+  }
+}
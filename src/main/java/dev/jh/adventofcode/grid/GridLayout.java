@@ -0,0 +1,132 @@
+package dev.jh.adventofcode.grid;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Objects;
+import com.google.common.primitives.ImmutableIntArray;
+
+/**
+ * Maps a width x height grid onto a flat array in row-major order, surrounded by a border of padding cells.  Cells are
+ * identified by their index in the array, so a neighbouring cell is always a fixed offset away, and the neighbours of
+ * any interior cell can be read without bounds checks as long as the padding is at least as wide as the reach.
+ */
+public final class GridLayout {
+  public final int width;
+  public final int height;
+  public final int padding;
+  /** Offset between vertically adjacent cells. */
+  public final int stride;
+
+  public final int up;
+  public final int down;
+  public final int left;
+  public final int right;
+
+  /** Offsets of the four orthogonal neighbours in reading order: up, left, right, down. */
+  public final ImmutableIntArray orthogonal;
+  /** Offsets of all eight neighbours in reading order. */
+  public final ImmutableIntArray adjacent;
+
+  /**
+   * Creates a layout with a one cell border, which is enough to read any of the eight neighbours of an interior cell.
+   *
+   * @param width Number of interior columns
+   * @param height Number of interior rows
+   */
+  public GridLayout(int width, int height) {
+    this(width, height, 1);
+  }
+
+  public GridLayout(int width, int height, int padding) {
+    if (width < 0 || height < 0 || padding < 0) {
+      throw new IllegalArgumentException("Invalid grid size " + width + "x" + height + " with padding " + padding);
+    }
+
+    long columns = (long) width + 2L * padding;
+    long rows = (long) height + 2L * padding;
+    if (columns > Integer.MAX_VALUE || rows > Integer.MAX_VALUE || columns * rows > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException(
+          "Grid of " + width + "x" + height + " with padding " + padding + " is too large");
+    }
+
+    this.width = width;
+    this.height = height;
+    this.padding = padding;
+    this.stride = (int) columns;
+
+    this.up = -stride;
+    this.down = stride;
+    this.left = -1;
+    this.right = 1;
+
+    this.orthogonal = ImmutableIntArray.of(up, left, right, down);
+    this.adjacent = ImmutableIntArray.of(up + left, up, up + right, left, right, down + left, down, down + right);
+  }
+
+  /**
+   * Returns the number of cells in the backing array, including the padding.
+   *
+   * @return Size of the backing array.
+   */
+  public int size() {
+    return (int) (stride * ((long) height + 2L * padding));
+  }
+
+  /**
+   * Returns the id of the cell at the given point.  Points in the padding, up to padding cells outside of the grid,
+   * have ids too.
+   *
+   * @param x Column, from 0
+   * @param y Row, from 0
+   * @return Id of the cell.
+   */
+  public int id(int x, int y) {
+    return (y + padding) * stride + x + padding;
+  }
+
+  public int x(int id) {
+    return id % stride - padding;
+  }
+
+  public int y(int id) {
+    return id / stride - padding;
+  }
+
+  /**
+   * Returns whether the given point is inside the grid, not counting the padding.
+   *
+   * @param x Column
+   * @param y Row
+   * @return Whether the point is an interior cell.
+   */
+  public boolean contains(int x, int y) {
+    return x >= 0 && x < width && y >= 0 && y < height;
+  }
+
+  public boolean contains(int id) {
+    return contains(x(id), y(id));
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    GridLayout that = (GridLayout) o;
+    return width == that.width &&
+        height == that.height &&
+        padding == that.padding;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(width, height, padding);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("width", width)
+        .add("height", height)
+        .add("padding", padding)
+        .toString();
+  }
+}
@@ -0,0 +1,104 @@
+package dev.jh.adventofcode.grid;
+
+import com.google.common.base.MoreObjects;
+
+import java.util.Arrays;
+
+/**
+ * Grid of int cells stored in a single flat array laid out by a {@link GridLayout}, for per-cell numbers like
+ * distances, owners and erosion levels.  The padding holds a border value, so neighbours can be read without bounds
+ * checks.
+ */
+public final class IntGrid {
+  public final GridLayout layout;
+  private final int[] cells;
+
+  /**
+   * Creates a grid with every interior cell set to fill and every padding cell set to border.
+   *
+   * @param layout Layout of the grid
+   * @param fill Initial value of the interior cells
+   * @param border Value of the padding cells
+   */
+  public IntGrid(GridLayout layout, int fill, int border) {
+    this(layout, new int[layout.size()]);
+
+    Arrays.fill(cells, border);
+    if (fill != border) {
+      for (int y = 0; y < layout.height; y ++) {
+        int start = layout.id(0, y);
+        Arrays.fill(cells, start, start + layout.width, fill);
+      }
+    }
+  }
+
+  private IntGrid(GridLayout layout, int[] cells) {
+    this.layout = layout;
+    this.cells = cells;
+  }
+
+  public int get(int id) {
+    return cells[id];
+  }
+
+  public void set(int id, int value) {
+    cells[id] = value;
+  }
+
+  public int get(int x, int y) {
+    return cells[layout.id(x, y)];
+  }
+
+  public void set(int x, int y, int value) {
+    cells[layout.id(x, y)] = value;
+  }
+
+  /**
+   * Returns the number of interior cells with the given value.
+   *
+   * @param value Value to count
+   * @return Number of cells with the value, not counting the padding.
+   */
+  public int count(int value) {
+    int count = 0;
+    for (int y = 0; y < layout.height; y ++) {
+      for (int id = layout.id(0, y), end = id + layout.width; id < end; id ++) {
+        if (cells[id] == value) {
+          count ++;
+        }
+      }
+    }
+
+    return count;
+  }
+
+  /**
+   * Returns a copy of this grid, including its padding, that can be modified independently.
+   *
+   * @return Copy of this grid.
+   */
+  public IntGrid copy() {
+    return new IntGrid(layout, cells.clone());
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    IntGrid intGrid = (IntGrid) o;
+    return layout.equals(intGrid.layout) &&
+        Arrays.equals(cells, intGrid.cells);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * layout.hashCode() + Arrays.hashCode(cells);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("layout", layout)
+        .toString();
+  }
+}
@@ -0,0 +1,189 @@
+package dev.jh.adventofcode.hamming;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+import dev.jh.adventofcode.collect.LongIntHashMap;
+
+import java.util.Arrays;
+
+/**
+ * Index of strings of lowercase letters, all the same length, that finds every stored string within a few mismatches
+ * of another - the number of positions where {@link dev.jh.adventofcode.Day2#commonLetters} would drop a letter.
+ * Strings can be added at any time.
+ * <p>
+ * It's a multi-index hash: strings are split into segments, and each segment has its own table from the segment's
+ * letters to the strings with them.  With more segments than allowed mismatches, a string within range has to match
+ * at least one segment exactly, so a query only checks the strings that share a segment with it.  Segments are at most
+ * 12 letters, so each one packs into a long key.
+ * <p>
+ * Strings are stored packed, 5 bits a letter, and every string costs the same fixed amount of memory: its packed words
+ * plus an index entry for each segment.  Methods are synchronized, so strings can be added while other threads query.
+ */
+public class HammingIndex {
+  private final int length;
+  private final int maxDistance;
+  private final int words;
+  /** Where each segment starts, and where the last one ends. */
+  private final int[] segmentStarts;
+  /** Last string added with each segment's letters, for each segment. */
+  private final LongIntHashMap[] heads;
+  /** The string added before each string with the same letters in each segment, or -1. */
+  private final int[][] next;
+
+  private long[] packed;
+  private int size;
+
+  /**
+   * Creates an empty index.
+   *
+   * @param length Length of every string in the index
+   * @param maxDistance Most mismatches a query can allow, which is how many segments more than 1 the strings are split
+   *                    into - larger distances make queries check more strings
+   */
+  public HammingIndex(int length, int maxDistance) {
+    if (length < 1) {
+      throw new IllegalArgumentException("Strings must have at least one letter, not " + length);
+    }
+    if (maxDistance < 0 || maxDistance >= length) {
+      throw new IllegalArgumentException("Distance must be from 0 to " + (length - 1) + ", not " + maxDistance);
+    }
+
+    this.length = length;
+    this.maxDistance = maxDistance;
+    this.words = PackedLetters.words(length);
+
+    int segments = Math.max(maxDistance + 1, PackedLetters.words(length));
+    this.segmentStarts = new int[segments + 1];
+    for (int segment = 0; segment <= segments; segment ++) {
+      segmentStarts[segment] = segment * length / segments;
+    }
+
+    this.heads = new LongIntHashMap[segments];
+    this.next = new int[segments][];
+    for (int segment = 0; segment < segments; segment ++) {
+      heads[segment] = new LongIntHashMap();
+      next[segment] = new int[16];
+    }
+    this.packed = new long[16 * words];
+  }
+
+  public int length() {
+    return length;
+  }
+
+  public int maxDistance() {
+    return maxDistance;
+  }
+
+  public synchronized int size() {
+    return size;
+  }
+
+  /**
+   * Adds a string to the index, unless it's already there.
+   *
+   * @param letters String of lowercase letters
+   * @return Whether the string was added - false if it was already in the index.
+   */
+  public synchronized boolean insert(String letters) {
+    long[] target = pack(letters);
+    if (!query(letters, target, 0).isEmpty()) {
+      return false;
+    }
+
+    if ((size + 1) * words > packed.length) {
+      packed = Arrays.copyOf(packed, packed.length * 2);
+      for (int segment = 0; segment < next.length; segment ++) {
+        next[segment] = Arrays.copyOf(next[segment], next[segment].length * 2);
+      }
+    }
+
+    System.arraycopy(target, 0, packed, size * words, words);
+    for (int segment = 0; segment < heads.length; segment ++) {
+      long key = segmentKey(target, 0, segment);
+      next[segment][size] = heads[segment].getOrDefault(key, -1);
+      heads[segment].put(key, size);
+    }
+
+    size ++;
+    return true;
+  }
+
+  /**
+   * Returns every string in the index that differs from the given one in at most the given number of positions.
+   *
+   * @param letters String of lowercase letters
+   * @param distance Most positions that can differ, up to the index's maximum
+   * @return Strings within the distance, including the string itself if it's in the index.
+   */
+  public synchronized ImmutableList<String> query(String letters, int distance) {
+    if (distance < 0 || distance > maxDistance) {
+      throw new IllegalArgumentException("Distance must be from 0 to " + maxDistance + ", not " + distance);
+    }
+
+    return query(letters, pack(letters), distance);
+  }
+
+  private ImmutableList<String> query(String letters, long[] target, int distance) {
+    long[] keys = new long[heads.length];
+    for (int segment = 0; segment < heads.length; segment ++) {
+      keys[segment] = segmentKey(target, 0, segment);
+    }
+
+    ImmutableList.Builder<String> found = ImmutableList.builder();
+    for (int segment = 0; segment < heads.length; segment ++) {
+      for (int candidate = heads[segment].getOrDefault(keys[segment], -1); candidate >= 0; candidate = next[segment][candidate]) {
+        if (!matchesEarlierSegment(candidate, keys, segment)
+            && PackedLetters.mismatches(target, 0, packed, candidate * words, words) <= distance) {
+          found.add(PackedLetters.unpack(packed, candidate * words, length));
+        }
+      }
+    }
+
+    return found.build();
+  }
+
+  /**
+   * Returns whether the stored string matches the query on a segment before the given one, in which case it's already
+   * been checked.
+   */
+  private boolean matchesEarlierSegment(int candidate, long[] keys, int segment) {
+    for (int earlier = 0; earlier < segment; earlier ++) {
+      if (segmentKey(packed, candidate * words, earlier) == keys[earlier]) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  private long[] pack(String letters) {
+    if (letters.length() != length) {
+      throw new IllegalArgumentException("Expected " + length + " letters, not " + letters.length() + ": '" + letters + "'");
+    }
+
+    return PackedLetters.pack(letters);
+  }
+
+  /**
+   * Returns the letters of a segment of a packed string, packed into a long.
+   */
+  private long segmentKey(long[] words, int offset, int segment) {
+    long key = 0;
+    for (int i = segmentStarts[segment + 1] - 1; i >= segmentStarts[segment]; i --) {
+      key = key << PackedLetters.BITS_PER_LETTER | (PackedLetters.letterAt(words, offset, i) - 'a');
+    }
+
+    return key;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("length", length)
+        .add("maxDistance", maxDistance)
+        .add("segments", heads.length)
+        .add("size", size)
+        .toString();
+  }
+}
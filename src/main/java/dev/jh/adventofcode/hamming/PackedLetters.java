@@ -0,0 +1,143 @@
+package dev.jh.adventofcode.hamming;
+
+import java.util.List;
+
+/**
+ * Packs strings of lowercase letters into longs, 5 bits a letter and 12 letters a word, so strings can be compared a
+ * word at a time.  Letter i is in word i / 12, starting at bit 5 * (i % 12), and the top 4 bits of every word are 0.
+ */
+public final class PackedLetters {
+  public static final int LETTERS_PER_WORD = 12;
+  static final int BITS_PER_LETTER = 5;
+  private static final long LETTER_MASK = (1 << BITS_PER_LETTER) - 1;
+  /** The lowest bit of every letter in a word. */
+  private static final long LOW_BITS = 0x0084210842108421L;
+
+  private PackedLetters() {}
+
+  /**
+   * Returns the number of words needed to pack the given number of letters.
+   *
+   * @param length Number of letters
+   * @return Number of words.
+   */
+  public static int words(int length) {
+    return (length + LETTERS_PER_WORD - 1) / LETTERS_PER_WORD;
+  }
+
+  /**
+   * Packs the letters into a new array of words.
+   *
+   * @param letters Lowercase letters
+   * @return Packed letters.
+   */
+  public static long[] pack(CharSequence letters) {
+    long[] words = new long[words(letters.length())];
+    pack(letters, words, 0);
+    return words;
+  }
+
+  /**
+   * Packs the letters into the given words, overwriting them.
+   *
+   * @param letters Lowercase letters
+   * @param words Array to pack into
+   * @param offset Index of the first word to pack into
+   */
+  public static void pack(CharSequence letters, long[] words, int offset) {
+    for (int word = 0; word < words(letters.length()); word ++) {
+      words[offset + word] = 0;
+    }
+
+    for (int i = 0; i < letters.length(); i ++) {
+      int letter = letters.charAt(i) - 'a';
+      if (letter < 0 || letter >= 26) {
+        throw new IllegalArgumentException("Can only pack lowercase letters, not '" + letters.charAt(i) + "'");
+      }
+      words[offset + i / LETTERS_PER_WORD] |= (long) letter << (BITS_PER_LETTER * (i % LETTERS_PER_WORD));
+    }
+  }
+
+  /**
+   * Packs each of the strings into its own run of words, string i starting at word i * words.  Shorter strings are
+   * padded with 0s.
+   *
+   * @param strings Strings of lowercase letters
+   * @param words Words for each string, enough for the longest
+   * @return Packed strings.
+   */
+  public static long[] packAll(List<? extends CharSequence> strings, int words) {
+    long[] packed = new long[strings.size() * words];
+    for (int i = 0; i < strings.size(); i ++) {
+      if (words(strings.get(i).length()) > words) {
+        throw new IllegalArgumentException("Can't pack " + strings.get(i).length() + " letters into " + words + " words");
+      }
+      pack(strings.get(i), packed, i * words);
+    }
+
+    return packed;
+  }
+
+  /**
+   * Returns the letter at the given index of some packed letters.
+   *
+   * @param words Packed letters
+   * @param offset Index of the first word of the letters
+   * @param index Index of the letter
+   * @return Letter.
+   */
+  public static char letterAt(long[] words, int offset, int index) {
+    long word = words[offset + index / LETTERS_PER_WORD];
+    return (char) ('a' + ((word >>> (BITS_PER_LETTER * (index % LETTERS_PER_WORD))) & LETTER_MASK));
+  }
+
+  /**
+   * Unpacks packed letters back into a string.
+   *
+   * @param words Packed letters
+   * @param offset Index of the first word of the letters
+   * @param length Number of letters
+   * @return Letters.
+   */
+  public static String unpack(long[] words, int offset, int length) {
+    char[] letters = new char[length];
+    for (int i = 0; i < length; i ++) {
+      letters[i] = letterAt(words, offset, i);
+    }
+
+    return new String(letters);
+  }
+
+  /**
+   * Returns the number of positions where two words of packed letters differ.  The words are XORed, then each letter's
+   * bits are folded down onto its lowest bit, so the count is one popcount.
+   *
+   * @param a Packed letters
+   * @param b Packed letters
+   * @return Number of letters that differ, from 0 to 12.
+   */
+  public static int mismatches(long a, long b) {
+    long different = a ^ b;
+    long folded = different | different >>> 1 | different >>> 2 | different >>> 3 | different >>> 4;
+    return Long.bitCount(folded & LOW_BITS);
+  }
+
+  /**
+   * Returns the number of positions where two packed strings of the same length differ.
+   *
+   * @param a Packed letters
+   * @param aOffset Index of the first word of a
+   * @param b Packed letters
+   * @param bOffset Index of the first word of b
+   * @param words Number of words in each
+   * @return Number of letters that differ.
+   */
+  public static int mismatches(long[] a, int aOffset, long[] b, int bOffset, int words) {
+    int mismatches = 0;
+    for (int word = 0; word < words; word ++) {
+      mismatches += mismatches(a[aOffset + word], b[bOffset + word]);
+    }
+
+    return mismatches;
+  }
+}
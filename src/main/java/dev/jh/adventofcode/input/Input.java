@@ -0,0 +1,254 @@
+package dev.jh.adventofcode.input;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.Resources;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Puzzle input backed by a memory-mapped file, read through a {@link LineCursor} without copying it onto the heap.
+ * Files are mapped in windows, so inputs can be larger than a single mapping (2GB) - the only limit is that a line has
+ * to fit in a window.  An input can be {@link #split} into line-aligned parts to read in parallel.
+ */
+public class Input implements Closeable {
+  static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+  /** How far to look ahead at a time for the end of a line to split at. */
+  private static final int SPLIT_SCAN_SIZE = 4096;
+
+  private final FileChannel channel;
+  private final ByteBuffer bytes;
+  private final long offset;
+  private final long size;
+  private final int windowSize;
+  /** Whether this is a part of another input, which owns the channel. */
+  private final boolean part;
+
+  private Input(FileChannel channel, ByteBuffer bytes, long offset, long size, int windowSize, boolean part) {
+    this.channel = channel;
+    this.bytes = bytes;
+    this.offset = offset;
+    this.size = size;
+    this.windowSize = windowSize;
+    this.part = part;
+  }
+
+  /**
+   * Opens the given file for reading.
+   *
+   * @param path File to read
+   * @return Input backed by the file.
+   * @throws IOException if the file can't be opened.
+   */
+  public static Input open(Path path) throws IOException {
+    FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+    return new Input(channel, null, 0, channel.size(), DEFAULT_WINDOW_SIZE, false);
+  }
+
+  /**
+   * Opens the given classpath resource.  Resources in a directory are mapped - anything else, like a resource in a
+   * jar, is read into memory.
+   *
+   * @param name Absolute name of the resource, like '/day1.txt'
+   * @return Input backed by the resource.
+   * @throws IOException if the resource can't be read.
+   */
+  public static Input ofResource(String name) throws IOException {
+    URL url = Resources.getResource(Input.class, name);
+    if ("file".equals(url.getProtocol())) {
+      try {
+        return open(Paths.get(url.toURI()));
+      } catch (URISyntaxException e) {
+        throw new IOException("Invalid resource URL " + url, e);
+      }
+    }
+
+    return ofBytes(Resources.toByteArray(url));
+  }
+
+  public static Input ofBytes(byte[] bytes) {
+    return new Input(null, ByteBuffer.wrap(bytes), 0, bytes.length, DEFAULT_WINDOW_SIZE, false);
+  }
+
+  /**
+   * Returns an in-memory input with the given lines, for parsing lines that have already been read.
+   *
+   * @param lines Lines of the input
+   * @return Input with the lines separated by newlines.
+   */
+  public static Input ofLines(Iterable<String> lines) {
+    return ofBytes(Joiner.on('\n').join(lines).getBytes(Charsets.UTF_8));
+  }
+
+  /**
+   * Returns a copy of this input that maps windows of the given size.  Only meant for testing lines that cross window
+   * boundaries.
+   */
+  Input withWindowSize(int windowSize) {
+    return new Input(channel, bytes, offset, size, windowSize, part);
+  }
+
+  int windowSize() {
+    return windowSize;
+  }
+
+  public long size() {
+    return size;
+  }
+
+  /**
+   * Returns where this input starts in the file or bytes it was read from - 0 unless it's a part of a split input.
+   *
+   * @return Offset of the first byte of this input.
+   */
+  public long offset() {
+    return offset;
+  }
+
+  /**
+   * Returns the window of input starting at the given offset.
+   */
+  ByteBuffer window(long position, int length) {
+    if (bytes != null) {
+      ByteBuffer window = bytes.duplicate();
+      window.position((int) (offset + position)).limit((int) (offset + position) + length);
+      return window.slice();
+    }
+
+    try {
+      return channel.map(FileChannel.MapMode.READ_ONLY, offset + position, length);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Returns the SHA-256 hash of the input's bytes, reading them a window at a time.
+   *
+   * @return 32 byte hash.
+   */
+  public byte[] sha256() {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      // Every JVM has to support SHA-256.
+      throw new IllegalStateException(e);
+    }
+
+    forEachWindow(digest::update);
+    return digest.digest();
+  }
+
+  /**
+   * Passes every byte of the input to the given consumer, one window at a time in order.  Windows split the input
+   * wherever they happen to end, even in the middle of a line, so this is for reading that doesn't care about lines or
+   * that carries its state from one window to the next.
+   *
+   * @param consumer Called with each window, positioned at its start
+   */
+  public void forEachWindow(Consumer<? super ByteBuffer> consumer) {
+    for (long start = 0; start < size; start += windowSize) {
+      consumer.accept(window(start, (int) Math.min(windowSize, size - start)));
+    }
+  }
+
+  /**
+   * Splits the input into roughly equal parts that each start at the beginning of a line, so they can be read at the
+   * same time.  There can be fewer parts than asked for if the input is small or has long lines, and an empty input has
+   * none.  Parts share this input's file, so only this input needs closing.
+   *
+   * @param parts Number of parts to aim for
+   * @return Parts of the input in order, which together cover all of it.
+   */
+  public ImmutableList<Input> split(int parts) {
+    if (parts < 1) {
+      throw new IllegalArgumentException("Can't split into " + parts + " parts");
+    }
+
+    ImmutableList.Builder<Input> split = ImmutableList.builder();
+    long start = 0;
+    for (int i = 1; i <= parts && start < size; i ++) {
+      long end = i == parts ? size : Math.max(start, lineStartAfter(size / parts * i));
+      if (end > start) {
+        split.add(new Input(channel, bytes, offset + start, end - start, windowSize, true));
+        start = end;
+      }
+    }
+
+    return split.build();
+  }
+
+  /**
+   * Returns the position just after the first newline at or after the given position, or the end of the input.
+   */
+  private long lineStartAfter(long position) {
+    for (long start = position; start < size; start += SPLIT_SCAN_SIZE) {
+      ByteBuffer scan = window(start, (int) Math.min(SPLIT_SCAN_SIZE, size - start));
+      for (int i = 0; i < scan.limit(); i ++) {
+        if (scan.get(i) == '\n') {
+          return start + i + 1;
+        }
+      }
+    }
+
+    return size;
+  }
+
+  /**
+   * Returns a new cursor positioned before the first line of the input.
+   *
+   * @return Line cursor.
+   */
+  public LineCursor lines() {
+    return new LineCursor(this);
+  }
+
+  /**
+   * Parses every line of the input with the given parser.
+   *
+   * @param parser Parser for a single line - called with the cursor positioned at the start of each line
+   * @param <T> Type of the parsed lines
+   * @return Parsed lines, in order.
+   */
+  public <T> ImmutableList<T> mapLines(Function<? super LineCursor, ? extends T> parser) {
+    ImmutableList.Builder<T> parsed = ImmutableList.builder();
+    LineCursor cursor = lines();
+    while (cursor.next()) {
+      parsed.add(parser.apply(cursor));
+    }
+
+    return parsed.build();
+  }
+
+  /**
+   * Reads the whole input as strings, one per line, for parsers that haven't moved onto cursors.
+   *
+   * @return Lines of the input without line terminators.
+   */
+  public ImmutableList<String> readLines() {
+    return mapLines(LineCursor::text);
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (channel != null && !part) {
+      channel.close();
+    }
+  }
+}
@@ -0,0 +1,127 @@
+package dev.jh.adventofcode.input;
+
+import com.google.common.base.Charsets;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Moves through an {@link Input} one line at a time, reading tokens from the current line straight out of the mapped
+ * bytes.  Lines end with '\n' or '\r\n', and the last line doesn't need a terminator, or can end with just the '\r'.
+ * When a line runs past the end of the current window, the next window is mapped starting at that line.
+ */
+public class LineCursor extends TokenCursor {
+  private final Input input;
+
+  private ByteBuffer window;
+  private long windowStart;
+  private int lineStart;
+  private int nextLineStart;
+  private int lineNumber;
+
+  LineCursor(Input input) {
+    this.input = input;
+  }
+
+  /**
+   * Advances to the next line.
+   *
+   * @return Whether there was another line - false at the end of the input.
+   */
+  public boolean next() {
+    if (windowStart + nextLineStart >= input.size()) {
+      position = limit = lineStart = nextLineStart;
+      return false;
+    }
+
+    if (window == null) {
+      map(0);
+    }
+
+    int end = indexOfNewline(nextLineStart);
+    if (end < 0 && !windowReachesEnd()) {
+      map(windowStart + nextLineStart);
+
+      end = indexOfNewline(0);
+      if (end < 0 && !windowReachesEnd()) {
+        throw new IllegalArgumentException("Line " + (lineNumber + 1) + " doesn't fit in a " + input.windowSize() + " byte window");
+      }
+    }
+
+    lineStart = nextLineStart;
+    if (end < 0) {
+      // Last line, without a terminator - but it can still have the '\r' of one.
+      end = window.limit();
+      nextLineStart = window.limit();
+    } else {
+      nextLineStart = end + 1;
+    }
+    limit = end > lineStart && window.get(end - 1) == '\r' ? end - 1 : end;
+
+    position = lineStart;
+    lineNumber ++;
+    return true;
+  }
+
+  private void map(long start) {
+    window = input.window(start, (int) Math.min(input.windowSize(), input.size() - start));
+    windowStart = start;
+    nextLineStart = 0;
+  }
+
+  private boolean windowReachesEnd() {
+    return windowStart + window.limit() >= input.size();
+  }
+
+  private int indexOfNewline(int from) {
+    for (int i = from; i < window.limit(); i ++) {
+      if (window.get(i) == '\n') {
+        return i;
+      }
+    }
+
+    return -1;
+  }
+
+  /**
+   * Returns the number of the current line, starting from 1.
+   *
+   * @return Current line number.
+   */
+  public int lineNumber() {
+    return lineNumber;
+  }
+
+  /**
+   * Returns whether the current line has no characters at all.
+   *
+   * @return Whether the current line is blank.
+   */
+  public boolean isEmpty() {
+    return limit == lineStart;
+  }
+
+  @Override
+  protected char charAt(int index) {
+    return (char) (window.get(index) & 0xFF);
+  }
+
+  @Override
+  protected int start() {
+    return lineStart;
+  }
+
+  @Override
+  protected String location() {
+    return "line " + lineNumber;
+  }
+
+  @Override
+  public String text() {
+    byte[] line = new byte[limit - lineStart];
+    for (int i = 0; i < line.length; i ++) {
+      line[i] = window.get(lineStart + i);
+    }
+
+    return new String(line, Charsets.UTF_8);
+  }
+}
@@ -0,0 +1,34 @@
+package dev.jh.adventofcode.input;
+
+/**
+ * Reads tokens from a single string, for parsing records that are already in memory.
+ */
+public class StringCursor extends TokenCursor {
+  private final String text;
+
+  public StringCursor(String text) {
+    this.text = text;
+    this.position = 0;
+    this.limit = text.length();
+  }
+
+  @Override
+  protected char charAt(int index) {
+    return text.charAt(index);
+  }
+
+  @Override
+  protected int start() {
+    return 0;
+  }
+
+  @Override
+  protected String location() {
+    return "";
+  }
+
+  @Override
+  public String text() {
+    return text;
+  }
+}
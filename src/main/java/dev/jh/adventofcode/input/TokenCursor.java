@@ -0,0 +1,219 @@
+package dev.jh.adventofcode.input;
+
+/**
+ * Reads tokens - literals, characters and numbers - from a single record of text without allocating.  Characters are
+ * single bytes, which covers the ASCII puzzle inputs.  Every failure is reported as an IllegalArgumentException that
+ * includes the record and the column the cursor stopped at.
+ */
+public abstract class TokenCursor {
+  /** Index of the next character to read. */
+  protected int position;
+  /** Index just past the last character of the current record. */
+  protected int limit;
+
+  /**
+   * Returns the character at the given index of the backing text.
+   *
+   * @param index Index between the start of the record and the limit
+   * @return Character at that index.
+   */
+  protected abstract char charAt(int index);
+
+  /**
+   * Returns the index of the first character of the current record.
+   *
+   * @return Start of the current record.
+   */
+  protected abstract int start();
+
+  /**
+   * Returns a description of where the current record is, like 'line 12', for error messages.
+   *
+   * @return Location of the current record, or an empty string if there's nothing more useful than the column.
+   */
+  protected abstract String location();
+
+  /**
+   * Returns the text of the current record.  This allocates, so it's meant for error messages and rare cases that
+   * need the whole record.
+   *
+   * @return Text of the current record.
+   */
+  public abstract String text();
+
+  public boolean hasRemaining() {
+    return position < limit;
+  }
+
+  /**
+   * Returns the next character without consuming it.
+   *
+   * @return Next character.
+   */
+  public char peek() {
+    if (position >= limit) {
+      throw error("Unexpected end of record");
+    }
+
+    return charAt(position);
+  }
+
+  /**
+   * Consumes and returns the next character.
+   *
+   * @return Next character.
+   */
+  public char nextChar() {
+    char c = peek();
+    position ++;
+    return c;
+  }
+
+  /**
+   * Consumes the next character if it's the given character.
+   *
+   * @param c Character to consume
+   * @return Whether the character was consumed.
+   */
+  public boolean consume(char c) {
+    if (position < limit && charAt(position) == c) {
+      position ++;
+      return true;
+    }
+
+    return false;
+  }
+
+  /**
+   * Consumes the given literal if the remaining text starts with it.  Nothing is consumed if it doesn't.
+   *
+   * @param literal Literal to consume
+   * @return Whether the literal was consumed.
+   */
+  public boolean consume(String literal) {
+    if (limit - position < literal.length()) {
+      return false;
+    }
+
+    for (int i = 0; i < literal.length(); i ++) {
+      if (charAt(position + i) != literal.charAt(i)) {
+        return false;
+      }
+    }
+
+    position += literal.length();
+    return true;
+  }
+
+  public TokenCursor expect(char c) {
+    if (!consume(c)) {
+      throw error("Expected '" + c + "'");
+    }
+
+    return this;
+  }
+
+  public TokenCursor expect(String literal) {
+    if (!consume(literal)) {
+      throw error("Expected '" + literal + "'");
+    }
+
+    return this;
+  }
+
+  /**
+   * Fails if there's anything left in the current record.
+   */
+  public void expectEnd() {
+    if (position < limit) {
+      throw error("Unexpected trailing characters");
+    }
+  }
+
+  public TokenCursor skip(int count) {
+    if (count > limit - position) {
+      throw error("Unexpected end of record");
+    }
+
+    position += count;
+    return this;
+  }
+
+  public TokenCursor skipSpaces() {
+    while (position < limit && charAt(position) == ' ') {
+      position ++;
+    }
+
+    return this;
+  }
+
+  /**
+   * Reads a decimal integer, skipping any leading spaces.  The number can have a leading '+' or '-'.
+   *
+   * @return Integer that was read.
+   */
+  public int nextInt() {
+    int start = position;
+    long value = nextLong();
+    if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+      position = start;
+      throw error("Number is out of range for an int");
+    }
+
+    return (int) value;
+  }
+
+  /**
+   * Reads a decimal long, skipping any leading spaces.  The number can have a leading '+' or '-'.
+   *
+   * @return Long that was read.
+   */
+  public long nextLong() {
+    skipSpaces();
+
+    boolean negative = false;
+    if (position < limit && (charAt(position) == '-' || charAt(position) == '+')) {
+      negative = charAt(position) == '-';
+      position ++;
+    }
+
+    int digitsStart = position;
+    long value = 0;
+    while (position < limit) {
+      int digit = charAt(position) - '0';
+      if (digit < 0 || digit > 9) {
+        break;
+      }
+
+      // Accumulate as a negative number so Long.MIN_VALUE can be represented.
+      if (value < (Long.MIN_VALUE + digit) / 10) {
+        throw error("Number is out of range for a long");
+      }
+
+      value = value * 10 - digit;
+      position ++;
+    }
+
+    if (position == digitsStart) {
+      throw error("Expected a number");
+    }
+
+    if (!negative && value == Long.MIN_VALUE) {
+      throw error("Number is out of range for a long");
+    }
+
+    return negative ? value : -value;
+  }
+
+  /**
+   * Returns an exception describing a problem at the cursor's current position, to be thrown by the caller.
+   *
+   * @param message Description of the problem
+   * @return Exception to throw.
+   */
+  public IllegalArgumentException error(String message) {
+    String location = location();
+    return new IllegalArgumentException(message + " at " + (location.isEmpty() ? "" : location + ", ")
+        + "column " + (position - start() + 1) + ": '" + text() + "'");
+  }
+}
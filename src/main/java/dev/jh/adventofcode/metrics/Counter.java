@@ -0,0 +1,63 @@
+package dev.jh.adventofcode.metrics;
+
+import com.google.common.base.MoreObjects;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running total that any number of threads can add to.  A disabled counter ignores everything added to it, so hot
+ * loops can report into one unconditionally - they're still expected to count locally and add once per loop rather
+ * than once per iteration.  Add from a finally block, so loops that are cancelled or run out of time still count,
+ * since those are usually the runs worth measuring.
+ */
+public class Counter {
+  private final String name;
+  private final LongAdder total;
+
+  Counter(String name, boolean enabled) {
+    this.name = name;
+    this.total = enabled ? new LongAdder() : null;
+  }
+
+  public String name() {
+    return name;
+  }
+
+  public void increment() {
+    add(1);
+  }
+
+  /**
+   * Adds the given amount to the total.
+   *
+   * @param amount Amount to add
+   */
+  public void add(long amount) {
+    if (total != null) {
+      total.add(amount);
+    }
+  }
+
+  /**
+   * Returns the total so far.
+   *
+   * @return Sum of everything added, or 0 if the counter is disabled.
+   */
+  public long count() {
+    return total == null ? 0 : total.sum();
+  }
+
+  void reset() {
+    if (total != null) {
+      total.reset();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("name", name)
+        .add("count", count())
+        .toString();
+  }
+}
@@ -0,0 +1,134 @@
+package dev.jh.adventofcode.metrics;
+
+import com.google.common.base.MoreObjects;
+
+import java.util.Arrays;
+
+/**
+ * Distribution of non-negative values, like the size of each search, kept as the count, sum, min and max plus a
+ * bucket per power of two.  Bucket 0 holds zeros and bucket b holds values in [2^(b-1), 2^b).  A disabled histogram
+ * ignores everything recorded in it.
+ */
+public class Histogram {
+  static final int BUCKETS = 64;
+
+  private final String name;
+  private final boolean enabled;
+  private final long[] buckets = new long[BUCKETS];
+  private long count;
+  private long sum;
+  private long min = Long.MAX_VALUE;
+  private long max = Long.MIN_VALUE;
+
+  Histogram(String name, boolean enabled) {
+    this.name = name;
+    this.enabled = enabled;
+  }
+
+  public String name() {
+    return name;
+  }
+
+  /**
+   * Records a single value.
+   *
+   * @param value Value to record
+   */
+  public void record(long value) {
+    if (!enabled) {
+      return;
+    }
+    if (value < 0) {
+      throw new IllegalArgumentException("Histograms only record non-negative values: " + value);
+    }
+
+    synchronized (this) {
+      buckets[bucket(value)] ++;
+      count ++;
+      sum += value;
+      min = Math.min(min, value);
+      max = Math.max(max, value);
+    }
+  }
+
+  static int bucket(long value) {
+    return 64 - Long.numberOfLeadingZeros(value);
+  }
+
+  public synchronized long count() {
+    return count;
+  }
+
+  public synchronized long sum() {
+    return sum;
+  }
+
+  /**
+   * Returns the smallest value recorded.
+   *
+   * @return Smallest value, or 0 if nothing has been recorded.
+   */
+  public synchronized long min() {
+    return count == 0 ? 0 : min;
+  }
+
+  /**
+   * Returns the largest value recorded.
+   *
+   * @return Largest value, or 0 if nothing has been recorded.
+   */
+  public synchronized long max() {
+    return count == 0 ? 0 : max;
+  }
+
+  public synchronized double mean() {
+    return count == 0 ? 0 : (double) sum / count;
+  }
+
+  /**
+   * Returns an upper bound on the given percentile - the top of the power of two bucket that it falls in, capped at
+   * the largest value recorded.
+   *
+   * @param percentile Percentile between 0 and 100
+   * @return Upper bound on the percentile, or 0 if nothing has been recorded.
+   */
+  public synchronized long percentile(double percentile) {
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+    }
+    if (count == 0) {
+      return 0;
+    }
+
+    long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+    long seen = 0;
+    for (int bucket = 0; bucket < BUCKETS; bucket ++) {
+      seen += buckets[bucket];
+      if (seen >= rank) {
+        long top = bucket == 0 ? 0 : bucket == 63 ? Long.MAX_VALUE : (1L << bucket) - 1;
+        return Math.min(top, max);
+      }
+    }
+
+    return max;
+  }
+
+  synchronized void reset() {
+    Arrays.fill(buckets, 0);
+    count = 0;
+    sum = 0;
+    min = Long.MAX_VALUE;
+    max = Long.MIN_VALUE;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("name", name)
+        .add("count", count)
+        .add("sum", sum)
+        .add("min", min())
+        .add("max", max())
+        .toString();
+  }
+}
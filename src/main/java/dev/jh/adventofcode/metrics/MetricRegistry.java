@@ -0,0 +1,106 @@
+package dev.jh.adventofcode.metrics;
+
+import com.google.common.collect.ImmutableSortedMap;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Named counters and histograms.  Metrics are created the first time they're asked for, and asking again for the same
+ * name returns the same metric, so callers can keep them in static fields.  When the registry is disabled, every
+ * metric it hands out is disabled too.
+ */
+public class MetricRegistry {
+  private final boolean enabled;
+  private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+  public MetricRegistry(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Returns the counter with the given name, creating it if needed.
+   *
+   * @param name Name of the counter, like 'day9.marbles'
+   * @return Counter with that name.
+   */
+  public Counter counter(String name) {
+    return counters.computeIfAbsent(name, n -> new Counter(n, enabled));
+  }
+
+  /**
+   * Returns the histogram with the given name, creating it if needed.
+   *
+   * @param name Name of the histogram, like 'day22.expanded'
+   * @return Histogram with that name.
+   */
+  public Histogram histogram(String name) {
+    return histograms.computeIfAbsent(name, n -> new Histogram(n, enabled));
+  }
+
+  /**
+   * Returns the current total of every counter, sorted by name.
+   *
+   * @return Counter totals by name.
+   */
+  public ImmutableSortedMap<String, Long> counts() {
+    ImmutableSortedMap.Builder<String, Long> counts = ImmutableSortedMap.naturalOrder();
+    counters.forEach((name, counter) -> counts.put(name, counter.count()));
+    return counts.build();
+  }
+
+  /**
+   * Zeroes every metric, keeping the metrics themselves so static references to them stay valid.
+   */
+  public void reset() {
+    counters.values().forEach(Counter::reset);
+    histograms.values().forEach(Histogram::reset);
+  }
+
+  /**
+   * Formats every metric that has been reported into as a table, counters first, sorted by name.
+   *
+   * @return Printable summary of the metrics.
+   */
+  public String summary() {
+    StringBuilder bldr = new StringBuilder();
+
+    ImmutableSortedMap<String, Long> counts = counts();
+    if (counts.values().stream().anyMatch(count -> count != 0)) {
+      bldr.append(String.format("%-28s  %15s\n", "Counter", "Count"));
+      counts.forEach((name, count) -> {
+        if (count != 0) {
+          bldr.append(String.format("%-28s  %15d\n", name, count));
+        }
+      });
+    }
+
+    ImmutableSortedMap<String, Histogram> sorted = ImmutableSortedMap.copyOf(histograms);
+    if (sorted.values().stream().anyMatch(histogram -> histogram.count() != 0)) {
+      if (bldr.length() > 0) {
+        bldr.append('\n');
+      }
+      bldr.append(String.format("%-28s  %10s  %12s  %10s  %10s  %10s  %10s\n",
+          "Histogram", "Count", "Mean", "Min", "p50", "p99", "Max"));
+      sorted.forEach((name, histogram) -> {
+        if (histogram.count() != 0) {
+          bldr.append(String.format("%-28s  %10d  %12.1f  %10d  %10d  %10d  %10d\n",
+              name,
+              histogram.count(),
+              histogram.mean(),
+              histogram.min(),
+              histogram.percentile(50),
+              histogram.percentile(99),
+              histogram.max()));
+        }
+      });
+    }
+
+    return bldr.toString();
+  }
+}
@@ -0,0 +1,27 @@
+package dev.jh.adventofcode.metrics;
+
+/**
+ * Process-wide metrics that the solvers report into.  Metrics are off unless the JVM is started with
+ * {@code -Dadventofcode.metrics=true} - while they're off, reporting into them does nothing beyond a null check.
+ */
+public final class Metrics {
+  /** Whether the process-wide metrics are recording. */
+  public static final boolean ENABLED = Boolean.getBoolean("adventofcode.metrics");
+
+  private static final MetricRegistry REGISTRY = new MetricRegistry(ENABLED);
+
+  private Metrics() {
+  }
+
+  public static MetricRegistry registry() {
+    return REGISTRY;
+  }
+
+  public static Counter counter(String name) {
+    return REGISTRY.counter(name);
+  }
+
+  public static Histogram histogram(String name) {
+    return REGISTRY.histogram(name);
+  }
+}
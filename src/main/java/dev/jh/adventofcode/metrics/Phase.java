@@ -0,0 +1,50 @@
+package dev.jh.adventofcode.metrics;
+
+/**
+ * A phase of solving a day - parsing, or one of the parts - recorded as a JDK Flight Recorder event when it's closed.
+ * On JVMs without Flight Recorder, or when no recording is running, phases cost next to nothing.
+ */
+public abstract class Phase implements AutoCloseable {
+  private static final boolean FLIGHT_RECORDER = flightRecorderAvailable();
+
+  static final Phase NONE = new Phase() {
+    @Override
+    public void failed() {
+    }
+
+    @Override
+    public void close() {
+    }
+  };
+
+  private static boolean flightRecorderAvailable() {
+    try {
+      Class.forName("jdk.jfr.Event");
+      return true;
+    } catch (ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+
+  /**
+   * Starts timing a phase.  Close the phase when it's finished.
+   *
+   * @param day Day being solved
+   * @param name Name of the phase, like 'parse'
+   * @return Running phase.
+   */
+  public static Phase begin(int day, String name) {
+    return FLIGHT_RECORDER ? SolverPhaseEvent.begin(day, name) : NONE;
+  }
+
+  /**
+   * Marks the phase as having thrown instead of finishing normally.
+   */
+  public abstract void failed();
+
+  /**
+   * Ends the phase, committing its event.
+   */
+  @Override
+  public abstract void close();
+}
@@ -0,0 +1,51 @@
+package dev.jh.adventofcode.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event covering one {@link Phase}.  Only loaded once {@link Phase} has checked that the JVM has
+ * Flight Recorder.
+ */
+@Name("dev.jh.adventofcode.SolverPhase")
+@Label("Solver Phase")
+@Category("Advent of Code")
+@Description("Parsing a day's input, or solving one of its parts")
+@StackTrace(false)
+class SolverPhaseEvent extends Event {
+  @Label("Day")
+  int day;
+
+  @Label("Phase")
+  String phase;
+
+  @Label("Failed")
+  boolean failed;
+
+  static Phase begin(int day, String name) {
+    SolverPhaseEvent event = new SolverPhaseEvent();
+    if (!event.isEnabled()) {
+      return Phase.NONE;
+    }
+
+    event.day = day;
+    event.phase = name;
+    event.begin();
+
+    return new Phase() {
+      @Override
+      public void failed() {
+        event.failed = true;
+      }
+
+      @Override
+      public void close() {
+        event.commit();
+      }
+    };
+  }
+}
@@ -0,0 +1,78 @@
+package dev.jh.adventofcode.search;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Dial's bucket queue - a ring of one bucket per priority.  Only works for monotone searches, where every priority
+ * added is between the last priority removed and that plus the largest edge weight, but then adding and removing are
+ * both constant time.
+ */
+public class BucketQueue implements IntPriorityQueue {
+  private final int[][] buckets;
+  private final int[] bucketSizes;
+  private int current;
+  private int size;
+
+  /**
+   * Creates a queue for searches with edge weights up to the given weight.
+   *
+   * @param maxWeight Largest edge weight
+   */
+  public BucketQueue(int maxWeight) {
+    if (maxWeight < 0) {
+      throw new IllegalArgumentException("Max weight can't be negative: " + maxWeight);
+    }
+
+    buckets = new int[maxWeight + 1][16];
+    bucketSizes = new int[maxWeight + 1];
+  }
+
+  @Override
+  public void add(int priority, int node) {
+    if (priority < current || priority - current >= buckets.length) {
+      throw new IllegalArgumentException("Priority " + priority + " is outside of " + current + " to "
+          + (current + buckets.length - 1));
+    }
+
+    int bucket = priority % buckets.length;
+    if (bucketSizes[bucket] == buckets[bucket].length) {
+      buckets[bucket] = Arrays.copyOf(buckets[bucket], bucketSizes[bucket] * 2);
+    }
+
+    buckets[bucket][bucketSizes[bucket] ++] = node;
+    size ++;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public int peekPriority() {
+    if (size == 0) {
+      throw new NoSuchElementException("Queue is empty");
+    }
+
+    while (bucketSizes[current % buckets.length] == 0) {
+      current ++;
+    }
+
+    return current;
+  }
+
+  @Override
+  public int removeMin() {
+    int bucket = peekPriority() % buckets.length;
+    size --;
+    return buckets[bucket][-- bucketSizes[bucket]];
+  }
+
+  @Override
+  public void clear() {
+    Arrays.fill(bucketSizes, 0);
+    current = 0;
+    size = 0;
+  }
+}
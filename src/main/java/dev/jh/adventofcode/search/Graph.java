@@ -0,0 +1,31 @@
+package dev.jh.adventofcode.search;
+
+/**
+ * Directed graph over int node ids from 0 to size - 1, with non-negative edge weights.  Edges are read into arrays the
+ * caller owns, so walking a graph doesn't allocate.
+ */
+public interface Graph {
+  /**
+   * Returns the number of node ids.
+   *
+   * @return Number of nodes - every id is less than this.
+   */
+  int size();
+
+  /**
+   * Returns the most edges any node can have, which is how big the arrays passed to {@link #edges} need to be.
+   *
+   * @return Maximum number of edges out of a node.
+   */
+  int maxDegree();
+
+  /**
+   * Fills in the edges out of a node.
+   *
+   * @param node Node id
+   * @param targets Array to fill with the node at the end of each edge
+   * @param weights Array to fill with the weight of each edge
+   * @return Number of edges filled in.
+   */
+  int edges(int node, int[] targets, int[] weights);
+}
@@ -0,0 +1,103 @@
+package dev.jh.adventofcode.search;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Binary min-heap of nodes by priority.  Each entry is a single long with the priority in the high half and the node
+ * in the low half, so comparing entries compares priorities and breaks ties by node id.
+ */
+public class IntMinHeap implements IntPriorityQueue {
+  private long[] entries;
+  private int size;
+
+  public IntMinHeap() {
+    this(16);
+  }
+
+  public IntMinHeap(int capacity) {
+    entries = new long[Math.max(capacity, 1)];
+  }
+
+  @Override
+  public void add(int priority, int node) {
+    if (priority < 0 || node < 0) {
+      throw new IllegalArgumentException("Priority " + priority + " and node " + node + " can't be negative");
+    }
+
+    if (size == entries.length) {
+      entries = Arrays.copyOf(entries, size * 2);
+    }
+
+    // Sift up from the new leaf.
+    long entry = ((long) priority << 32) | node;
+    int index = size ++;
+    while (index > 0) {
+      int parent = (index - 1) >>> 1;
+      if (entries[parent] <= entry) {
+        break;
+      }
+
+      entries[index] = entries[parent];
+      index = parent;
+    }
+
+    entries[index] = entry;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public int peekPriority() {
+    if (size == 0) {
+      throw new NoSuchElementException("Heap is empty");
+    }
+
+    return (int) (entries[0] >>> 32);
+  }
+
+  @Override
+  public int removeMin() {
+    if (size == 0) {
+      throw new NoSuchElementException("Heap is empty");
+    }
+
+    int node = (int) entries[0];
+
+    // Sift the last leaf down from the root.
+    long entry = entries[-- size];
+    int index = 0;
+    while (true) {
+      int child = 2 * index + 1;
+      if (child >= size) {
+        break;
+      }
+
+      if (child + 1 < size && entries[child + 1] < entries[child]) {
+        child ++;
+      }
+
+      if (entry <= entries[child]) {
+        break;
+      }
+
+      entries[index] = entries[child];
+      index = child;
+    }
+
+    entries[index] = entry;
+    return node;
+  }
+
+  @Override
+  public void clear() {
+    size = 0;
+  }
+}
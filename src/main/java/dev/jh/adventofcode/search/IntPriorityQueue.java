@@ -0,0 +1,29 @@
+package dev.jh.adventofcode.search;
+
+/**
+ * Priority queue of int nodes with non-negative int priorities, lowest priority first.  A node can be added more than
+ * once - searches skip the stale entries when they come out.
+ */
+public interface IntPriorityQueue {
+  void add(int priority, int node);
+
+  boolean isEmpty();
+
+  /**
+   * Returns the priority of the next node to be removed.
+   *
+   * @return Lowest priority in the queue.
+   * @throws java.util.NoSuchElementException if the queue is empty.
+   */
+  int peekPriority();
+
+  /**
+   * Removes a node with the lowest priority.
+   *
+   * @return Node that was removed.
+   * @throws java.util.NoSuchElementException if the queue is empty.
+   */
+  int removeMin();
+
+  void clear();
+}
@@ -0,0 +1,181 @@
+package dev.jh.adventofcode.search;
+
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Shortest path searches over a {@link Graph}.  A search keeps its distance array and other scratch buffers between
+ * runs, so searching the same graph over and over doesn't allocate - which also means the distances returned by one
+ * run are only good until the next one.  Not thread safe.
+ */
+public class Search {
+  /** Distance to a node that wasn't reached. */
+  public static final int UNREACHED = Integer.MAX_VALUE;
+
+  private int[] distances = new int[0];
+  private int[] queue = new int[0];
+  private int[] targets = new int[0];
+  private int[] weights = new int[0];
+  private final int[] source = new int[1];
+  private final IntMinHeap heap = new IntMinHeap();
+  private BucketQueue buckets;
+  private int bucketsMaxWeight = -1;
+  private long expanded;
+
+  private void prepare(Graph graph) {
+    if (distances.length < graph.size()) {
+      distances = new int[graph.size()];
+    }
+    Arrays.fill(distances, 0, graph.size(), UNREACHED);
+
+    if (targets.length < graph.maxDegree()) {
+      targets = new int[graph.maxDegree()];
+      weights = new int[graph.maxDegree()];
+    }
+  }
+
+  /**
+   * Returns the number of nodes whose edges have been followed, over every run of this search.
+   *
+   * @return Total nodes expanded.
+   */
+  public long expanded() {
+    return expanded;
+  }
+
+  /**
+   * Finds the number of edges to every node from the source, ignoring weights.
+   *
+   * @param graph Graph to search
+   * @param source Node to start from
+   * @return Distances by node, or {@link #UNREACHED}.  Only the first graph.size() entries are meaningful.
+   */
+  public int[] bfs(Graph graph, int source) {
+    this.source[0] = source;
+    return bfs(graph, this.source, 1);
+  }
+
+  /**
+   * Finds the number of edges to every node from the closest of the sources, ignoring weights.
+   *
+   * @param graph Graph to search
+   * @param sources Nodes to start from
+   * @param sourceCount Number of sources to use from the start of the array
+   * @return Distances by node, or {@link #UNREACHED}.  Only the first graph.size() entries are meaningful.
+   */
+  public int[] bfs(Graph graph, int[] sources, int sourceCount) {
+    prepare(graph);
+    if (queue.length < graph.size()) {
+      queue = new int[graph.size()];
+    }
+
+    int head = 0;
+    int tail = 0;
+    for (int i = 0; i < sourceCount; i ++) {
+      if (distances[sources[i]] == UNREACHED) {
+        distances[sources[i]] = 0;
+        queue[tail ++] = sources[i];
+      }
+    }
+
+    while (head < tail) {
+      int node = queue[head ++];
+      expanded ++;
+      int nextDistance = distances[node] + 1;
+
+      int edgeCount = graph.edges(node, targets, weights);
+      for (int i = 0; i < edgeCount; i ++) {
+        if (distances[targets[i]] == UNREACHED) {
+          distances[targets[i]] = nextDistance;
+          queue[tail ++] = targets[i];
+        }
+      }
+    }
+
+    return distances;
+  }
+
+  /**
+   * Finds the shortest weighted distance to every node from the source with Dijkstra's algorithm on a binary heap.
+   *
+   * @param graph Graph to search
+   * @param source Node to start from
+   * @return Distances by node, or {@link #UNREACHED}.  Only the first graph.size() entries are meaningful.
+   */
+  public int[] dijkstra(Graph graph, int source) {
+    run(graph, source, -1, node -> 0, heap);
+    return distances;
+  }
+
+  /**
+   * Finds the shortest weighted distance to every node from the source with Dijkstra's algorithm on a bucket queue,
+   * which beats a heap when the weights are small.
+   *
+   * @param graph Graph to search
+   * @param source Node to start from
+   * @param maxWeight Largest edge weight in the graph
+   * @return Distances by node, or {@link #UNREACHED}.  Only the first graph.size() entries are meaningful.
+   */
+  public int[] dial(Graph graph, int source, int maxWeight) {
+    if (bucketsMaxWeight != maxWeight) {
+      buckets = new BucketQueue(maxWeight);
+      bucketsMaxWeight = maxWeight;
+    }
+
+    run(graph, source, -1, node -> 0, buckets);
+    return distances;
+  }
+
+  /**
+   * Finds the shortest weighted distance from the source to the target with A*.
+   *
+   * @param graph Graph to search
+   * @param source Node to start from
+   * @param target Node to find the distance to
+   * @param heuristic Lower bound on the distance from a node to the target, which must never drop by more than the
+   *                  weight of an edge along it
+   * @return Distance to the target, or {@link #UNREACHED}.
+   */
+  public int aStar(Graph graph, int source, int target, IntUnaryOperator heuristic) {
+    return run(graph, source, target, heuristic, heap);
+  }
+
+  /**
+   * Runs a best first search, returning the distance to the target as soon as it's reached.  With a negative target,
+   * the whole graph is searched.
+   */
+  private int run(Graph graph, int source, int target, IntUnaryOperator heuristic, IntPriorityQueue open) {
+    prepare(graph);
+    open.clear();
+
+    distances[source] = 0;
+    open.add(heuristic.applyAsInt(source), source);
+
+    while (!open.isEmpty()) {
+      int priority = open.peekPriority();
+      int node = open.removeMin();
+
+      // Nodes are added again whenever a shorter path turns up - skip the entries for the longer ones.
+      int distance = distances[node];
+      if (priority - heuristic.applyAsInt(node) > distance) {
+        continue;
+      }
+
+      if (node == target) {
+        return distance;
+      }
+
+      expanded ++;
+      int edgeCount = graph.edges(node, targets, weights);
+      for (int i = 0; i < edgeCount; i ++) {
+        int nextDistance = distance + weights[i];
+        if (nextDistance < distances[targets[i]]) {
+          distances[targets[i]] = nextDistance;
+          open.add(nextDistance + heuristic.applyAsInt(targets[i]), targets[i]);
+        }
+      }
+    }
+
+    return UNREACHED;
+  }
+}
@@ -1,6 +1,7 @@
 package dev.jh.adventofcode;
 
 import com.google.common.collect.ImmutableList;
+import dev.jh.adventofcode.execution.ExecutionContext;
 import org.junit.Test;
 
 import java.util.stream.Stream;
@@ -382,4 +383,48 @@ public class Day15Test {
     assertThat(actual).isEqualTo(outcome);
     assertThat(Day15.outcome(board)).isEqualTo(18740);
   }
+
+  @Test
+  public void roundWithSets() {
+    Day15.Board board = Day15.Board.parseLines(ImmutableList.of(
+        "#######",
+        "#.G...#",
+        "#...EG#",
+        "#.#.#G#",
+        "#..G#E#",
+        "#.....#",
+        "#######"
+    ));
+
+    for (int i = 0; i < 30 && !board.isOver(); i ++) {
+      Day15.Round round = board.round();
+      assertThat(board.roundWithSets().board).isEqualTo(round.board);
+      board = round.board;
+    }
+  }
+
+  @Test
+  public void outcomeWithoutElfLosses() {
+    ImmutableList<ImmutableList<String>> boards = ImmutableList.of(
+        ImmutableList.of("#######", "#.G...#", "#...EG#", "#.#.#G#", "#..G#E#", "#.....#", "#######"),
+        ImmutableList.of("#######", "#E..EG#", "#.#G.E#", "#E.##E#", "#G..#.#", "#..E#.#", "#######"),
+        ImmutableList.of("#######", "#E.G#.#", "#.#G..#", "#G.#.G#", "#G..#.#", "#...E.#", "#######"),
+        ImmutableList.of("#######", "#.E...#", "#.#..G#", "#.###.#", "#E#G#G#", "#...#G#", "#######"),
+        ImmutableList.of("#########", "#G......#", "#.E.#...#", "#..##..G#", "#...##..#", "#...#...#", "#.G...G.#",
+            "#.....G.#", "#########"));
+
+    assertThat(boards.stream()
+        .map(lines -> Day15.outcomeWithoutElfLosses(Day15.Board.parseLines(lines), ExecutionContext.unbounded())))
+        .containsExactly(4988, 31284, 3478, 6474, 1140);
+  }
+
+  @Test
+  public void withAttack() {
+    Day15.Board board = Day15.Board.parseLines(ImmutableList.of("#####", "#EGE#", "#####"));
+
+    Day15.Board stronger = board.withAttack(Day15.Square.ELF, 10);
+    assertThat(stronger.units).extracting(unit -> unit.attack).containsExactlyInAnyOrder(10, 3, 10);
+    assertThat(stronger.count(Day15.Square.ELF)).isEqualTo(2);
+    assertThat(stronger.count(Day15.Square.GOBLIN)).isEqualTo(1);
+  }
 }
\ No newline at end of file
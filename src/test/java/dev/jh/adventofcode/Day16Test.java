@@ -1,6 +1,7 @@
 package dev.jh.adventofcode;
 
 import com.google.common.collect.ImmutableList;
+import dev.jh.adventofcode.input.Input;
 import org.assertj.core.api.Assertions;
 import org.junit.Test;
 
@@ -30,4 +31,24 @@ public class Day16Test {
   public void sampleMatches() {
     assertThat(SAMPLE.matchingOpcodes()).containsExactlyInAnyOrder(MULR, ADDI, SETI);
   }
+
+  @Test
+  public void parseManual() {
+    Day16.Manual manual = Day16.Manual.parse(Input.ofLines(ImmutableList.of(
+        "Before: [3, 2, 1, 1]",
+        "9 2 1 2",
+        "After:  [3, 2, 2, 1]",
+        "",
+        "",
+        "",
+        "9 2 1 2",
+        "0 1 2 3"
+    )));
+
+    assertThat(manual.samples).containsExactly(SAMPLE);
+    assertThat(manual.instructions).containsExactly(
+        new Day16.NumericInstruction(new int[]{9, 2, 1, 2}),
+        new Day16.NumericInstruction(new int[]{0, 1, 2, 3})
+    );
+  }
 }
\ No newline at end of file
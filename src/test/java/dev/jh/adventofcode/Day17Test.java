@@ -1,6 +1,7 @@
 package dev.jh.adventofcode;
 
 import com.google.common.collect.ImmutableList;
+import dev.jh.adventofcode.input.Input;
 import org.junit.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -104,4 +105,20 @@ public class Day17Test {
 
     assertThat(grid.flow().waterCount()).isEqualTo(31);
   }
+
+  @Test
+  public void parseGrid() {
+    Input input = Input.ofLines(ImmutableList.of(
+        "x=495, y=2..7",
+        "y=7, x=495..501",
+        "x=501, y=3..7",
+        "x=498, y=2..4",
+        "x=506, y=1..2",
+        "x=498, y=10..13",
+        "x=504, y=10..13",
+        "y=13, x=498..504"
+    ));
+
+    assertThat(Day17.parseGrid(input).flow().waterCount()).isEqualTo(57);
+  }
 }
\ No newline at end of file
@@ -1,9 +1,14 @@
 package dev.jh.adventofcode;
 
 import com.google.common.collect.ImmutableList;
+import dev.jh.adventofcode.execution.ExecutionContext;
 import org.junit.Test;
 
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class Day19Test {
 
@@ -28,4 +33,23 @@ public class Day19Test {
     Day19.State withDebugResult = program.withDebug(System.out).run(Day19.ImmutableState.initial());
     assertThat(withDebugResult).isEqualTo(expectedResult);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void sumOfDivisors() {
+    assertThat(Day19.sumOfDivisors(1)).isEqualTo(1);
+    assertThat(Day19.sumOfDivisors(16)).isEqualTo(1 + 2 + 4 + 8 + 16);
+    assertThat(Day19.sumOfDivisors(1028)).isEqualTo(1806);
+    assertThat(Day19.sumOfDivisors(10551428)).isEqualTo(18741072);
+  }
+
+  @Test
+  public void bruteForceStopsAtDeadline() throws Exception {
+    Day19.Program program = new Day19().parse(Solvers.openInput(new Day19()));
+
+    // Running the whole program for part 2 takes far too long - a deadline stops it.
+    ExecutionContext context = ExecutionContext.withTimeout(50, TimeUnit.MILLISECONDS);
+    assertThatThrownBy(() -> program.runUntil(Day19.MutableState.initial().set(0, 1), -1, context))
+        .isInstanceOf(CancellationException.class)
+        .hasMessageStartingWith("Deadline passed");
+  }
+}
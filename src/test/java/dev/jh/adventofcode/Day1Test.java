@@ -1,9 +1,15 @@
 package dev.jh.adventofcode;
 
+import com.google.common.base.Charsets;
 import com.google.common.collect.ImmutableList;
+import dev.jh.adventofcode.input.Input;
+import com.google.common.primitives.ImmutableIntArray;
 import org.junit.Test;
 
+import java.io.IOException;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class Day1Test {
 
@@ -19,6 +25,8 @@ public class Day1Test {
     assertThat(Day1.frequencyAfter(ImmutableList.of("+1", "+1", "+1"))).isEqualTo(3);
     assertThat(Day1.frequencyAfter(ImmutableList.of("+1", "+1", "-2"))).isEqualTo(0);
     assertThat(Day1.frequencyAfter(ImmutableList.of("-1", "-2", "-3"))).isEqualTo(-6);
+    assertThat(Day1.frequencyAfter(ImmutableList.of("+2147483647", "+2147483647"))).isEqualTo(2L * Integer.MAX_VALUE);
+    assertThat(new Day1().part1(ImmutableIntArray.of(Integer.MIN_VALUE, -1))).isEqualTo("-2147483649");
   }
 
   @Test
@@ -28,4 +36,152 @@ public class Day1Test {
     assertThat(Day1.firstFrequencyTwice(ImmutableList.of("-6", "+3", "+8", "+5", "-6"))).isEqualTo(5);
     assertThat(Day1.firstFrequencyTwice(ImmutableList.of("+7", "+7", "-2", "-7", "-4"))).isEqualTo(14);
   }
+
+  @Test
+  public void parseFrequencies() {
+    assertThat(Day1.parseFrequencies(Input.ofLines(ImmutableList.of("+1", "-2", "+3", "+1"))).toArray())
+        .containsExactly(1, -2, 3, 1);
+  }
+
+  @Test
+  public void firstFrequencyTwiceManyPasses() {
+    // Drifts by 1 a pass over a range of 1,000,000, so it takes 999,999 passes to repeat.
+    assertThat(Day1.firstFrequencyTwice(ImmutableIntArray.of(1_000_000, -999_999))).isEqualTo(1_000_000);
+  }
+
+  @Test
+  public void firstFrequencyTwiceWideRange() {
+    // Too wide for a bitmap.
+    assertThat(Day1.firstFrequencyTwice(ImmutableIntArray.of(2_000_000_000, -1_999_999_999, -1))).isEqualTo(0);
+    assertThat(Day1.firstFrequencyTwice(ImmutableIntArray.of(2_000_000_000, -2_000_000_000))).isEqualTo(0);
+  }
+
+  @Test
+  public void firstFrequencyTwiceDrifting() {
+    // The first pass spans 7e7, but ten passes drift twice that far, past what's kept in a bitmap.
+    ImmutableIntArray changes = ImmutableIntArray.of(70_000_000, -63_000_000);
+    assertThat(Day1.firstFrequencyTwice(changes)).isEqualTo(70_000_000);
+    assertThat(Day1.firstRepeatedFrequency(changes)).hasValue(70_000_000);
+  }
+
+  @Test
+  public void firstFrequencyTwiceBeyondInt() {
+    // The fourth frequency is the first plus 2^32, which would look like a repeat if the total wrapped around.
+    ImmutableIntArray changes = ImmutableIntArray.of(-2_000_000_000, 2_000_000_001, 1_147_483_647, 1_147_483_648, -1_147_483_648);
+    assertThat(Day1.firstFrequencyTwice(changes)).isEqualTo(1_147_483_648L);
+    assertThat(Day1.firstRepeatedFrequency(changes)).hasValue(1_147_483_648L);
+  }
+
+  @Test
+  public void firstFrequencyTwiceWithoutChanges() {
+    assertThatThrownBy(() -> Day1.firstFrequencyTwice(ImmutableIntArray.of())).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void firstRepeatedFrequency() {
+    assertThat(Day1.firstRepeatedFrequency(ImmutableIntArray.of(1, -1))).hasValue(0);
+    assertThat(Day1.firstRepeatedFrequency(ImmutableIntArray.of(3, 3, 4, -2, -4))).hasValue(10);
+    assertThat(Day1.firstRepeatedFrequency(ImmutableIntArray.of(-6, 3, 8, 5, -6))).hasValue(5);
+    assertThat(Day1.firstRepeatedFrequency(ImmutableIntArray.of(7, 7, -2, -7, -4))).hasValue(14);
+  }
+
+  @Test
+  public void firstRepeatedFrequencyManyPasses() {
+    assertThat(Day1.firstRepeatedFrequency(ImmutableIntArray.of(1_000_000, -999_999))).hasValue(1_000_000);
+    assertThat(Day1.firstRepeatedFrequency(ImmutableIntArray.of(-1_000_000, 999_999))).hasValue(-1_000_000);
+    // Would take about 2^31 passes to simulate.
+    assertThat(Day1.firstRepeatedFrequency(ImmutableIntArray.of(Integer.MAX_VALUE, 1 - Integer.MAX_VALUE)))
+        .hasValue(Integer.MAX_VALUE);
+  }
+
+  @Test
+  public void firstRepeatedFrequencyWithinPass() {
+    // 2 comes round again at index 4, well before anything lines up with the next pass.
+    assertThat(Day1.firstRepeatedFrequency(ImmutableIntArray.of(2, 5, -3, -2, 10))).hasValue(2);
+    // With no total, the second pass starts back at 0.
+    assertThat(Day1.firstRepeatedFrequency(ImmutableIntArray.of(2, -1, -1))).hasValue(0);
+  }
+
+  @Test
+  public void firstRepeatedFrequencyNeverRepeats() {
+    assertThat(Day1.firstRepeatedFrequency(ImmutableIntArray.of(1))).isEmpty();
+    assertThat(Day1.firstRepeatedFrequency(ImmutableIntArray.of(3, -1))).isEmpty();
+    // Every frequency is in a different residue class modulo 4.
+    assertThat(Day1.firstRepeatedFrequency(ImmutableIntArray.of(1, 1, 1, 1))).isEmpty();
+    assertThatThrownBy(() -> Day1.firstRepeatedFrequency(ImmutableIntArray.of())).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void firstRepeatedFrequencyMatchesSimulation() throws IOException {
+    try (Input input = Input.ofResource("/day1.txt")) {
+      ImmutableIntArray changes = Day1.parseFrequencies(input);
+      assertThat(Day1.firstRepeatedFrequency(changes)).hasValue(Day1.firstFrequencyTwice(changes));
+    }
+  }
+
+  @Test
+  public void firstRepeatedFrequencyWideInput() {
+    // Climbs 65536 steps of Integer.MAX_VALUE and back down again, too spread out to sort as packed longs.
+    ImmutableIntArray.Builder changes = ImmutableIntArray.builder();
+    for (int i = 0; i < 65536; i ++) {
+      changes.add(Integer.MAX_VALUE);
+    }
+    for (int i = 0; i < 65536; i ++) {
+      changes.add(-Integer.MAX_VALUE);
+    }
+    changes.add(1);
+
+    assertThat(Day1.firstRepeatedFrequency(changes.build())).hasValue(65535L * Integer.MAX_VALUE);
+  }
+
+  @Test
+  public void part2NeverRepeats() {
+    assertThatThrownBy(() -> new Day1().part2(ImmutableIntArray.of(1))).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void frequencyAfterInput() {
+    Input input = Input.ofBytes("+1\n-22\r\n+333\n-4444\n55555\n-2147483648\n+2147483647\n-1".getBytes(Charsets.UTF_8));
+
+    for (int parts = 1; parts < 12; parts ++) {
+      assertThat(Day1.frequencyAfter(input, parts)).as(parts + " parts").isEqualTo(-2 + 1 - 22 + 333 - 4444 + 55555);
+    }
+    assertThat(Day1.frequencyAfter(Input.ofBytes(new byte[0]))).isEqualTo(0);
+  }
+
+  @Test
+  public void frequencyAfterInputPastIntRange() {
+    byte[] line = "+2147483647\n".getBytes(Charsets.UTF_8);
+    byte[] bytes = new byte[line.length * 100_000];
+    for (int i = 0; i < bytes.length; i += line.length) {
+      System.arraycopy(line, 0, bytes, i, line.length);
+    }
+
+    assertThat(Day1.frequencyAfter(Input.ofBytes(bytes))).isEqualTo(100_000L * Integer.MAX_VALUE);
+    assertThat(Day1.frequencyAfter(Input.ofBytes(bytes), 7)).isEqualTo(100_000L * Integer.MAX_VALUE);
+  }
+
+  @Test
+  public void frequencyAfterInputMatchesParsed() throws IOException {
+    try (Input input = Input.ofResource("/day1.txt")) {
+      assertThat(Day1.frequencyAfter(input, 5)).isEqualTo(Day1.frequencyAfter(Day1.parseFrequencies(input)));
+    }
+  }
+
+  @Test
+  public void frequencyAfterInputErrors() {
+    assertThatThrownBy(() -> Day1.frequencyAfter(Input.ofBytes("+1\n+x\n".getBytes(Charsets.UTF_8))))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Unexpected character 'x' at byte 4");
+    assertThatThrownBy(() -> Day1.frequencyAfter(Input.ofBytes("+1\n\n+2".getBytes(Charsets.UTF_8))))
+        .hasMessage("Expected a number at byte 3");
+    assertThatThrownBy(() -> Day1.frequencyAfter(Input.ofBytes("+1\n-".getBytes(Charsets.UTF_8))))
+        .hasMessage("Expected a number at byte 4");
+    assertThatThrownBy(() -> Day1.frequencyAfter(Input.ofBytes("+2147483648".getBytes(Charsets.UTF_8))))
+        .hasMessage("Number is out of range for an int at byte 11");
+    assertThatThrownBy(() -> Day1.frequencyAfter(Input.ofBytes("-21474836480".getBytes(Charsets.UTF_8))))
+        .hasMessage("Number is out of range for an int at byte 11");
+    assertThatThrownBy(() -> Day1.frequencyAfter(Input.ofBytes("1\r2\n".getBytes(Charsets.UTF_8))))
+        .hasMessage("Unexpected character '2' at byte 2");
+  }
 }
\ No newline at end of file
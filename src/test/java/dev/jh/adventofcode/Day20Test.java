@@ -1,7 +1,7 @@
 package dev.jh.adventofcode;
 
-import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.ImmutableSet;
+import dev.jh.adventofcode.collect.LongIntHashMap;
+import dev.jh.adventofcode.grid.Coordinates;
 import org.junit.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -11,8 +11,8 @@ public class Day20Test {
   @Test
   public void simpleExample() {
     Day20.Instruction instruction = Day20.parse("^WNE$");
-    ImmutableMap<Day20.Point, ImmutableSet<Day20.Point>> graph = Day20.buildGraph(instruction);
-    ImmutableMap<Day20.Point, Integer> distances = Day20.roomDistances(graph);
+    LongIntHashMap graph = Day20.buildGraph(instruction);
+    LongIntHashMap distances = Day20.roomDistances(graph);
 
     assertThat(Day20.furthestRoom(distances)).isEqualTo(3);
   }
@@ -20,8 +20,8 @@ public class Day20Test {
   @Test
   public void hallwayExample() {
     Day20.Instruction instruction = Day20.parse("^ENWWW(NEEE|SSE(EE|N))$");
-    ImmutableMap<Day20.Point, ImmutableSet<Day20.Point>> graph = Day20.buildGraph(instruction);
-    ImmutableMap<Day20.Point, Integer> distances = Day20.roomDistances(graph);
+    LongIntHashMap graph = Day20.buildGraph(instruction);
+    LongIntHashMap distances = Day20.roomDistances(graph);
 
     assertThat(Day20.furthestRoom(distances)).isEqualTo(10);
   }
@@ -29,8 +29,8 @@ public class Day20Test {
   @Test
   public void emptyExample() {
     Day20.Instruction instruction = Day20.parse("^ENNWSWW(NEWS|)SSSEEN(WNSE|)EE(SWEN|)NNN$");
-    ImmutableMap<Day20.Point, ImmutableSet<Day20.Point>> graph = Day20.buildGraph(instruction);
-    ImmutableMap<Day20.Point, Integer> distances = Day20.roomDistances(graph);
+    LongIntHashMap graph = Day20.buildGraph(instruction);
+    LongIntHashMap distances = Day20.roomDistances(graph);
 
     assertThat(Day20.furthestRoom(distances)).isEqualTo(18);
   }
@@ -38,8 +38,8 @@ public class Day20Test {
   @Test
   public void example23() {
     Day20.Instruction instruction = Day20.parse("^ESSWWN(E|NNENN(EESS(WNSE|)SSS|WWWSSSSE(SW|NNNE)))$");
-    ImmutableMap<Day20.Point, ImmutableSet<Day20.Point>> graph = Day20.buildGraph(instruction);
-    ImmutableMap<Day20.Point, Integer> distances = Day20.roomDistances(graph);
+    LongIntHashMap graph = Day20.buildGraph(instruction);
+    LongIntHashMap distances = Day20.roomDistances(graph);
 
     assertThat(Day20.furthestRoom(distances)).isEqualTo(23);
   }
@@ -47,9 +47,19 @@ public class Day20Test {
   @Test
   public void example31() {
     Day20.Instruction instruction = Day20.parse("^WSSEESWWWNW(S|NENNEEEENN(ESSSSW(NWSW|SSEN)|WSWWN(E|WWS(E|SS))))$");
-    ImmutableMap<Day20.Point, ImmutableSet<Day20.Point>> graph = Day20.buildGraph(instruction);
-    ImmutableMap<Day20.Point, Integer> distances = Day20.roomDistances(graph);
+    LongIntHashMap graph = Day20.buildGraph(instruction);
+    LongIntHashMap distances = Day20.roomDistances(graph);
 
     assertThat(Day20.furthestRoom(distances)).isEqualTo(31);
   }
+
+  @Test
+  public void roomsAtLeast() {
+    Day20.Instruction instruction = Day20.parse("^ENWWW(NEEE|SSE(EE|N))$");
+    LongIntHashMap distances = Day20.roomDistances(Day20.buildGraph(instruction));
+
+    assertThat(distances.size()).isEqualTo(16);
+    assertThat(distances.get(Coordinates.pack(-2, 1))).isEqualTo(7);
+    assertThat(Day20.roomsAtLeast(distances, 9)).isEqualTo(4);
+  }
 }
\ No newline at end of file
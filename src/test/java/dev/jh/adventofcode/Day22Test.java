@@ -31,7 +31,9 @@ public class Day22Test {
     );
 
     for (int y = 0; y < expected.size(); y ++) {
-      assertThat(EXAMPLE_CAVE.erosion[y]).startsWith(parseErosion(expected.get(y)));
+      for (int x = 0; x < expected.get(y).length(); x ++) {
+        assertThat(EXAMPLE_CAVE.erosion(x, y)).isEqualTo(Day22.Erosion.fromName(expected.get(y).charAt(x)));
+      }
     }
   }
 
@@ -44,10 +46,4 @@ public class Day22Test {
   public void exampleFastestMinutes() {
     assertThat(EXAMPLE_CAVE.fastestMinutes()).isEqualTo(45);
   }
-
-  private static Day22.Erosion[] parseErosion(String line) {
-    return line.chars()
-        .mapToObj(c -> Day22.Erosion.fromName((char) c))
-        .toArray(Day22.Erosion[]::new);
-  }
 }
\ No newline at end of file
@@ -1,9 +1,11 @@
 package dev.jh.adventofcode;
 
 import com.google.common.collect.ImmutableList;
+import dev.jh.adventofcode.input.Input;
 import org.junit.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class Day23Test {
 
@@ -33,4 +35,21 @@ public class Day23Test {
         Day23.Nanobot.parse("pos=<10,10,10>, r=5")
     ))).isEqualTo(36);
   }
+
+  @Test
+  public void parseNanobots() {
+    Input input = Input.ofLines(ImmutableList.of("pos=<0,0,0>, r=4", "pos=<-12,14,-1>, r=2"));
+
+    assertThat(Day23.parseNanobots(input)).containsExactly(
+        new Day23.Nanobot(new Day23.Position(0, 0, 0), 4),
+        new Day23.Nanobot(new Day23.Position(-12, 14, -1), 2)
+    );
+  }
+
+  @Test
+  public void parseMalformedNanobot() {
+    assertThatThrownBy(() -> Day23.Nanobot.parse("pos=<1,2>, r=3"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Expected ',' at column 9: 'pos=<1,2>, r=3'");
+  }
 }
\ No newline at end of file
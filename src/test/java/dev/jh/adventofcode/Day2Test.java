@@ -1,12 +1,17 @@
 package dev.jh.adventofcode;
 
+import com.google.common.base.Charsets;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import dev.jh.adventofcode.input.Input;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.util.Collections;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class Day2Test {
 
@@ -107,8 +112,109 @@ public class Day2Test {
     assertThat(Day2.closeBoxIds(boxIds)).isEqualTo(new Day2.CloseBoxIds("fghij", "fguij"));
   }
 
+  @Test
+  public void closeBoxIdsDifferingFirst() {
+    // Sorted, the close ids aren't next to each other.
+    assertThat(Day2.closeBoxIds(ImmutableList.of("abcd", "mmmm", "xbcd"))).isEqualTo(new Day2.CloseBoxIds("abcd", "xbcd"));
+    assertThatThrownBy(() -> Day2.closeBoxIds(ImmutableList.of("abcd", "abdc", "abcd")))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("None of the box ids were close");
+  }
+
+  @Test
+  public void allCloseBoxIds() {
+    ImmutableList<String> boxIds = ImmutableList.of("abc", "abd", "xbc", "abc", "ab", "zbd", "abcd");
+
+    // The repeated abc is only close once, from its first copy.
+    assertThat(Day2.allCloseBoxIds(boxIds)).containsExactlyInAnyOrder(
+        new Day2.CloseBoxIds("abc", "xbc"),
+        new Day2.CloseBoxIds("abd", "zbd"),
+        new Day2.CloseBoxIds("abc", "abd"));
+    // Grouped by the position the ids differ at.
+    assertThat(Day2.allCloseBoxIds(boxIds).get(2)).isEqualTo(new Day2.CloseBoxIds("abc", "abd"));
+    assertThat(Day2.allCloseBoxIds(ImmutableList.of())).isEmpty();
+  }
+
+  @Test
+  public void allCloseBoxIdsRepeated() {
+    // Comparing every copy with every other copy would take billions of comparisons at each position.
+    ImmutableList<String> boxIds = ImmutableList.<String>builder()
+        .addAll(Collections.nCopies(100000, "abcdef"))
+        .add("abcxef")
+        .addAll(Collections.nCopies(100000, "abcxef"))
+        .build();
+
+    assertThat(Day2.allCloseBoxIds(boxIds)).containsExactly(new Day2.CloseBoxIds("abcdef", "abcxef"));
+  }
+
+  @Test
+  public void allCloseBoxIdsAcrossWords() {
+    // Packed ids take three words, and differ in the middle one, the last one, or more than once.
+    ImmutableList<String> boxIds = ImmutableList.of(
+        "abcdefghijklmnopqrstuvwxyz",
+        "abcdefghijklmnopqrstuvwxyy",
+        "abcdefghijklmzopqrstuvwxyz",
+        "zbcdefghijklmnopqrstuvwxyx");
+
+    assertThat(Day2.allCloseBoxIds(boxIds)).containsExactly(
+        new Day2.CloseBoxIds("abcdefghijklmnopqrstuvwxyz", "abcdefghijklmzopqrstuvwxyz"),
+        new Day2.CloseBoxIds("abcdefghijklmnopqrstuvwxyz", "abcdefghijklmnopqrstuvwxyy"));
+    assertThatThrownBy(() -> Day2.allCloseBoxIds(ImmutableList.of("abc", "aBc"))).isInstanceOf(IllegalArgumentException.class);
+  }
+
   @Test
   public void commonLetters() {
     assertThat(Day2.commonLetters(new Day2.CloseBoxIds("fghij", "fguij"))).isEqualTo("fgij");
   }
+
+  @Test
+  public void checksum() {
+    ImmutableList<String> boxIds = ImmutableList.of("abcdef", "bababc", "abbcde", "abcccd", "aabcdd", "abcdee", "ababab");
+
+    assertThat(Day2.checksum(boxIds)).isEqualTo(12);
+    assertThat(Day2.checksum(ImmutableList.of())).isEqualTo(0);
+    assertThat(Day2.checksum(Input.ofBytes(new byte[0]))).isEqualTo(0);
+    for (int parts = 1; parts < 10; parts ++) {
+      assertThat(Day2.checksum(Input.ofLines(boxIds), parts)).as(parts + " parts").isEqualTo(12);
+    }
+  }
+
+  @Test
+  public void checksumCrlf() {
+    String boxIds = "abcdef\r\nbababc\r\nabbcde\r\nabcccd\r\naabcdd\r\nabcdee\r\nababab";
+    for (String input : ImmutableList.of(boxIds, boxIds + "\r", boxIds + "\r\n")) {
+      for (int parts = 1; parts < 10; parts ++) {
+        assertThat(Day2.checksum(Input.ofBytes(input.getBytes(Charsets.UTF_8)), parts)).as(parts + " parts").isEqualTo(12);
+      }
+    }
+  }
+
+  @Test
+  public void checksumCountsReuse() {
+    // Counts from one id mustn't leak into the next, and long runs of a letter aren't a pair or triple.
+    assertThat(Day2.checksum(ImmutableList.of("aa", "aaa", "a", "aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa")))
+        .isEqualTo(1);
+    assertThat(Day2.checksum(ImmutableList.of("aab", "b", "bbbaa"))).isEqualTo(2);
+  }
+
+  @Test
+  public void checksumMatchesLetterCounts() throws IOException {
+    try (Input input = Input.ofResource("/day2.txt")) {
+      ImmutableList<String> boxIds = input.readLines();
+      int expected = Day2.computeChecksum(boxIds.stream()
+          .map(Day2::letterCounts)
+          .map(Day2::uniqueLetterRepeats)
+          .collect(ImmutableList.toImmutableList()));
+
+      assertThat(Day2.checksum(boxIds)).isEqualTo(expected);
+      assertThat(Day2.checksum(input, 7)).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  public void checksumOnlyLowercase() {
+    assertThatThrownBy(() -> Day2.checksum(ImmutableList.of("abc", "aBc")))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Box ids can only have lowercase letters, not 'B'");
+  }
 }
\ No newline at end of file
@@ -1,9 +1,17 @@
 package dev.jh.adventofcode;
 
 import com.google.common.collect.ImmutableList;
+import dev.jh.adventofcode.input.Input;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class Day3Test {
   @Test
@@ -32,4 +40,202 @@ public class Day3Test {
 
     assertThat(Day3.nonOverlappingClaim(claims)).isEqualTo("#3");
   }
+
+  @Test
+  public void parseClaims() {
+    Input input = Input.ofLines(ImmutableList.of("#1 @ 1,3: 4x4", "#123 @ 3,2: 5x4"));
+
+    assertThat(Day3.parseClaims(input)).containsExactly(
+        new Day3.Claim("#1", 1, 3, 4, 4),
+        new Day3.Claim("#123", 3, 2, 5, 4)
+    );
+  }
+
+  @Test
+  public void parseInvalidClaim() {
+    assertThatThrownBy(() -> Day3.parseClaims(Input.ofLines(ImmutableList.of("#1 @ 1,3: 4x4", "#2 @ 1;3: 4x4"))))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Expected ',' at line 2, column 7: '#2 @ 1;3: 4x4'");
+  }
+
+  @Test
+  public void parseMalformedClaim() {
+    assertThatThrownBy(() -> Day3.Claim.parse("#1 @ 1,3: 4y4"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Expected 'x' at column 12: '#1 @ 1,3: 4y4'");
+  }
+
+  @Test
+  public void fabric() {
+    ImmutableList<Day3.Claim> claims = ImmutableList.of(
+        Day3.Claim.parse("#1 @ 1,3: 4x4"),
+        Day3.Claim.parse("#2 @ 3,1: 4x4"),
+        Day3.Claim.parse("#3 @ 5,5: 2x2")
+    );
+    Day3.Fabric fabric = Day3.Fabric.layout(claims);
+
+    assertThat(fabric.overlappingSquares()).isEqualTo(4);
+    assertThat(claims).extracting(fabric::overlaps).containsExactly(true, true, false);
+    assertThat(fabric.toString()).contains("left=1", "top=1", "width=6", "height=6");
+  }
+
+  @Test
+  public void fabricAnywhere() {
+    // Claims don't have to start at 0, or fit in 1000x1000.
+    ImmutableList<Day3.Claim> claims = ImmutableList.of(
+        new Day3.Claim("#1", -5, 5000, 10, 10),
+        new Day3.Claim("#2", 0, 5005, 10, 10),
+        new Day3.Claim("#3", 3, 5000, 0, 100)
+    );
+    Day3.Fabric fabric = Day3.Fabric.layout(claims);
+
+    assertThat(fabric.overlappingSquares()).isEqualTo(25);
+    assertThat(claims).extracting(fabric::overlaps).containsExactly(true, true, false);
+    assertThat(Day3.Fabric.layout(ImmutableList.of()).overlappingSquares()).isEqualTo(0);
+  }
+
+  @Test
+  public void fabricTooBig() {
+    assertThatThrownBy(() -> Day3.Fabric.layout(ImmutableList.of(new Day3.Claim("#1", 0, 0, 100_000, 100_000))))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Claims cover 100000x100000 of fabric, which is too big to lay out");
+    assertThatThrownBy(() -> Day3.Fabric.layout(ImmutableList.of(new Day3.Claim("#1", 0, 0, -1, 1))))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Claim #1 has a negative size");
+  }
+
+  @Test
+  public void fabricMatchesSquareBySquare() {
+    Random random = new Random(1);
+    for (int trial = 0; trial < 50; trial ++) {
+      ImmutableList.Builder<Day3.Claim> builder = ImmutableList.builder();
+      for (int i = 0; i < 20; i ++) {
+        builder.add(new Day3.Claim("#" + i, random.nextInt(40) - 20, random.nextInt(40), random.nextInt(15), random.nextInt(15)));
+      }
+      ImmutableList<Day3.Claim> claims = builder.build();
+
+      Map<List<Integer>, Integer> squares = new HashMap<>();
+      for (Day3.Claim claim : claims) {
+        for (int y = claim.topOffset; y < claim.topOffset + claim.height; y ++) {
+          for (int x = claim.leftOffset; x < claim.leftOffset + claim.width; x ++) {
+            squares.merge(Arrays.asList(x, y), 1, Integer::sum);
+          }
+        }
+      }
+
+      Day3.Fabric fabric = Day3.Fabric.layout(claims);
+      assertThat(fabric.overlappingSquares()).isEqualTo(squares.values().stream().filter(count -> count > 1).count());
+      for (Day3.Claim claim : claims) {
+        boolean overlaps = false;
+        for (int y = claim.topOffset; y < claim.topOffset + claim.height; y ++) {
+          for (int x = claim.leftOffset; x < claim.leftOffset + claim.width; x ++) {
+            overlaps |= squares.get(Arrays.asList(x, y)) > 1;
+          }
+        }
+        assertThat(fabric.overlaps(claim)).as(claim.toString()).isEqualTo(overlaps);
+      }
+    }
+  }
+
+  @Test
+  public void sweep() {
+    ImmutableList<Day3.Claim> claims = ImmutableList.of(
+        Day3.Claim.parse("#1 @ 1,3: 4x4"),
+        Day3.Claim.parse("#2 @ 3,1: 4x4"),
+        Day3.Claim.parse("#3 @ 5,5: 2x2")
+    );
+
+    Day3.Sweep sweep = Day3.Sweep.of(claims);
+    assertThat(sweep.overlappingArea()).isEqualTo(4);
+    assertThat(sweep.nonOverlappingClaims()).containsExactly(claims.get(2));
+  }
+
+  @Test
+  public void sweepEmpty() {
+    Day3.Sweep sweep = Day3.Sweep.of(ImmutableList.of());
+    assertThat(sweep.overlappingArea()).isEqualTo(0);
+    assertThat(sweep.nonOverlappingClaims()).isEmpty();
+
+    assertThatThrownBy(() -> Day3.Sweep.of(ImmutableList.of(new Day3.Claim("#1", 0, 0, 1, -1))))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Claim #1 has a negative size");
+  }
+
+  @Test
+  public void sweepHugeFabric() {
+    ImmutableList<Day3.Claim> claims = ImmutableList.of(
+        new Day3.Claim("#1", -1_000_000_000, -1_000_000_000, 2_000_000_000, 2_000_000_000),
+        new Day3.Claim("#2", 0, 0, 2_000_000_000, 2_000_000_000),
+        new Day3.Claim("#3", Integer.MAX_VALUE - 647, Integer.MIN_VALUE, 647, 10),
+        new Day3.Claim("#4", 5, 5, 0, 3),
+        new Day3.Claim("#5", Integer.MIN_VALUE, Integer.MAX_VALUE - 1, Integer.MAX_VALUE, Integer.MAX_VALUE)
+    );
+
+    Day3.Sweep sweep = Day3.Sweep.of(claims);
+    assertThat(sweep.overlappingArea()).isEqualTo(1_000_000_000_000_000_000L);
+    assertThat(sweep.nonOverlappingClaims()).containsExactly(claims.get(2), claims.get(3), claims.get(4));
+
+    assertThat(Day3.overlappingArea(claims)).isEqualTo(1_000_000_000_000_000_000L);
+    assertThat(Day3.nonOverlappingClaim(claims)).isEqualTo("#3");
+  }
+
+  @Test
+  public void degenerateClaimsFarApart() {
+    // No area between them, but laying them out would still take a row of corners billions of squares long.
+    ImmutableList<Day3.Claim> claims = ImmutableList.of(
+        new Day3.Claim("#1", 0, 0, 0, 5),
+        new Day3.Claim("#2", 2_000_000_000, 0, 0, 5),
+        new Day3.Claim("#3", 1_000_000_000, 3, 4, 0)
+    );
+
+    assertThat(Day3.Fabric.tableSize(claims)).isEqualTo(2_000_000_001L * 7);
+    assertThatThrownBy(() -> Day3.Fabric.layout(claims)).isInstanceOf(IllegalArgumentException.class);
+    assertThat(Day3.overlappingArea(claims)).isEqualTo(0);
+    assertThat(Day3.nonOverlappingClaim(claims)).isEqualTo("#1");
+  }
+
+  @Test
+  public void fabricAtTheEdges() {
+    // The table for these doesn't fit in a long.
+    ImmutableList<Day3.Claim> claims = ImmutableList.of(
+        new Day3.Claim("#1", Integer.MIN_VALUE, Integer.MIN_VALUE, 0, 0),
+        new Day3.Claim("#2", Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE)
+    );
+
+    assertThat(Day3.Fabric.tableSize(claims)).isEqualTo(Long.MAX_VALUE);
+    assertThatThrownBy(() -> Day3.Fabric.layout(claims)).isInstanceOf(IllegalArgumentException.class);
+    assertThat(Day3.overlappingArea(claims)).isEqualTo(0);
+    assertThat(Day3.Fabric.tableSize(ImmutableList.of())).isEqualTo(1);
+  }
+
+  @Test
+  public void sweepMatchesFabric() {
+    Random random = new Random(2);
+    for (int trial = 0; trial < 200; trial ++) {
+      ImmutableList.Builder<Day3.Claim> builder = ImmutableList.builder();
+      int count = random.nextInt(40);
+      for (int i = 0; i < count; i ++) {
+        builder.add(new Day3.Claim("#" + i, random.nextInt(60) - 30, random.nextInt(60), random.nextInt(12), random.nextInt(12)));
+      }
+      ImmutableList<Day3.Claim> claims = builder.build();
+
+      Day3.Fabric fabric = Day3.Fabric.layout(claims);
+      Day3.Sweep sweep = Day3.Sweep.of(claims);
+      assertThat(sweep.overlappingArea()).as(claims.toString()).isEqualTo(fabric.overlappingSquares());
+      assertThat(sweep.nonOverlappingClaims()).as(claims.toString())
+          .containsExactlyElementsOf(claims.stream().filter(claim -> !fabric.overlaps(claim))::iterator);
+    }
+  }
+
+  @Test
+  public void sweepInput() throws Exception {
+    ImmutableList<Day3.Claim> claims;
+    try (Input input = Input.ofResource("/day3.txt")) {
+      claims = Day3.parseClaims(input);
+    }
+
+    Day3.Sweep sweep = Day3.Sweep.of(claims);
+    assertThat(sweep.overlappingArea()).isEqualTo(103806);
+    assertThat(sweep.nonOverlappingClaims()).extracting(claim -> claim.id).containsExactly("#625");
+  }
 }
\ No newline at end of file
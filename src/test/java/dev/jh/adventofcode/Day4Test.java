@@ -1,6 +1,7 @@
 package dev.jh.adventofcode;
 
 import com.google.common.collect.ImmutableList;
+import dev.jh.adventofcode.input.Input;
 import org.junit.Test;
 
 import java.time.LocalDate;
@@ -115,4 +116,9 @@ public class Day4Test {
     assertThat(guardMinute).isEqualTo(new Day4.GuardMinute(99, 45));
     assertThat(guardMinute.product()).isEqualTo(4455);
   }
+
+  @Test
+  public void parseLog() {
+    assertThat(Day4.parseLog(Input.ofLines(EXAMPLE_LINES))).isEqualTo(EXAMPLE_LOG);
+  }
 }
\ No newline at end of file
@@ -31,6 +31,13 @@ public class Day5Test {
     assertThat(Day5.react("dabAcCaCBAcCcaDA")).isEqualTo("dabCBAcaDA");
   }
 
+  @Test
+  public void reactMultiPass() {
+    assertThat(Day5.reactMultiPass("abBA")).isEqualTo("");
+    assertThat(Day5.reactMultiPass("abAB")).isEqualTo("abAB");
+    assertThat(Day5.reactMultiPass("dabAcCaCBAcCcaDA")).isEqualTo("dabCBAcaDA");
+  }
+
   @Test
   public void allUnits() {
     assertThat(Day5.allUnits("aabAAB")).containsExactlyInAnyOrder('a', 'b');
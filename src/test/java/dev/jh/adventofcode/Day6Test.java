@@ -2,6 +2,8 @@ package dev.jh.adventofcode;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import dev.jh.adventofcode.grid.ByteGrid;
+import dev.jh.adventofcode.grid.GridLayout;
 import org.junit.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -17,18 +19,29 @@ public class Day6Test {
       new Day6.Coordinate('f', 8, 9)
   );
 
-  public static final char[][] EXAMPLE_GRID = new char[][]{
-      new char[]{'a', 'a', 'a', 'a', 'a', '.', 'c', 'c', 'c'},
-      new char[]{'a', 'a', 'a', 'a', 'a', '.', 'c', 'c', 'c'},
-      new char[]{'a', 'a', 'a', 'd', 'd', 'e', 'c', 'c', 'c'},
-      new char[]{'a', 'a', 'd', 'd', 'd', 'e', 'c', 'c', 'c'},
-      new char[]{'.', '.', 'd', 'd', 'd', 'e', 'e', 'c', 'c'},
-      new char[]{'b', 'b', '.', 'd', 'e', 'e', 'e', 'e', 'c'},
-      new char[]{'b', 'b', 'b', '.', 'e', 'e', 'e', 'e', '.'},
-      new char[]{'b', 'b', 'b', '.', 'e', 'e', 'e', 'f', 'f'},
-      new char[]{'b', 'b', 'b', '.', 'e', 'e', 'f', 'f', 'f'},
-      new char[]{'b', 'b', 'b', '.', 'f', 'f', 'f', 'f', 'f'}
-  };
+  public static final ByteGrid EXAMPLE_GRID = grid(
+      "aaaaa.ccc",
+      "aaaaa.ccc",
+      "aaaddeccc",
+      "aadddeccc",
+      "..dddeecc",
+      "bb.deeeec",
+      "bbb.eeee.",
+      "bbb.eeeff",
+      "bbb.eefff",
+      "bbb.fffff"
+  );
+
+  private static ByteGrid grid(String... lines) {
+    ByteGrid grid = new ByteGrid(new GridLayout(lines[0].length(), lines.length), (byte) '.', (byte) '.');
+    for (int y = 0; y < lines.length; y ++) {
+      for (int x = 0; x < lines[y].length(); x ++) {
+        grid.set(x, y, (byte) lines[y].charAt(x));
+      }
+    }
+
+    return grid;
+  }
 
   @Test
   public void parseLines() {
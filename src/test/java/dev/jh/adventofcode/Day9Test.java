@@ -1,8 +1,12 @@
 package dev.jh.adventofcode;
 
+import dev.jh.adventofcode.execution.ExecutionContext;
 import org.junit.Test;
 
+import java.util.concurrent.CancellationException;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class Day9Test {
 
@@ -15,4 +19,29 @@ public class Day9Test {
     assertThat(Day9.highScore(21, 6111)).isEqualTo(54718);
     assertThat(Day9.highScore(30, 5807)).isEqualTo(37305);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void parseGame() {
+    Day9.Game game = Day9.Game.parse("10 players; last marble is worth 1618 points");
+    assertThat(game.numPlayers).isEqualTo(10);
+    assertThat(game.lastMarble).isEqualTo(1618);
+  }
+
+  @Test
+  public void highScoreCancelled() {
+    ExecutionContext context = ExecutionContext.unbounded();
+    context.cancel();
+
+    assertThatThrownBy(() -> Day9.highScore(10, 1_000_000, context))
+        .isInstanceOf(CancellationException.class)
+        .hasMessage("Cancelled after 1024 iterations of day9.marbles");
+    assertThat(context.progress().total).isEqualTo(1_000_000);
+  }
+
+  @Test
+  public void highScoreWithMarbles() {
+    assertThat(Day9.highScoreWithMarbles(9, 25)).isEqualTo(32);
+    assertThat(Day9.highScoreWithMarbles(10, 1618)).isEqualTo(8317);
+    assertThat(Day9.highScoreWithMarbles(458, 72019)).isEqualTo(Day9.highScore(458, 72019));
+  }
+}
@@ -0,0 +1,128 @@
+package dev.jh.adventofcode;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.ImmutableIntArray;
+import dev.jh.adventofcode.cache.ResultCache;
+import dev.jh.adventofcode.execution.ExecutionContext;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SolverRunnerTest {
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private final ForkJoinPool pool = new ForkJoinPool(2);
+
+  @After
+  public void shutdown() {
+    pool.shutdown();
+  }
+
+  @Test
+  public void allDaysRegistered() {
+    assertThat(Solvers.all().stream().mapToInt(Solver::day).toArray())
+        .containsExactly(IntStream.rangeClosed(1, 23).toArray());
+    assertThat(Solvers.forDay(19)).isInstanceOf(Day19.class);
+  }
+
+  @Test
+  public void runDays() throws InterruptedException {
+    ImmutableList<SolverRunner.StepResult> results = new SolverRunner(pool)
+        .run(ImmutableList.of(new Day1(), new Day12(), new Day19()));
+
+    assertThat(results).extracting(result -> result.day)
+        .containsExactly(1, 1, 1, 12, 12, 12, 19, 19, 19);
+    assertThat(results).extracting(result -> result.step)
+        .containsExactly(
+            SolverRunner.Step.PARSE, SolverRunner.Step.PART1, SolverRunner.Step.PART2,
+            SolverRunner.Step.PARSE, SolverRunner.Step.PART1, SolverRunner.Step.PART2,
+            SolverRunner.Step.PARSE, SolverRunner.Step.PART1, SolverRunner.Step.PART2);
+    assertThat(results).allMatch(SolverRunner.StepResult::succeeded);
+    assertThat(results).allMatch(result -> result.measurement.wallNanos > 0);
+
+    assertThat(results).extracting(result -> result.answer)
+        .containsExactly(null, "411", "56360", null, "4386", "5450000001166", null, "1806", "18741072");
+  }
+
+  @Test
+  public void failedPartIsReported() {
+    ImmutableList<SolverRunner.StepResult> results = SolverRunner.solve(new Day1() {
+      @Override
+      public String part1(ImmutableIntArray changes) {
+        throw new IllegalStateException("broken");
+      }
+    });
+
+    assertThat(results).hasSize(3);
+    assertThat(results.get(1).succeeded()).isFalse();
+    assertThat(results.get(1).error).hasMessage("broken");
+    assertThat(results.get(2).answer).isEqualTo("56360");
+  }
+
+  @Test
+  public void cachedAnswers() throws IOException {
+    try (ResultCache cache = ResultCache.open(folder.newFile().toPath(), 1024, false)) {
+      ImmutableList<SolverRunner.StepResult> solved = SolverRunner.solve(new Day1(), cache);
+      assertThat(solved).extracting(result -> result.step)
+          .containsExactly(SolverRunner.Step.PARSE, SolverRunner.Step.PART1, SolverRunner.Step.PART2);
+      assertThat(solved).noneMatch(result -> result.cached);
+
+      // Both parts are cached, so the input isn't parsed.
+      ImmutableList<SolverRunner.StepResult> cached = SolverRunner.solve(new Day1(), cache);
+      assertThat(cached).extracting(result -> result.step)
+          .containsExactly(SolverRunner.Step.PART1, SolverRunner.Step.PART2);
+      assertThat(cached).extracting(result -> result.answer).containsExactly("411", "56360");
+      assertThat(cached).allMatch(result -> result.cached);
+
+      // A new version of the solver isn't answered from the old version's answers.
+      ImmutableList<SolverRunner.StepResult> newVersion = SolverRunner.solve(new Day1() {
+        @Override
+        public int version() {
+          return 2;
+        }
+      }, cache);
+      assertThat(newVersion).noneMatch(result -> result.cached);
+    }
+  }
+
+  @Test
+  public void failuresArentCached() throws IOException {
+    try (ResultCache cache = ResultCache.open(folder.newFile().toPath(), 1024, false)) {
+      SolverRunner.solve(new Day1() {
+        @Override
+        public String part1(ImmutableIntArray changes) {
+          throw new IllegalStateException("broken");
+        }
+      }, cache);
+
+      ImmutableList<SolverRunner.StepResult> results = SolverRunner.solve(new Day1(), cache);
+      assertThat(results).extracting(result -> result.step)
+          .containsExactly(SolverRunner.Step.PARSE, SolverRunner.Step.PART1, SolverRunner.Step.PART2);
+      assertThat(results.get(1).cached).isFalse();
+      assertThat(results.get(2).cached).isTrue();
+    }
+  }
+
+  @Test
+  public void partsRunUnderTheirContext() {
+    ImmutableList<SolverRunner.StepResult> results = SolverRunner.solve(new Day9(), null, () -> {
+      ExecutionContext context = ExecutionContext.unbounded();
+      context.cancel();
+      return context;
+    });
+
+    assertThat(results.get(0).succeeded()).isTrue();
+    assertThat(results.get(1).error).isInstanceOf(CancellationException.class);
+    assertThat(results.get(2).error).isInstanceOf(CancellationException.class);
+    assertThat(ExecutionContext.current().isCancelled()).isFalse();
+  }
+}
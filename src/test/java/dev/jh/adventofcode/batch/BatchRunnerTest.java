@@ -0,0 +1,119 @@
+package dev.jh.adventofcode.batch;
+
+import com.google.common.collect.ImmutableList;
+import dev.jh.adventofcode.Day1;
+import dev.jh.adventofcode.Day10;
+import dev.jh.adventofcode.SolverRunner;
+import dev.jh.adventofcode.execution.ExecutionContext;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BatchRunnerTest {
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private final ForkJoinPool pool = new ForkJoinPool(2);
+
+  @After
+  public void tearDown() {
+    pool.shutdownNow();
+  }
+
+  private Path write(String name, String contents) throws IOException {
+    Path path = folder.getRoot().toPath().resolve(name);
+    Files.createDirectories(path.getParent());
+    return Files.write(path, contents.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void run() throws Exception {
+    Path a = write("inputs/a.txt", "+1\n-2\n+3\n+1");
+    Path b = write("inputs/b.txt", "+3\n+3\n+4\n-2\n-4");
+    Path broken = write("inputs/broken.txt", "+1\nfish");
+    Path missing = folder.getRoot().toPath().resolve("inputs/missing.txt");
+
+    List<BatchRunner.InputResult> results = new CopyOnWriteArrayList<>();
+    BatchRunner.Summary summary = new BatchRunner(pool, null, ExecutionContext::unbounded)
+        .run(new Day1(), ImmutableList.of(a, broken, b, missing), results::add);
+
+    assertThat(summary.inputs).isEqualTo(4);
+    assertThat(summary.failed).isEqualTo(2);
+    assertThat(summary.inputsPerSecond()).isGreaterThan(0);
+
+    ConcurrentHashMap<Path, BatchRunner.InputResult> byInput = new ConcurrentHashMap<>();
+    results.forEach(result -> byInput.put(result.input, result));
+    assertThat(byInput).containsOnlyKeys(a, b, broken, missing);
+
+    // One input failing doesn't affect the others.
+    assertThat(byInput.get(a).succeeded()).isTrue();
+    assertThat(byInput.get(a).steps).extracting(step -> step.answer).containsExactly(null, "3", "2");
+    assertThat(byInput.get(b).steps).extracting(step -> step.answer).containsExactly(null, "4", "10");
+    assertThat(byInput.get(broken).succeeded()).isFalse();
+    assertThat(byInput.get(missing).steps.get(0).error).isInstanceOf(IOException.class);
+  }
+
+  @Test
+  public void format() {
+    BatchRunner.InputResult solved = new BatchRunner.InputResult(
+        folder.getRoot().toPath().resolve("a.txt"),
+        ImmutableList.of(
+            new SolverRunner.StepResult(10, SolverRunner.Step.PARSE, null, null, null),
+            new SolverRunner.StepResult(10, SolverRunner.Step.PART1, "#..#\n.##.", null, null),
+            new SolverRunner.StepResult(10, SolverRunner.Step.PART2, null, new IllegalStateException("no\tgood"), null)),
+        1_500_000);
+    assertThat(BatchRunner.format(solved))
+        .isEqualTo(solved.input + "\t#..#\\n.##.\tFAILED: java.lang.IllegalStateException: no\\tgood\t1.5");
+
+    BatchRunner.InputResult unparsed = new BatchRunner.InputResult(
+        folder.getRoot().toPath().resolve("b.txt"),
+        ImmutableList.of(new SolverRunner.StepResult(10, SolverRunner.Step.PARSE, null, new IOException("gone"), null)),
+        0);
+    assertThat(BatchRunner.format(unparsed))
+        .isEqualTo(unparsed.input + "\tFAILED: java.io.IOException: gone\tFAILED: java.io.IOException: gone\t0.0");
+  }
+
+  @Test
+  public void inputsFromDirectory() throws IOException {
+    Path b = write("inputs/b.txt", "");
+    Path a = write("inputs/a.txt", "");
+    Files.createDirectories(folder.getRoot().toPath().resolve("inputs/nested"));
+
+    assertThat(BatchRunner.inputs(folder.getRoot().toPath().resolve("inputs"))).containsExactly(a, b);
+  }
+
+  @Test
+  public void inputsFromManifest() throws IOException {
+    Path manifest = write("manifest.txt", "# Day 10 inputs\ninputs/x.txt\n\n  inputs/y.txt  \n/abs/z.txt\n");
+    Path root = folder.getRoot().toPath().toAbsolutePath();
+
+    assertThat(BatchRunner.inputs(manifest)).containsExactly(
+        root.resolve("inputs/x.txt"), root.resolve("inputs/y.txt"), root.resolve("/abs/z.txt"));
+  }
+
+  @Test
+  public void multilineAnswers() throws Exception {
+    Path input = write("day10.txt", String.join("\n",
+        "position=< 9,  1> velocity=< 0,  2>",
+        "position=< 7,  0> velocity=<-1,  0>"));
+
+    List<String> lines = new CopyOnWriteArrayList<>();
+    new BatchRunner(pool, null, ExecutionContext::unbounded)
+        .run(new Day10(), ImmutableList.of(input), result -> lines.add(BatchRunner.format(result)));
+
+    assertThat(lines).hasSize(1);
+    assertThat(lines.get(0).split("\t")).hasSize(4);
+  }
+}
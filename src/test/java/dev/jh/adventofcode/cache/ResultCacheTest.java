@@ -0,0 +1,153 @@
+package dev.jh.adventofcode.cache;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ResultCacheTest {
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private static ResultCache.Key key(int day, int part) {
+    byte[] hash = new byte[32];
+    Arrays.fill(hash, (byte) day);
+    return new ResultCache.Key(day, part, 1, hash);
+  }
+
+  private Path file() {
+    return folder.getRoot().toPath().resolve("answers.cache");
+  }
+
+  @Test
+  public void putAndGet() throws IOException {
+    try (ResultCache cache = ResultCache.open(file(), 1024, false)) {
+      assertThat(cache.get(key(1, 1))).isEmpty();
+
+      cache.put(key(1, 1), "411");
+      cache.put(key(1, 2), "56360");
+      cache.put(key(1, 1), "412");
+
+      assertThat(cache.get(key(1, 1))).contains("412");
+      assertThat(cache.get(key(1, 2))).contains("56360");
+      assertThat(cache.get(new ResultCache.Key(1, 1, 2, key(1, 1).inputHash()))).isEmpty();
+      assertThat(cache.size()).isEqualTo(2);
+    }
+  }
+
+  @Test
+  public void reopen() throws IOException {
+    try (ResultCache cache = ResultCache.open(file(), 1024, false)) {
+      cache.put(key(1, 1), "411");
+      cache.put(key(10, 1), "line 1\nline 2 ✓");
+      cache.put(key(1, 1), "412");
+    }
+
+    try (ResultCache cache = ResultCache.open(file(), 1024, false)) {
+      assertThat(cache.get(key(1, 1))).contains("412");
+      assertThat(cache.get(key(10, 1))).contains("line 1\nline 2 ✓");
+      assertThat(cache.size()).isEqualTo(2);
+    }
+  }
+
+  @Test
+  public void bypass() throws IOException {
+    try (ResultCache cache = ResultCache.open(file(), 1024, true)) {
+      cache.put(key(1, 1), "411");
+      assertThat(cache.get(key(1, 1))).isEmpty();
+    }
+
+    try (ResultCache cache = ResultCache.open(file(), 1024, false)) {
+      assertThat(cache.get(key(1, 1))).contains("411");
+    }
+  }
+
+  @Test
+  public void evictsLeastRecentlyUsed() throws IOException {
+    // Each record is 8 bytes of framing, 41 of key and a 1 byte answer.
+    try (ResultCache cache = ResultCache.open(file(), 150, false)) {
+      cache.put(key(1, 1), "a");
+      cache.put(key(2, 1), "b");
+      cache.put(key(3, 1), "c");
+      assertThat(cache.liveBytes()).isEqualTo(150);
+
+      cache.get(key(1, 1));
+      cache.put(key(4, 1), "d");
+
+      assertThat(cache.get(key(2, 1))).isEmpty();
+      assertThat(cache.get(key(1, 1))).contains("a");
+      assertThat(cache.get(key(3, 1))).contains("c");
+      assertThat(cache.get(key(4, 1))).contains("d");
+      assertThat(cache.liveBytes()).isEqualTo(150);
+    }
+  }
+
+  @Test
+  public void compacts() throws IOException {
+    try (ResultCache cache = ResultCache.open(file(), 1000, false)) {
+      for (int i = 0; i < 5000; i ++) {
+        cache.put(key(i % 10, 1), Integer.toString(i));
+      }
+
+      assertThat(cache.size()).isEqualTo(10);
+      assertThat(cache.fileBytes()).isLessThan(64 * 1024 + 100);
+      assertThat(Files.size(file())).isEqualTo(cache.fileBytes());
+    }
+
+    try (ResultCache cache = ResultCache.open(file(), 1000, false)) {
+      assertThat(cache.get(key(3, 1))).contains("4993");
+      assertThat(cache.size()).isEqualTo(10);
+    }
+  }
+
+  @Test
+  public void dropsTornWrite() throws IOException {
+    long complete;
+    try (ResultCache cache = ResultCache.open(file(), 1024, false)) {
+      cache.put(key(1, 1), "411");
+      complete = cache.fileBytes();
+      cache.put(key(1, 2), "56360");
+    }
+
+    try (FileChannel channel = FileChannel.open(file(), StandardOpenOption.WRITE)) {
+      channel.truncate(Files.size(file()) - 3);
+    }
+
+    try (ResultCache cache = ResultCache.open(file(), 1024, false)) {
+      assertThat(cache.get(key(1, 1))).contains("411");
+      assertThat(cache.get(key(1, 2))).isEmpty();
+      assertThat(Files.size(file())).isEqualTo(complete);
+
+      cache.put(key(1, 2), "56360");
+    }
+
+    try (ResultCache cache = ResultCache.open(file(), 1024, false)) {
+      assertThat(cache.get(key(1, 2))).contains("56360");
+    }
+  }
+
+  @Test
+  public void notACache() throws IOException {
+    Files.write(file(), "not a cache".getBytes());
+
+    assertThatThrownBy(() -> ResultCache.open(file(), 1024, false))
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("isn't a result cache");
+  }
+
+  @Test
+  public void invalidKey() {
+    assertThatThrownBy(() -> new ResultCache.Key(1, 3, 1, new byte[32])).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new ResultCache.Key(1, 1, 1, new byte[16])).isInstanceOf(IllegalArgumentException.class);
+    assertThat(key(1, 1)).isEqualTo(key(1, 1)).hasSameHashCodeAs(key(1, 1)).isNotEqualTo(key(1, 2));
+  }
+}
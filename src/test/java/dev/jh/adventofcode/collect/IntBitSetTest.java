@@ -0,0 +1,108 @@
+package dev.jh.adventofcode.collect;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class IntBitSetTest {
+  @Test
+  public void addAndContains() {
+    IntBitSet set = new IntBitSet(-10, 10);
+    assertThat(set.isEmpty()).isTrue();
+
+    assertThat(set.add(-10)).isTrue();
+    assertThat(set.add(10)).isTrue();
+    assertThat(set.add(0)).isTrue();
+    assertThat(set.add(0)).isFalse();
+
+    assertThat(set.contains(-10)).isTrue();
+    assertThat(set.contains(0)).isTrue();
+    assertThat(set.contains(10)).isTrue();
+    assertThat(set.contains(1)).isFalse();
+    assertThat(set.contains(Integer.MAX_VALUE)).isFalse();
+    assertThat(set.contains(Integer.MIN_VALUE)).isFalse();
+    assertThat(set.size()).isEqualTo(3);
+    assertThat(set.capacity()).isEqualTo(64);
+  }
+
+  @Test
+  public void growsAtBothEnds() {
+    IntBitSet set = new IntBitSet();
+    for (int value = 0; value < 10_000; value ++) {
+      assertThat(set.add(value)).isTrue();
+      assertThat(set.add(-value)).isEqualTo(value != 0);
+    }
+
+    assertThat(set.size()).isEqualTo(19_999);
+    // Doubling keeps the range within a few times the values added.
+    assertThat(set.capacity()).isLessThan(4 * 20_000);
+    for (int value = -9_999; value < 10_000; value ++) {
+      assertThat(set.contains(value)).isTrue();
+    }
+    assertThat(set.contains(10_000)).isFalse();
+    assertThat(set.contains(-10_000)).isFalse();
+  }
+
+  @Test
+  public void forEach() {
+    IntBitSet set = new IntBitSet(-100, 100);
+    for (int value : new int[] {70, -100, 3, 63, 64, -1, 1000}) {
+      set.add(value);
+    }
+
+    List<Integer> values = new ArrayList<>();
+    set.forEach(values::add);
+    assertThat(values).containsExactly(-100, -1, 3, 63, 64, 70, 1000);
+
+    IntBitSet extremes = new IntBitSet(Integer.MIN_VALUE, Integer.MIN_VALUE);
+    extremes.add(Integer.MIN_VALUE);
+    extremes.add(Integer.MAX_VALUE);
+    values.clear();
+    extremes.forEach(values::add);
+    assertThat(values).containsExactly(Integer.MIN_VALUE, Integer.MAX_VALUE);
+  }
+
+  @Test
+  public void extremes() {
+    IntBitSet set = new IntBitSet(Integer.MAX_VALUE - 1, Integer.MAX_VALUE);
+    assertThat(set.add(Integer.MAX_VALUE)).isTrue();
+    assertThat(set.add(Integer.MAX_VALUE - 200)).isTrue();
+    assertThat(set.add(Integer.MAX_VALUE)).isFalse();
+    assertThat(set.contains(Integer.MAX_VALUE - 200)).isTrue();
+
+    IntBitSet negative = new IntBitSet(Integer.MIN_VALUE, Integer.MIN_VALUE);
+    assertThat(negative.add(Integer.MIN_VALUE)).isTrue();
+    assertThat(negative.add(Integer.MIN_VALUE + 1000)).isTrue();
+    assertThat(negative.contains(Integer.MIN_VALUE)).isTrue();
+    assertThat(negative.contains(Integer.MIN_VALUE + 1000)).isTrue();
+  }
+
+  @Test
+  public void matchesHashSet() {
+    Random random = new Random(1);
+    IntBitSet set = new IntBitSet();
+    Set<Integer> expected = new HashSet<>();
+
+    for (int i = 0; i < 100_000; i ++) {
+      int value = random.nextInt(20_000) - 10_000 + (i / 10);
+      assertThat(set.add(value)).isEqualTo(expected.add(value));
+    }
+
+    assertThat(set.size()).isEqualTo(expected.size());
+    for (int value = -11_000; value < 21_000; value ++) {
+      assertThat(set.contains(value)).isEqualTo(expected.contains(value));
+    }
+  }
+
+  @Test
+  public void invalidRange() {
+    assertThatThrownBy(() -> new IntBitSet(1, 0)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
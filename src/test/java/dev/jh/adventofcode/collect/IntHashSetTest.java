@@ -0,0 +1,44 @@
+package dev.jh.adventofcode.collect;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IntHashSetTest {
+  @Test
+  public void addAndRemove() {
+    IntHashSet set = new IntHashSet();
+
+    assertThat(set.add(0)).isTrue();
+    assertThat(set.add(Integer.MIN_VALUE)).isTrue();
+    assertThat(set.add(0)).isFalse();
+    assertThat(set.contains(Integer.MIN_VALUE)).isTrue();
+
+    assertThat(set.remove(0)).isTrue();
+    assertThat(set.contains(0)).isFalse();
+    assertThat(set.toArray()).containsExactly(Integer.MIN_VALUE);
+  }
+
+  @Test
+  public void matchesHashSet() {
+    Random random = new Random(1);
+    IntHashSet set = new IntHashSet();
+    Set<Integer> expected = new HashSet<>();
+
+    for (int i = 0; i < 10000; i ++) {
+      int key = random.nextInt(200) - 100;
+      if (random.nextBoolean()) {
+        assertThat(set.add(key)).isEqualTo(expected.add(key));
+      } else {
+        assertThat(set.remove(key)).isEqualTo(expected.remove(key));
+      }
+    }
+
+    assertThat(set.size()).isEqualTo(expected.size());
+    assertThat(set.toArray()).containsOnly(expected.stream().mapToInt(Integer::intValue).toArray());
+  }
+}
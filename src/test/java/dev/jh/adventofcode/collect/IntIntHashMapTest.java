@@ -0,0 +1,45 @@
+package dev.jh.adventofcode.collect;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IntIntHashMapTest {
+  @Test
+  public void putAndGet() {
+    IntIntHashMap map = new IntIntHashMap(1);
+    for (int key = 0; key < 1000; key ++) {
+      map.put(key * 31, key);
+    }
+
+    assertThat(map.size()).isEqualTo(1000);
+    assertThat(map.get(31 * 999)).isEqualTo(999);
+    assertThat(map.getOrDefault(1, -1)).isEqualTo(-1);
+  }
+
+  @Test
+  public void matchesHashMap() {
+    Random random = new Random(18);
+    IntIntHashMap map = new IntIntHashMap();
+    Map<Integer, Integer> expected = new HashMap<>();
+
+    for (int i = 0; i < 10000; i ++) {
+      int key = random.nextInt(200) - 100;
+      if (random.nextInt(3) > 0) {
+        map.put(key, i);
+        expected.put(key, i);
+      } else {
+        assertThat(map.remove(key)).isEqualTo(expected.remove(key) != null);
+      }
+    }
+
+    assertThat(map.size()).isEqualTo(expected.size());
+    for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+      assertThat(map.get(entry.getKey())).isEqualTo(entry.getValue());
+    }
+  }
+}
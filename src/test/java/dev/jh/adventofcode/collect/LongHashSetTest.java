@@ -0,0 +1,66 @@
+package dev.jh.adventofcode.collect;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LongHashSetTest {
+  @Test
+  public void addAndRemove() {
+    LongHashSet set = new LongHashSet();
+
+    assertThat(set.add(5)).isTrue();
+    assertThat(set.add(-5)).isTrue();
+    assertThat(set.add(5)).isFalse();
+    assertThat(set.contains(-5)).isTrue();
+    assertThat(set.size()).isEqualTo(2);
+
+    assertThat(set.remove(5)).isTrue();
+    assertThat(set.remove(5)).isFalse();
+    assertThat(set.contains(5)).isFalse();
+    assertThat(set.toArray()).containsExactly(-5L);
+  }
+
+  @Test
+  public void matchesHashSet() {
+    // Small keys collide often in a small table, so removals have to shift probe runs around.
+    Random random = new Random(15);
+    LongHashSet set = new LongHashSet();
+    Set<Long> expected = new HashSet<>();
+
+    for (int i = 0; i < 10000; i ++) {
+      long key = random.nextInt(200) - 100;
+      if (random.nextBoolean()) {
+        assertThat(set.add(key)).isEqualTo(expected.add(key));
+      } else {
+        assertThat(set.remove(key)).isEqualTo(expected.remove(key));
+      }
+    }
+
+    assertThat(set.size()).isEqualTo(expected.size());
+    assertThat(set.toArray()).containsOnly(expected.stream().mapToLong(Long::longValue).toArray());
+  }
+
+  @Test
+  public void walkSlots() {
+    LongHashSet set = new LongHashSet();
+    for (long key = 0; key < 100; key ++) {
+      set.add(key << 32);
+    }
+
+    long sum = 0;
+    for (int slot = set.firstSlot(); slot >= 0; slot = set.nextSlot(slot)) {
+      sum += set.keyAt(slot) >> 32;
+    }
+
+    assertThat(sum).isEqualTo(4950);
+
+    set.clear();
+    assertThat(set.isEmpty()).isTrue();
+    assertThat(set.firstSlot()).isEqualTo(-1);
+  }
+}
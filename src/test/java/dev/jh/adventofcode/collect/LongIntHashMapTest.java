@@ -0,0 +1,62 @@
+package dev.jh.adventofcode.collect;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LongIntHashMapTest {
+  @Test
+  public void putAndGet() {
+    LongIntHashMap map = new LongIntHashMap();
+    map.put(7, 1);
+    map.put(7, 2);
+    map.put(Long.MIN_VALUE, 3);
+
+    assertThat(map.size()).isEqualTo(2);
+    assertThat(map.get(7)).isEqualTo(2);
+    assertThat(map.get(Long.MIN_VALUE)).isEqualTo(3);
+    assertThat(map.getOrDefault(8, -1)).isEqualTo(-1);
+    assertThat(map.containsKey(8)).isFalse();
+  }
+
+  @Test
+  public void getMissing() {
+    assertThatThrownBy(() -> new LongIntHashMap().get(1))
+        .isInstanceOf(NoSuchElementException.class);
+  }
+
+  @Test
+  public void matchesHashMap() {
+    Random random = new Random(22);
+    LongIntHashMap map = new LongIntHashMap();
+    Map<Long, Integer> expected = new HashMap<>();
+
+    for (int i = 0; i < 10000; i ++) {
+      long key = random.nextInt(200) - 100;
+      if (random.nextInt(3) > 0) {
+        map.put(key, i);
+        expected.put(key, i);
+      } else {
+        assertThat(map.remove(key)).isEqualTo(expected.remove(key) != null);
+      }
+    }
+
+    assertThat(map.size()).isEqualTo(expected.size());
+    for (Map.Entry<Long, Integer> entry : expected.entrySet()) {
+      assertThat(map.get(entry.getKey())).isEqualTo(entry.getValue());
+    }
+
+    int entries = 0;
+    for (int slot = map.firstSlot(); slot >= 0; slot = map.nextSlot(slot)) {
+      assertThat(expected.get(map.keyAt(slot))).isEqualTo(map.valueAt(slot));
+      entries ++;
+    }
+    assertThat(entries).isEqualTo(expected.size());
+  }
+}
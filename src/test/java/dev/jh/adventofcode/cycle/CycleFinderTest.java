@@ -0,0 +1,80 @@
+package dev.jh.adventofcode.cycle;
+
+import org.junit.Test;
+
+import java.util.function.UnaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CycleFinderTest {
+  /** 0, 1, ... 10, then back to 4 - a cycle of 7 starting at index 4. */
+  private static final UnaryOperator<Integer> RHO = x -> x < 10 ? x + 1 : 4;
+
+  private static void assertRho(Cycle<Integer> cycle) {
+    assertThat(cycle.start).isEqualTo(4);
+    assertThat(cycle.length).isEqualTo(7);
+    assertThat(cycle.repeatIndex()).isEqualTo(11);
+    assertThat(cycle.repeat).isEqualTo(4);
+    assertThat(cycle.last).isEqualTo(10);
+  }
+
+  @Test
+  public void brent() {
+    assertRho(CycleFinder.of(RHO).brent(0, 100).get());
+  }
+
+  @Test
+  public void floyd() {
+    assertRho(CycleFinder.of(RHO).floyd(0, 100).get());
+  }
+
+  @Test
+  public void hashed() {
+    assertRho(CycleFinder.of(RHO).withFingerprint(x -> x).hashed(0, 100).get());
+    assertRho(CycleFinder.of(RHO).withExactFingerprint(x -> x).hashed(0, 100).get());
+  }
+
+  @Test
+  public void hashedCollisions() {
+    // Every state collides with others - matches have to be confirmed, and the cycle still found.
+    assertRho(CycleFinder.of(RHO).withFingerprint(x -> x % 3).hashed(0, 100).get());
+  }
+
+  @Test
+  public void notFound() {
+    assertThat(CycleFinder.of(RHO).brent(0, 8)).isEmpty();
+    assertThat(CycleFinder.of(RHO).floyd(0, 8)).isEmpty();
+    assertThat(CycleFinder.of(RHO).withFingerprint(x -> x).hashed(0, 10)).isEmpty();
+  }
+
+  @Test
+  public void hashedGivesUpWhenItCantRememberMore() {
+    // The counting sequence never repeats, so only the limit on remembered states stops it.
+    CycleFinder<Long> counting = CycleFinder.<Long>of(x -> x + 1).withExactFingerprint(x -> x);
+    assertThat(counting.hashed(0L, Long.MAX_VALUE, 1000)).isEmpty();
+    assertThat(counting.hashed(0L, 1000, Long.MAX_VALUE)).isEmpty();
+
+    assertRho(CycleFinder.of(RHO).withFingerprint(x -> x).hashed(0, Long.MAX_VALUE).get());
+  }
+
+  @Test
+  public void advance() {
+    CycleFinder<Integer> cycles = CycleFinder.of(RHO);
+
+    assertThat(cycles.advance(0, 3)).isEqualTo(3);
+    assertThat(cycles.advance(0, 11)).isEqualTo(4);
+    assertThat(cycles.advance(0, 1000000000000L)).isEqualTo(4 + (1000000000000L - 4) % 7);
+    assertThat(cycles.withFingerprint(x -> x).advance(0, 1000000000000L)).isEqualTo(4 + (1000000000000L - 4) % 7);
+  }
+
+  @Test
+  public void advanceWithFastForward() {
+    // Position on a loop of 3, plus the number of laps - laps are carried forward rather than compared.
+    UnaryOperator<long[]> step = state -> state[0] == 2 ? new long[] {0, state[1] + 1} : new long[] {state[0] + 1, state[1]};
+    CycleFinder<long[]> cycles = CycleFinder.of(step, (a, b) -> a[0] == b[0])
+        .withFastForward((state, nextCycle, numCycles) ->
+            new long[] {state[0], state[1] + (nextCycle[1] - state[1]) * numCycles});
+
+    assertThat(cycles.advance(new long[] {0, 0}, 3000000001L)).containsExactly(1, 1000000000);
+  }
+}
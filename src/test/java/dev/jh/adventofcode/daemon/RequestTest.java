@@ -0,0 +1,87 @@
+package dev.jh.adventofcode.daemon;
+
+import dev.jh.adventofcode.input.Input;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RequestTest {
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private static byte[] write(Request request) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    request.write(new DataOutputStream(bytes));
+    return bytes.toByteArray();
+  }
+
+  private static Request read(byte[] bytes) throws IOException {
+    return Request.read(new DataInputStream(new ByteArrayInputStream(bytes)));
+  }
+
+  @Test
+  public void roundTrip() throws IOException {
+    Request inline = read(write(Request.ofBytes(3, 2, "#1 @ 1,3: 4x4".getBytes(), 250)));
+    assertThat(inline.day).isEqualTo(3);
+    assertThat(inline.part).isEqualTo(2);
+    assertThat(inline.timeoutMillis).isEqualTo(250);
+    assertThat(inline.open(null).readLines()).containsExactly("#1 @ 1,3: 4x4");
+
+    Request path = read(write(Request.ofPath(12, 1, "/tmp/day12.txt", 0)));
+    assertThat(path.day).isEqualTo(12);
+    assertThat(path.part).isEqualTo(1);
+    assertThat(path.toString()).contains("/tmp/day12.txt");
+  }
+
+  @Test
+  public void invalid() throws IOException {
+    assertThatThrownBy(() -> Request.ofBytes(1, 3, new byte[0], 0)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> Request.ofPath(1, 1, "day1.txt", -1)).isInstanceOf(IllegalArgumentException.class);
+
+    byte[] badSource = write(Request.ofBytes(1, 1, new byte[0], 0));
+    badSource[13] = 7;
+    assertThatThrownBy(() -> read(badSource)).isInstanceOf(IOException.class).hasMessageContaining("source");
+
+    byte[] badPart = write(Request.ofBytes(1, 1, new byte[0], 0));
+    badPart[4] = 3;
+    assertThatThrownBy(() -> read(badPart)).isInstanceOf(IOException.class).hasMessageContaining("Part must be 1 or 2");
+
+    assertThatThrownBy(() -> read(new byte[0])).isInstanceOf(EOFException.class);
+  }
+
+  @Test
+  public void openOnlyUnderInputRoot() throws IOException {
+    Path root = folder.newFolder("inputs").toPath().toRealPath();
+    Path outside = folder.newFile("secret.txt").toPath();
+    Files.write(outside, "secret".getBytes());
+    Files.write(root.resolve("day1.txt"), "+1".getBytes());
+    Files.createSymbolicLink(root.resolve("link.txt"), outside);
+
+    try (Input input = Request.ofPath(1, 1, "day1.txt", 0).open(root)) {
+      assertThat(input.readLines()).containsExactly("+1");
+    }
+    try (Input input = Request.ofPath(1, 1, root.resolve("day1.txt").toString(), 0).open(root)) {
+      assertThat(input.readLines()).containsExactly("+1");
+    }
+
+    for (String path : new String[] {outside.toString(), "../secret.txt", "link.txt"}) {
+      assertThatThrownBy(() -> Request.ofPath(1, 1, path, 0).open(root))
+          .as(path)
+          .isInstanceOf(Request.RefusedInputException.class);
+    }
+    assertThatThrownBy(() -> Request.ofPath(1, 1, "day1.txt", 0).open(null))
+        .isInstanceOf(Request.RefusedInputException.class);
+  }
+}
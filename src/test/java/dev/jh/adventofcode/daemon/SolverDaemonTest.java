@@ -0,0 +1,181 @@
+package dev.jh.adventofcode.daemon;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.Resources;
+import dev.jh.adventofcode.Day1;
+import dev.jh.adventofcode.Solver;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SolverDaemonTest {
+  private final CountDownLatch started = new CountDownLatch(1);
+  private final CountDownLatch release = new CountDownLatch(1);
+  private final ExecutorService clients = Executors.newCachedThreadPool();
+
+  private SolverDaemon daemon;
+
+  /**
+   * Day 99, which blocks in part 1 until released.
+   */
+  private class BlockingSolver implements Solver<String> {
+    @Override
+    public int day() {
+      return 99;
+    }
+
+    @Override
+    public String parse(ImmutableList<String> lines) {
+      return String.join("\n", lines);
+    }
+
+    @Override
+    public String part1(String input) {
+      started.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        throw new IllegalStateException(e);
+      }
+      return input;
+    }
+
+    @Override
+    public String part2(String input) {
+      return input;
+    }
+  }
+
+  private void start(int threads, int queueSize) throws IOException {
+    start(threads, queueSize, null);
+  }
+
+  private void start(int threads, int queueSize, Path inputRoot) throws IOException {
+    daemon = SolverDaemon.start(ImmutableList.of(new Day1(), new BlockingSolver()), 0, threads, queueSize, 10_000, inputRoot);
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    release.countDown();
+    clients.shutdownNow();
+    if (daemon != null) {
+      daemon.close();
+    }
+  }
+
+  @Test
+  public void solve() throws Exception {
+    Path path = Paths.get(Resources.getResource("day1.txt").toURI());
+    start(2, 4, path.getParent());
+    byte[] input = Resources.toByteArray(Resources.getResource("day1.txt"));
+
+    try (SolverClient client = SolverClient.connect(daemon.port())) {
+      Response inline = client.solve(Request.ofBytes(1, 1, input, 0));
+      assertThat(inline.status).isEqualTo(Response.Status.OK);
+      assertThat(inline.message).isEqualTo("411");
+
+      // Requests can keep coming on the same connection.
+      assertThat(client.solve(Request.ofPath(1, 2, path.toString(), 0)).message).isEqualTo("56360");
+      assertThat(client.solve(Request.ofPath(1, 1, "day1.txt", 0)).message).isEqualTo("411");
+      assertThat(client.solve(Request.ofBytes(99, 2, "a\nb".getBytes(), 0)).message).isEqualTo("a\nb");
+    }
+  }
+
+  @Test
+  public void failures() throws Exception {
+    Path root = Paths.get(Resources.getResource("day1.txt").toURI()).getParent();
+    start(2, 4, root);
+
+    try (SolverClient client = SolverClient.connect(daemon.port())) {
+      Response unknownDay = client.solve(Request.ofBytes(42, 1, new byte[0], 0));
+      assertThat(unknownDay.status).isEqualTo(Response.Status.FAILED);
+      assertThat(unknownDay.message).isEqualTo("No solver for day 42");
+
+      Response badInput = client.solve(Request.ofBytes(1, 1, "+1\nfish".getBytes(), 0));
+      assertThat(badInput.status).isEqualTo(Response.Status.FAILED);
+      assertThat(badInput.message).isEqualTo("Day 1 part 1 failed with IllegalArgumentException");
+
+      Response missingFile = client.solve(Request.ofPath(1, 1, root.resolve("day0.txt").toString(), 0));
+      assertThat(missingFile.status).isEqualTo(Response.Status.FAILED);
+      assertThat(missingFile.message).isEqualTo("Day 1 part 1 failed with NoSuchFileException");
+
+      // Files outside the input root aren't read, whether or not they exist.
+      for (String outside : ImmutableList.of("/no/such/day1.txt", "/etc/passwd", "../day1.txt", root.resolve("../../pom.xml").toString())) {
+        Response refused = client.solve(Request.ofPath(1, 1, outside, 0));
+        assertThat(refused.status).as(outside).isEqualTo(Response.Status.FAILED);
+        assertThat(refused.message).as(outside).isEqualTo("Input files have to be under the daemon's input root");
+      }
+
+      // The connection is still good after failures.
+      assertThat(client.solve(Request.ofBytes(1, 1, "+1\n+2".getBytes(), 0)).message).isEqualTo("3");
+    }
+  }
+
+  @Test
+  public void onlyInlineWithoutInputRoot() throws Exception {
+    start(2, 4);
+    String path = Paths.get(Resources.getResource("day1.txt").toURI()).toString();
+
+    try (SolverClient client = SolverClient.connect(daemon.port())) {
+      Response refused = client.solve(Request.ofPath(1, 1, path, 0));
+      assertThat(refused.status).isEqualTo(Response.Status.FAILED);
+      assertThat(refused.message).isEqualTo("The daemon doesn't read input files - send the input inline");
+    }
+  }
+
+  @Test
+  public void failuresDontQuoteInput() throws IOException {
+    start(2, 4);
+
+    try (SolverClient client = SolverClient.connect(daemon.port())) {
+      Response badInput = client.solve(Request.ofBytes(1, 1, "+1\nsecret".getBytes(), 0));
+      assertThat(badInput.status).isEqualTo(Response.Status.FAILED);
+      assertThat(badInput.message).doesNotContain("secret");
+    }
+  }
+
+  @Test
+  public void timeout() throws IOException {
+    start(2, 4);
+
+    try (SolverClient client = SolverClient.connect(daemon.port())) {
+      Response response = client.solve(Request.ofBytes(99, 1, new byte[0], 50));
+      assertThat(response.status).isEqualTo(Response.Status.TIMED_OUT);
+      assertThat(response.nanos).isGreaterThanOrEqualTo(50_000_000L);
+    }
+  }
+
+  @Test
+  public void rejectsWhenQueueIsFull() throws Exception {
+    start(1, 1);
+
+    Future<Response> running = clients.submit(() -> solveOnNewConnection(Request.ofBytes(99, 1, "running".getBytes(), 0)));
+    started.await();
+    Future<Response> queued = clients.submit(() -> solveOnNewConnection(Request.ofBytes(99, 2, "queued".getBytes(), 0)));
+    while (daemon.queued() == 0) {
+      Thread.sleep(1);
+    }
+
+    Response rejected = solveOnNewConnection(Request.ofBytes(1, 1, "+1".getBytes(), 0));
+    assertThat(rejected.status).isEqualTo(Response.Status.REJECTED);
+
+    release.countDown();
+    assertThat(running.get().message).isEqualTo("running");
+    assertThat(queued.get().message).isEqualTo("queued");
+  }
+
+  private Response solveOnNewConnection(Request request) throws IOException {
+    try (SolverClient client = SolverClient.connect(daemon.port())) {
+      return client.solve(request);
+    }
+  }
+}
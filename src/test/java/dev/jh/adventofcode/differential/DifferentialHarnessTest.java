@@ -0,0 +1,77 @@
+package dev.jh.adventofcode.differential;
+
+import dev.jh.adventofcode.Day5;
+import dev.jh.adventofcode.Day9;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DifferentialHarnessTest {
+  private static final int[] SIZES = {10, 100, 1000};
+
+  @Test
+  public void registeredCasesAgree() {
+    assertThat(DifferentialHarness.cases()).extracting(DifferentialCase::name)
+        .containsExactlyInAnyOrder(
+            "day1.firstRepeatedFrequency", "day2.allCloseBoxIds", "day3.sweep", "day5.react", "day9.highScore",
+            "day15.closest", "day17.flow");
+
+    for (DifferentialCase<?, ?> differentialCase : DifferentialHarness.cases()) {
+      DifferentialHarness.Report report = DifferentialHarness.run(differentialCase, SIZES, 20, 1);
+
+      assertThat(report.mismatch).as(differentialCase.name()).isEmpty();
+      assertThat(report.sizes).extracting(size -> size.size).containsExactly(10, 100, 1000);
+      assertThat(report.sizes).allMatch(size -> size.trials == 20 && size.speedup() > 0);
+    }
+  }
+
+  @Test
+  public void minimizesMismatch() {
+    // Gets any polymer with both an 'a' and a 'B' wrong.
+    Day5ReactCase broken = new Day5ReactCase() {
+      @Override
+      public String candidate(String polymer) {
+        return polymer.indexOf('a') >= 0 && polymer.indexOf('B') >= 0 ? "" : Day5.react(polymer);
+      }
+    };
+
+    DifferentialHarness.Report report = DifferentialHarness.run(broken, SIZES, 20, 1);
+    assertThat(report.passed()).isFalse();
+
+    DifferentialHarness.Mismatch mismatch = report.mismatch.get();
+    assertThat(mismatch.minimized).isIn("\"aB\"", "\"Ba\"");
+    assertThat(mismatch.expected).isEqualTo(mismatch.minimized.replace("\"", ""));
+    assertThat(mismatch.actual).isEmpty();
+
+    // The seed regenerates the original input.
+    assertThat(broken.describe(broken.generate(new Random(mismatch.seed), mismatch.size))).isEqualTo(mismatch.original);
+    assertThat(report.toString()).contains("reproducer: " + mismatch.minimized);
+  }
+
+  @Test
+  public void exceptionsAreOutcomes() {
+    Day9HighScoreCase broken = new Day9HighScoreCase() {
+      @Override
+      public Long candidate(Day9.Game game) {
+        if (game.lastMarble >= 23) {
+          throw new IllegalStateException("Scored");
+        }
+        return super.candidate(game);
+      }
+    };
+
+    DifferentialHarness.Mismatch mismatch = DifferentialHarness.run(broken, SIZES, 5, 1).mismatch.get();
+    assertThat(mismatch.size).isEqualTo(100);
+    assertThat(mismatch.minimized).isEqualTo("1 players; last marble is worth 23 points");
+    assertThat(mismatch.expected).isEqualTo("32");
+    assertThat(mismatch.actual).isEqualTo("threw java.lang.IllegalStateException");
+  }
+
+  @Test
+  public void speedup() {
+    assertThat(new DifferentialHarness.SizeResult(10, 1, 300, 100).speedup()).isEqualTo(3.0);
+    assertThat(new DifferentialHarness.SizeResult(10, 1, 300, 0).speedup()).isEqualTo(Double.POSITIVE_INFINITY);
+  }
+}
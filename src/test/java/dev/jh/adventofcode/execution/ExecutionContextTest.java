@@ -0,0 +1,125 @@
+package dev.jh.adventofcode.execution;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ExecutionContextTest {
+  @Test
+  public void unbounded() {
+    ExecutionContext context = ExecutionContext.unbounded().begin("loop", -1);
+    for (int i = 0; i < 10 * ExecutionContext.CHECK_INTERVAL; i ++) {
+      context.tick();
+    }
+    context.check();
+
+    assertThat(context.progress().iterations).isEqualTo(10 * ExecutionContext.CHECK_INTERVAL);
+    assertThat(context.isCancelled()).isFalse();
+  }
+
+  @Test
+  public void cancelOnlyStopsAtChecks() {
+    ExecutionContext context = ExecutionContext.unbounded().begin("loop", -1);
+    context.cancel();
+
+    // Ticks between checks don't look at the context.
+    for (int i = 1; i < ExecutionContext.CHECK_INTERVAL; i ++) {
+      context.tick();
+    }
+
+    assertThatThrownBy(context::tick)
+        .isInstanceOf(CancellationException.class)
+        .hasMessage("Cancelled after 1024 iterations of loop");
+    assertThatThrownBy(context::check).isInstanceOf(CancellationException.class);
+  }
+
+  @Test
+  public void cancelFromAnotherThread() throws InterruptedException {
+    ExecutionContext context = ExecutionContext.unbounded().begin("loop", -1);
+    Thread canceller = new Thread(context::cancel);
+    canceller.start();
+    canceller.join();
+
+    assertThatThrownBy(() -> {
+      while (true) {
+        context.tick();
+      }
+    }).isInstanceOf(CancellationException.class);
+  }
+
+  @Test
+  public void deadline() {
+    ExecutionContext context = ExecutionContext.withTimeout(20, TimeUnit.MILLISECONDS).begin("loop", -1);
+    long start = System.nanoTime();
+
+    assertThatThrownBy(() -> {
+      while (true) {
+        context.tick();
+      }
+    }).isInstanceOf(CancellationException.class).hasMessageStartingWith("Deadline passed after");
+    assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(20));
+
+    assertThatThrownBy(() -> ExecutionContext.withTimeout(0, TimeUnit.MILLISECONDS))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void progress() throws InterruptedException {
+    List<Progress> reports = new ArrayList<>();
+    ExecutionContext context = ExecutionContext.unbounded()
+        .reportingProgress(reports::add, 0, TimeUnit.MILLISECONDS)
+        .begin("loop", 4096);
+
+    for (int i = 0; i < 2048; i ++) {
+      context.tick();
+    }
+
+    assertThat(reports).extracting(progress -> progress.iterations).containsExactly(1024L, 2048L);
+    assertThat(reports.get(1).task).isEqualTo("loop");
+    assertThat(reports.get(1).total).isEqualTo(4096);
+
+    // Reports are limited to one per interval.
+    context.reportingProgress(reports::add, 1, TimeUnit.HOURS);
+    context.check();
+    assertThat(reports).hasSize(2);
+
+    // A new task starts counting from 0.
+    context.begin("next", -1);
+    assertThat(context.progress().iterations).isEqualTo(0);
+    assertThat(context.progress().task).isEqualTo("next");
+  }
+
+  @Test
+  public void bind() {
+    ExecutionContext outer = ExecutionContext.unbounded();
+    ExecutionContext inner = ExecutionContext.unbounded();
+    ExecutionContext initial = ExecutionContext.current();
+
+    outer.run(() -> {
+      assertThat(ExecutionContext.current()).isSameAs(outer);
+
+      inner.run(() -> assertThat(ExecutionContext.current()).isSameAs(inner));
+      assertThat(ExecutionContext.current()).isSameAs(outer);
+    });
+    assertThat(ExecutionContext.current()).isSameAs(initial);
+  }
+
+  @Test
+  public void bindWhileCalling() throws Exception {
+    ExecutionContext context = ExecutionContext.unbounded();
+    ExecutionContext initial = ExecutionContext.current();
+
+    assertThat(context.call(ExecutionContext::current)).isSameAs(context);
+    assertThatThrownBy(() -> context.call(() -> {
+      throw new IOException("Failed");
+    })).isInstanceOf(IOException.class);
+    assertThat(ExecutionContext.current()).isSameAs(initial);
+  }
+}
@@ -0,0 +1,34 @@
+package dev.jh.adventofcode.execution;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProgressTest {
+  @Test
+  public void knownTotal() {
+    Progress progress = new Progress("day9.marbles", 250, 1000, TimeUnit.SECONDS.toNanos(2));
+
+    assertThat(progress.iterationsPerSecond()).isEqualTo(125.0);
+    assertThat(progress.remainingNanos()).isEqualTo(TimeUnit.SECONDS.toNanos(6));
+    assertThat(progress.toString()).isEqualTo("day9.marbles: 250/1000 in 2.0 s, 125/s, 6.0 s left");
+  }
+
+  @Test
+  public void unknownTotal() {
+    Progress progress = new Progress("day14.rounds", 500, -1, TimeUnit.SECONDS.toNanos(1));
+
+    assertThat(progress.remainingNanos()).isEqualTo(-1);
+    assertThat(progress.toString()).isEqualTo("day14.rounds: 500 in 1.0 s, 500/s");
+  }
+
+  @Test
+  public void nothingYet() {
+    Progress progress = new Progress("day15.rounds", 0, 100, 0);
+
+    assertThat(progress.iterationsPerSecond()).isEqualTo(0.0);
+    assertThat(progress.remainingNanos()).isEqualTo(-1);
+  }
+}
@@ -0,0 +1,104 @@
+package dev.jh.adventofcode.generate;
+
+import com.google.common.base.Charsets;
+import dev.jh.adventofcode.Solver;
+import dev.jh.adventofcode.Solvers;
+import dev.jh.adventofcode.input.Input;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class GeneratorsTest {
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void registered() {
+    assertThat(Generators.all())
+        .extracting(InputGenerator::day)
+        .containsExactly(3, 6, 7, 13, 15, 17, 20, 22, 23);
+    assertThat(Generators.forDay(20)).isInstanceOf(Day20Generator.class);
+    assertThatThrownBy(() -> Generators.forDay(1)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void solvable() throws IOException {
+    for (InputGenerator generator : Generators.all()) {
+      for (int scale = 1; scale <= 2; scale ++) {
+        Solver<?> solver = Solvers.forDay(generator.day());
+        assertSolvable(solver, generate(generator, scale, 1L));
+      }
+    }
+  }
+
+  private static <T> void assertSolvable(Solver<T> solver, String text) {
+    T input = solver.parse(Input.ofBytes(text.getBytes(Charsets.US_ASCII)));
+
+    assertThat(solver.part1(input)).as("Day %d part 1", solver.day()).isNotEmpty();
+    if (solver.day() != 15) {
+      assertThat(solver.part2(input)).as("Day %d part 2", solver.day()).isNotEmpty();
+    }
+  }
+
+  @Test
+  public void deterministic() throws IOException {
+    for (InputGenerator generator : Generators.all()) {
+      assertThat(generate(generator, 1, 42L)).isEqualTo(generate(generator, 1, 42L));
+    }
+
+    assertThat(generate(new Day23Generator(), 1, 1L)).isNotEqualTo(generate(new Day23Generator(), 1, 2L));
+  }
+
+  @Test
+  public void scales() throws IOException {
+    assertThat(generate(new Day3Generator(), 10, 1L).split("\n")).hasSize(12500);
+    assertThat(generate(new Day23Generator(), 10, 1L).split("\n")).hasSize(10000);
+    assertThat(generate(new Day13Generator(), 4, 1L).split("\n")).hasSize(300);
+  }
+
+  @Test
+  public void day3FabricScales() throws IOException {
+    assertThat(fabricExtent(generate(new Day3Generator(), 1, 1L))).isBetween(900, 1000);
+    assertThat(fabricExtent(generate(new Day3Generator(), 4, 1L))).isBetween(1900, 2000);
+    assertThat(fabricExtent(generate(new Day3Generator(100), 1, 1L))).isBetween(90, 100);
+    assertThatThrownBy(() -> new Day3Generator(20)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  /**
+   * Returns the furthest right or bottom edge of any of the generated claims.
+   */
+  private static int fabricExtent(String claims) {
+    int extent = 0;
+    for (String line : claims.split("\n")) {
+      String[] parts = line.split("[ @,:x]+");
+      extent = Math.max(extent, Integer.parseInt(parts[1]) + Integer.parseInt(parts[3]));
+      extent = Math.max(extent, Integer.parseInt(parts[2]) + Integer.parseInt(parts[4]));
+    }
+    return extent;
+  }
+
+  @Test
+  public void write() throws IOException {
+    Path path = folder.getRoot().toPath().resolve("day7.txt");
+    Generators.write(new Day7Generator(), 1, 1L, path);
+
+    assertThat(new String(Files.readAllBytes(path), Charsets.US_ASCII)).isEqualTo(generate(new Day7Generator(), 1, 1L));
+    assertThatThrownBy(() -> Generators.write(new Day7Generator(), 0, 1L, path))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static String generate(InputGenerator generator, int scale, long seed) throws IOException {
+    StringWriter out = new StringWriter();
+    generator.write(scale, new Random(seed), out);
+    return out.toString();
+  }
+}
@@ -0,0 +1,48 @@
+package dev.jh.adventofcode.grid;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ByteGridTest {
+  @Test
+  public void fillAndBorder() {
+    GridLayout layout = new GridLayout(3, 2);
+    ByteGrid grid = new ByteGrid(layout, (byte) 1, (byte) 9);
+
+    assertThat(grid.get(0, 0)).isEqualTo((byte) 1);
+    assertThat(grid.get(2, 1)).isEqualTo((byte) 1);
+    assertThat(grid.get(-1, 0)).isEqualTo((byte) 9);
+    assertThat(grid.get(3, 1)).isEqualTo((byte) 9);
+    assertThat(grid.get(1, 2)).isEqualTo((byte) 9);
+    assertThat(grid.count((byte) 1)).isEqualTo(6);
+    assertThat(grid.count((byte) 9)).isEqualTo(0);
+  }
+
+  @Test
+  public void copy() {
+    ByteGrid grid = new ByteGrid(new GridLayout(3, 2), (byte) 0, (byte) 0);
+    grid.set(1, 1, (byte) 5);
+
+    ByteGrid copy = grid.copy();
+    assertThat(copy).isEqualTo(grid);
+    assertThat(copy.fingerprint()).isEqualTo(grid.fingerprint());
+
+    copy.set(copy.layout.id(1, 1) + copy.layout.left, (byte) 5);
+    assertThat(copy.get(0, 1)).isEqualTo((byte) 5);
+    assertThat(grid.get(0, 1)).isEqualTo((byte) 0);
+    assertThat(copy).isNotEqualTo(grid);
+    assertThat(copy.fingerprint()).isNotEqualTo(grid.fingerprint());
+  }
+
+  @Test
+  public void intGrid() {
+    IntGrid grid = new IntGrid(new GridLayout(2, 2), 7, -1);
+    grid.set(1, 1, 100000);
+
+    assertThat(grid.get(0, 0)).isEqualTo(7);
+    assertThat(grid.get(grid.layout.id(1, 1))).isEqualTo(100000);
+    assertThat(grid.get(2, 2)).isEqualTo(-1);
+    assertThat(grid.count(7)).isEqualTo(3);
+  }
+}
@@ -0,0 +1,36 @@
+package dev.jh.adventofcode.grid;
+
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CellQueueTest {
+  @Test
+  public void firstInFirstOut() {
+    CellQueue queue = new CellQueue(2);
+
+    // Wrap around the ring before growing it.
+    queue.add(1);
+    queue.add(2);
+    assertThat(queue.remove()).isEqualTo(1);
+    queue.add(3);
+    queue.add(4);
+    queue.add(5);
+
+    assertThat(queue.size()).isEqualTo(4);
+    assertThat(queue.remove()).isEqualTo(2);
+    assertThat(queue.remove()).isEqualTo(3);
+    assertThat(queue.remove()).isEqualTo(4);
+    assertThat(queue.remove()).isEqualTo(5);
+    assertThat(queue.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void removeFromEmpty() {
+    assertThatThrownBy(() -> new CellQueue().remove())
+        .isInstanceOf(NoSuchElementException.class);
+  }
+}
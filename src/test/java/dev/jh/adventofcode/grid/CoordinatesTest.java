@@ -0,0 +1,17 @@
+package dev.jh.adventofcode.grid;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CoordinatesTest {
+  @Test
+  public void pack() {
+    long coordinate = Coordinates.pack(-3, Integer.MAX_VALUE);
+
+    assertThat(Coordinates.x(coordinate)).isEqualTo(-3);
+    assertThat(Coordinates.y(coordinate)).isEqualTo(Integer.MAX_VALUE);
+    assertThat(Coordinates.move(coordinate, 4, -1)).isEqualTo(Coordinates.pack(1, Integer.MAX_VALUE - 1));
+    assertThat(Coordinates.pack(0, -1)).isNotEqualTo(Coordinates.pack(-1, -1));
+  }
+}
@@ -0,0 +1,54 @@
+package dev.jh.adventofcode.grid;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class GridLayoutTest {
+  @Test
+  public void ids() {
+    GridLayout layout = new GridLayout(4, 3);
+
+    assertThat(layout.stride).isEqualTo(6);
+    assertThat(layout.size()).isEqualTo(30);
+    assertThat(layout.id(0, 0)).isEqualTo(7);
+    assertThat(layout.id(3, 2)).isEqualTo(22);
+    assertThat(layout.x(layout.id(2, 1))).isEqualTo(2);
+    assertThat(layout.y(layout.id(2, 1))).isEqualTo(1);
+
+    // Padding cells have ids too.
+    assertThat(layout.id(-1, -1)).isEqualTo(0);
+    assertThat(layout.contains(layout.id(-1, 0))).isFalse();
+    assertThat(layout.contains(layout.id(3, 2))).isTrue();
+  }
+
+  @Test
+  public void neighbours() {
+    GridLayout layout = new GridLayout(4, 3, 2);
+    int id = layout.id(1, 1);
+
+    assertThat(layout.orthogonal.stream().map(offset -> id + offset).toArray()).containsExactly(
+        layout.id(1, 0), layout.id(0, 1), layout.id(2, 1), layout.id(1, 2));
+    assertThat(layout.adjacent.stream().map(offset -> id + offset).toArray()).containsExactly(
+        layout.id(0, 0), layout.id(1, 0), layout.id(2, 0),
+        layout.id(0, 1), layout.id(2, 1),
+        layout.id(0, 2), layout.id(1, 2), layout.id(2, 2));
+  }
+
+  @Test
+  public void invalidSize() {
+    assertThatThrownBy(() -> new GridLayout(-1, 3))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new GridLayout(100000, 100000))
+        .isInstanceOf(IllegalArgumentException.class);
+
+    // Sides that only overflow once the padding is added.
+    assertThatThrownBy(() -> new GridLayout(Integer.MAX_VALUE, 1))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new GridLayout(1, 1, Integer.MAX_VALUE / 2 + 1))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new GridLayout(0, Integer.MAX_VALUE - 1, 1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,121 @@
+package dev.jh.adventofcode.hamming;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class HammingIndexTest {
+  @Test
+  public void query() {
+    HammingIndex index = new HammingIndex(5, 2);
+    for (String boxId : ImmutableList.of("abcde", "fghij", "klmno", "pqrst", "fguij", "axcye", "wvxyz")) {
+      assertThat(index.insert(boxId)).isTrue();
+    }
+
+    assertThat(index.size()).isEqualTo(7);
+    assertThat(index.query("fghij", 0)).containsExactly("fghij");
+    assertThat(index.query("fghij", 1)).containsExactlyInAnyOrder("fghij", "fguij");
+    assertThat(index.query("abcde", 2)).containsExactlyInAnyOrder("abcde", "axcye");
+    assertThat(index.query("zzzzz", 2)).isEmpty();
+  }
+
+  @Test
+  public void insertTwice() {
+    HammingIndex index = new HammingIndex(3, 1);
+
+    assertThat(index.insert("abc")).isTrue();
+    assertThat(index.insert("abc")).isFalse();
+    assertThat(index.size()).isEqualTo(1);
+    assertThat(index.query("abd", 1)).containsExactly("abc");
+  }
+
+  @Test
+  public void matchesBruteForce() {
+    Random random = new Random(1);
+    // Ids are clustered around a few bases, so lots of them are close.
+    ImmutableList.Builder<String> bases = ImmutableList.builder();
+    for (int i = 0; i < 10; i ++) {
+      bases.add(randomId(random, 26));
+    }
+
+    ImmutableList.Builder<String> inserted = ImmutableList.builder();
+    // 26 letters is three words, and four segments with a distance of 3.
+    HammingIndex index = new HammingIndex(26, 3);
+    for (int i = 0; i < 2000; i ++) {
+      String boxId = mutate(random, bases.build().get(random.nextInt(10)));
+      if (index.insert(boxId)) {
+        inserted.add(boxId);
+      }
+    }
+
+    for (int i = 0; i < 200; i ++) {
+      String query = mutate(random, bases.build().get(random.nextInt(10)));
+      for (int distance = 0; distance <= 3; distance ++) {
+        int max = distance;
+        assertThat(index.query(query, distance)).as(query + " within " + distance)
+            .containsExactlyInAnyOrderElementsOf(inserted.build().stream()
+                .filter(boxId -> mismatches(boxId, query) <= max)
+                .collect(ImmutableList.toImmutableList()));
+      }
+    }
+  }
+
+  @Test
+  public void growsPastInitialCapacity() {
+    HammingIndex index = new HammingIndex(4, 1);
+    for (int i = 0; i < 26 * 26; i ++) {
+      index.insert("aa" + (char) ('a' + i / 26) + (char) ('a' + i % 26));
+    }
+
+    assertThat(index.size()).isEqualTo(26 * 26);
+    assertThat(index.query("aazz", 1)).hasSize(51);
+    assertThat(index.query("bazz", 1)).containsExactly("aazz");
+  }
+
+  @Test
+  public void invalidArguments() {
+    assertThatThrownBy(() -> new HammingIndex(0, 0)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new HammingIndex(4, 4)).isInstanceOf(IllegalArgumentException.class);
+
+    HammingIndex index = new HammingIndex(4, 1);
+    assertThatThrownBy(() -> index.insert("abc"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Expected 4 letters, not 3: 'abc'");
+    assertThatThrownBy(() -> index.query("abcd", 2))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Distance must be from 0 to 1, not 2");
+  }
+
+  private static String randomId(Random random, int length) {
+    char[] id = new char[length];
+    for (int i = 0; i < length; i ++) {
+      id[i] = (char) ('a' + random.nextInt(26));
+    }
+    return new String(id);
+  }
+
+  /**
+   * Changes up to 4 random letters of the id to one of the first 3 letters.
+   */
+  private static String mutate(Random random, String id) {
+    char[] mutated = id.toCharArray();
+    for (int i = random.nextInt(5); i > 0; i --) {
+      mutated[random.nextInt(mutated.length)] = (char) ('a' + random.nextInt(3));
+    }
+    return new String(mutated);
+  }
+
+  private static int mismatches(String a, String b) {
+    int mismatches = 0;
+    for (int i = 0; i < a.length(); i ++) {
+      if (a.charAt(i) != b.charAt(i)) {
+        mismatches ++;
+      }
+    }
+    return mismatches;
+  }
+}
@@ -0,0 +1,65 @@
+package dev.jh.adventofcode.hamming;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PackedLettersTest {
+  @Test
+  public void packAndUnpack() {
+    String letters = "abcdefghijklmnopqrstuvwxyz";
+    long[] words = PackedLetters.pack(letters);
+
+    assertThat(words).hasSize(3);
+    assertThat(PackedLetters.unpack(words, 0, letters.length())).isEqualTo(letters);
+    assertThat(PackedLetters.letterAt(words, 0, 12)).isEqualTo('m');
+    // Letters fill the low 60 bits of each word.
+    assertThat(words[0] >>> 60).isEqualTo(0);
+    assertThat(PackedLetters.pack("")).isEmpty();
+  }
+
+  @Test
+  public void packAtOffset() {
+    long[] words = {-1, -1, -1};
+    PackedLetters.pack("zz", words, 1);
+
+    assertThat(words).containsExactly(-1, 25 | 25 << 5, -1);
+  }
+
+  @Test
+  public void onlyLowercase() {
+    assertThatThrownBy(() -> PackedLetters.pack("abC"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Can only pack lowercase letters, not 'C'");
+  }
+
+  @Test
+  public void mismatches() {
+    assertThat(mismatches("abcdefghijkl", "abcdefghijkl")).isEqualTo(0);
+    // Letters whose codes differ in a single bit, in the lowest and highest bits of a letter.
+    assertThat(mismatches("abcdefghijkl", "bbcdefghijkl")).isEqualTo(1);
+    assertThat(mismatches("abcdefghijka", "abcdefghijkq")).isEqualTo(1);
+    assertThat(mismatches("aaaaaaaaaaaa", "zzzzzzzzzzzz")).isEqualTo(12);
+    assertThat(mismatches("abcdefghijklmnopqrstuvwxyz", "abcdefghijklmnopqrstuvwxya")).isEqualTo(1);
+    assertThat(mismatches("fghij", "fguij")).isEqualTo(1);
+    assertThat(mismatches("abcde", "axcye")).isEqualTo(2);
+  }
+
+  private static int mismatches(String a, String b) {
+    return PackedLetters.mismatches(PackedLetters.pack(a), 0, PackedLetters.pack(b), 0, PackedLetters.words(a.length()));
+  }
+
+  @Test
+  public void packAll() {
+    long[] packed = PackedLetters.packAll(ImmutableList.of("abcdefghijklm", "b", ""), 2);
+
+    assertThat(packed).hasSize(6);
+    assertThat(PackedLetters.unpack(packed, 0, 13)).isEqualTo("abcdefghijklm");
+    assertThat(PackedLetters.unpack(packed, 2, 1)).isEqualTo("b");
+    assertThat(packed).endsWith(1, 0, 0, 0);
+    assertThatThrownBy(() -> PackedLetters.packAll(ImmutableList.of("abcdefghijklm"), 1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,161 @@
+package dev.jh.adventofcode.input;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.BaseEncoding;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class InputTest {
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private static Input ofString(String text) {
+    return Input.ofBytes(text.getBytes(Charsets.UTF_8));
+  }
+
+  @Test
+  public void readLines() {
+    assertThat(ofString("a\nbc\n\nd").readLines()).containsExactly("a", "bc", "", "d");
+    assertThat(ofString("a\r\nbc\r\n").readLines()).containsExactly("a", "bc");
+    assertThat(ofString("a\r\nbc\r").readLines()).containsExactly("a", "bc");
+    assertThat(ofString("\r").readLines()).containsExactly("");
+    assertThat(ofString("").readLines()).isEmpty();
+    assertThat(ofString("\n").readLines()).containsExactly("");
+  }
+
+  @Test
+  public void lineNumbers() {
+    LineCursor cursor = ofString("a\n\nb").lines();
+
+    assertThat(cursor.next()).isTrue();
+    assertThat(cursor.lineNumber()).isEqualTo(1);
+    assertThat(cursor.next()).isTrue();
+    assertThat(cursor.isEmpty()).isTrue();
+    assertThat(cursor.next()).isTrue();
+    assertThat(cursor.lineNumber()).isEqualTo(3);
+    assertThat(cursor.next()).isFalse();
+    assertThat(cursor.next()).isFalse();
+  }
+
+  @Test
+  public void linesAcrossWindows() {
+    ImmutableList<String> lines = ImmutableList.of("+1", "-22", "", "+333", "-4444", "5");
+    Input input = Input.ofLines(lines);
+
+    // Longest line is 6 bytes with its newline.
+    for (int windowSize = 6; windowSize < 30; windowSize ++) {
+      assertThat(input.withWindowSize(windowSize).readLines()).as("window size " + windowSize).isEqualTo(lines);
+    }
+  }
+
+  @Test
+  public void lineLongerThanWindow() {
+    Input input = ofString("12\n123456\n1").withWindowSize(4);
+
+    assertThatThrownBy(input::readLines)
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Line 2 doesn't fit in a 4 byte window");
+  }
+
+  @Test
+  public void sha256() {
+    // Hash of "abc" from FIPS 180-2.
+    byte[] expected = BaseEncoding.base16().lowerCase()
+        .decode("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+
+    assertThat(ofString("abc").sha256()).isEqualTo(expected);
+    assertThat(ofString("abc").withWindowSize(1).sha256()).isEqualTo(expected);
+    assertThat(ofString("").sha256()).hasSize(32);
+  }
+
+  @Test
+  public void forEachWindow() {
+    StringBuilder read = new StringBuilder();
+    ofString("abcdefg").withWindowSize(3).forEachWindow(window -> {
+      assertThat(window.remaining()).isLessThanOrEqualTo(3);
+      while (window.hasRemaining()) {
+        read.append((char) window.get());
+      }
+      read.append('|');
+    });
+
+    assertThat(read.toString()).isEqualTo("abc|def|g|");
+  }
+
+  @Test
+  public void split() {
+    Input input = ofString("a\nbb\nccc\ndddd\n\nf");
+
+    for (int parts = 1; parts < 20; parts ++) {
+      ImmutableList<Input> split = input.split(parts);
+      assertThat(split.size()).as(parts + " parts").isLessThanOrEqualTo(parts);
+
+      // Parts start where the one before ends, at the start of a line, and read the same lines as the whole input.
+      long position = 0;
+      ImmutableList.Builder<String> lines = ImmutableList.builder();
+      for (Input part : split) {
+        assertThat(part.offset()).isEqualTo(position);
+        assertThat(part.size()).isPositive();
+        lines.addAll(part.withWindowSize(5).readLines());
+        position += part.size();
+      }
+      assertThat(position).isEqualTo(input.size());
+      assertThat(lines.build()).as(parts + " parts").isEqualTo(input.readLines());
+    }
+
+    assertThat(input.split(3)).extracting(Input::offset).containsExactly(0L, 9L, 14L);
+    assertThat(ofString("").split(4)).isEmpty();
+    assertThatThrownBy(() -> input.split(0)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void splitFile() throws IOException {
+    Path file = folder.newFile("input.txt").toPath();
+    Files.write(file, "1\n22\n333\n4444\n".getBytes(Charsets.UTF_8));
+
+    try (Input input = Input.open(file)) {
+      ImmutableList<Input> split = input.split(2);
+      assertThat(split).hasSize(2);
+
+      // Closing a part leaves the file open for the others.
+      split.get(0).close();
+      assertThat(split.get(1).readLines()).containsExactly("4444");
+      assertThat(split.get(1).sha256()).isEqualTo(ofString("4444\n").sha256());
+    }
+  }
+
+  @Test
+  public void mapFile() throws IOException {
+    Path file = folder.newFile("input.txt").toPath();
+    Files.write(file, "pos=<1,-2,3>\r\npos=<4,5,-6>\r\n".getBytes(Charsets.UTF_8));
+
+    try (Input input = Input.open(file).withWindowSize(16)) {
+      assertThat(input.size()).isEqualTo(28);
+      assertThat(input.mapLines(cursor -> {
+        cursor.expect("pos=<");
+        long sum = cursor.nextInt();
+        while (cursor.consume(',')) {
+          sum += cursor.nextInt();
+        }
+        cursor.expect('>').expectEnd();
+        return sum;
+      })).containsExactly(2L, 3L);
+    }
+  }
+
+  @Test
+  public void ofResource() throws IOException {
+    try (Input input = Input.ofResource("/day9.txt")) {
+      assertThat(input.readLines()).containsExactly("458 players; last marble is worth 72019 points");
+    }
+  }
+}
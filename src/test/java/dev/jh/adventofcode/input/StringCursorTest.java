@@ -0,0 +1,29 @@
+package dev.jh.adventofcode.input;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class StringCursorTest {
+  @Test
+  public void readsTokens() {
+    StringCursor cursor = new StringCursor("x=495, y=2..7");
+
+    assertThat(cursor.nextChar()).isEqualTo('x');
+    cursor.expect('=');
+    assertThat(cursor.nextInt()).isEqualTo(495);
+    cursor.expect(", y=");
+    assertThat(cursor.nextInt()).isEqualTo(2);
+    cursor.expect("..");
+    assertThat(cursor.nextInt()).isEqualTo(7);
+    cursor.expectEnd();
+  }
+
+  @Test
+  public void errorsHaveNoLocation() {
+    assertThatThrownBy(() -> new StringCursor("pos=<1;2>").skip(6).nextInt())
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Expected a number at column 7: 'pos=<1;2>'");
+  }
+}
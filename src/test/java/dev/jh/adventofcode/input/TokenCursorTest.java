@@ -0,0 +1,64 @@
+package dev.jh.adventofcode.input;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TokenCursorTest {
+
+  private static LineCursor cursor(String line) {
+    LineCursor cursor = Input.ofLines(ImmutableList.of(line)).lines();
+    assertThat(cursor.next()).isTrue();
+    return cursor;
+  }
+
+  @Test
+  public void numbers() {
+    LineCursor cursor = cursor("+1 -2  30,-2147483648 9223372036854775807");
+
+    assertThat(cursor.nextInt()).isEqualTo(1);
+    assertThat(cursor.nextInt()).isEqualTo(-2);
+    assertThat(cursor.nextInt()).isEqualTo(30);
+    cursor.expect(',');
+    assertThat(cursor.nextInt()).isEqualTo(Integer.MIN_VALUE);
+    assertThat(cursor.nextLong()).isEqualTo(Long.MAX_VALUE);
+    assertThat(cursor.hasRemaining()).isFalse();
+  }
+
+  @Test
+  public void numberOutOfRange() {
+    assertThatThrownBy(() -> cursor("2147483648").nextInt())
+        .hasMessage("Number is out of range for an int at line 1, column 1: '2147483648'");
+    assertThatThrownBy(() -> cursor("-9223372036854775809").nextLong())
+        .hasMessageStartingWith("Number is out of range for a long");
+  }
+
+  @Test
+  public void literals() {
+    LineCursor cursor = cursor("pos=<1>, r=2");
+
+    assertThat(cursor.consume("pos=[")).isFalse();
+    assertThat(cursor.consume("pos=<")).isTrue();
+    assertThat(cursor.peek()).isEqualTo('1');
+    assertThat(cursor.nextChar()).isEqualTo('1');
+    assertThat(cursor.consume('>')).isTrue();
+    cursor.expect(", r=");
+    assertThat(cursor.nextInt()).isEqualTo(2);
+    cursor.expectEnd();
+  }
+
+  @Test
+  public void errors() {
+    assertThatThrownBy(() -> cursor("x=1").expect("y="))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Expected 'y=' at line 1, column 1: 'x=1'");
+    assertThatThrownBy(() -> cursor("x=").skip(2).nextInt())
+        .hasMessage("Expected a number at line 1, column 3: 'x='");
+    assertThatThrownBy(() -> cursor("1 2").skip(1).expectEnd())
+        .hasMessage("Unexpected trailing characters at line 1, column 2: '1 2'");
+    assertThatThrownBy(() -> cursor("x").skip(1).nextChar())
+        .hasMessage("Unexpected end of record at line 1, column 2: 'x'");
+  }
+}
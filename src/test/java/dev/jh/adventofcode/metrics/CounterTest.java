@@ -0,0 +1,49 @@
+package dev.jh.adventofcode.metrics;
+
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CounterTest {
+  @Test
+  public void add() {
+    Counter counter = new Counter("test", true);
+    counter.increment();
+    counter.add(41);
+
+    assertThat(counter.count()).isEqualTo(42);
+
+    counter.reset();
+    assertThat(counter.count()).isEqualTo(0);
+  }
+
+  @Test
+  public void concurrent() throws InterruptedException {
+    Counter counter = new Counter("test", true);
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    for (int i = 0; i < 4; i ++) {
+      executor.submit(() -> {
+        for (int j = 0; j < 10000; j ++) {
+          counter.increment();
+        }
+      });
+    }
+    executor.shutdown();
+    assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+    assertThat(counter.count()).isEqualTo(40000);
+  }
+
+  @Test
+  public void disabled() {
+    Counter counter = new Counter("test", false);
+    counter.add(42);
+
+    assertThat(counter.count()).isEqualTo(0);
+  }
+}
@@ -0,0 +1,83 @@
+package dev.jh.adventofcode.metrics;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class HistogramTest {
+  @Test
+  public void bucket() {
+    assertThat(Histogram.bucket(0)).isEqualTo(0);
+    assertThat(Histogram.bucket(1)).isEqualTo(1);
+    assertThat(Histogram.bucket(2)).isEqualTo(2);
+    assertThat(Histogram.bucket(3)).isEqualTo(2);
+    assertThat(Histogram.bucket(4)).isEqualTo(3);
+    assertThat(Histogram.bucket(Long.MAX_VALUE)).isEqualTo(63);
+  }
+
+  @Test
+  public void record() {
+    Histogram histogram = new Histogram("test", true);
+    for (long value = 1; value <= 100; value ++) {
+      histogram.record(value);
+    }
+
+    assertThat(histogram.count()).isEqualTo(100);
+    assertThat(histogram.sum()).isEqualTo(5050);
+    assertThat(histogram.min()).isEqualTo(1);
+    assertThat(histogram.max()).isEqualTo(100);
+    assertThat(histogram.mean()).isEqualTo(50.5);
+  }
+
+  @Test
+  public void percentile() {
+    Histogram histogram = new Histogram("test", true);
+    for (long value = 1; value <= 100; value ++) {
+      histogram.record(value);
+    }
+
+    // Percentiles are the top of their bucket - the 50th value is in [32, 64), and the top bucket is capped at max.
+    assertThat(histogram.percentile(0)).isEqualTo(1);
+    assertThat(histogram.percentile(50)).isEqualTo(63);
+    assertThat(histogram.percentile(99)).isEqualTo(100);
+    assertThat(histogram.percentile(100)).isEqualTo(100);
+  }
+
+  @Test
+  public void empty() {
+    Histogram histogram = new Histogram("test", true);
+
+    assertThat(histogram.count()).isEqualTo(0);
+    assertThat(histogram.min()).isEqualTo(0);
+    assertThat(histogram.max()).isEqualTo(0);
+    assertThat(histogram.mean()).isEqualTo(0);
+    assertThat(histogram.percentile(50)).isEqualTo(0);
+  }
+
+  @Test
+  public void reset() {
+    Histogram histogram = new Histogram("test", true);
+    histogram.record(5);
+    histogram.reset();
+
+    assertThat(histogram.count()).isEqualTo(0);
+    assertThat(histogram.max()).isEqualTo(0);
+  }
+
+  @Test
+  public void disabled() {
+    Histogram histogram = new Histogram("test", false);
+    histogram.record(5);
+
+    assertThat(histogram.count()).isEqualTo(0);
+  }
+
+  @Test
+  public void invalid() {
+    Histogram histogram = new Histogram("test", true);
+
+    assertThatThrownBy(() -> histogram.record(-1)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> histogram.percentile(101)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
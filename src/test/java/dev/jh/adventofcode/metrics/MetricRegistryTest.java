@@ -0,0 +1,56 @@
+package dev.jh.adventofcode.metrics;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+public class MetricRegistryTest {
+  @Test
+  public void sameName() {
+    MetricRegistry registry = new MetricRegistry(true);
+
+    assertThat(registry.counter("a")).isSameAs(registry.counter("a"));
+    assertThat(registry.counter("a")).isNotSameAs(registry.counter("b"));
+    assertThat(registry.histogram("a")).isSameAs(registry.histogram("a"));
+  }
+
+  @Test
+  public void counts() {
+    MetricRegistry registry = new MetricRegistry(true);
+    registry.counter("b").add(2);
+    registry.counter("a").add(1);
+
+    assertThat(registry.counts()).containsExactly(entry("a", 1L), entry("b", 2L));
+
+    registry.reset();
+    assertThat(registry.counts()).containsExactly(entry("a", 0L), entry("b", 0L));
+  }
+
+  @Test
+  public void summary() {
+    MetricRegistry registry = new MetricRegistry(true);
+    assertThat(registry.summary()).isEmpty();
+
+    registry.counter("day9.marbles").add(25);
+    registry.counter("unused");
+    registry.histogram("day22.expanded").record(10);
+
+    assertThat(registry.summary())
+        .contains("day9.marbles")
+        .contains("25")
+        .contains("day22.expanded")
+        .doesNotContain("unused");
+  }
+
+  @Test
+  public void disabled() {
+    MetricRegistry registry = new MetricRegistry(false);
+    registry.counter("a").add(1);
+    registry.histogram("b").record(1);
+
+    assertThat(registry.isEnabled()).isFalse();
+    assertThat(registry.counter("a").count()).isEqualTo(0);
+    assertThat(registry.summary()).isEmpty();
+  }
+}
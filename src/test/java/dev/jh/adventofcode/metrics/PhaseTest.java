@@ -0,0 +1,17 @@
+package dev.jh.adventofcode.metrics;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PhaseTest {
+  @Test
+  public void withoutRecording() {
+    // With no recording running, phases don't create events.
+    Phase phase = Phase.begin(1, "parse");
+    phase.failed();
+    phase.close();
+
+    assertThat(phase).isSameAs(Phase.NONE);
+  }
+}
@@ -0,0 +1,40 @@
+package dev.jh.adventofcode.search;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BucketQueueTest {
+  @Test
+  public void lowestPriorityFirst() {
+    BucketQueue queue = new BucketQueue(3);
+    queue.add(2, 20);
+    queue.add(0, 0);
+    queue.add(3, 30);
+
+    assertThat(queue.removeMin()).isEqualTo(0);
+    assertThat(queue.peekPriority()).isEqualTo(2);
+    assertThat(queue.removeMin()).isEqualTo(20);
+
+    // The ring wraps around once lower priorities are done.
+    assertThat(queue.removeMin()).isEqualTo(30);
+    queue.add(6, 60);
+    queue.add(4, 40);
+    assertThat(queue.removeMin()).isEqualTo(40);
+    assertThat(queue.removeMin()).isEqualTo(60);
+    assertThat(queue.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void priorityOutOfRange() {
+    BucketQueue queue = new BucketQueue(3);
+    queue.add(1, 1);
+    queue.removeMin();
+
+    assertThatThrownBy(() -> queue.add(5, 5))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> queue.add(0, 0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,51 @@
+package dev.jh.adventofcode.search;
+
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class IntMinHeapTest {
+  @Test
+  public void matchesPriorityQueue() {
+    Random random = new Random(9);
+    IntMinHeap heap = new IntMinHeap(1);
+    PriorityQueue<Integer> expected = new PriorityQueue<>();
+
+    for (int i = 0; i < 10000; i ++) {
+      if (expected.isEmpty() || random.nextInt(3) > 0) {
+        int priority = random.nextInt(1000);
+        heap.add(priority, priority * 2);
+        expected.add(priority);
+      } else {
+        int priority = expected.remove();
+        assertThat(heap.peekPriority()).isEqualTo(priority);
+        assertThat(heap.removeMin()).isEqualTo(priority * 2);
+      }
+    }
+
+    assertThat(heap.size()).isEqualTo(expected.size());
+  }
+
+  @Test
+  public void tiesByNode() {
+    IntMinHeap heap = new IntMinHeap();
+    heap.add(5, 3);
+    heap.add(5, 1);
+    heap.add(5, 2);
+
+    assertThat(heap.removeMin()).isEqualTo(1);
+    assertThat(heap.removeMin()).isEqualTo(2);
+    assertThat(heap.removeMin()).isEqualTo(3);
+  }
+
+  @Test
+  public void removeFromEmpty() {
+    assertThatThrownBy(() -> new IntMinHeap().removeMin())
+        .isInstanceOf(NoSuchElementException.class);
+  }
+}
@@ -0,0 +1,103 @@
+package dev.jh.adventofcode.search;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SearchTest {
+  /** Graph from an adjacency list of {target, weight} pairs per node. */
+  private static Graph graph(int[][] edges) {
+    return new Graph() {
+      @Override
+      public int size() {
+        return edges.length;
+      }
+
+      @Override
+      public int maxDegree() {
+        return Arrays.stream(edges).mapToInt(nodeEdges -> nodeEdges.length / 2).max().orElse(0);
+      }
+
+      @Override
+      public int edges(int node, int[] targets, int[] weights) {
+        for (int i = 0; i < edges[node].length / 2; i ++) {
+          targets[i] = edges[node][2 * i];
+          weights[i] = edges[node][2 * i + 1];
+        }
+
+        return edges[node].length / 2;
+      }
+    };
+  }
+
+  // 0 -> 1 costs 7, but 0 -> 2 -> 3 -> 1 costs 3.  Node 4 can't be reached.
+  private static final Graph DIAMOND = graph(new int[][] {
+      {1, 7, 2, 1},
+      {},
+      {3, 1},
+      {1, 1},
+      {0, 1},
+  });
+
+  @Test
+  public void bfs() {
+    Search search = new Search();
+
+    assertThat(Arrays.copyOf(search.bfs(DIAMOND, 0), 5)).containsExactly(0, 1, 1, 2, Search.UNREACHED);
+    assertThat(Arrays.copyOf(search.bfs(DIAMOND, new int[] {2, 4}, 2), 5)).containsExactly(1, 2, 0, 1, 0);
+  }
+
+  @Test
+  public void weighted() {
+    Search search = new Search();
+
+    assertThat(Arrays.copyOf(search.dijkstra(DIAMOND, 0), 5)).containsExactly(0, 3, 1, 2, Search.UNREACHED);
+    assertThat(Arrays.copyOf(search.dial(DIAMOND, 0, 7), 5)).containsExactly(0, 3, 1, 2, Search.UNREACHED);
+    assertThat(search.aStar(DIAMOND, 0, 1, node -> 0)).isEqualTo(3);
+    assertThat(search.aStar(DIAMOND, 1, 0, node -> 0)).isEqualTo(Search.UNREACHED);
+  }
+
+  @Test
+  public void expanded() {
+    Search search = new Search();
+    assertThat(search.expanded()).isEqualTo(0);
+
+    search.bfs(DIAMOND, 0);
+    assertThat(search.expanded()).isEqualTo(4);
+
+    // The target isn't expanded, and neither is the stale entry for node 1.
+    search.aStar(DIAMOND, 0, 1, node -> 0);
+    assertThat(search.expanded()).isEqualTo(7);
+  }
+
+  @Test
+  public void searchesAgree() {
+    // Grid with random weights, where the heuristic is the manhattan distance to the bottom right corner.
+    int size = 20;
+    Random random = new Random(22);
+    int[][] edges = new int[size * size][];
+    for (int node = 0; node < edges.length; node ++) {
+      int x = node % size;
+      int y = node / size;
+      edges[node] = new int[] {
+          y > 0 ? node - size : node, 1 + random.nextInt(9),
+          x > 0 ? node - 1 : node, 1 + random.nextInt(9),
+          x < size - 1 ? node + 1 : node, 1 + random.nextInt(9),
+          y < size - 1 ? node + size : node, 1 + random.nextInt(9),
+      };
+    }
+    Graph grid = graph(edges);
+    int target = size * size - 1;
+
+    Search search = new Search();
+    int[] dijkstra = search.dijkstra(grid, 0).clone();
+    int[] dial = search.dial(grid, 0, 9).clone();
+
+    assertThat(dial).containsExactly(dijkstra);
+    assertThat(search.aStar(grid, 0, target, node -> (size - 1 - node % size) + (size - 1 - node / size)))
+        .isEqualTo(dijkstra[target]);
+  }
+}